@@ -0,0 +1,166 @@
+package br.edu.ifpb.instagram.cache;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import br.edu.ifpb.instagram.model.dto.CommentDto;
+
+/**
+ * Primeira página (os {@code page-size} comentários mais novos) dos threads
+ * lidos recentemente.
+ *
+ * Um comentário novo entra na entrada do thread no lugar certo da ordenação
+ * e o mais antigo sai; a entrada não é invalidada, então um thread
+ * movimentado continua servindo a página do topo da memória enquanto recebe
+ * comentários. Cada entrada é uma lista imutável trocada por inteiro, e a
+ * leitura não pega lock.
+ *
+ * As versões por faixa de posts ({@link VersionStripes}) seguem a ideia do
+ * {@link UserResponseCache}: uma página carregada do banco antes de um
+ * comentário novo não é gravada depois dele.
+ */
+@Component
+public class CommentThreadCache {
+
+    public record TopPage(List<CommentDto> newest, boolean complete) { }
+
+    // mesma ordem da consulta: created_at desc, id desc
+    private static final Comparator<CommentDto> NEWEST_FIRST = Comparator
+            .comparing(CommentDto::createdAt).thenComparing(CommentDto::id).reversed();
+
+    private final int pageSize;
+    private final int maxThreads;
+
+    private final ConcurrentHashMap<Long, Entry> entries = new ConcurrentHashMap<>();
+    private final VersionStripes versions = new VersionStripes();
+
+    public CommentThreadCache(@Value("${instagram.comments.cache.page-size:50}") int pageSize,
+                              @Value("${instagram.comments.cache.max-threads:10000}") int maxThreads) {
+        this.pageSize = pageSize;
+        this.maxThreads = maxThreads;
+    }
+
+    public int pageSize() {
+        return pageSize;
+    }
+
+    /**
+     * Versão atual do thread. Deve ser lida antes de consultar o banco e
+     * repassada para {@link #put(long, long, List, boolean)}.
+     */
+    public long version(long postId) {
+        return versions.get(postId);
+    }
+
+    public TopPage get(long postId) {
+        Entry entry = entries.get(postId);
+        if (entry == null) {
+            return null;
+        }
+        entry.lastAccess = System.nanoTime();
+        return entry.thread;
+    }
+
+    /**
+     * Guarda a página do topo carregada do banco. {@code complete} indica que
+     * o thread inteiro coube na página.
+     */
+    public void put(long postId, long version, List<CommentDto> newest, boolean complete) {
+        if (maxThreads <= 0 || version(postId) != version) {
+            return;
+        }
+
+        List<CommentDto> page = List.copyOf(newest.size() > pageSize ? newest.subList(0, pageSize) : newest);
+        Entry entry = new Entry(new TopPage(page, complete && newest.size() <= pageSize));
+
+        if (entries.size() >= maxThreads && !entries.containsKey(postId)) {
+            Eviction.evictLeastRecent(entries, cached -> cached.lastAccess, cached -> true);
+        }
+        entries.put(postId, entry);
+
+        // um comentário pode ter chegado entre a checagem e o put
+        if (version(postId) != version) {
+            entries.remove(postId, entry);
+        }
+    }
+
+    /**
+     * Chamado depois do commit de um comentário novo.
+     */
+    public void added(CommentDto comment) {
+        long postId = comment.postId();
+        versions.increment(postId);
+
+        entries.computeIfPresent(postId, (id, entry) -> {
+            List<CommentDto> current = entry.thread.newest();
+            // uma leitura entre o commit e este callback já pode ter trazido
+            // o comentário do banco com a versão antiga
+            for (CommentDto existing : current) {
+                if (existing.id().equals(comment.id())) {
+                    return entry;
+                }
+            }
+            List<CommentDto> updated = new ArrayList<>(current.size() + 1);
+            updated.addAll(current);
+
+            int position = 0;
+            while (position < updated.size() && NEWEST_FIRST.compare(updated.get(position), comment) < 0) {
+                position++;
+            }
+            if (position >= pageSize) {
+                // mais antigo que a página inteira: fica só no banco
+                return entry;
+            }
+            updated.add(position, comment);
+
+            boolean complete = entry.thread.complete();
+            if (updated.size() > pageSize) {
+                updated.remove(updated.size() - 1);
+                complete = false;
+            }
+            entry.thread = new TopPage(List.copyOf(updated), complete);
+            return entry;
+        });
+    }
+
+    /**
+     * Chamado depois do commit de uma remoção. A página perde o comentário e
+     * deixa de ser a página inteira; leituras que pedirem mais do que sobrou
+     * vão ao banco até o thread ser recarregado.
+     */
+    public void removed(long postId, long commentId) {
+        versions.increment(postId);
+
+        entries.computeIfPresent(postId, (id, entry) -> {
+            List<CommentDto> updated = new ArrayList<>(entry.thread.newest());
+            if (updated.removeIf(comment -> comment.id() == commentId)) {
+                entry.thread = new TopPage(List.copyOf(updated), entry.thread.complete());
+            }
+            return entry;
+        });
+    }
+
+    public void invalidate(long postId) {
+        versions.increment(postId);
+        entries.remove(postId);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private static final class Entry {
+
+        volatile TopPage thread;
+        volatile long lastAccess = System.nanoTime();
+
+        Entry(TopPage thread) {
+            this.thread = thread;
+        }
+    }
+}
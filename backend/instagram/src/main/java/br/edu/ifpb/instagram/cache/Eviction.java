@@ -0,0 +1,54 @@
+package br.edu.ifpb.instagram.cache;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+
+/**
+ * Remoção de uma entrada quando um cache em {@link ConcurrentMap} enche.
+ */
+public final class Eviction {
+
+    private static final int SAMPLES = 8;
+
+    private Eviction() {
+    }
+
+    /**
+     * Remove a primeira entrada da iteração, para caches sem registro de
+     * acesso.
+     */
+    public static <K, V> void evictAny(ConcurrentMap<K, V> entries) {
+        Iterator<K> iterator = entries.keySet().iterator();
+        if (iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    /**
+     * LRU aproximado: entre algumas entradas que podem sair, remove a lida há
+     * mais tempo. {@code evictable} é checado de novo sob o lock da chave.
+     */
+    public static <K, V> void evictLeastRecent(ConcurrentMap<K, V> entries, ToLongFunction<V> lastAccess,
+                                               Predicate<V> evictable) {
+        Iterator<Map.Entry<K, V>> iterator = entries.entrySet().iterator();
+        K oldestKey = null;
+        long oldestAccess = Long.MAX_VALUE;
+
+        for (int i = 0; i < SAMPLES && iterator.hasNext(); i++) {
+            Map.Entry<K, V> candidate = iterator.next();
+            long access = lastAccess.applyAsLong(candidate.getValue());
+            if (evictable.test(candidate.getValue()) && access < oldestAccess) {
+                oldestAccess = access;
+                oldestKey = candidate.getKey();
+            }
+        }
+
+        if (oldestKey != null) {
+            entries.computeIfPresent(oldestKey, (key, current) -> evictable.test(current) ? null : current);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package br.edu.ifpb.instagram.cache;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.edu.ifpb.instagram.model.response.UserDetailsResponse;
+
+/**
+ * Cache de respostas já serializadas de {@code GET /users/{id}}.
+ *
+ * Cada entrada guarda os bytes JSON prontos (e a versão gzip, quando ela é
+ * menor) para serem escritos direto no output stream, sem mapeamento de
+ * objetos. A versão de cada usuário é incrementada a cada invalidação; uma
+ * leitura que começou antes de uma atualização não consegue gravar o valor
+ * antigo depois dela.
+ */
+@Component
+public class UserResponseCache {
+
+    public record CachedResponse(byte[] body, byte[] gzipBody, String etag) { }
+
+    private final ObjectMapper objectMapper;
+    private final int maxEntries;
+    private final boolean gzipEnabled;
+
+    private final ConcurrentHashMap<Long, CachedResponse> entries = new ConcurrentHashMap<>();
+    private final VersionStripes versions = new VersionStripes();
+
+    public UserResponseCache(ObjectMapper objectMapper,
+                             @Value("${instagram.cache.users.max-entries:10000}") int maxEntries,
+                             @Value("${instagram.cache.users.gzip:true}") boolean gzipEnabled) {
+        this.objectMapper = objectMapper;
+        this.maxEntries = maxEntries;
+        this.gzipEnabled = gzipEnabled;
+    }
+
+    /**
+     * Versão atual do usuário. Deve ser lida antes de carregar a entidade e
+     * repassada para {@link #put(Long, long, UserDetailsResponse)}.
+     */
+    public long version(Long id) {
+        return versions.get(id);
+    }
+
+    public CachedResponse get(Long id) {
+        return entries.get(id);
+    }
+
+    public void put(Long id, long version, UserDetailsResponse response) {
+        if (maxEntries <= 0 || version(id) != version) {
+            return;
+        }
+
+        CachedResponse cached = serialize(response);
+
+        if (entries.size() >= maxEntries && !entries.containsKey(id)) {
+            Eviction.evictAny(entries);
+        }
+        entries.put(id, cached);
+
+        // uma invalidação pode ter ocorrido entre a checagem e o put
+        if (version(id) != version) {
+            entries.remove(id, cached);
+        }
+    }
+
+    public void invalidate(Long id) {
+        versions.increment(id);
+        entries.remove(id);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private CachedResponse serialize(UserDetailsResponse response) {
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(response);
+            byte[] gzipBody = gzipEnabled ? gzip(body) : null;
+
+            // respostas pequenas costumam crescer com gzip
+            if (gzipBody != null && gzipBody.length >= body.length) {
+                gzipBody = null;
+            }
+
+            CRC32 crc = new CRC32();
+            crc.update(body);
+            String etag = "\"" + response.id() + "-" + Long.toHexString(crc.getValue()) + "\"";
+
+            return new CachedResponse(body, gzipBody, etag);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,122 @@
+package br.edu.ifpb.instagram.cache;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Atende {@code GET /users/{id}} a partir do {@link UserResponseCache}.
+ *
+ * Roda depois da cadeia do Spring Security (ordem padrão dos filtros), então a
+ * autenticação continua valendo. Em um hit os bytes vão direto para o
+ * {@link ServletOutputStream}, sem passar pelo DispatcherServlet; em um miss a
+ * requisição segue para o {@code UserController}, que preenche o cache.
+ */
+@Component
+public class UserResponseCacheFilter extends OncePerRequestFilter {
+
+    private static final Pattern USER_PATH = Pattern.compile("^/users/(\\d{1,18})$");
+    // a mesma URL responde JSON, CBOR ou Smile, com ou sem gzip
+    private static final String VARY = HttpHeaders.ACCEPT + ", " + HttpHeaders.ACCEPT_ENCODING;
+
+    private final UserResponseCache userResponseCache;
+
+    public UserResponseCacheFilter(UserResponseCache userResponseCache) {
+        this.userResponseCache = userResponseCache;
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response, @NonNull FilterChain filterChain)
+            throws ServletException, IOException {
+
+        Long id = userId(request);
+        if (id == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        // vale também para o miss, que o controller responde no formato pedido
+        response.setHeader(HttpHeaders.VARY, VARY);
+
+        UserResponseCache.CachedResponse cached = lookup(request, id);
+        if (cached == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        response.setHeader(HttpHeaders.ETAG, cached.etag());
+
+        if (cached.etag().equals(request.getHeader(HttpHeaders.IF_NONE_MATCH))) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        byte[] body = cached.body();
+        if (cached.gzipBody() != null && acceptsGzip(request)) {
+            body = cached.gzipBody();
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(body.length);
+
+        ServletOutputStream out = response.getOutputStream();
+        out.write(body);
+        out.flush();
+    }
+
+    private static Long userId(HttpServletRequest request) {
+        if (!"GET".equals(request.getMethod())) {
+            return null;
+        }
+
+        Matcher matcher = USER_PATH.matcher(request.getRequestURI().substring(request.getContextPath().length()));
+        return matcher.matches() ? Long.valueOf(matcher.group(1)) : null;
+    }
+
+    private UserResponseCache.CachedResponse lookup(HttpServletRequest request, long id) {
+        if (request.getQueryString() != null || !acceptsJson(request)) {
+            return null;
+        }
+        return userResponseCache.get(id);
+    }
+
+    // o cache só guarda JSON; CBOR/Smile seguem pelo caminho normal
+    private static boolean acceptsJson(HttpServletRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        if (!StringUtils.hasText(accept)) {
+            return true;
+        }
+
+        try {
+            List<MediaType> mediaTypes = MediaType.parseMediaTypes(accept);
+            MimeTypeUtils.sortBySpecificity(mediaTypes);
+            return !mediaTypes.isEmpty() && mediaTypes.get(0).includes(MediaType.APPLICATION_JSON);
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+    }
+
+    private static boolean acceptsGzip(HttpServletRequest request) {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        return acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+    }
+}
@@ -0,0 +1,30 @@
+package br.edu.ifpb.instagram.cache;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Versões por faixa de chaves, para um cache não gravar um valor carregado
+ * antes de uma mudança depois dela: quem carrega lê a versão antes da
+ * consulta e só grava se ela não mudou; quem muda incrementa a versão.
+ *
+ * A memória é fixa; chaves da mesma faixa compartilham a versão, e uma
+ * colisão só causa uma carga descartada a mais.
+ */
+public final class VersionStripes {
+
+    private static final int STRIPES = 1024;
+
+    private final AtomicLongArray versions = new AtomicLongArray(STRIPES);
+
+    public long get(long key) {
+        return versions.get(stripe(key));
+    }
+
+    public long increment(long key) {
+        return versions.incrementAndGet(stripe(key));
+    }
+
+    private static int stripe(long key) {
+        return Long.hashCode(key) & (STRIPES - 1);
+    }
+}
@@ -0,0 +1,181 @@
+package br.edu.ifpb.instagram.config;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.edu.ifpb.instagram.model.request.LoginRequest;
+import br.edu.ifpb.instagram.model.request.UserDetailsRequest;
+import br.edu.ifpb.instagram.model.response.LoginResponse;
+import br.edu.ifpb.instagram.model.response.UserDetailsResponse;
+import br.edu.ifpb.instagram.repository.UserRepository;
+import br.edu.ifpb.instagram.security.JwtUtils;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Exercita os caminhos quentes (BCrypt, JJWT, Jackson e Hibernate) com dados
+ * sintéticos antes da aplicação aceitar tráfego.
+ *
+ * O Spring Boot só publica {@code ReadinessState.ACCEPTING_TRAFFIC} depois que
+ * todos os {@link ApplicationRunner} terminam, então o probe de readiness só
+ * fica UP quando o aquecimento acaba.
+ */
+@Component
+public class WarmupRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(WarmupRunner.class);
+
+    private static final String WARMUP_USERNAME = "warmup";
+    private static final String WARMUP_EMAIL = "warmup@warmup.local";
+    // ids gerados são sempre positivos
+    private static final long MISSING_ID = -1L;
+
+    private final PasswordEncoder passwordEncoder;
+    private final JwtUtils jwtUtils;
+    private final ObjectMapper objectMapper;
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    private final boolean enabled;
+    private final int iterations;
+    private final int bcryptIterations;
+
+    // latência da primeira e da última iteração de cada fase, em nanossegundos
+    private final Map<String, AtomicLong> firstIterationNanos = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> lastIterationNanos = new ConcurrentHashMap<>();
+
+    public WarmupRunner(PasswordEncoder passwordEncoder,
+                        JwtUtils jwtUtils,
+                        ObjectMapper objectMapper,
+                        UserRepository userRepository,
+                        PlatformTransactionManager transactionManager,
+                        MeterRegistry meterRegistry,
+                        @Value("${instagram.warmup.enabled:true}") boolean enabled,
+                        @Value("${instagram.warmup.iterations:200}") int iterations,
+                        @Value("${instagram.warmup.bcrypt-iterations:5}") int bcryptIterations) {
+        this.passwordEncoder = passwordEncoder;
+        this.jwtUtils = jwtUtils;
+        this.objectMapper = objectMapper;
+        this.userRepository = userRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.iterations = iterations;
+        this.bcryptIterations = bcryptIterations;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+
+        long start = System.nanoTime();
+
+        runPhase("bcrypt", bcryptIterations, this::warmupBcrypt);
+        runPhase("jwt", iterations, this::warmupJwt);
+        runPhase("jackson", iterations, this::warmupJackson);
+        runPhase("jpa", iterations, this::warmupJpa);
+
+        long elapsed = System.nanoTime() - start;
+        Timer.builder("instagram.warmup.duration")
+                .tag("phase", "total")
+                .register(meterRegistry)
+                .record(elapsed, TimeUnit.NANOSECONDS);
+
+        log.info("Warm-up finished in {} ms", TimeUnit.NANOSECONDS.toMillis(elapsed));
+    }
+
+    private void runPhase(String phase, int count, Runnable iteration) {
+        if (count <= 0) {
+            return;
+        }
+
+        Timer timer = Timer.builder("instagram.warmup.duration")
+                .tag("phase", phase)
+                .register(meterRegistry);
+        AtomicLong first = firstIterationNanos.computeIfAbsent(phase, p -> registerIterationGauge("first", p));
+        AtomicLong last = lastIterationNanos.computeIfAbsent(phase, p -> registerIterationGauge("last", p));
+
+        long phaseStart = System.nanoTime();
+        try {
+            for (int i = 0; i < count; i++) {
+                long iterationStart = System.nanoTime();
+                iteration.run();
+                long iterationNanos = System.nanoTime() - iterationStart;
+
+                if (i == 0) {
+                    first.set(iterationNanos);
+                }
+                last.set(iterationNanos);
+            }
+        } catch (RuntimeException e) {
+            // o aquecimento nunca deve impedir a aplicação de subir
+            log.warn("Warm-up phase '{}' aborted: {}", phase, e.getMessage());
+        }
+        timer.record(System.nanoTime() - phaseStart, TimeUnit.NANOSECONDS);
+    }
+
+    private AtomicLong registerIterationGauge(String which, String phase) {
+        AtomicLong value = new AtomicLong();
+        TimeGauge.builder("instagram.warmup.iteration." + which, value, TimeUnit.NANOSECONDS, AtomicLong::get)
+                .tag("phase", phase)
+                .register(meterRegistry);
+        return value;
+    }
+
+    private void warmupBcrypt() {
+        String encoded = passwordEncoder.encode("warmup-password");
+        passwordEncoder.matches("warmup-password", encoded);
+    }
+
+    private void warmupJwt() {
+        String token = jwtUtils.generateToken(new UsernamePasswordAuthenticationToken("warmup", null));
+        jwtUtils.validateToken(token);
+        jwtUtils.getUsernameFromToken(token);
+    }
+
+    private void warmupJackson() {
+        try {
+            objectMapper.writeValueAsBytes(new LoginResponse("warmup", "token"));
+            objectMapper.writeValueAsBytes(new UserDetailsResponse(1L, "Warm Up", WARMUP_USERNAME, WARMUP_EMAIL));
+
+            byte[] login = objectMapper.writeValueAsBytes(new LoginRequest(WARMUP_USERNAME, "warmup-password"));
+            byte[] user = objectMapper.writeValueAsBytes(
+                    new UserDetailsRequest(null, WARMUP_EMAIL, "warmup-password", "Warm Up", WARMUP_USERNAME));
+            objectMapper.readValue(login, LoginRequest.class);
+            objectMapper.readValue(user, UserDetailsRequest.class);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // só leituras de registros que não existem: gravar e desfazer gastaria ids
+    private void warmupJpa() {
+        transactionTemplate.executeWithoutResult(status -> {
+            userRepository.existsByEmail(WARMUP_EMAIL);
+            userRepository.existsByUsername(WARMUP_USERNAME);
+            userRepository.findByUsername(WARMUP_USERNAME);
+            userRepository.findById(MISSING_ID);
+        });
+    }
+}
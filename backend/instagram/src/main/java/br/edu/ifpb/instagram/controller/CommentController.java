@@ -0,0 +1,77 @@
+package br.edu.ifpb.instagram.controller;
+
+import java.security.Principal;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import br.edu.ifpb.instagram.model.dto.CommentDto;
+import br.edu.ifpb.instagram.model.dto.CommentPageDto;
+import br.edu.ifpb.instagram.model.request.CommentRequest;
+import br.edu.ifpb.instagram.model.response.CommentPageResponse;
+import br.edu.ifpb.instagram.model.response.CommentResponse;
+import br.edu.ifpb.instagram.service.CommentService;
+
+@RestController
+@RequestMapping("posts")
+public class CommentController {
+
+    private static final int MAX_PAGE_SIZE = 50;
+
+    private final CommentService commentService;
+
+    public CommentController(CommentService commentService) {
+        this.commentService = commentService;
+    }
+
+    @PostMapping("/{id}/comments")
+    public ResponseEntity<CommentResponse> addComment(@PathVariable Long id, @RequestBody CommentRequest commentRequest,
+                                                      Principal principal) {
+
+        CommentDto comment = commentService.addComment(principal.getName(), id, commentRequest.text());
+
+        return ResponseEntity.status(HttpStatus.CREATED).body(toResponse(comment));
+    }
+
+    @GetMapping("/{id}/comments")
+    public CommentPageResponse getComments(@PathVariable Long id,
+                                           @RequestParam(required = false) String cursor,
+                                           @RequestParam(defaultValue = "20") int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        CommentPageDto page = commentService.findComments(id, cursor, limit);
+
+        return new CommentPageResponse(page.comments().stream().map(CommentController::toResponse).toList(),
+                page.nextCursor());
+    }
+
+    @DeleteMapping("/{id}/comments/{commentId}")
+    public ResponseEntity<Void> deleteComment(@PathVariable Long id, @PathVariable Long commentId,
+                                              Principal principal) {
+
+        commentService.deleteComment(principal.getName(), id, commentId);
+
+        return ResponseEntity.noContent().build();
+    }
+
+    private static CommentResponse toResponse(CommentDto commentDto) {
+        return new CommentResponse(
+                commentDto.id(),
+                commentDto.postId(),
+                commentDto.authorId(),
+                commentDto.authorUsername(),
+                commentDto.text(),
+                commentDto.createdAt()
+        );
+    }
+}
@@ -0,0 +1,102 @@
+package br.edu.ifpb.instagram.controller;
+
+import java.security.Principal;
+import java.util.List;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import br.edu.ifpb.instagram.model.dto.ConversationDto;
+import br.edu.ifpb.instagram.model.dto.MessageDto;
+import br.edu.ifpb.instagram.model.request.ConversationRequest;
+import br.edu.ifpb.instagram.model.request.MessageRequest;
+import br.edu.ifpb.instagram.model.response.ConversationResponse;
+import br.edu.ifpb.instagram.model.response.MessageResponse;
+import br.edu.ifpb.instagram.service.MessageService;
+
+@RestController
+@RequestMapping("conversations")
+public class ConversationController {
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final MessageService messageService;
+
+    public ConversationController(MessageService messageService) {
+        this.messageService = messageService;
+    }
+
+    @PostMapping
+    public ResponseEntity<ConversationResponse> createConversation(@RequestBody ConversationRequest conversationRequest,
+                                                                   Principal principal) {
+
+        ConversationDto conversation = messageService.createConversation(principal.getName(),
+                conversationRequest.memberIds());
+
+        return ResponseEntity.status(HttpStatus.CREATED).body(toResponse(conversation));
+    }
+
+    @GetMapping
+    public List<ConversationResponse> getConversations(Principal principal) {
+
+        return messageService.findConversations(principal.getName()).stream()
+                .map(ConversationController::toResponse).toList();
+    }
+
+    @PostMapping("/{id}/messages")
+    public ResponseEntity<MessageResponse> sendMessage(@PathVariable Long id, @RequestBody MessageRequest messageRequest,
+                                                       Principal principal) {
+
+        MessageDto message = messageService.sendMessage(principal.getName(), id, messageRequest.text());
+
+        return ResponseEntity.status(HttpStatus.CREATED).body(toResponse(message));
+    }
+
+    @GetMapping("/{id}/messages")
+    public List<MessageResponse> getMessages(@PathVariable Long id,
+                                             @RequestParam(required = false) Long before,
+                                             @RequestParam(required = false) Long after,
+                                             @RequestParam(defaultValue = "50") int limit,
+                                             Principal principal) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        return messageService.findMessages(principal.getName(), id, before, after, limit).stream()
+                .map(ConversationController::toResponse).toList();
+    }
+
+    @DeleteMapping("/{id}/messages/{seq}")
+    public ResponseEntity<Void> deleteMessage(@PathVariable Long id, @PathVariable Long seq, Principal principal) {
+
+        messageService.deleteMessage(principal.getName(), id, seq);
+
+        return ResponseEntity.noContent().build();
+    }
+
+    private static ConversationResponse toResponse(ConversationDto conversationDto) {
+        return new ConversationResponse(
+                conversationDto.id(),
+                conversationDto.memberIds(),
+                conversationDto.createdAt()
+        );
+    }
+
+    private static MessageResponse toResponse(MessageDto messageDto) {
+        return new MessageResponse(
+                messageDto.conversationId(),
+                messageDto.seq(),
+                messageDto.senderId(),
+                messageDto.text(),
+                messageDto.createdAt()
+        );
+    }
+}
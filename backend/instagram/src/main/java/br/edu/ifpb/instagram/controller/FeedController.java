@@ -0,0 +1,47 @@
+package br.edu.ifpb.instagram.controller;
+
+import java.security.Principal;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import br.edu.ifpb.instagram.model.dto.FeedPageDto;
+import br.edu.ifpb.instagram.model.dto.PostDto;
+import br.edu.ifpb.instagram.model.response.FeedPageResponse;
+import br.edu.ifpb.instagram.model.response.PostResponse;
+import br.edu.ifpb.instagram.service.PostService;
+
+@RestController
+@RequestMapping("feed")
+public class FeedController {
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final PostService postService;
+
+    public FeedController(PostService postService) {
+        this.postService = postService;
+    }
+
+    @GetMapping
+    public FeedPageResponse getFeed(@RequestParam(required = false) String cursor,
+                                    @RequestParam(defaultValue = "20") int limit,
+                                    Principal principal) {
+
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        FeedPageDto page = postService.findFeed(principal.getName(), cursor, limit);
+        List<PostResponse> posts = new ArrayList<>(page.posts().size());
+        for (PostDto postDto : page.posts()) {
+            posts.add(PostController.toResponse(postDto));
+        }
+
+        return new FeedPageResponse(posts, page.nextCursor());
+    }
+}
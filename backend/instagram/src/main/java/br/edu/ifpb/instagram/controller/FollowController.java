@@ -0,0 +1,125 @@
+package br.edu.ifpb.instagram.controller;
+
+import java.security.Principal;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import br.edu.ifpb.instagram.model.dto.FollowStatsDto;
+import br.edu.ifpb.instagram.model.dto.SuggestionDto;
+import br.edu.ifpb.instagram.model.dto.UserDto;
+import br.edu.ifpb.instagram.model.response.FollowStatsResponse;
+import br.edu.ifpb.instagram.model.response.SuggestionResponse;
+import br.edu.ifpb.instagram.model.response.UserDetailsResponse;
+import br.edu.ifpb.instagram.service.FollowService;
+
+@RestController
+@RequestMapping("users")
+public class FollowController {
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final FollowService followService;
+
+    public FollowController(FollowService followService) {
+        this.followService = followService;
+    }
+
+    @PostMapping("/{id}/follow")
+    public ResponseEntity<Void> follow(@PathVariable Long id, Principal principal) {
+
+        followService.follow(principal.getName(), id);
+
+        return ResponseEntity.noContent().build();
+    }
+
+    @DeleteMapping("/{id}/follow")
+    public ResponseEntity<Void> unfollow(@PathVariable Long id, Principal principal) {
+
+        followService.unfollow(principal.getName(), id);
+
+        return ResponseEntity.noContent().build();
+    }
+
+    // 204 quando {id} segue {targetId}, 404 quando não segue
+    @GetMapping("/{id}/following/{targetId}")
+    public ResponseEntity<Void> isFollowing(@PathVariable Long id, @PathVariable Long targetId) {
+
+        return followService.isFollowing(id, targetId)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
+    }
+
+    @GetMapping("/{id}/follow-stats")
+    public FollowStatsResponse getStats(@PathVariable Long id) {
+
+        FollowStatsDto stats = followService.findStats(id);
+
+        return new FollowStatsResponse(stats.userId(), stats.followers(), stats.following());
+    }
+
+    @GetMapping("/{id}/followers")
+    public List<UserDetailsResponse> getFollowers(@PathVariable Long id,
+                                                  @RequestParam(defaultValue = "0") int offset,
+                                                  @RequestParam(defaultValue = "20") int limit) {
+
+        validatePage(offset, limit);
+        return toResponses(followService.findFollowers(id, offset, limit));
+    }
+
+    @GetMapping("/{id}/following")
+    public List<UserDetailsResponse> getFollowing(@PathVariable Long id,
+                                                  @RequestParam(defaultValue = "0") int offset,
+                                                  @RequestParam(defaultValue = "20") int limit) {
+
+        validatePage(offset, limit);
+        return toResponses(followService.findFollowing(id, offset, limit));
+    }
+
+    // pessoas que você talvez conheça, por número de seguidos em comum
+    @GetMapping("/suggestions")
+    public List<SuggestionResponse> getSuggestions(@RequestParam(defaultValue = "20") int limit,
+                                                   Principal principal) {
+
+        validatePage(0, limit);
+
+        List<SuggestionResponse> responses = new ArrayList<>();
+        for (SuggestionDto suggestion : followService.findSuggestions(principal.getName(), limit)) {
+            UserDto userDto = suggestion.user();
+            responses.add(new SuggestionResponse(
+                userDto.id(),
+                userDto.fullName(),
+                userDto.username(),
+                suggestion.mutualCount()
+            ));
+        }
+        return responses;
+    }
+
+    private static void validatePage(int offset, int limit) {
+        if (offset < 0 || limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("offset must be >= 0 and limit between 1 and " + MAX_PAGE_SIZE);
+        }
+    }
+
+    private static List<UserDetailsResponse> toResponses(List<UserDto> users) {
+        List<UserDetailsResponse> responses = new ArrayList<>(users.size());
+        for (UserDto userDto : users) {
+            responses.add(new UserDetailsResponse(
+                userDto.id(),
+                userDto.fullName(),
+                userDto.username(),
+                userDto.email()
+            ));
+        }
+        return responses;
+    }
+}
@@ -0,0 +1,47 @@
+package br.edu.ifpb.instagram.controller;
+
+import java.security.Principal;
+
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import br.edu.ifpb.instagram.model.dto.LikeDto;
+import br.edu.ifpb.instagram.model.response.LikeResponse;
+import br.edu.ifpb.instagram.service.LikeService;
+
+@RestController
+@RequestMapping("posts")
+public class LikeController {
+
+    private final LikeService likeService;
+
+    public LikeController(LikeService likeService) {
+        this.likeService = likeService;
+    }
+
+    @PostMapping("/{id}/like")
+    public LikeResponse like(@PathVariable Long id, Principal principal) {
+
+        return toResponse(likeService.like(principal.getName(), id));
+    }
+
+    @DeleteMapping("/{id}/like")
+    public LikeResponse unlike(@PathVariable Long id, Principal principal) {
+
+        return toResponse(likeService.unlike(principal.getName(), id));
+    }
+
+    @GetMapping("/{id}/likes")
+    public LikeResponse getLikes(@PathVariable Long id, Principal principal) {
+
+        return toResponse(likeService.find(principal.getName(), id));
+    }
+
+    private static LikeResponse toResponse(LikeDto likeDto) {
+        return new LikeResponse(likeDto.postId(), likeDto.likes(), likeDto.liked());
+    }
+}
@@ -0,0 +1,79 @@
+package br.edu.ifpb.instagram.controller;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.Principal;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+
+import br.edu.ifpb.instagram.media.DerivativeSize;
+import br.edu.ifpb.instagram.model.dto.MediaDto;
+import br.edu.ifpb.instagram.model.response.MediaResponse;
+import br.edu.ifpb.instagram.service.MediaService;
+import br.edu.ifpb.instagram.storage.BlobResponseWriter;
+import br.edu.ifpb.instagram.storage.MediaStorage;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+@RestController
+@RequestMapping("media")
+public class MediaController {
+
+    private final MediaService mediaService;
+    private final MediaStorage mediaStorage;
+    private final BlobResponseWriter blobResponseWriter;
+
+    public MediaController(MediaService mediaService, MediaStorage mediaStorage,
+                           BlobResponseWriter blobResponseWriter) {
+        this.mediaService = mediaService;
+        this.mediaStorage = mediaStorage;
+        this.blobResponseWriter = blobResponseWriter;
+    }
+
+    // a parte do multipart já está em arquivo temporário (file-size-threshold=0);
+    // daqui ela é lida em stream, nunca com getBytes()
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<MediaResponse> upload(@RequestParam("file") MultipartFile file, Principal principal)
+            throws IOException {
+
+        if (file.isEmpty()) {
+            throw new IllegalArgumentException("File must not be empty");
+        }
+
+        MediaDto uploaded;
+        try (InputStream content = file.getInputStream()) {
+            uploaded = mediaService.upload(principal.getName(), file.getContentType(), content);
+        }
+
+        return ResponseEntity.status(HttpStatus.CREATED).body(new MediaResponse(
+            uploaded.id(),
+            uploaded.ownerId(),
+            uploaded.sha256(),
+            uploaded.size(),
+            uploaded.contentType(),
+            uploaded.createdAt()
+        ));
+    }
+
+    // o corpo é escrito pelo BlobResponseWriter (sendfile/transferTo), não por um message converter
+    @GetMapping("/{id}")
+    public void download(@PathVariable Long id, @RequestParam(required = false) String size,
+                         HttpServletRequest request, HttpServletResponse response) throws IOException {
+
+        MediaDto media = size == null
+                ? mediaService.findById(id)
+                : mediaService.findDerivative(id, DerivativeSize.parse(size));
+
+        blobResponseWriter.write(mediaStorage.locate(media.sha256()), media.sha256(), media.contentType(),
+                request, response);
+    }
+}
@@ -0,0 +1,106 @@
+package br.edu.ifpb.instagram.controller;
+
+import java.io.IOException;
+import java.security.Principal;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import br.edu.ifpb.instagram.model.response.NotificationResponse;
+import br.edu.ifpb.instagram.notification.NotificationBus;
+import br.edu.ifpb.instagram.notification.NotificationEvent;
+import br.edu.ifpb.instagram.notification.NotificationSink;
+import br.edu.ifpb.instagram.service.NotificationService;
+
+/**
+ * Stream SSE de notificações. A conexão fica parada sem thread enquanto não
+ * há eventos; ao expirar ({@code stream-timeout}) o cliente reconecta com o
+ * Last-Event-ID recebido e continua de onde parou.
+ */
+@RestController
+@RequestMapping("notifications")
+public class NotificationController {
+
+    private static final long RECONNECT_MILLIS = 3_000;
+
+    private final NotificationService notificationService;
+    private final long streamTimeoutMillis;
+
+    public NotificationController(NotificationService notificationService,
+                                  @Value("${instagram.notifications.stream-timeout:30m}") Duration streamTimeout) {
+        this.notificationService = notificationService;
+        this.streamTimeoutMillis = streamTimeout.toMillis();
+    }
+
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(Principal principal,
+                             @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId)
+            throws IOException {
+
+        SseEmitter emitter = new SseEmitter(streamTimeoutMillis);
+        // primeira escrita: envia os headers já na abertura, sem esperar um evento
+        emitter.send(SseEmitter.event().reconnectTime(RECONNECT_MILLIS));
+
+        NotificationBus.Subscription subscription =
+                notificationService.subscribe(principal.getName(), lastEventId, new EmitterSink(emitter));
+
+        emitter.onCompletion(subscription::cancel);
+        emitter.onTimeout(subscription::cancel);
+        emitter.onError(error -> subscription.cancel());
+        return emitter;
+    }
+
+    private record EmitterSink(SseEmitter emitter) implements NotificationSink {
+
+        @Override
+        public void send(NotificationEvent event) throws IOException {
+            emitter.send(SseEmitter.event()
+                    .id(Long.toString(event.id()))
+                    .name(event.type().name().toLowerCase(Locale.ROOT))
+                    .data(toResponse(event), MediaType.APPLICATION_JSON));
+        }
+
+        @Override
+        public void overflow(int dropped) throws IOException {
+            emitter.send(SseEmitter.event().name("overflow").data(Map.of("dropped", dropped), MediaType.APPLICATION_JSON));
+        }
+
+        @Override
+        public void reset() throws IOException {
+            emitter.send(SseEmitter.event().name("reset").data(Map.of(), MediaType.APPLICATION_JSON));
+        }
+
+        @Override
+        public void heartbeat() throws IOException {
+            emitter.send(SseEmitter.event().comment(""));
+        }
+
+        @Override
+        public void close() {
+            try {
+                emitter.complete();
+            } catch (RuntimeException e) {
+                // conexão já encerrada
+            }
+        }
+    }
+
+    private static NotificationResponse toResponse(NotificationEvent event) {
+        return new NotificationResponse(
+                event.id(),
+                event.type(),
+                event.actorId(),
+                event.actorUsername(),
+                event.postId(),
+                event.createdAt()
+        );
+    }
+}
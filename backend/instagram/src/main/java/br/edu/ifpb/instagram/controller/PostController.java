@@ -0,0 +1,61 @@
+package br.edu.ifpb.instagram.controller;
+
+import java.security.Principal;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import br.edu.ifpb.instagram.model.dto.PostDto;
+import br.edu.ifpb.instagram.model.request.PostRequest;
+import br.edu.ifpb.instagram.model.response.PostResponse;
+import br.edu.ifpb.instagram.service.PostService;
+
+@RestController
+@RequestMapping("posts")
+public class PostController {
+
+    private final PostService postService;
+
+    public PostController(PostService postService) {
+        this.postService = postService;
+    }
+
+    @PostMapping
+    public ResponseEntity<PostResponse> createPost(@RequestBody PostRequest postRequest, Principal principal) {
+
+        PostDto createdPost = postService.createPost(principal.getName(), postRequest.caption());
+
+        return ResponseEntity.status(HttpStatus.CREATED).body(toResponse(createdPost));
+    }
+
+    @GetMapping("/{id}")
+    public PostResponse getPost(@PathVariable Long id) {
+
+        return toResponse(postService.findById(id));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deletePost(@PathVariable Long id, Principal principal) {
+
+        postService.deletePost(principal.getName(), id);
+
+        return ResponseEntity.noContent().build();
+    }
+
+    static PostResponse toResponse(PostDto postDto) {
+        return new PostResponse(
+            postDto.id(),
+            postDto.authorId(),
+            postDto.authorUsername(),
+            postDto.caption(),
+            postDto.createdAt()
+        );
+    }
+}
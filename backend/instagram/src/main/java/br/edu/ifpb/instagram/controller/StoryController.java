@@ -0,0 +1,67 @@
+package br.edu.ifpb.instagram.controller;
+
+import java.security.Principal;
+import java.util.List;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+
+import br.edu.ifpb.instagram.model.dto.StoryDto;
+import br.edu.ifpb.instagram.model.request.StoryRequest;
+import br.edu.ifpb.instagram.model.response.StoryResponse;
+import br.edu.ifpb.instagram.service.StoryService;
+
+@RestController
+public class StoryController {
+
+    private final StoryService storyService;
+
+    public StoryController(StoryService storyService) {
+        this.storyService = storyService;
+    }
+
+    @PostMapping("/stories")
+    public ResponseEntity<StoryResponse> createStory(@RequestBody StoryRequest storyRequest, Principal principal) {
+
+        StoryDto createdStory = storyService.createStory(principal.getName(), storyRequest.mediaId());
+
+        return ResponseEntity.status(HttpStatus.CREATED).body(toResponse(createdStory));
+    }
+
+    @GetMapping("/stories/{id}")
+    public StoryResponse getStory(@PathVariable Long id) {
+
+        return toResponse(storyService.findById(id));
+    }
+
+    @GetMapping("/users/{id}/stories")
+    public List<StoryResponse> getUserStories(@PathVariable Long id) {
+
+        return storyService.findActiveByAuthor(id).stream().map(StoryController::toResponse).toList();
+    }
+
+    @DeleteMapping("/stories/{id}")
+    public ResponseEntity<Void> deleteStory(@PathVariable Long id, Principal principal) {
+
+        storyService.deleteStory(principal.getName(), id);
+
+        return ResponseEntity.noContent().build();
+    }
+
+    private static StoryResponse toResponse(StoryDto storyDto) {
+        return new StoryResponse(
+                storyDto.id(),
+                storyDto.authorId(),
+                storyDto.authorUsername(),
+                storyDto.mediaId(),
+                storyDto.createdAt(),
+                storyDto.expiresAt()
+        );
+    }
+}
@@ -0,0 +1,35 @@
+package br.edu.ifpb.instagram.controller;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import br.edu.ifpb.instagram.model.dto.TrendingDto;
+import br.edu.ifpb.instagram.model.response.TrendingHashtagResponse;
+import br.edu.ifpb.instagram.model.response.TrendingResponse;
+import br.edu.ifpb.instagram.trending.TrendingAggregator;
+
+@RestController
+@RequestMapping("trending")
+public class TrendingController {
+
+    private final TrendingAggregator trendingAggregator;
+
+    public TrendingController(TrendingAggregator trendingAggregator) {
+        this.trendingAggregator = trendingAggregator;
+    }
+
+    // ranking pré-calculado pelo agregador; a requisição só lê a referência
+    @GetMapping
+    public TrendingResponse getTrending() {
+
+        TrendingDto trending = trendingAggregator.current();
+
+        return new TrendingResponse(
+                trending.computedAt(),
+                trending.hashtags().stream()
+                        .map(hashtag -> new TrendingHashtagResponse(hashtag.hashtag(), hashtag.count()))
+                        .toList()
+        );
+    }
+}
@@ -0,0 +1,111 @@
+package br.edu.ifpb.instagram.controller;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.security.Principal;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import br.edu.ifpb.instagram.model.dto.MediaDto;
+import br.edu.ifpb.instagram.model.dto.UploadSessionDto;
+import br.edu.ifpb.instagram.model.request.UploadSessionRequest;
+import br.edu.ifpb.instagram.model.response.MediaResponse;
+import br.edu.ifpb.instagram.model.response.UploadSessionResponse;
+import br.edu.ifpb.instagram.service.UploadSessionService;
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Protocolo de upload retomável: {@code POST} cria a sessão, {@code PUT
+ * ?offset=} envia um chunk como corpo bruto, {@code GET} informa até onde o
+ * servidor já recebeu e {@code POST /complete} cria a mídia.
+ */
+@RestController
+@RequestMapping("media/uploads")
+public class UploadController {
+
+    private static final String UPLOAD_OFFSET = "Upload-Offset";
+
+    private final UploadSessionService uploadSessionService;
+
+    public UploadController(UploadSessionService uploadSessionService) {
+        this.uploadSessionService = uploadSessionService;
+    }
+
+    @PostMapping
+    public ResponseEntity<UploadSessionResponse> create(@RequestBody UploadSessionRequest uploadSessionRequest,
+                                                        Principal principal) throws IOException {
+
+        UploadSessionDto session = uploadSessionService.create(principal.getName(),
+                uploadSessionRequest.contentType(), uploadSessionRequest.size());
+
+        return ResponseEntity.created(URI.create("/media/uploads/" + session.id()))
+                .header(UPLOAD_OFFSET, String.valueOf(session.offset()))
+                .body(mapToResponse(session));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<UploadSessionResponse> status(@PathVariable String id, Principal principal) {
+        UploadSessionDto session = uploadSessionService.find(principal.getName(), id);
+
+        return ResponseEntity.ok()
+                .header(UPLOAD_OFFSET, String.valueOf(session.offset()))
+                .body(mapToResponse(session));
+    }
+
+    // o corpo é lido direto do request em stream, sem passar por um message converter
+    @PutMapping("/{id}")
+    public ResponseEntity<UploadSessionResponse> writeChunk(@PathVariable String id, @RequestParam long offset,
+                                                            HttpServletRequest request, Principal principal)
+            throws IOException {
+
+        UploadSessionDto session;
+        try (InputStream content = request.getInputStream()) {
+            session = uploadSessionService.writeChunk(principal.getName(), id, offset, content);
+        }
+
+        return ResponseEntity.ok()
+                .header(UPLOAD_OFFSET, String.valueOf(session.offset()))
+                .body(mapToResponse(session));
+    }
+
+    @PostMapping("/{id}/complete")
+    public ResponseEntity<MediaResponse> complete(@PathVariable String id, Principal principal) throws IOException {
+        MediaDto media = uploadSessionService.complete(principal.getName(), id);
+
+        return ResponseEntity.status(HttpStatus.CREATED).body(new MediaResponse(
+            media.id(),
+            media.ownerId(),
+            media.sha256(),
+            media.size(),
+            media.contentType(),
+            media.createdAt()
+        ));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> abort(@PathVariable String id, Principal principal) throws IOException {
+        uploadSessionService.abort(principal.getName(), id);
+        return ResponseEntity.noContent().build();
+    }
+
+    private UploadSessionResponse mapToResponse(UploadSessionDto session) {
+        return new UploadSessionResponse(
+            session.id(),
+            session.contentType(),
+            session.size(),
+            session.offset(),
+            session.expiresAt()
+        );
+    }
+}
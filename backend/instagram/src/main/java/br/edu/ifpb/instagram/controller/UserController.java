@@ -2,61 +2,107 @@ package br.edu.ifpb.instagram.controller;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 
-import org.springframework.beans.BeanUtils;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import br.edu.ifpb.instagram.cache.UserResponseCache;
+import br.edu.ifpb.instagram.model.dto.ProfileViewsDto;
+import br.edu.ifpb.instagram.model.dto.UserBatchDto;
+import br.edu.ifpb.instagram.model.dto.UserDeletionDto;
 import br.edu.ifpb.instagram.model.dto.UserDto;
+import br.edu.ifpb.instagram.model.dto.UserField;
 import br.edu.ifpb.instagram.model.request.UserDetailsRequest;
+import br.edu.ifpb.instagram.model.response.ProfileViewsResponse;
+import br.edu.ifpb.instagram.model.response.UserBatchResponse;
+import br.edu.ifpb.instagram.model.response.UserDeletionResponse;
 import br.edu.ifpb.instagram.model.response.UserDetailsResponse;
 import br.edu.ifpb.instagram.service.UserService;
+import br.edu.ifpb.instagram.views.ProfileViewCounters;
 
 @RestController
 @RequestMapping("users")
 public class UserController {
 
+    private static final int MAX_IDS_PER_REQUEST = 100;
+
     private final UserService userService;
+    private final UserResponseCache userResponseCache;
+    private final ProfileViewCounters profileViewCounters;
 
-    public UserController(UserService userService) {
+    public UserController(UserService userService, UserResponseCache userResponseCache,
+                          ProfileViewCounters profileViewCounters) {
         this.userService = userService;
+        this.userResponseCache = userResponseCache;
+        this.profileViewCounters = profileViewCounters;
     }
 
     @GetMapping
-    public List<UserDetailsResponse> getUsers(){
+    public List<UserDetailsResponse> getUsers(@RequestParam(required = false) String fields){
 
-        List<UserDto> userDtos = userService.findAll();
+        List<UserDto> userDtos = fields == null
+                ? userService.findAll()
+                : userService.findAll(UserField.parse(fields));
         List<UserDetailsResponse> userDetailsResponses = new ArrayList<>();
 
         for (UserDto userDto : userDtos) {
-            UserDetailsResponse userDetailsResponse = new UserDetailsResponse(
-                userDto.id(),
-                userDto.fullName(),
-                userDto.username(),
-                userDto.email()
-            );
-            userDetailsResponses.add(userDetailsResponse);
+            userDetailsResponses.add(toResponse(userDto));
         }
 
         return userDetailsResponses;
     }
 
+    @GetMapping(params = "ids")
+    public UserBatchResponse getUsersByIds(@RequestParam List<Long> ids,
+                                           @RequestParam(required = false) String fields){
+
+        if (ids.isEmpty() || ids.size() > MAX_IDS_PER_REQUEST) {
+            throw new IllegalArgumentException("ids must contain between 1 and " + MAX_IDS_PER_REQUEST + " values");
+        }
+
+        UserBatchDto userBatchDto = fields == null
+                ? userService.findAllById(ids)
+                : userService.findAllById(ids, UserField.parse(fields));
+        List<UserDetailsResponse> userDetailsResponses = new ArrayList<>();
+
+        for (UserDto userDto : userBatchDto.users()) {
+            userDetailsResponses.add(toResponse(userDto));
+        }
+
+        return new UserBatchResponse(userDetailsResponses, userBatchDto.missingIds());
+    }
+
     @GetMapping("/{id}")
-    public UserDetailsResponse getUser(@PathVariable Long id){
+    public UserDetailsResponse getUser(@PathVariable Long id,
+                                       @RequestParam(required = false) String fields){
+
+        // respostas parciais não passam pelo cache de respostas completas
+        if (fields != null) {
+            Set<UserField> userFields = UserField.parse(fields);
+            return toResponse(userService.findById(id, userFields));
+        }
+
+        // lida antes de carregar o usuário para não cachear uma versão antiga
+        long version = userResponseCache.version(id);
 
         UserDto userDto = userService.findById(id);
+        ProfileViewsDto views = profileViewCounters.stats(id);
         UserDetailsResponse userDetailsResponse = new UserDetailsResponse(
             userDto.id(),
             userDto.fullName(),
             userDto.username(),
-            userDto.email()
+            userDto.email(),
+            new ProfileViewsResponse(views.today(), views.last7Days(), views.last30Days())
         );
-        BeanUtils.copyProperties(userDto, userDetailsResponse);
+        userResponseCache.put(id, version, userDetailsResponse);
 
         return userDetailsResponse;
     }
@@ -75,20 +121,38 @@ public class UserController {
 
         UserDto updatedUserDto = userService.updateUser(userDto);
 
-        return new UserDetailsResponse(
-            updatedUserDto.id(),
-            updatedUserDto.fullName(),
-            updatedUserDto.username(),
-            updatedUserDto.email()
-        );
+        return toResponse(updatedUserDto);
     }
 
+    // a conta some na hora; os dados saem em segundo plano (GET /users/{id}/deletion)
     @DeleteMapping("/{id}")
-    public String deleteUser(@PathVariable Long id){
+    public ResponseEntity<String> deleteUser(@PathVariable Long id){
 
         userService.deleteUser(id);
 
-        return "user was deleted!";
+        return ResponseEntity.accepted().body("user was deleted!");
+    }
+
+    @GetMapping("/{id}/deletion")
+    public UserDeletionResponse getDeletion(@PathVariable Long id){
+
+        UserDeletionDto deletion = userService.findDeletion(id);
+
+        return new UserDeletionResponse(
+            deletion.userId(),
+            deletion.step(),
+            deletion.purgedRows(),
+            deletion.requestedAt(),
+            deletion.updatedAt()
+        );
     }
 
+    private UserDetailsResponse toResponse(UserDto userDto) {
+        return new UserDetailsResponse(
+            userDto.id(),
+            userDto.fullName(),
+            userDto.username(),
+            userDto.email()
+        );
+    }
 }
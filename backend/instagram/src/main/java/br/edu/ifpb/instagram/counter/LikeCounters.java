@@ -0,0 +1,234 @@
+package br.edu.ifpb.instagram.counter;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Contadores de curtidas com escrita atrasada (write-behind).
+ *
+ * Cada curtida só incrementa um {@link LongAdder} do post, que espalha as
+ * escritas concorrentes em células separadas; nada disputa a linha do post
+ * no banco. A cada {@code flush-interval-ms} os deltas acumulados viram um
+ * único {@code UPDATE posts SET like_count = like_count + ?} por post, em
+ * batch.
+ *
+ * O log durável é a tabela {@code likes}. Cada instância mantém uma linha em
+ * {@code like_counter_markers}, renovada a cada flush e apagada só depois do
+ * último flush de um desligamento limpo. Uma linha que sobrou (do próprio
+ * node-id ou sem renovação há mais de {@code heartbeat-timeout}) indica que
+ * uma instância caiu com deltas em memória, e só então a subida recalcula
+ * {@code like_count} a partir do log. Reinícios limpos não recalculam nada.
+ *
+ * O recálculo só é correto com uma única instância: outra instância viva pode
+ * ter deltas de curtidas que já estão em {@code likes} e que ela ainda vai
+ * somar, e contaria duas vezes. Por isso, com outra marca ainda renovada, a
+ * subida não recalcula, avisa no log e deixa a marca da instância que caiu
+ * para uma subida futura.
+ */
+@Component
+public class LikeCounters implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(LikeCounters.class);
+
+    private static final String FLUSH_DELTA = "UPDATE posts SET like_count = like_count + ? WHERE id = ?";
+    private static final String REBUILD_COUNTS =
+            "UPDATE posts p SET like_count = (SELECT COUNT(*) FROM likes l WHERE l.post_id = p.id)";
+    private static final String SELECT_MARKERS = "SELECT node_id, heartbeat_at FROM like_counter_markers";
+    private static final String UPDATE_MARKER = "UPDATE like_counter_markers SET heartbeat_at = ? WHERE node_id = ?";
+    private static final String INSERT_MARKER = "INSERT INTO like_counter_markers (node_id, heartbeat_at) VALUES (?, ?)";
+    private static final String DELETE_MARKER = "DELETE FROM like_counter_markers WHERE node_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long flushIntervalMillis;
+    private final boolean rebuildOnStartup;
+    private final int nodeId;
+    private final Duration heartbeatTimeout;
+
+    private final Map<Long, LongAdder> deltas = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService flusher;
+
+    public LikeCounters(JdbcTemplate jdbcTemplate,
+                        @Value("${instagram.likes.flush-interval-ms:1000}") long flushIntervalMillis,
+                        @Value("${instagram.likes.rebuild-on-startup:true}") boolean rebuildOnStartup,
+                        @Value("${instagram.ids.node-id:0}") int nodeId,
+                        @Value("${instagram.likes.heartbeat-timeout:30s}") Duration heartbeatTimeout) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.rebuildOnStartup = rebuildOnStartup;
+        this.nodeId = nodeId;
+        this.heartbeatTimeout = heartbeatTimeout;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (rebuildOnStartup) {
+            recoverAfterCrash();
+            heartbeat();
+        }
+
+        if (flushIntervalMillis <= 0) {
+            return;
+        }
+
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "like-counter-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    // recalcula só se alguma instância caiu sem gravar os deltas e nenhuma outra está viva
+    private void recoverAfterCrash() {
+        Instant deadline = Instant.now().minus(heartbeatTimeout);
+        List<Integer> crashed = new ArrayList<>();
+        List<Integer> alive = new ArrayList<>();
+        jdbcTemplate.query(SELECT_MARKERS, rs -> {
+            int node = rs.getInt(1);
+            if (node == nodeId || rs.getTimestamp(2).toInstant().isBefore(deadline)) {
+                crashed.add(node);
+            } else {
+                alive.add(node);
+            }
+        });
+        if (crashed.isEmpty()) {
+            return;
+        }
+        if (!alive.isEmpty()) {
+            log.warn("Like counters of nodes {} were not flushed before they stopped, but nodes {} are still running; "
+                    + "skipping the rebuild", crashed, alive);
+            return;
+        }
+
+        long start = System.nanoTime();
+        int posts = jdbcTemplate.update(REBUILD_COUNTS);
+        for (Integer node : crashed) {
+            jdbcTemplate.update(DELETE_MARKER, node);
+        }
+        log.info("Like counts rebuilt for {} posts after nodes {} stopped without flushing, in {} ms", posts, crashed,
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private void heartbeat() {
+        Timestamp now = Timestamp.from(Instant.now());
+        if (jdbcTemplate.update(UPDATE_MARKER, now, nodeId) == 0) {
+            try {
+                jdbcTemplate.update(INSERT_MARKER, nodeId, now);
+            } catch (DuplicateKeyException e) {
+                // outra instância com o mesmo node-id inseriu entre o update e o insert
+                jdbcTemplate.update(UPDATE_MARKER, now, nodeId);
+            }
+        }
+    }
+
+    /**
+     * Registra um delta já gravado no log. Deve ser chamado depois do commit
+     * da linha em {@code likes}.
+     */
+    public void add(long postId, long delta) {
+        LongAdder adder = deltas.computeIfAbsent(postId, id -> new LongAdder());
+        adder.add(delta);
+
+        // o flush pode ter removido este adder entre o get e o add; quem
+        // segura uma referência órfã devolve o que sobrou nela para o mapa
+        if (deltas.get(postId) != adder) {
+            long orphan = adder.sumThenReset();
+            if (orphan != 0) {
+                add(postId, orphan);
+            }
+        }
+    }
+
+    /**
+     * Delta ainda não gravado em {@code posts.like_count}.
+     */
+    public long pending(long postId) {
+        LongAdder adder = deltas.get(postId);
+        return adder == null ? 0 : adder.sum();
+    }
+
+    /**
+     * Grava os deltas acumulados e devolve quantos posts foram atualizados.
+     * Posts sem curtidas desde o último flush saem do mapa.
+     */
+    public synchronized int flush() {
+        List<Object[]> batch = new ArrayList<>();
+
+        for (Map.Entry<Long, LongAdder> entry : deltas.entrySet()) {
+            long delta = entry.getValue().sumThenReset();
+            if (delta != 0) {
+                batch.add(new Object[] { delta, entry.getKey() });
+                continue;
+            }
+
+            if (deltas.remove(entry.getKey(), entry.getValue())) {
+                long late = entry.getValue().sumThenReset();
+                if (late != 0) {
+                    add(entry.getKey(), late);
+                }
+            }
+        }
+
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            jdbcTemplate.batchUpdate(FLUSH_DELTA, batch);
+        } catch (RuntimeException e) {
+            // devolve os deltas para a próxima rodada
+            for (Object[] row : batch) {
+                add((Long) row[1], (Long) row[0]);
+            }
+            throw e;
+        }
+        return batch.size();
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+            if (rebuildOnStartup) {
+                heartbeat();
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to flush like counters", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (flusher != null) {
+            flusher.shutdownNow();
+        }
+        try {
+            flush();
+            // sem deltas em memória, a próxima subida não precisa recalcular
+            if (rebuildOnStartup) {
+                jdbcTemplate.update(DELETE_MARKER, nodeId);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to flush like counters", e);
+        }
+    }
+}
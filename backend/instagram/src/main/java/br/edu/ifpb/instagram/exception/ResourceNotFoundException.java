@@ -0,0 +1,8 @@
+package br.edu.ifpb.instagram.exception;
+
+public class ResourceNotFoundException extends RuntimeException {
+    public ResourceNotFoundException(String message) {
+        super(message);
+    }
+
+}
@@ -1,7 +1,9 @@
 package br.edu.ifpb.instagram.exception;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
@@ -22,4 +24,65 @@ public class RestExceptionHandler extends ResponseEntityExceptionHandler {
         // Retorna a resposta com o status HTTP 409 Conflict
         return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
     }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Object> handleIllegalArgument(IllegalArgumentException ex) {
+
+        Map<String, String> errorResponse = Map.of(
+            "error", "Bad Request",
+            "message", ex.getMessage()
+        );
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(ResourceNotFoundException.class)
+    public ResponseEntity<Object> handleResourceNotFound(ResourceNotFoundException ex) {
+
+        Map<String, String> errorResponse = Map.of(
+            "error", "Not Found",
+            "message", ex.getMessage()
+        );
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND);
+    }
+
+    @ExceptionHandler(AccessDeniedException.class)
+    public ResponseEntity<Object> handleAccessDenied(AccessDeniedException ex) {
+
+        Map<String, String> errorResponse = Map.of(
+            "error", "Forbidden",
+            "message", ex.getMessage()
+        );
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.FORBIDDEN);
+    }
+
+    @ExceptionHandler(ServiceBusyException.class)
+    public ResponseEntity<Object> handleServiceBusy(ServiceBusyException ex) {
+
+        Map<String, String> errorResponse = Map.of(
+            "error", "Service Unavailable",
+            "message", ex.getMessage()
+        );
+
+        // O cliente deve tentar de novo mais tarde
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "30")
+                .body(errorResponse);
+    }
+
+    @ExceptionHandler(UploadOffsetConflictException.class)
+    public ResponseEntity<Object> handleUploadOffsetConflict(UploadOffsetConflictException ex) {
+
+        Map<String, String> errorResponse = Map.of(
+            "error", "Conflict",
+            "message", ex.getMessage()
+        );
+
+        // O cliente retoma a partir do offset que o servidor já tem
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .header("Upload-Offset", String.valueOf(ex.getCurrentOffset()))
+                .body(errorResponse);
+    }
 }
@@ -0,0 +1,16 @@
+package br.edu.ifpb.instagram.exception;
+
+public class UploadOffsetConflictException extends RuntimeException {
+
+    private final long currentOffset;
+
+    public UploadOffsetConflictException(String message, long currentOffset) {
+        super(message);
+        this.currentOffset = currentOffset;
+    }
+
+    public long getCurrentOffset() {
+        return currentOffset;
+    }
+
+}
@@ -0,0 +1,229 @@
+package br.edu.ifpb.instagram.graph;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Grafo de follows em memória, com arestas guardadas em estruturas
+ * primitivas: um {@link LongPairSet} com todos os pares (seguidor, seguido)
+ * responde "A segue B?" em O(1), e cada usuário tem duas listas
+ * {@link LongAdjacency} ordenadas (quem ele segue e quem o segue) para
+ * contagens em O(1) e páginas por offset.
+ *
+ * Leituras pontuais (checagem de aresta e contagens) usam leitura otimista
+ * do {@link StampedLock} e só caem para o lock de leitura se uma escrita
+ * aconteceu no meio; páginas copiam o trecho sob o lock de leitura.
+ *
+ * Cada usuário também tem a lista das contas grandes que ele segue (com pelo
+ * menos {@code largeAccountFollowers} seguidores), para o feed não percorrer
+ * todos os seguidos. Ela é mantida a cada follow e unfollow; quando uma conta
+ * cruza o limite, a lista de todos os seguidores dela muda de uma vez.
+ */
+public class FollowGraph {
+
+    private static final long[] NONE = new long[0];
+
+    private final StampedLock lock = new StampedLock();
+    private final LongPairSet edges;
+    private final ConcurrentHashMap<Long, LongAdjacency> following = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, LongAdjacency> followers = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, LongAdjacency> largeFollowing = new ConcurrentHashMap<>();
+    private final int largeAccountFollowers;
+
+    public FollowGraph(int expectedEdges) {
+        this(expectedEdges, Integer.MAX_VALUE);
+    }
+
+    public FollowGraph(int expectedEdges, int largeAccountFollowers) {
+        if (largeAccountFollowers <= 0) {
+            throw new IllegalArgumentException("Large account threshold must be positive");
+        }
+        this.edges = new LongPairSet(expectedEdges);
+        this.largeAccountFollowers = largeAccountFollowers;
+    }
+
+    public boolean follow(long followerId, long followeeId) {
+        long stamp = lock.writeLock();
+        try {
+            if (!edges.add(followerId, followeeId)) {
+                return false;
+            }
+            following.computeIfAbsent(followerId, id -> new LongAdjacency()).add(followeeId);
+            LongAdjacency followeeFollowers = followers.computeIfAbsent(followeeId, id -> new LongAdjacency());
+            followeeFollowers.add(followerId);
+
+            if (followeeFollowers.size() == largeAccountFollowers) {
+                // a conta acabou de ficar grande
+                for (long id : followeeFollowers.toArray()) {
+                    largeFollowing.computeIfAbsent(id, key -> new LongAdjacency()).add(followeeId);
+                }
+            } else if (followeeFollowers.size() > largeAccountFollowers) {
+                largeFollowing.computeIfAbsent(followerId, id -> new LongAdjacency()).add(followeeId);
+            }
+            return true;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public boolean unfollow(long followerId, long followeeId) {
+        long stamp = lock.writeLock();
+        try {
+            if (!edges.remove(followerId, followeeId)) {
+                return false;
+            }
+            removeFrom(following, followerId, followeeId);
+            removeFrom(followers, followeeId, followerId);
+            removeFrom(largeFollowing, followerId, followeeId);
+            shrinkIfSmall(followeeId);
+            return true;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Remove o usuário e todas as arestas em que ele aparece.
+     */
+    public void removeUser(long userId) {
+        long stamp = lock.writeLock();
+        try {
+            LongAdjacency out = following.remove(userId);
+            largeFollowing.remove(userId);
+            if (out != null) {
+                for (long followeeId : out.toArray()) {
+                    edges.remove(userId, followeeId);
+                    removeFrom(followers, followeeId, userId);
+                    shrinkIfSmall(followeeId);
+                }
+            }
+
+            LongAdjacency in = followers.remove(userId);
+            if (in != null) {
+                for (long followerId : in.toArray()) {
+                    edges.remove(followerId, userId);
+                    removeFrom(following, followerId, userId);
+                    removeFrom(largeFollowing, followerId, userId);
+                }
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public boolean isFollowing(long followerId, long followeeId) {
+        long stamp = lock.tryOptimisticRead();
+        boolean result = edges.contains(followerId, followeeId);
+        if (lock.validate(stamp)) {
+            return result;
+        }
+
+        stamp = lock.readLock();
+        try {
+            return edges.contains(followerId, followeeId);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    public int followerCount(long userId) {
+        return count(followers, userId);
+    }
+
+    public int followingCount(long userId) {
+        return count(following, userId);
+    }
+
+    public long[] followers(long userId, int offset, int limit) {
+        return slice(followers, userId, offset, limit);
+    }
+
+    public long[] following(long userId, int offset, int limit) {
+        return slice(following, userId, offset, limit);
+    }
+
+    public long[] allFollowers(long userId) {
+        return slice(followers, userId, 0, Integer.MAX_VALUE);
+    }
+
+    public long[] allFollowing(long userId) {
+        return slice(following, userId, 0, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Contas com pelo menos {@code largeAccountFollowers} seguidores que o
+     * usuário segue, em ordem crescente. Custa O(resultado), não O(seguidos).
+     */
+    public long[] allLargeFollowing(long userId) {
+        return slice(largeFollowing, userId, 0, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Ids de quem segue pelo menos um usuário, em ordem crescente.
+     */
+    public long[] followingUsers() {
+        long stamp = lock.readLock();
+        try {
+            long[] userIds = following.keySet().stream().mapToLong(Long::longValue).toArray();
+            Arrays.sort(userIds);
+            return userIds;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    public int edgeCount() {
+        long stamp = lock.readLock();
+        try {
+            return edges.size();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private int count(ConcurrentHashMap<Long, LongAdjacency> adjacencies, long userId) {
+        long stamp = lock.tryOptimisticRead();
+        LongAdjacency adjacency = adjacencies.get(userId);
+        int count = adjacency == null ? 0 : adjacency.size();
+        if (lock.validate(stamp)) {
+            return count;
+        }
+
+        stamp = lock.readLock();
+        try {
+            adjacency = adjacencies.get(userId);
+            return adjacency == null ? 0 : adjacency.size();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private long[] slice(ConcurrentHashMap<Long, LongAdjacency> adjacencies, long userId, int offset, int limit) {
+        long stamp = lock.readLock();
+        try {
+            LongAdjacency adjacency = adjacencies.get(userId);
+            return adjacency == null ? NONE : adjacency.slice(offset, limit);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    // chamado sob o lock de escrita depois de a conta perder um seguidor
+    private void shrinkIfSmall(long followeeId) {
+        LongAdjacency remaining = followers.get(followeeId);
+        if (remaining != null && remaining.size() == largeAccountFollowers - 1) {
+            // a conta acabou de deixar de ser grande
+            for (long id : remaining.toArray()) {
+                removeFrom(largeFollowing, id, followeeId);
+            }
+        }
+    }
+
+    private static void removeFrom(ConcurrentHashMap<Long, LongAdjacency> adjacencies, long userId, long otherId) {
+        LongAdjacency adjacency = adjacencies.get(userId);
+        if (adjacency != null && adjacency.remove(otherId) && adjacency.size() == 0) {
+            adjacencies.remove(userId);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package br.edu.ifpb.instagram.graph;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import br.edu.ifpb.instagram.service.FollowerDirectory;
+import br.edu.ifpb.instagram.transaction.AfterCommit;
+
+/**
+ * Espelho em memória da tabela {@code follows}. O grafo é carregado inteiro
+ * na subida, antes de a aplicação aceitar requisições, e as mudanças só são
+ * aplicadas depois do commit da transação que gravou a linha, então o
+ * grafo nunca mostra um follow que o banco não tem.
+ */
+@Component
+public class FollowGraphStore implements FollowerDirectory, SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(FollowGraphStore.class);
+
+    // ordenado pela chave, todas as inserções nas listas viram append
+    private static final String SELECT_EDGES =
+            "SELECT follower_id, followee_id FROM follows ORDER BY follower_id, followee_id";
+
+    private final JdbcTemplate jdbcTemplate;
+    // o feed puxa contas a partir de metade do limite do modo pull, para uma
+    // conta que cai um pouco abaixo dele não sumir dos feeds
+    private final int largeAccountFollowers;
+    private volatile FollowGraph graph;
+
+    public FollowGraphStore(JdbcTemplate jdbcTemplate,
+                            @Value("${instagram.feed.pull-threshold:10000}") int pullThreshold) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.largeAccountFollowers = Math.max(1, pullThreshold / 2);
+        this.graph = new FollowGraph(0, largeAccountFollowers);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        long start = System.nanoTime();
+
+        Integer expectedEdges = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM follows", Integer.class);
+        FollowGraph loaded = new FollowGraph(expectedEdges == null ? 0 : expectedEdges, largeAccountFollowers);
+        jdbcTemplate.query(SELECT_EDGES, rs -> {
+            loaded.follow(rs.getLong(1), rs.getLong(2));
+        });
+        graph = loaded;
+
+        log.info("Follow graph loaded: {} edges in {} ms", loaded.edgeCount(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    public void follow(long followerId, long followeeId) {
+        AfterCommit.run(() -> graph.follow(followerId, followeeId));
+    }
+
+    public void unfollow(long followerId, long followeeId) {
+        AfterCommit.run(() -> graph.unfollow(followerId, followeeId));
+    }
+
+    public void removeUser(long userId) {
+        AfterCommit.run(() -> graph.removeUser(userId));
+    }
+
+    public boolean isFollowing(long followerId, long followeeId) {
+        return graph.isFollowing(followerId, followeeId);
+    }
+
+    @Override
+    public int followerCount(long userId) {
+        return graph.followerCount(userId);
+    }
+
+    public int followingCount(long userId) {
+        return graph.followingCount(userId);
+    }
+
+    public long[] followers(long userId, int offset, int limit) {
+        return graph.followers(userId, offset, limit);
+    }
+
+    public long[] following(long userId, int offset, int limit) {
+        return graph.following(userId, offset, limit);
+    }
+
+    @Override
+    public long[] followersOf(long userId) {
+        return graph.allFollowers(userId);
+    }
+
+    @Override
+    public long[] followingOf(long userId) {
+        return graph.allFollowing(userId);
+    }
+
+    @Override
+    public long[] largeAccountsFollowedBy(long userId) {
+        return graph.allLargeFollowing(userId);
+    }
+
+    public long[] followingUsers() {
+        return graph.followingUsers();
+    }
+}
@@ -0,0 +1,60 @@
+package br.edu.ifpb.instagram.graph;
+
+import java.util.Arrays;
+
+/**
+ * Lista de adjacência de um usuário: ids ordenados em um {@code long[]}
+ * primitivo, sem boxing. Inserções em ordem crescente (o caso da carga
+ * inicial) viram um append; as demais pagam um {@code arraycopy}.
+ */
+final class LongAdjacency {
+
+    private static final long[] EMPTY = new long[0];
+
+    private long[] values = EMPTY;
+    private int size;
+
+    boolean add(long value) {
+        int index = size == 0 || values[size - 1] < value
+                ? -(size + 1)
+                : Arrays.binarySearch(values, 0, size, value);
+        if (index >= 0) {
+            return false;
+        }
+
+        index = -(index + 1);
+        if (size == values.length) {
+            values = Arrays.copyOf(values, Math.max(4, size + (size >> 1)));
+        }
+        System.arraycopy(values, index, values, index + 1, size - index);
+        values[index] = value;
+        size++;
+        return true;
+    }
+
+    boolean remove(long value) {
+        int index = Arrays.binarySearch(values, 0, size, value);
+        if (index < 0) {
+            return false;
+        }
+
+        System.arraycopy(values, index + 1, values, index, size - index - 1);
+        size--;
+        return true;
+    }
+
+    int size() {
+        return size;
+    }
+
+    long[] slice(int offset, int limit) {
+        if (offset >= size) {
+            return EMPTY;
+        }
+        return Arrays.copyOfRange(values, offset, Math.min(size, offset + limit));
+    }
+
+    long[] toArray() {
+        return Arrays.copyOf(values, size);
+    }
+}
@@ -0,0 +1,135 @@
+package br.edu.ifpb.instagram.graph;
+
+/**
+ * Conjunto de pares {@code (a, b)} de ids positivos em uma tabela de
+ * endereçamento aberto: cada par ocupa duas posições vizinhas de um único
+ * {@code long[]}, então não há objeto por aresta. Usa sondagem linear e
+ * remoção com deslocamento para trás (sem tombstones), e o zero marca
+ * posição vazia.
+ */
+final class LongPairSet {
+
+    private static final float LOAD_FACTOR = 0.75f;
+
+    private long[] table;
+    private int size;
+    private int resizeAt;
+
+    LongPairSet(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(16, (int) (expectedSize / LOAD_FACTOR)) - 1) << 1;
+        allocate(capacity);
+    }
+
+    boolean add(long a, long b) {
+        if (a <= 0 || b <= 0) {
+            throw new IllegalArgumentException("Ids must be positive");
+        }
+        if (size >= resizeAt) {
+            rehash();
+        }
+
+        int mask = (table.length >> 1) - 1;
+        int slot = hash(a, b) & mask;
+        while (table[slot << 1] != 0) {
+            if (table[slot << 1] == a && table[(slot << 1) + 1] == b) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        table[slot << 1] = a;
+        table[(slot << 1) + 1] = b;
+        size++;
+        return true;
+    }
+
+    /**
+     * Seguro para leituras otimistas concorrentes com uma escrita: a tabela
+     * é lida uma única vez e o laço é limitado, então no pior caso o
+     * resultado é lixo e o chamador repete a leitura com o lock.
+     */
+    boolean contains(long a, long b) {
+        long[] current = table;
+        int mask = (current.length >> 1) - 1;
+        int slot = hash(a, b) & mask;
+        for (int probes = 0; probes <= mask; probes++) {
+            long first = current[slot << 1];
+            if (first == 0) {
+                return false;
+            }
+            if (first == a && current[(slot << 1) + 1] == b) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    boolean remove(long a, long b) {
+        int mask = (table.length >> 1) - 1;
+        int slot = hash(a, b) & mask;
+        while (true) {
+            long first = table[slot << 1];
+            if (first == 0) {
+                return false;
+            }
+            if (first == a && table[(slot << 1) + 1] == b) {
+                break;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        // puxa para trás os pares do mesmo cluster que ficariam inalcançáveis
+        int hole = slot;
+        int next = slot;
+        while (true) {
+            next = (next + 1) & mask;
+            long first = table[next << 1];
+            if (first == 0) {
+                break;
+            }
+            int home = hash(first, table[(next << 1) + 1]) & mask;
+            boolean movable = hole <= next
+                    ? home <= hole || home > next
+                    : home <= hole && home > next;
+            if (movable) {
+                table[hole << 1] = first;
+                table[(hole << 1) + 1] = table[(next << 1) + 1];
+                hole = next;
+            }
+        }
+
+        table[hole << 1] = 0;
+        table[(hole << 1) + 1] = 0;
+        size--;
+        return true;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private void rehash() {
+        long[] old = table;
+        allocate(old.length); // old.length = 2 * capacidade antiga, ou seja, dobra
+        size = 0;
+        for (int i = 0; i < old.length; i += 2) {
+            if (old[i] != 0) {
+                add(old[i], old[i + 1]);
+            }
+        }
+    }
+
+    // capacity em pares; a tabela tem o dobro de posições
+    private void allocate(int capacity) {
+        table = new long[capacity << 1];
+        resizeAt = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private static int hash(long a, long b) {
+        long h = a * 0x9E3779B97F4A7C15L + b;
+        h ^= h >>> 32;
+        h *= 0xC2B2AE3D27D4EB4FL;
+        return (int) (h ^ (h >>> 29));
+    }
+}
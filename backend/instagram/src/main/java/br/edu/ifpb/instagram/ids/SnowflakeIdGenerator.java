@@ -0,0 +1,49 @@
+package br.edu.ifpb.instagram.ids;
+
+import java.lang.reflect.Member;
+import java.util.EnumSet;
+
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.AnnotationBasedGenerator;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+import org.hibernate.generator.GeneratorCreationContext;
+
+/**
+ * Liga {@link SnowflakeIds} ao Hibernate. Como o id existe antes do INSERT,
+ * o Hibernate não precisa ir ao banco buscar a sequência e consegue agrupar
+ * os INSERTs em lote.
+ *
+ * O nó vem de {@value #NODE_ID_SETTING} nas propriedades do Hibernate
+ * ({@code spring.jpa.properties.*}); cada instância da aplicação precisa de
+ * um nó diferente.
+ */
+public class SnowflakeIdGenerator implements BeforeExecutionGenerator, AnnotationBasedGenerator<SnowflakeId> {
+
+    public static final String NODE_ID_SETTING = "instagram.ids.node-id";
+
+    private SnowflakeIds ids;
+
+    // o Spring cria o gerador como bean, então o construtor fica sem argumentos
+    @Override
+    public void initialize(SnowflakeId annotation, Member member, GeneratorCreationContext context) {
+        Object nodeId = context.getServiceRegistry()
+                .requireService(ConfigurationService.class)
+                .getSettings()
+                .get(NODE_ID_SETTING);
+        this.ids = new SnowflakeIds(nodeId == null ? 0 : Integer.parseInt(nodeId.toString().trim()));
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue,
+                           EventType eventType) {
+        return ids.next();
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+}
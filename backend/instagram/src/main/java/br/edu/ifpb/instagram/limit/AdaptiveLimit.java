@@ -0,0 +1,71 @@
+package br.edu.ifpb.instagram.limit;
+
+/**
+ * Limite de requisições simultâneas aprendido pela latência (estilo
+ * gradiente/Vegas).
+ *
+ * Guarda duas médias de RTT: uma longa, que faz as vezes da latência "sem
+ * fila", e a amostra atual. Enquanto a amostra fica perto da média longa o
+ * banco está folgado e o limite cresce devagar (mais {@code sqrt(limit)} de
+ * folga por amostra); quando a amostra sobe, a razão entre as duas cai e o
+ * limite encolhe na mesma proporção, até a metade por amostra. Amostras com
+ * poucas requisições em voo não aumentam o limite, senão ele cresceria sem
+ * nunca ter sido testado.
+ */
+public class AdaptiveLimit {
+
+    // quanto a amostra pode passar da média longa antes de encolher o limite
+    private static final double TOLERANCE = 1.5;
+    private static final double SMOOTHING = 0.2;
+    private static final int LONG_WINDOW = 600;
+
+    private final int minLimit;
+    private final int maxLimit;
+
+    private volatile double limit;
+    private double longRtt;
+
+    public AdaptiveLimit(int initialLimit, int minLimit, int maxLimit) {
+        if (minLimit <= 0 || minLimit > maxLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Limits must satisfy 0 < min <= initial <= max");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = initialLimit;
+    }
+
+    public int limit() {
+        return (int) limit;
+    }
+
+    /**
+     * Registra a latência de uma requisição que terminou com
+     * {@code inFlight} requisições em voo (contando ela).
+     */
+    public synchronized void onSample(long rttNanos, int inFlight) {
+        if (rttNanos <= 0) {
+            return;
+        }
+        double shortRtt = rttNanos;
+        if (longRtt == 0) {
+            longRtt = shortRtt;
+        } else {
+            longRtt += (shortRtt - longRtt) / LONG_WINDOW;
+        }
+
+        // a média longa desce rápido quando a latência melhora, para não
+        // tratar uma fila antiga como o normal
+        if (longRtt / shortRtt > 2) {
+            longRtt *= 0.95;
+        }
+
+        if (inFlight < limit / 2) {
+            return;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * longRtt / shortRtt));
+        double newLimit = limit * gradient + Math.sqrt(limit);
+        newLimit = limit * (1 - SMOOTHING) + newLimit * SMOOTHING;
+        limit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+    }
+}
@@ -0,0 +1,173 @@
+package br.edu.ifpb.instagram.limit;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.edu.ifpb.instagram.security.JwtUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Limita as requisições simultâneas antes de qualquer outro filtro.
+ *
+ * Quando o banco fica lento as requisições se acumulam no Tomcat e a
+ * latência sobe para todo mundo; aqui o excesso é recusado logo com 503 e
+ * {@code Retry-After}. O limite vem do {@link AdaptiveLimit}, que aprende com
+ * a latência das requisições aceitas, e cada {@link RequestPriority} só usa a
+ * sua fatia dele: listagens em massa são recusadas primeiro, login e leituras
+ * autenticadas por último.
+ *
+ * Streams (SSE) saem da conta assim que a requisição vira assíncrona, para
+ * uma conexão aberta por minutos não ocupar vaga nem virar amostra de RTT.
+ *
+ * Envio e download de arquivos de mídia ocupam vaga como qualquer requisição,
+ * mas não viram amostra: a duração deles acompanha o tamanho do arquivo e a
+ * banda do cliente, não a fila no banco, e alguns uploads lentos levariam o
+ * limite ao mínimo. Login e cadastro também ficam de fora: o bcrypt custa
+ * CPU de propósito, e uma onda de logins derrubaria o limite das leituras.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    // download de mídia, upload multipart e as partes e o fechamento de um upload retomável
+    private static final Pattern DOWNLOAD_PATH = Pattern.compile("^/media/\\d{1,18}$");
+    private static final Pattern UPLOAD_PATH = Pattern.compile("^/media(/uploads/[^/]+/complete)?$");
+    private static final Pattern UPLOAD_PART_PATH = Pattern.compile("^/media/uploads/[^/]+$");
+
+    private final AdaptiveLimit adaptiveLimit;
+    private final ObjectMapper objectMapper;
+    private final JwtUtils jwtUtils;
+    private final String retryAfter;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Map<RequestPriority, Counter> rejected = new EnumMap<>(RequestPriority.class);
+
+    public ConcurrencyLimitFilter(ObjectMapper objectMapper, JwtUtils jwtUtils, MeterRegistry meterRegistry,
+                                  @Value("${instagram.concurrency.initial-limit:20}") int initialLimit,
+                                  @Value("${instagram.concurrency.min-limit:4}") int minLimit,
+                                  @Value("${instagram.concurrency.max-limit:200}") int maxLimit,
+                                  @Value("${instagram.concurrency.retry-after:1s}") Duration retryAfter) {
+        this.adaptiveLimit = new AdaptiveLimit(initialLimit, minLimit, maxLimit);
+        this.objectMapper = objectMapper;
+        this.jwtUtils = jwtUtils;
+        this.retryAfter = String.valueOf(Math.max(1, retryAfter.toSeconds()));
+
+        Gauge.builder("instagram.http.concurrency.limit", adaptiveLimit, AdaptiveLimit::limit)
+                .description("Limite atual de requisições simultâneas")
+                .register(meterRegistry);
+        Gauge.builder("instagram.http.concurrency.in-flight", inFlight, AtomicInteger::get)
+                .description("Requisições em andamento")
+                .register(meterRegistry);
+        for (RequestPriority priority : RequestPriority.values()) {
+            rejected.put(priority, Counter.builder("instagram.http.concurrency.rejected")
+                    .description("Requisições recusadas por excesso de carga")
+                    .tag("priority", priority.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+    }
+
+    public int limit() {
+        return adaptiveLimit.limit();
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        // o health check precisa responder justamente quando há sobrecarga
+        return request.getRequestURI().startsWith(request.getContextPath() + "/actuator/");
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response, @NonNull FilterChain filterChain)
+            throws ServletException, IOException {
+
+        RequestPriority priority = RequestPriority.of(request, jwtUtils::isValid);
+        if (!tryAcquire(priority.threshold(adaptiveLimit.limit()))) {
+            rejected.get(priority).increment();
+            reject(response);
+            return;
+        }
+
+        long start = System.nanoTime();
+        int current = inFlight.get();
+        boolean sample = false;
+        try {
+            filterChain.doFilter(request, response);
+            sample = !request.isAsyncStarted() && isRttSample(priority, request);
+        } finally {
+            inFlight.decrementAndGet();
+            if (sample) {
+                adaptiveLimit.onSample(System.nanoTime() - start, current);
+            }
+        }
+    }
+
+    /**
+     * Se a duração da requisição mede a fila no servidor: login e cadastro
+     * gastam o bcrypt, e as transferências dependem do arquivo e do cliente.
+     */
+    static boolean isRttSample(RequestPriority priority, HttpServletRequest request) {
+        return priority != RequestPriority.AUTH && !isTransfer(request);
+    }
+
+    /**
+     * Se a duração da requisição depende do tamanho do corpo e da banda do
+     * cliente, e por isso não serve de amostra de RTT.
+     */
+    static boolean isTransfer(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        Pattern transfer = switch (request.getMethod()) {
+            case "GET" -> DOWNLOAD_PATH;
+            case "POST" -> UPLOAD_PATH;
+            case "PUT" -> UPLOAD_PART_PATH;
+            default -> null;
+        };
+        return transfer != null && transfer.matcher(path).matches();
+    }
+
+    private boolean tryAcquire(int threshold) {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= threshold) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private void reject(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        response.setHeader(HttpHeaders.RETRY_AFTER, retryAfter);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), Map.of(
+            "error", "Service Unavailable",
+            "message", "Too many concurrent requests, try again later"
+        ));
+    }
+}
@@ -0,0 +1,64 @@
+package br.edu.ifpb.instagram.limit;
+
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+import org.springframework.http.HttpHeaders;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Prioridade de uma requisição no {@link ConcurrencyLimitFilter}, da primeira
+ * a ser recusada para a última. Cada prioridade só entra enquanto as
+ * requisições em voo ficam abaixo da sua fatia do limite.
+ */
+public enum RequestPriority {
+
+    // listagens em massa, que o cliente consegue adiar
+    BULK(0.5),
+    // escritas e leituras sem token
+    DEFAULT(0.75),
+    // leituras de quem está logado
+    READ(0.9),
+    // login e cadastro
+    AUTH(1.0);
+
+    private static final String BEARER = "Bearer ";
+    private static final Pattern BULK_PATH = Pattern.compile("^/users(/\\d{1,18}/(followers|following))?$");
+
+    private final double share;
+
+    RequestPriority(double share) {
+        this.share = share;
+    }
+
+    /**
+     * Quantas requisições em voo esta prioridade aceita com o limite atual;
+     * pelo menos uma, para nenhuma prioridade ficar travada de vez.
+     */
+    public int threshold(int limit) {
+        return Math.max(1, (int) (limit * share));
+    }
+
+    /**
+     * Classifica antes da autenticação; só um token com assinatura e validade
+     * conferidas por {@code validToken} dá a prioridade de leitura, senão
+     * qualquer cabeçalho {@code Bearer} furaria a fila.
+     */
+    public static RequestPriority of(HttpServletRequest request, Predicate<String> validToken) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (path.startsWith("/auth/")) {
+            return AUTH;
+        }
+        if (!"GET".equals(request.getMethod())) {
+            return DEFAULT;
+        }
+        if (BULK_PATH.matcher(path).matches()) {
+            return BULK;
+        }
+
+        String authorization = request.getHeader(HttpHeaders.AUTHORIZATION);
+        return authorization != null && authorization.startsWith(BEARER)
+                && validToken.test(authorization.substring(BEARER.length())) ? READ : DEFAULT;
+    }
+}
@@ -0,0 +1,422 @@
+package br.edu.ifpb.instagram.media;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import br.edu.ifpb.instagram.exception.ServiceBusyException;
+import br.edu.ifpb.instagram.model.entity.DerivativeJobEntity;
+import br.edu.ifpb.instagram.model.entity.DerivativeJobEntity.Status;
+import br.edu.ifpb.instagram.model.entity.MediaDerivativeEntity;
+import br.edu.ifpb.instagram.model.entity.MediaEntity;
+import br.edu.ifpb.instagram.repository.DerivativeJobRepository;
+import br.edu.ifpb.instagram.repository.MediaDerivativeRepository;
+import br.edu.ifpb.instagram.repository.MediaRepository;
+import br.edu.ifpb.instagram.storage.MediaStorage;
+import br.edu.ifpb.instagram.storage.StoredBlob;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Gera as derivadas ({@link DerivativeSize}) de cada imagem enviada.
+ *
+ * A fila é a tabela {@code derivative_jobs}: o upload insere o job e um
+ * poller entrega os pendentes a um pool com uma thread por núcleo e fila
+ * interna limitada. Quando há {@code max-pending} jobs não concluídos na
+ * tabela, somando todas as instâncias, novos uploads de imagem são recusados
+ * com {@link ServiceBusyException} (503).
+ *
+ * A profundidade da fila fica em memória: cada instância soma o que enfileira
+ * e conclui, e o poller a acerta com um COUNT por rodada, o que traz os jobs
+ * das outras instâncias. Upload e scrape de métricas só leem o número. Um job
+ * concluído sai da tabela (as derivadas gravadas já dizem que ele rodou); os
+ * que falharam ficam por {@code failed-retention} para diagnóstico.
+ *
+ * Antes de decodificar, as dimensões são lidas do cabeçalho pelo
+ * {@link ImageReader}; imagens com mais de {@code max-pixels} são recusadas
+ * sem alocar o bitmap, que para uma bomba de descompressão seria de gigabytes.
+ *
+ * Um job pego por uma instância fica com ela por {@code lease}, renovado
+ * enquanto ele roda. Se a instância cair o lease vence e o poller de
+ * qualquer outra devolve o job para a fila; jobs de instâncias vivas nunca
+ * são tomados.
+ *
+ * Se alguém pedir uma derivada que ainda não existe (pipeline atrasado), ela
+ * é gerada na hora pela própria requisição; o job, quando chegar a vez, só
+ * completa os tamanhos que faltarem.
+ */
+@Component
+public class DerivativePipeline implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(DerivativePipeline.class);
+
+    // formatos que o ImageIO do JDK consegue ler
+    private static final Set<String> SUPPORTED_CONTENT_TYPES = Set.of("image/jpeg", "image/png", "image/gif");
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final MediaRepository mediaRepository;
+    private final MediaDerivativeRepository mediaDerivativeRepository;
+    private final DerivativeJobRepository derivativeJobRepository;
+    private final MediaStorage mediaStorage;
+
+    private final boolean enabled;
+    private final int maxPending;
+    private final long pollIntervalMillis;
+    private final Duration lease;
+    private final int workers;
+    private final long maxPixels;
+    private final Duration failedRetention;
+
+    // jobs pendentes ou em execução, acertado com a tabela a cada rodada do poller
+    private final AtomicLong queueDepth = new AtomicLong();
+
+    // jobs rodando nesta instância, cujos leases o poller renova
+    private final Set<Long> running = ConcurrentHashMap.newKeySet();
+    // evita que o worker e uma geração sob demanda processem a mesma mídia juntos
+    private final Map<Long, Object> mediaLocks = new ConcurrentHashMap<>();
+
+    private final Timer backgroundTimer;
+    private final Timer lazyTimer;
+    private final Timer queueLagTimer;
+    private final Counter bytesSaved;
+
+    private ThreadPoolExecutor executor;
+    private ScheduledExecutorService poller;
+
+    public DerivativePipeline(MediaRepository mediaRepository,
+                              MediaDerivativeRepository mediaDerivativeRepository,
+                              DerivativeJobRepository derivativeJobRepository,
+                              MediaStorage mediaStorage,
+                              MeterRegistry meterRegistry,
+                              @Value("${instagram.media.derivatives.enabled:true}") boolean enabled,
+                              @Value("${instagram.media.derivatives.workers:0}") int workers,
+                              @Value("${instagram.media.derivatives.max-pending:1000}") int maxPending,
+                              @Value("${instagram.media.derivatives.poll-interval-ms:500}") long pollIntervalMillis,
+                              @Value("${instagram.media.derivatives.lease:2m}") Duration lease,
+                              @Value("${instagram.media.derivatives.max-pixels:40000000}") long maxPixels,
+                              @Value("${instagram.media.derivatives.failed-retention:7d}") Duration failedRetention) {
+        this.mediaRepository = mediaRepository;
+        this.mediaDerivativeRepository = mediaDerivativeRepository;
+        this.derivativeJobRepository = derivativeJobRepository;
+        this.mediaStorage = mediaStorage;
+        this.enabled = enabled;
+        this.workers = workers > 0 ? workers : Runtime.getRuntime().availableProcessors();
+        this.maxPending = maxPending;
+        this.pollIntervalMillis = pollIntervalMillis;
+        this.lease = lease;
+        this.maxPixels = maxPixels;
+        this.failedRetention = failedRetention;
+
+        Gauge.builder("instagram.media.derivatives.queue.depth", this, DerivativePipeline::queueDepth)
+                .description("Jobs de derivadas pendentes ou em execução")
+                .register(meterRegistry);
+        this.backgroundTimer = Timer.builder("instagram.media.derivatives.processing")
+                .description("Tempo para gerar todas as derivadas de uma mídia")
+                .tag("mode", "background")
+                .register(meterRegistry);
+        this.lazyTimer = Timer.builder("instagram.media.derivatives.processing")
+                .description("Tempo para gerar todas as derivadas de uma mídia")
+                .tag("mode", "lazy")
+                .register(meterRegistry);
+        this.queueLagTimer = Timer.builder("instagram.media.derivatives.lag")
+                .description("Tempo entre o upload e a conclusão do job")
+                .register(meterRegistry);
+        this.bytesSaved = Counter.builder("instagram.media.derivatives.bytes.saved")
+                .description("Bytes a menos das derivadas em relação ao original")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    public static boolean supports(String contentType) {
+        return SUPPORTED_CONTENT_TYPES.contains(contentType);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        refreshQueueDepth();
+        if (!enabled) {
+            return;
+        }
+
+        executor = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(workers * 2), runnable -> {
+                    Thread thread = new Thread(runnable, "derivative-worker");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        poller = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "derivative-poller");
+            thread.setDaemon(true);
+            return thread;
+        });
+        poller.scheduleWithFixedDelay(this::dispatchPending, pollIntervalMillis, pollIntervalMillis, TimeUnit.MILLISECONDS);
+        long renewMillis = Math.max(1, lease.toMillis() / 3);
+        poller.scheduleWithFixedDelay(this::renewLeases, renewMillis, renewMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Jobs pendentes ou em execução em todas as instâncias, com o atraso de
+     * até uma rodada do poller para os das outras.
+     */
+    public long queueDepth() {
+        return queueDepth.get();
+    }
+
+    void refreshQueueDepth() {
+        queueDepth.set(derivativeJobRepository.countByStatusIn(List.of(Status.PENDING, Status.RUNNING)));
+    }
+
+    /**
+     * Chamado antes de gravar o upload, para recusá-lo sem consumir o corpo.
+     */
+    public void checkCapacity() {
+        if (queueDepth() >= maxPending) {
+            throw new ServiceBusyException("Image processing queue is full, try again later");
+        }
+    }
+
+    public void enqueue(long mediaId) {
+        DerivativeJobEntity job = new DerivativeJobEntity();
+        job.setMediaId(mediaId);
+        job.setStatus(Status.PENDING);
+        job.setEnqueuedAt(Instant.now());
+        derivativeJobRepository.save(job);
+        queueDepth.incrementAndGet();
+    }
+
+    /**
+     * Derivada pronta para servir, gerando-a agora se o job ainda não rodou.
+     */
+    public MediaDerivativeEntity derivative(MediaEntity media, DerivativeSize size) throws IOException {
+        MediaDerivativeEntity existing = mediaDerivativeRepository.findByMediaIdAndSize(media.getId(), size).orElse(null);
+        if (existing != null) {
+            return existing;
+        }
+        if (!supports(media.getContentType())) {
+            throw new IllegalArgumentException("Media " + media.getId() + " has no image derivatives");
+        }
+
+        long start = System.nanoTime();
+        Map<DerivativeSize, MediaDerivativeEntity> generated = generate(media);
+        lazyTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return generated.get(size);
+    }
+
+    /**
+     * Entrega ao pool os jobs pendentes que cabem na fila interna; o resto
+     * espera a próxima rodada na tabela.
+     */
+    void dispatchPending() {
+        try {
+            recoverExpired();
+            refreshQueueDepth();
+
+            int free = executor.getQueue().remainingCapacity();
+            if (free == 0) {
+                return;
+            }
+
+            for (DerivativeJobEntity job : derivativeJobRepository.findByStatusOrderByEnqueuedAtAsc(Status.PENDING, Limit.of(free))) {
+                // outra instância pode ter pego o mesmo job entre a consulta e aqui
+                Instant leaseUntil = Instant.now().plus(lease);
+                if (derivativeJobRepository.claim(job.getMediaId(), Status.PENDING, Status.RUNNING, leaseUntil) == 0) {
+                    continue;
+                }
+                job.setStatus(Status.RUNNING);
+                job.setLeaseUntil(leaseUntil);
+                try {
+                    executor.execute(() -> process(job));
+                } catch (RejectedExecutionException e) {
+                    derivativeJobRepository.updateStatus(job.getMediaId(), Status.RUNNING, Status.PENDING);
+                    return;
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to dispatch derivative jobs", e);
+        }
+    }
+
+    /**
+     * Devolve para a fila os jobs cujo lease venceu: a instância que os
+     * rodava caiu ou travou.
+     */
+    void recoverExpired() {
+        Instant now = Instant.now();
+        int failed = derivativeJobRepository.failExpired(Status.RUNNING, Status.FAILED, now, MAX_ATTEMPTS);
+        queueDepth.addAndGet(-failed);
+        int requeued = derivativeJobRepository.requeueExpired(Status.RUNNING, Status.PENDING, now, MAX_ATTEMPTS);
+        if (failed + requeued > 0) {
+            log.info("Recovered {} derivative jobs with expired leases ({} given up)", failed + requeued, failed);
+        }
+        derivativeJobRepository.deleteByStatusAndEnqueuedAtBefore(Status.FAILED, now.minus(failedRetention));
+    }
+
+    private void renewLeases() {
+        try {
+            if (!running.isEmpty()) {
+                derivativeJobRepository.renewLeases(List.copyOf(running), Status.RUNNING, Instant.now().plus(lease));
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to renew derivative job leases", e);
+        }
+    }
+
+    void process(DerivativeJobEntity job) {
+        long start = System.nanoTime();
+        running.add(job.getMediaId());
+        try {
+            MediaEntity media = mediaRepository.findById(job.getMediaId()).orElse(null);
+            if (media != null) {
+                generate(media);
+            }
+            finish(job, Status.DONE);
+            backgroundTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            queueLagTimer.record(Duration.between(job.getEnqueuedAt(), Instant.now()));
+        } catch (IllegalArgumentException e) {
+            // imagem recusada: tentar de novo daria o mesmo resultado
+            log.warn("Rejected image for media {}: {}", job.getMediaId(), e.getMessage());
+            finish(job, Status.FAILED);
+        } catch (IOException | RuntimeException e) {
+            job.setAttempts(job.getAttempts() + 1);
+            if (job.getAttempts() >= MAX_ATTEMPTS) {
+                log.warn("Giving up on derivatives for media {}", job.getMediaId(), e);
+                finish(job, Status.FAILED);
+            } else {
+                job.setStatus(Status.PENDING);
+                job.setLeaseUntil(null);
+                derivativeJobRepository.save(job);
+            }
+        } finally {
+            running.remove(job.getMediaId());
+        }
+    }
+
+    private void finish(DerivativeJobEntity job, Status status) {
+        if (status == Status.DONE) {
+            derivativeJobRepository.delete(job);
+        } else {
+            job.setStatus(status);
+            job.setLeaseUntil(null);
+            derivativeJobRepository.save(job);
+        }
+        queueDepth.decrementAndGet();
+    }
+
+    /**
+     * Gera os tamanhos que ainda não existem. O original é decodificado uma
+     * vez e cada tamanho sai dele, sem encadear reduções.
+     */
+    private Map<DerivativeSize, MediaDerivativeEntity> generate(MediaEntity media) throws IOException {
+        Object lock = mediaLocks.computeIfAbsent(media.getId(), id -> new Object());
+        try {
+            synchronized (lock) {
+                Map<DerivativeSize, MediaDerivativeEntity> result = new EnumMap<>(DerivativeSize.class);
+                BufferedImage original = null;
+
+                for (DerivativeSize size : DerivativeSize.values()) {
+                    MediaDerivativeEntity existing = mediaDerivativeRepository.findByMediaIdAndSize(media.getId(), size).orElse(null);
+                    if (existing != null) {
+                        result.put(size, existing);
+                        continue;
+                    }
+
+                    if (original == null) {
+                        original = read(media);
+                    }
+                    result.put(size, store(media, size, ImageResizer.resize(original, size.maxWidth())));
+                }
+                return result;
+            }
+        } finally {
+            mediaLocks.remove(media.getId(), lock);
+        }
+    }
+
+    private BufferedImage read(MediaEntity media) throws IOException {
+        try (InputStream in = mediaStorage.open(media.getSha256());
+             ImageInputStream stream = ImageIO.createImageInputStream(in)) {
+            Iterator<ImageReader> readers = stream == null ? null : ImageIO.getImageReaders(stream);
+            if (readers == null || !readers.hasNext()) {
+                throw new IOException("Unreadable image for media " + media.getId());
+            }
+
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(stream, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > maxPixels) {
+                    throw new IllegalArgumentException("Image for media " + media.getId() + " is too large: "
+                            + width + "x" + height + " exceeds " + maxPixels + " pixels");
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private MediaDerivativeEntity store(MediaEntity media, DerivativeSize size, ImageResizer.Encoded encoded)
+            throws IOException {
+        StoredBlob blob = mediaStorage.store(new ByteArrayInputStream(encoded.bytes()));
+
+        MediaDerivativeEntity derivative = new MediaDerivativeEntity();
+        derivative.setMedia(media);
+        derivative.setSize(size);
+        derivative.setSha256(blob.sha256());
+        derivative.setByteSize(blob.size());
+        derivative.setWidth(encoded.width());
+        derivative.setHeight(encoded.height());
+
+        try {
+            derivative = mediaDerivativeRepository.save(derivative);
+        } catch (DataIntegrityViolationException e) {
+            // outra instância gerou o mesmo tamanho primeiro
+            return mediaDerivativeRepository.findByMediaIdAndSize(media.getId(), size).orElseThrow(() -> e);
+        }
+
+        bytesSaved.increment(Math.max(0, media.getSize() - blob.size()));
+        return derivative;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (poller != null) {
+            poller.shutdownNow();
+        }
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package br.edu.ifpb.instagram.media;
+
+import java.util.Locale;
+
+/**
+ * Tamanhos gerados para cada imagem, pela largura máxima em pixels. Imagens
+ * menores que o tamanho não são ampliadas.
+ */
+public enum DerivativeSize {
+    THUMB(150),
+    SMALL(320),
+    FEED(640),
+    LARGE(1080);
+
+    private final int maxWidth;
+
+    DerivativeSize(int maxWidth) {
+        this.maxWidth = maxWidth;
+    }
+
+    public int maxWidth() {
+        return maxWidth;
+    }
+
+    /**
+     * Converte o valor do parâmetro {@code size} (ex.: {@code "feed"}).
+     */
+    public static DerivativeSize parse(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown size: " + value);
+        }
+    }
+}
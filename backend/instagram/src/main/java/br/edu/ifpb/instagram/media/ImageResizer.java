@@ -0,0 +1,68 @@
+package br.edu.ifpb.instagram.media;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Iterator;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+
+/**
+ * Redimensiona e codifica as derivadas em JPEG. Derivadas são pequenas (no
+ * máximo {@link DerivativeSize#LARGE}), então o resultado cabe em memória.
+ */
+public final class ImageResizer {
+
+    private static final float JPEG_QUALITY = 0.82f;
+
+    private ImageResizer() {
+    }
+
+    public record Encoded(byte[] bytes, int width, int height) { }
+
+    public static Encoded resize(BufferedImage original, int maxWidth) throws IOException {
+        int width = Math.min(maxWidth, original.getWidth());
+        int height = Math.max(1, (int) Math.round((double) original.getHeight() * width / original.getWidth()));
+
+        // JPEG não tem canal alfa: desenha sobre RGB opaco
+        BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = scaled.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(original, 0, 0, width, height, Color.WHITE, null);
+        } finally {
+            graphics.dispose();
+        }
+
+        return new Encoded(encodeJpeg(scaled), width, height);
+    }
+
+    private static byte[] encodeJpeg(BufferedImage image) throws IOException {
+        Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName("jpeg");
+        if (!writers.hasNext()) {
+            throw new IOException("No JPEG writer available");
+        }
+
+        ImageWriter writer = writers.next();
+        ImageWriteParam param = writer.getDefaultWriteParam();
+        param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        param.setCompressionQuality(JPEG_QUALITY);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream imageOut = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(imageOut);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,113 @@
+package br.edu.ifpb.instagram.media;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import br.edu.ifpb.instagram.model.entity.UploadSessionEntity;
+import br.edu.ifpb.instagram.repository.UploadSessionRepository;
+import br.edu.ifpb.instagram.storage.UploadPartFiles;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Remove sessões de upload retomável sem atividade há mais de
+ * {@code expire-after}, junto com o arquivo parcial, em lotes e numa thread
+ * própria. A linha só sai depois do arquivo: se apagar o arquivo falhar, a
+ * sessão fica para a próxima passada em vez de deixar um órfão em disco.
+ */
+@Component
+public class UploadSessionSweeper implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(UploadSessionSweeper.class);
+    private static final int BATCH_SIZE = 100;
+
+    private final UploadSessionRepository uploadSessionRepository;
+    private final UploadPartFiles uploadPartFiles;
+    private final Duration expireAfter;
+    private final Duration sweepInterval;
+
+    private ScheduledExecutorService scheduler;
+
+    public UploadSessionSweeper(UploadSessionRepository uploadSessionRepository,
+                                UploadPartFiles uploadPartFiles,
+                                @Value("${instagram.media.uploads.expire-after:24h}") Duration expireAfter,
+                                @Value("${instagram.media.uploads.sweep-interval:10m}") Duration sweepInterval) {
+        this.uploadSessionRepository = uploadSessionRepository;
+        this.uploadPartFiles = uploadPartFiles;
+        this.expireAfter = expireAfter;
+        this.sweepInterval = sweepInterval;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (sweepInterval.isZero() || sweepInterval.isNegative()) {
+            return;
+        }
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "upload-session-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = sweepInterval.toMillis();
+        scheduler.scheduleWithFixedDelay(this::sweepQuietly, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Coleta as sessões expiradas até {@code now} e devolve quantas removeu.
+     */
+    public int sweep(Instant now) {
+        Instant cutoff = now.minus(expireAfter);
+        int removed = 0;
+
+        List<UploadSessionEntity> expired;
+        int removedInBatch;
+        do {
+            expired = uploadSessionRepository.findByUpdatedAtBefore(cutoff, Limit.of(BATCH_SIZE));
+            removedInBatch = 0;
+            for (UploadSessionEntity session : expired) {
+                try {
+                    uploadPartFiles.delete(session.getId());
+                } catch (IOException e) {
+                    log.warn("Failed to delete partial upload {}, retrying on the next sweep", session.getId(), e);
+                    continue;
+                }
+                uploadSessionRepository.delete(session);
+                removedInBatch++;
+            }
+            removed += removedInBatch;
+            // um lote só de falhas voltaria igual na próxima consulta
+        } while (expired.size() == BATCH_SIZE && removedInBatch > 0);
+
+        return removed;
+    }
+
+    private void sweepQuietly() {
+        try {
+            int removed = sweep(Instant.now());
+            if (removed > 0) {
+                log.info("Removed {} abandoned upload sessions", removed);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to sweep upload sessions", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+}
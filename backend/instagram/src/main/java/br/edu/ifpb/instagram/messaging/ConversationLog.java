@@ -0,0 +1,382 @@
+package br.edu.ifpb.instagram.messaging;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Log append-only das mensagens de uma conversa: um diretório de
+ * {@link LogSegment}s nomeados pelo primeiro {@code seq} que recebem. Só o
+ * último aceita escrita; quando enche ele é selado (cortado no tamanho usado)
+ * e um novo é criado.
+ *
+ * Leituras de página andam pelos segmentos sem lock, a partir de uma cópia da
+ * lista; escrita, remoção e compactação passam pelo monitor do log. A
+ * compactação reescreve segmentos selados com muito conteúdo removido e junta
+ * vizinhos que cabem num segmento só, sempre num arquivo temporário que só
+ * substitui o original depois de completo.
+ */
+public final class ConversationLog {
+
+    private static final String SUFFIX = ".log";
+    private static final String TEMPORARY_SUFFIX = ".tmp";
+
+    private final Path directory;
+    private final int segmentSize;
+    private final int indexInterval;
+    private final long[] members;
+
+    private volatile List<LogSegment> segments;
+    private long nextSeq;
+    private boolean dirty;
+    private boolean closed;
+
+    private ConversationLog(Path directory, int segmentSize, int indexInterval, long[] members,
+                            List<LogSegment> segments, long nextSeq) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.indexInterval = indexInterval;
+        this.members = members;
+        this.segments = segments;
+        this.nextSeq = nextSeq;
+    }
+
+    /**
+     * Abre (ou cria) o log em {@code directory}, recuperando os segmentos
+     * existentes. {@code members} são os ids dos participantes.
+     */
+    public static ConversationLog open(Path directory, int segmentSize, int indexInterval, long[] members)
+            throws IOException {
+        if (segmentSize <= LogSegment.OVERHEAD || indexInterval <= 0) {
+            throw new IllegalArgumentException("Segment size and index interval must be positive");
+        }
+        Files.createDirectories(directory);
+
+        List<Path> files = new ArrayList<>();
+        try (Stream<Path> listing = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) listing::iterator) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(TEMPORARY_SUFFIX)) {
+                    // compactação interrompida: o original continua no lugar
+                    Files.delete(file);
+                } else if (name.endsWith(SUFFIX)) {
+                    files.add(file);
+                }
+            }
+        }
+        files.sort(null);
+
+        List<LogSegment> segments = new ArrayList<>();
+        long lastSeq = 0;
+        for (int i = 0; i < files.size(); i++) {
+            Path file = files.get(i);
+            boolean active = i == files.size() - 1;
+            LogSegment segment = LogSegment.open(file, baseSeq(file), active ? segmentSize : 0, indexInterval);
+            // vazio no meio, ou já copiado para o anterior por uma junção
+            // interrompida antes de apagar os originais
+            if (!active && (segment.isEmpty() || segment.firstSeq() <= lastSeq)) {
+                Files.delete(file);
+                continue;
+            }
+            if (!segment.isEmpty()) {
+                lastSeq = segment.lastSeq();
+            }
+            segments.add(segment);
+        }
+
+        long nextSeq = lastSeq + 1;
+        if (segments.isEmpty()) {
+            segments.add(LogSegment.open(file(directory, nextSeq), nextSeq, segmentSize, indexInterval));
+        } else {
+            nextSeq = Math.max(nextSeq, segments.getLast().baseSeq());
+        }
+
+        long[] sorted = members.clone();
+        Arrays.sort(sorted);
+        return new ConversationLog(directory, segmentSize, indexInterval, sorted, List.copyOf(segments), nextSeq);
+    }
+
+    public boolean isMember(long userId) {
+        return Arrays.binarySearch(members, userId) >= 0;
+    }
+
+    public long[] members() {
+        return members.clone();
+    }
+
+    public synchronized long nextSeq() {
+        return nextSeq;
+    }
+
+    public int segmentCount() {
+        return segments.size();
+    }
+
+    /**
+     * Grava uma mensagem e devolve o registro com o {@code seq} atribuído.
+     */
+    public synchronized Message append(long senderId, Instant createdAt, String text) throws IOException {
+        ensureOpen();
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        if (LogSegment.OVERHEAD + bytes.length > segmentSize) {
+            throw new IllegalArgumentException("Message larger than a log segment");
+        }
+
+        long seq = nextSeq;
+        long micros = LogSegment.micros(createdAt);
+        List<LogSegment> current = segments;
+        if (!current.getLast().append(seq, senderId, micros, bytes)) {
+            current.getLast().seal();
+            LogSegment next = LogSegment.open(file(directory, seq), seq, segmentSize, indexInterval);
+            next.append(seq, senderId, micros, bytes);
+
+            List<LogSegment> rolled = new ArrayList<>(current);
+            rolled.add(next);
+            segments = List.copyOf(rolled);
+        }
+
+        nextSeq = seq + 1;
+        dirty = true;
+        return new Message(seq, senderId, LogSegment.instant(micros), text, false);
+    }
+
+    /**
+     * Até {@code limit} mensagens com {@code seq < beforeSeq}, da mais nova
+     * para a mais antiga. Removidas não entram.
+     */
+    public List<Message> before(long beforeSeq, int limit) {
+        List<LogSegment> current = segments;
+        List<Message> page = new ArrayList<>(Math.min(limit, 64));
+        for (int i = current.size() - 1; i >= 0 && page.size() < limit; i--) {
+            LogSegment segment = current.get(i);
+            int end = segment.end();
+            if (end == 0 || segment.firstSeq() >= beforeSeq) {
+                continue;
+            }
+
+            int position = segment.positionOf(beforeSeq, end);
+            while (position > 0 && page.size() < limit) {
+                position = segment.previous(position);
+                if (!segment.isDeleted(position)) {
+                    page.add(segment.read(position));
+                }
+            }
+        }
+        return page;
+    }
+
+    /**
+     * Até {@code limit} mensagens com {@code seq > afterSeq}, da mais antiga
+     * para a mais nova. Removidas não entram.
+     */
+    public List<Message> after(long afterSeq, int limit) {
+        List<LogSegment> current = segments;
+        List<Message> page = new ArrayList<>(Math.min(limit, 64));
+        for (int i = 0; i < current.size() && page.size() < limit; i++) {
+            LogSegment segment = current.get(i);
+            int end = segment.end();
+            if (end == 0 || segment.lastSeq() <= afterSeq) {
+                continue;
+            }
+
+            int position = segment.positionOf(afterSeq + 1, end);
+            while (position < end && page.size() < limit) {
+                if (!segment.isDeleted(position)) {
+                    page.add(segment.read(position));
+                }
+                position += segment.sizeAt(position);
+            }
+        }
+        return page;
+    }
+
+    /**
+     * A mensagem {@code seq}, se existir e não tiver sido removida.
+     */
+    public Optional<Message> find(long seq) {
+        List<LogSegment> current = segments;
+        for (int i = current.size() - 1; i >= 0; i--) {
+            LogSegment segment = current.get(i);
+            int end = segment.end();
+            if (end == 0 || segment.firstSeq() > seq) {
+                continue;
+            }
+
+            int position = segment.positionOf(seq, end);
+            if (position < end && segment.seqAt(position) == seq && !segment.isDeleted(position)) {
+                return Optional.of(segment.read(position));
+            }
+            return Optional.empty();
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Marca a mensagem {@code seq} como removida. O espaço só volta na
+     * compactação do segmento.
+     */
+    public synchronized boolean delete(long seq) {
+        ensureOpen();
+        for (LogSegment segment : segments.reversed()) {
+            int end = segment.end();
+            if (end == 0 || segment.firstSeq() > seq) {
+                continue;
+            }
+
+            int position = segment.positionOf(seq, end);
+            if (position == end || segment.seqAt(position) != seq || segment.isDeleted(position)) {
+                return false;
+            }
+            segment.markDeleted(position);
+            dirty = true;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Se algum segmento selado tem pelo menos {@code minDeletedRatio} do
+     * tamanho em mensagens removidas.
+     */
+    public boolean needsCompaction(double minDeletedRatio) {
+        List<LogSegment> current = segments;
+        for (int i = 0; i < current.size() - 1; i++) {
+            if (wasteful(current.get(i), minDeletedRatio)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Reescreve os segmentos selados: vizinhos cujo conteúdo vivo cabe num
+     * segmento são juntados, e um segmento sozinho só é reescrito com pelo
+     * menos {@code minDeletedRatio} removido. Devolve quantos segmentos
+     * foram substituídos.
+     */
+    public synchronized int compact(double minDeletedRatio) throws IOException {
+        ensureOpen();
+        List<LogSegment> current = segments;
+        int sealed = current.size() - 1;
+        List<LogSegment> compacted = new ArrayList<>();
+        int replaced = 0;
+
+        int start = 0;
+        while (start < sealed) {
+            int stop = start;
+            long live = 0;
+            boolean wasteful = false;
+            while (stop < sealed && live + current.get(stop).liveBytes() <= segmentSize) {
+                live += current.get(stop).liveBytes();
+                wasteful |= wasteful(current.get(stop), minDeletedRatio);
+                stop++;
+            }
+            if (stop == start) {
+                // maior que um segmento (segment-size foi reduzido)
+                live = current.get(start).liveBytes();
+                wasteful = wasteful(current.get(start), minDeletedRatio);
+                stop = start + 1;
+            }
+
+            List<LogSegment> group = current.subList(start, stop);
+            if (group.size() == 1 && !wasteful) {
+                compacted.add(group.getFirst());
+            } else {
+                rewrite(group, (int) live).ifPresent(compacted::add);
+                replaced += group.size();
+            }
+            start = stop;
+        }
+
+        if (replaced > 0) {
+            compacted.add(current.getLast());
+            segments = List.copyOf(compacted);
+        }
+        return replaced;
+    }
+
+    /**
+     * Força as páginas alteradas para o disco.
+     */
+    public synchronized void flush() {
+        if (closed || !dirty) {
+            return;
+        }
+        for (LogSegment segment : segments) {
+            segment.flush();
+        }
+        dirty = false;
+    }
+
+    /**
+     * Grava o que falta e recusa novas escritas. Leituras em andamento
+     * continuam válidas; o mapeamento só é liberado quando o log é coletado.
+     */
+    public synchronized void close() {
+        flush();
+        closed = true;
+    }
+
+    public synchronized boolean isClosed() {
+        return closed;
+    }
+
+    private Optional<LogSegment> rewrite(List<LogSegment> group, int live) throws IOException {
+        LogSegment first = group.getFirst();
+        if (live == 0) {
+            for (LogSegment segment : group) {
+                Files.deleteIfExists(segment.file());
+            }
+            return Optional.empty();
+        }
+
+        Path temporary = first.file().resolveSibling(first.file().getFileName() + TEMPORARY_SUFFIX);
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, live);
+            int position = 0;
+            for (LogSegment segment : group) {
+                position = segment.copyLiveTo(buffer, position);
+            }
+            buffer.force();
+        }
+
+        // o primeiro é trocado de uma vez; os demais só somem depois, e a
+        // abertura descarta os que sobrarem de uma junção interrompida
+        Files.move(temporary, first.file(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        for (LogSegment segment : group.subList(1, group.size())) {
+            Files.deleteIfExists(segment.file());
+        }
+        return Optional.of(LogSegment.open(first.file(), first.baseSeq(), 0, indexInterval));
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("Conversation log is closed");
+        }
+    }
+
+    private static boolean wasteful(LogSegment segment, double minDeletedRatio) {
+        return segment.deletedBytes() > 0 && segment.deletedBytes() >= segment.end() * minDeletedRatio;
+    }
+
+    private static long baseSeq(Path file) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(0, name.length() - SUFFIX.length()));
+    }
+
+    private static Path file(Path directory, long baseSeq) {
+        return directory.resolve("%020d%s".formatted(baseSeq, SUFFIX));
+    }
+}
@@ -0,0 +1,375 @@
+package br.edu.ifpb.instagram.messaging;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.util.unit.DataSize;
+
+import br.edu.ifpb.instagram.repository.ConversationMemberRepository;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Os {@link ConversationLog}s abertos, um diretório por conversa em
+ * {@code root}.
+ *
+ * No máximo {@code max-open-logs} ficam abertos; o menos usado é fechado
+ * quando outro precisa abrir. Os participantes da conversa são carregados na
+ * abertura e ficam junto do log, então enviar e ler mensagens não consulta o
+ * banco. O mapa dos abertos fica sob o lock do store, mas a abertura em si
+ * (a consulta dos participantes e a leitura dos segmentos) roda fora dele:
+ * quem chega primeiro registra um future para a conversa e as outras
+ * threads que querem o mesmo log esperam por ele, sem segurar as demais
+ * conversas. Criar, fechar e apagar uma conversa esperam a abertura em
+ * andamento dela terminar, então nunca há dois logs abertos para a mesma
+ * conversa; uma escrita que pega um log recém fechado simplesmente abre de
+ * novo.
+ *
+ * As escritas vão para o page cache pelo mapeamento e sobrevivem a uma queda
+ * do processo; {@code flush-interval} limita o que se perde numa queda da
+ * máquina. Conversas com remoções entram numa fila de compactação processada
+ * a cada {@code compaction-interval}.
+ */
+@Component
+public class ConversationLogStore implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(ConversationLogStore.class);
+
+    @FunctionalInterface
+    private interface LogOperation<T> {
+        T apply(ConversationLog log) throws IOException;
+    }
+
+    private final ConversationMemberRepository conversationMemberRepository;
+    private final Path root;
+    private final int segmentSize;
+    private final int indexInterval;
+    private final int maxOpenLogs;
+    private final Duration flushInterval;
+    private final Duration compactionInterval;
+    private final double compactionMinDeletedRatio;
+
+    private final Map<Long, ConversationLog> open = new LinkedHashMap<>(16, 0.75f, true);
+    // aberturas em andamento, também sob o lock de open
+    private final Map<Long, CompletableFuture<ConversationLog>> opening = new HashMap<>();
+    private final Set<Long> compactionCandidates = ConcurrentHashMap.newKeySet();
+
+    private ScheduledExecutorService maintenance;
+
+    public ConversationLogStore(ConversationMemberRepository conversationMemberRepository,
+                                @Value("${instagram.messages.root}") Path root,
+                                @Value("${instagram.messages.segment-size:4MB}") DataSize segmentSize,
+                                @Value("${instagram.messages.index-interval:4KB}") DataSize indexInterval,
+                                @Value("${instagram.messages.max-open-logs:1000}") int maxOpenLogs,
+                                @Value("${instagram.messages.flush-interval:1s}") Duration flushInterval,
+                                @Value("${instagram.messages.compaction-interval:1m}") Duration compactionInterval,
+                                @Value("${instagram.messages.compaction-min-deleted-ratio:0.5}") double compactionMinDeletedRatio) {
+        if (maxOpenLogs <= 0 || segmentSize.toBytes() > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Max open logs must be positive and segments smaller than 2GB");
+        }
+        this.conversationMemberRepository = conversationMemberRepository;
+        this.root = root;
+        this.segmentSize = (int) segmentSize.toBytes();
+        this.indexInterval = (int) indexInterval.toBytes();
+        this.maxOpenLogs = maxOpenLogs;
+        this.flushInterval = flushInterval;
+        this.compactionInterval = compactionInterval;
+        this.compactionMinDeletedRatio = compactionMinDeletedRatio;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        maintenance = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "conversation-logs");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (flushInterval.toMillis() > 0) {
+            long millis = flushInterval.toMillis();
+            maintenance.scheduleWithFixedDelay(this::flushQuietly, millis, millis, TimeUnit.MILLISECONDS);
+        }
+        if (compactionInterval.toMillis() > 0) {
+            long millis = compactionInterval.toMillis();
+            maintenance.scheduleWithFixedDelay(this::compactQuietly, millis, millis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Cria o log vazio de uma conversa nova. Um diretório que tenha ficado de
+     * uma conversa antiga com o mesmo id é descartado.
+     */
+    public void create(long conversationId, long[] members) {
+        whenIdle(conversationId, () -> {
+            ConversationLog previous = open.remove(conversationId);
+            if (previous != null) {
+                previous.close();
+            }
+            try {
+                Path directory = directory(conversationId);
+                FileSystemUtils.deleteRecursively(directory);
+                put(conversationId, ConversationLog.open(directory, segmentSize, indexInterval, members));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to create log of conversation " + conversationId, e);
+            }
+        });
+    }
+
+    /**
+     * Fecha o log para que os participantes sejam relidos na próxima
+     * abertura.
+     */
+    public void evict(long conversationId) {
+        whenIdle(conversationId, () -> {
+            ConversationLog removed = open.remove(conversationId);
+            if (removed != null) {
+                removed.close();
+            }
+        });
+    }
+
+    /**
+     * Fecha o log e apaga as mensagens da conversa.
+     */
+    public void drop(long conversationId) {
+        whenIdle(conversationId, () -> {
+            evict(conversationId);
+            compactionCandidates.remove(conversationId);
+            try {
+                FileSystemUtils.deleteRecursively(directory(conversationId));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to delete log of conversation " + conversationId, e);
+            }
+        });
+    }
+
+    /**
+     * Se a conversa existe e {@code userId} participa dela.
+     */
+    public boolean isMember(long conversationId, long userId) {
+        ConversationLog conversationLog = openLog(conversationId);
+        return conversationLog != null && conversationLog.isMember(userId);
+    }
+
+    public Message append(long conversationId, long senderId, Instant createdAt, String text) {
+        return write(conversationId, log -> log.append(senderId, createdAt, text));
+    }
+
+    public List<Message> before(long conversationId, long beforeSeq, int limit) {
+        return log(conversationId).before(beforeSeq, limit);
+    }
+
+    public List<Message> after(long conversationId, long afterSeq, int limit) {
+        return log(conversationId).after(afterSeq, limit);
+    }
+
+    public Optional<Message> find(long conversationId, long seq) {
+        return log(conversationId).find(seq);
+    }
+
+    public boolean delete(long conversationId, long seq) {
+        boolean deleted = write(conversationId, log -> log.delete(seq));
+        if (deleted) {
+            compactionCandidates.add(conversationId);
+        }
+        return deleted;
+    }
+
+    /**
+     * Compacta as conversas com remoções pendentes e devolve quantos
+     * segmentos foram reescritos.
+     */
+    public int compact() {
+        int replaced = 0;
+        for (Long conversationId : List.copyOf(compactionCandidates)) {
+            compactionCandidates.remove(conversationId);
+            if (openLog(conversationId) != null) {
+                replaced += write(conversationId, log -> log.compact(compactionMinDeletedRatio));
+            }
+        }
+        return replaced;
+    }
+
+    public void flush() {
+        List<ConversationLog> logs;
+        synchronized (open) {
+            logs = new ArrayList<>(open.values());
+        }
+        for (ConversationLog conversationLog : logs) {
+            conversationLog.flush();
+        }
+    }
+
+    private <T> T write(long conversationId, LogOperation<T> operation) {
+        while (true) {
+            ConversationLog conversationLog = log(conversationId);
+            synchronized (conversationLog) {
+                if (conversationLog.isClosed()) {
+                    continue;
+                }
+                try {
+                    return operation.apply(conversationLog);
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Failed to write log of conversation " + conversationId, e);
+                }
+            }
+        }
+    }
+
+    private ConversationLog log(long conversationId) {
+        ConversationLog conversationLog = openLog(conversationId);
+        if (conversationLog == null) {
+            throw new IllegalStateException("Conversation " + conversationId + " has no members");
+        }
+        return conversationLog;
+    }
+
+    // null para conversa sem participantes, que não ganha diretório
+    private ConversationLog openLog(long conversationId) {
+        CompletableFuture<ConversationLog> future;
+        boolean loader = false;
+        synchronized (open) {
+            ConversationLog conversationLog = open.get(conversationId);
+            if (conversationLog != null) {
+                return conversationLog;
+            }
+            future = opening.get(conversationId);
+            if (future == null) {
+                future = new CompletableFuture<>();
+                opening.put(conversationId, future);
+                loader = true;
+            }
+        }
+
+        if (loader) {
+            load(conversationId, future);
+        }
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    // roda fora do lock do store; só o resultado entra no mapa sob ele
+    private void load(long conversationId, CompletableFuture<ConversationLog> future) {
+        ConversationLog conversationLog;
+        try {
+            conversationLog = openFromDisk(conversationId);
+        } catch (RuntimeException e) {
+            synchronized (open) {
+                opening.remove(conversationId);
+            }
+            future.completeExceptionally(e);
+            return;
+        }
+
+        synchronized (open) {
+            opening.remove(conversationId);
+            if (conversationLog != null) {
+                if (conversationLog.needsCompaction(compactionMinDeletedRatio)) {
+                    compactionCandidates.add(conversationId);
+                }
+                put(conversationId, conversationLog);
+            }
+        }
+        future.complete(conversationLog);
+    }
+
+    private ConversationLog openFromDisk(long conversationId) {
+        long[] members = conversationMemberRepository.findUserIdsByConversationId(conversationId)
+                .stream().mapToLong(Long::longValue).toArray();
+        if (members.length == 0) {
+            return null;
+        }
+        try {
+            return ConversationLog.open(directory(conversationId), segmentSize, indexInterval, members);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open log of conversation " + conversationId, e);
+        }
+    }
+
+    // roda action sob o lock do store depois que a abertura em andamento da conversa, se houver, terminar
+    private void whenIdle(long conversationId, Runnable action) {
+        while (true) {
+            CompletableFuture<ConversationLog> pending;
+            synchronized (open) {
+                pending = opening.get(conversationId);
+                if (pending == null) {
+                    action.run();
+                    return;
+                }
+            }
+            pending.handle((conversationLog, failure) -> null).join();
+        }
+    }
+
+    private ConversationLog put(long conversationId, ConversationLog conversationLog) {
+        open.put(conversationId, conversationLog);
+        if (open.size() > maxOpenLogs) {
+            var eldest = open.entrySet().iterator().next();
+            open.remove(eldest.getKey());
+            eldest.getValue().close();
+        }
+        return conversationLog;
+    }
+
+    private Path directory(long conversationId) {
+        return root.resolve(Long.toString(conversationId));
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.warn("Failed to flush conversation logs", e);
+        }
+    }
+
+    private void compactQuietly() {
+        try {
+            int replaced = compact();
+            if (replaced > 0) {
+                log.debug("Compacted {} conversation log segments", replaced);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to compact conversation logs", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (maintenance != null) {
+            maintenance.shutdownNow();
+        }
+        synchronized (open) {
+            for (ConversationLog conversationLog : open.values()) {
+                conversationLog.close();
+            }
+            open.clear();
+        }
+    }
+}
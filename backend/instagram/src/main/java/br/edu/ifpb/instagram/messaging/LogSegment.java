@@ -0,0 +1,302 @@
+package br.edu.ifpb.instagram.messaging;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.zip.CRC32C;
+
+/**
+ * Um arquivo de segmento do log de uma conversa, mapeado em memória.
+ *
+ * Registro: {@code size | crc | flags | seq | senderId | createdAt | texto |
+ * size}. O {@code size} repetido no fim permite andar para trás a partir de
+ * qualquer registro, que é como a última página é lida. O CRC cobre do
+ * {@code seq} ao fim do texto; {@code flags} fica de fora para que a remoção
+ * seja um byte escrito no lugar. Na abertura o segmento é varrido até o
+ * primeiro registro zerado ou com CRC inválido, que marca o fim.
+ *
+ * Um único escritor por vez (o monitor do {@link ConversationLog}); leitores
+ * não travam e enxergam até {@code end}, publicado depois de cada registro.
+ */
+final class LogSegment {
+
+    static final int SIZE = 0;
+    static final int CRC = 4;
+    static final int FLAGS = 8;
+    static final int SEQ = 9;
+    static final int SENDER = 17;
+    static final int CREATED_AT = 25;
+    static final int TEXT = 33;
+    static final int OVERHEAD = TEXT + 4;
+
+    static final byte LIVE = 0;
+    static final byte DELETED = 1;
+
+    private final Path file;
+    private final long baseSeq;
+    private final int indexInterval;
+    private final MappedByteBuffer buffer;
+
+    private volatile int end;
+    private volatile long firstSeq = -1;
+    private volatile long lastSeq = -1;
+    private int deletedBytes;
+
+    // índice esparso seq -> posição, uma entrada a cada indexInterval bytes;
+    // as entradas são escritas antes de indexCount, que as publica
+    private long[] indexSeqs = new long[16];
+    private int[] indexPositions = new int[16];
+    private volatile int indexCount;
+    private int nextIndexPosition;
+
+    private LogSegment(Path file, long baseSeq, int indexInterval, MappedByteBuffer buffer) {
+        this.file = file;
+        this.baseSeq = baseSeq;
+        this.indexInterval = indexInterval;
+        this.buffer = buffer;
+    }
+
+    /**
+     * Mapeia o arquivo com pelo menos {@code capacity} bytes e recupera os
+     * registros válidos.
+     */
+    static LogSegment open(Path file, long baseSeq, int capacity, int indexInterval) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            long size = Math.max(channel.size(), capacity);
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Segment too large: " + file);
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+
+        LogSegment segment = new LogSegment(file, baseSeq, indexInterval, buffer);
+        segment.recover();
+        return segment;
+    }
+
+    Path file() {
+        return file;
+    }
+
+    long baseSeq() {
+        return baseSeq;
+    }
+
+    long firstSeq() {
+        return firstSeq;
+    }
+
+    long lastSeq() {
+        return lastSeq;
+    }
+
+    int end() {
+        return end;
+    }
+
+    int deletedBytes() {
+        return deletedBytes;
+    }
+
+    int liveBytes() {
+        return end - deletedBytes;
+    }
+
+    boolean isEmpty() {
+        return end == 0;
+    }
+
+    /**
+     * Grava um registro no fim. Devolve {@code false} quando ele não cabe.
+     */
+    boolean append(long seq, long senderId, long createdAtMicros, byte[] text) {
+        int size = OVERHEAD + text.length;
+        int position = end;
+        if ((long) position + size > buffer.capacity()) {
+            return false;
+        }
+
+        buffer.put(position + FLAGS, LIVE);
+        buffer.putLong(position + SEQ, seq);
+        buffer.putLong(position + SENDER, senderId);
+        buffer.putLong(position + CREATED_AT, createdAtMicros);
+        buffer.put(position + TEXT, text);
+        buffer.putInt(position + size - 4, size);
+        buffer.putInt(position + CRC, checksum(position, size));
+        // o tamanho por último: um registro pela metade termina a recuperação
+        buffer.putInt(position + SIZE, size);
+
+        indexed(seq, position);
+        if (firstSeq < 0) {
+            firstSeq = seq;
+        }
+        lastSeq = seq;
+        end = position + size;
+        return true;
+    }
+
+    Message read(int position) {
+        int size = buffer.getInt(position + SIZE);
+        byte[] text = new byte[size - OVERHEAD];
+        buffer.get(position + TEXT, text);
+        return new Message(
+                buffer.getLong(position + SEQ),
+                buffer.getLong(position + SENDER),
+                instant(buffer.getLong(position + CREATED_AT)),
+                new String(text, StandardCharsets.UTF_8),
+                buffer.get(position + FLAGS) == DELETED);
+    }
+
+    long seqAt(int position) {
+        return buffer.getLong(position + SEQ);
+    }
+
+    boolean isDeleted(int position) {
+        return buffer.get(position + FLAGS) == DELETED;
+    }
+
+    int sizeAt(int position) {
+        return buffer.getInt(position + SIZE);
+    }
+
+    int previous(int position) {
+        return position - buffer.getInt(position - 4);
+    }
+
+    void markDeleted(int position) {
+        buffer.put(position + FLAGS, DELETED);
+        deletedBytes += sizeAt(position);
+    }
+
+    /**
+     * Posição do primeiro registro com {@code seq >= target}, ou {@code end}.
+     * Busca binária no índice esparso e varredura de no máximo um intervalo.
+     */
+    int positionOf(long target, int limit) {
+        int count = indexCount;
+        long[] seqs = indexSeqs;
+        int[] positions = indexPositions;
+
+        int low = 0;
+        int high = count - 1;
+        int position = 0;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if (seqs[middle] <= target && positions[middle] < limit) {
+                position = positions[middle];
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+
+        while (position < limit && seqAt(position) < target) {
+            position += sizeAt(position);
+        }
+        return Math.min(position, limit);
+    }
+
+    /**
+     * Copia os registros vivos para {@code target} a partir de
+     * {@code position} e devolve a posição seguinte.
+     */
+    int copyLiveTo(MappedByteBuffer target, int position) {
+        int limit = end;
+        byte[] record = new byte[0];
+        for (int offset = 0; offset < limit; offset += sizeAt(offset)) {
+            int size = sizeAt(offset);
+            if (isDeleted(offset)) {
+                continue;
+            }
+            if (record.length < size) {
+                record = new byte[size];
+            }
+            buffer.get(offset, record, 0, size);
+            target.put(position, record, 0, size);
+            position += size;
+        }
+        return position;
+    }
+
+    /**
+     * Corta o arquivo no fim do último registro. Só o escritor chama, e
+     * leitores nunca passam de {@code end}.
+     */
+    void seal() throws IOException {
+        buffer.force();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(end);
+        }
+    }
+
+    void flush() {
+        buffer.force();
+    }
+
+    private void recover() {
+        int position = 0;
+        int capacity = buffer.capacity();
+        while (position + OVERHEAD <= capacity) {
+            int size = buffer.getInt(position + SIZE);
+            if (size < OVERHEAD || (long) position + size > capacity
+                    || buffer.getInt(position + size - 4) != size
+                    || buffer.getInt(position + CRC) != checksum(position, size)) {
+                break;
+            }
+
+            long seq = buffer.getLong(position + SEQ);
+            indexed(seq, position);
+            if (firstSeq < 0) {
+                firstSeq = seq;
+            }
+            lastSeq = seq;
+            if (isDeleted(position)) {
+                deletedBytes += size;
+            }
+            position += size;
+        }
+
+        // descarta o resto de uma escrita interrompida
+        if (position + 4 <= capacity) {
+            buffer.putInt(position + SIZE, 0);
+        }
+        end = position;
+    }
+
+    private void indexed(long seq, int position) {
+        if (position < nextIndexPosition) {
+            return;
+        }
+
+        int count = indexCount;
+        if (count == indexSeqs.length) {
+            indexSeqs = Arrays.copyOf(indexSeqs, count * 2);
+            indexPositions = Arrays.copyOf(indexPositions, count * 2);
+        }
+        indexSeqs[count] = seq;
+        indexPositions[count] = position;
+        indexCount = count + 1;
+        nextIndexPosition = position + indexInterval;
+    }
+
+    private int checksum(int position, int size) {
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(position + SEQ, size - 4 - SEQ));
+        return (int) crc.getValue();
+    }
+
+    static Instant instant(long micros) {
+        return Instant.ofEpochSecond(Math.floorDiv(micros, 1_000_000L), Math.floorMod(micros, 1_000_000L) * 1_000L);
+    }
+
+    static long micros(Instant instant) {
+        return instant.getEpochSecond() * 1_000_000L + instant.getNano() / 1_000;
+    }
+}
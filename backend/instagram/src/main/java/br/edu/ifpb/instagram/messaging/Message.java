@@ -0,0 +1,9 @@
+package br.edu.ifpb.instagram.messaging;
+
+import java.time.Instant;
+
+/**
+ * Um registro lido do log de uma conversa.
+ */
+public record Message(long seq, long senderId, Instant createdAt, String text, boolean deleted) {
+}
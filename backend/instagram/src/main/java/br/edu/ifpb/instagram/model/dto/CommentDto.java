@@ -0,0 +1,11 @@
+package br.edu.ifpb.instagram.model.dto;
+
+import java.time.Instant;
+
+public record CommentDto(
+    Long id,
+    Long postId,
+    Long authorId,
+    String authorUsername,
+    String text,
+    Instant createdAt) { }
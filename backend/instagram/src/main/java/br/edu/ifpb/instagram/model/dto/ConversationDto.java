@@ -0,0 +1,9 @@
+package br.edu.ifpb.instagram.model.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+public record ConversationDto(
+    Long id,
+    List<Long> memberIds,
+    Instant createdAt) { }
@@ -0,0 +1,10 @@
+package br.edu.ifpb.instagram.model.dto;
+
+import java.time.Instant;
+
+public record MessageDto(
+    Long conversationId,
+    Long seq,
+    Long senderId,
+    String text,
+    Instant createdAt) { }
@@ -0,0 +1,10 @@
+package br.edu.ifpb.instagram.model.dto;
+
+import java.time.Instant;
+
+public record PostDto(
+    Long id,
+    Long authorId,
+    String authorUsername,
+    String caption,
+    Instant createdAt) { }
@@ -0,0 +1,6 @@
+package br.edu.ifpb.instagram.model.dto;
+
+public record ProfileViewsDto(
+    long today,
+    long last7Days,
+    long last30Days) { }
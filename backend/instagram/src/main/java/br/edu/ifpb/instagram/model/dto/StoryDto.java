@@ -0,0 +1,11 @@
+package br.edu.ifpb.instagram.model.dto;
+
+import java.time.Instant;
+
+public record StoryDto(
+    Long id,
+    Long authorId,
+    String authorUsername,
+    Long mediaId,
+    Instant createdAt,
+    Instant expiresAt) { }
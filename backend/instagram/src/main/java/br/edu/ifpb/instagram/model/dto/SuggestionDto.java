@@ -0,0 +1,5 @@
+package br.edu.ifpb.instagram.model.dto;
+
+public record SuggestionDto(
+    UserDto user,
+    int mutualCount) { }
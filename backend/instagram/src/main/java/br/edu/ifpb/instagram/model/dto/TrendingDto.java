@@ -0,0 +1,8 @@
+package br.edu.ifpb.instagram.model.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+public record TrendingDto(
+    Instant computedAt,
+    List<TrendingHashtagDto> hashtags) { }
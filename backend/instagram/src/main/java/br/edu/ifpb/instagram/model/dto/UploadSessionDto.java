@@ -0,0 +1,10 @@
+package br.edu.ifpb.instagram.model.dto;
+
+import java.time.Instant;
+
+public record UploadSessionDto(
+    String id,
+    String contentType,
+    long size,
+    long offset,
+    Instant expiresAt) { }
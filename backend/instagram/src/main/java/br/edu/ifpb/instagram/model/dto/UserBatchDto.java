@@ -0,0 +1,7 @@
+package br.edu.ifpb.instagram.model.dto;
+
+import java.util.List;
+
+public record UserBatchDto(
+    List<UserDto> users,
+    List<Long> missingIds) { }
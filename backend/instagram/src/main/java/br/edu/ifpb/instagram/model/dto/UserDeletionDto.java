@@ -0,0 +1,10 @@
+package br.edu.ifpb.instagram.model.dto;
+
+import java.time.Instant;
+
+public record UserDeletionDto(
+    Long userId,
+    String step,
+    long purgedRows,
+    Instant requestedAt,
+    Instant updatedAt) { }
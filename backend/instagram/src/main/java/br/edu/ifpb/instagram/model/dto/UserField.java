@@ -0,0 +1,43 @@
+package br.edu.ifpb.instagram.model.dto;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Campos de {@code UserDetailsResponse} que podem ser pedidos com o
+ * parâmetro {@code fields=} (sparse fieldsets).
+ */
+public enum UserField {
+
+    ID("id"),
+    FULL_NAME("fullName"),
+    USERNAME("username"),
+    EMAIL("email");
+
+    private final String attribute;
+
+    UserField(String attribute) {
+        this.attribute = attribute;
+    }
+
+    public String attribute() {
+        return attribute;
+    }
+
+    public static Set<UserField> parse(String fields) {
+        Set<UserField> parsed = EnumSet.noneOf(UserField.class);
+        for (String name : fields.split(",")) {
+            parsed.add(fromAttribute(name.trim()));
+        }
+        return parsed;
+    }
+
+    private static UserField fromAttribute(String name) {
+        for (UserField field : values()) {
+            if (field.attribute.equals(name)) {
+                return field;
+            }
+        }
+        throw new IllegalArgumentException("Unknown field: " + name);
+    }
+}
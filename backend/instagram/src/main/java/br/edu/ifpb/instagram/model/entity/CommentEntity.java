@@ -0,0 +1,88 @@
+package br.edu.ifpb.instagram.model.entity;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+import br.edu.ifpb.instagram.ids.SnowflakeId;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+
+/**
+ * Comentário de um post. As páginas são lidas por keyset em
+ * {@code (created_at, id)} do mais novo para o mais antigo; o índice do
+ * thread resolve o filtro e a ordenação sem ordenar em memória, e só as
+ * linhas da página são lidas da tabela.
+ */
+@Entity(name = "comments")
+@Table(indexes = {
+    @Index(name = "idx_comments_thread", columnList = "post_id, created_at, id"),
+    @Index(name = "idx_comments_author_id", columnList = "author_id")
+})
+public class CommentEntity implements Serializable {
+
+    @Id
+    @SnowflakeId
+    private long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "post_id", nullable = false)
+    private PostEntity post;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "author_id", nullable = false)
+    private UserEntity author;
+
+    @Column(nullable = false, length = 2200)
+    private String text;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+
+
+    public long getId() {
+        return id;
+    }
+
+    public void setId(long id) {
+        this.id = id;
+    }
+
+    public PostEntity getPost() {
+        return post;
+    }
+
+    public void setPost(PostEntity post) {
+        this.post = post;
+    }
+
+    public UserEntity getAuthor() {
+        return author;
+    }
+
+    public void setAuthor(UserEntity author) {
+        this.author = author;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public void setText(String text) {
+        this.text = text;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+
+}
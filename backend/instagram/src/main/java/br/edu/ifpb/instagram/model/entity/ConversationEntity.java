@@ -0,0 +1,55 @@
+package br.edu.ifpb.instagram.model.entity;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+import br.edu.ifpb.instagram.ids.SnowflakeId;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+
+/**
+ * Cabeçalho de uma conversa de mensagens diretas. As mensagens ficam no log
+ * da conversa em disco, fora do banco; aqui só ficam a conversa e os
+ * participantes. {@code directKey} identifica a conversa a dois, para que
+ * ela não seja duplicada.
+ */
+@Entity(name = "conversations")
+public class ConversationEntity implements Serializable {
+
+    @Id
+    @SnowflakeId
+    private long id;
+
+    @Column(unique = true)
+    private String directKey;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+
+
+    public long getId() {
+        return id;
+    }
+
+    public void setId(long id) {
+        this.id = id;
+    }
+
+    public String getDirectKey() {
+        return directKey;
+    }
+
+    public void setDirectKey(String directKey) {
+        this.directKey = directKey;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+
+}
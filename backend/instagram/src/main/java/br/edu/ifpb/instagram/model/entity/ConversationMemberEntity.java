@@ -0,0 +1,30 @@
+package br.edu.ifpb.instagram.model.entity;
+
+import java.io.Serializable;
+
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+/**
+ * Participante de uma conversa.
+ */
+@Entity(name = "conversation_members")
+// a chave primária já começa por conversation_id; este índice lista as conversas de um usuário
+@Table(indexes = @Index(name = "idx_conversation_members_user", columnList = "user_id, conversation_id"))
+public class ConversationMemberEntity implements Serializable {
+
+    @EmbeddedId
+    private ConversationMemberId id;
+
+
+    public ConversationMemberId getId() {
+        return id;
+    }
+
+    public void setId(ConversationMemberId id) {
+        this.id = id;
+    }
+
+}
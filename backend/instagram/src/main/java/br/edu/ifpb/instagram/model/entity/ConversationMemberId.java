@@ -0,0 +1,49 @@
+package br.edu.ifpb.instagram.model.entity;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+
+@Embeddable
+public class ConversationMemberId implements Serializable {
+
+    @Column(nullable = false)
+    private long conversationId;
+
+    @Column(nullable = false)
+    private long userId;
+
+    public ConversationMemberId() {
+    }
+
+    public ConversationMemberId(long conversationId, long userId) {
+        this.conversationId = conversationId;
+        this.userId = userId;
+    }
+
+    public long getConversationId() {
+        return conversationId;
+    }
+
+    public long getUserId() {
+        return userId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ConversationMemberId other)) {
+            return false;
+        }
+        return conversationId == other.conversationId && userId == other.userId;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(conversationId, userId);
+    }
+}
@@ -0,0 +1,82 @@
+package br.edu.ifpb.instagram.model.entity;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+/**
+ * Fila persistente do pipeline de derivadas: uma linha por mídia. Um job em
+ * {@code RUNNING} tem dono até {@code leaseUntil}, que a instância que o roda
+ * vai renovando; se ela cair, o lease vence e qualquer instância devolve o
+ * job para {@code PENDING}.
+ */
+@Entity(name = "derivative_jobs")
+@Table(indexes = @Index(name = "idx_derivative_jobs_status", columnList = "status, enqueued_at"))
+public class DerivativeJobEntity implements Serializable {
+
+    public enum Status { PENDING, RUNNING, DONE, FAILED }
+
+    @Id
+    private long mediaId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Status status;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(nullable = false)
+    private Instant enqueuedAt;
+
+    private Instant leaseUntil;
+
+
+    public long getMediaId() {
+        return mediaId;
+    }
+
+    public void setMediaId(long mediaId) {
+        this.mediaId = mediaId;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+
+    public Instant getEnqueuedAt() {
+        return enqueuedAt;
+    }
+
+    public void setEnqueuedAt(Instant enqueuedAt) {
+        this.enqueuedAt = enqueuedAt;
+    }
+
+    public Instant getLeaseUntil() {
+        return leaseUntil;
+    }
+
+    public void setLeaseUntil(Instant leaseUntil) {
+        this.leaseUntil = leaseUntil;
+    }
+
+}
@@ -0,0 +1,45 @@
+package br.edu.ifpb.instagram.model.entity;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+/**
+ * Uma aresta do grafo de follows: {@code followerId} segue {@code followeeId}.
+ * As consultas de leitura são atendidas pelo grafo em memória; a tabela é a
+ * fonte durável de onde ele é recarregado.
+ */
+@Entity(name = "follows")
+// a chave primária já começa por followee_id; este índice cobre a carga ordenada e os deletes por seguidor
+@Table(indexes = @Index(name = "idx_follows_follower", columnList = "follower_id, followee_id"))
+public class FollowEntity implements Serializable {
+
+    @EmbeddedId
+    private FollowId id;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+
+
+    public FollowId getId() {
+        return id;
+    }
+
+    public void setId(FollowId id) {
+        this.id = id;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+
+}
@@ -0,0 +1,41 @@
+package br.edu.ifpb.instagram.model.entity;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+
+/**
+ * Marca de uma instância com contadores de curtidas em memória. A linha é
+ * criada na subida, renovada a cada flush e apagada no desligamento limpo,
+ * depois do último flush; se ela sobra, a instância caiu com deltas não
+ * gravados. Escrita só pelo {@code LikeCounters}, via JDBC.
+ */
+@Entity(name = "like_counter_markers")
+public class LikeCounterMarkerEntity implements Serializable {
+
+    @Id
+    private int nodeId;
+
+    @Column(nullable = false)
+    private Instant heartbeatAt;
+
+
+    public int getNodeId() {
+        return nodeId;
+    }
+
+    public void setNodeId(int nodeId) {
+        this.nodeId = nodeId;
+    }
+
+    public Instant getHeartbeatAt() {
+        return heartbeatAt;
+    }
+
+    public void setHeartbeatAt(Instant heartbeatAt) {
+        this.heartbeatAt = heartbeatAt;
+    }
+}
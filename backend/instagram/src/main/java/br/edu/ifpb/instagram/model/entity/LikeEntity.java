@@ -0,0 +1,45 @@
+package br.edu.ifpb.instagram.model.entity;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+/**
+ * Log de curtidas: uma linha por (post, usuário). A chave primária é o que
+ * garante uma curtida por usuário por post, e o contador
+ * {@code posts.like_count} é reconstruído a partir desta tabela na subida.
+ */
+@Entity(name = "likes")
+// a chave primária começa por post_id; este índice cobre a remoção das curtidas de um usuário
+@Table(indexes = @Index(name = "idx_likes_user", columnList = "user_id, post_id"))
+public class LikeEntity implements Serializable {
+
+    @EmbeddedId
+    private LikeId id;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+
+
+    public LikeId getId() {
+        return id;
+    }
+
+    public void setId(LikeId id) {
+        this.id = id;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+
+}
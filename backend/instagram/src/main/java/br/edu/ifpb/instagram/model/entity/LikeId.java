@@ -0,0 +1,49 @@
+package br.edu.ifpb.instagram.model.entity;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+
+@Embeddable
+public class LikeId implements Serializable {
+
+    @Column(nullable = false)
+    private long postId;
+
+    @Column(nullable = false)
+    private long userId;
+
+    public LikeId() {
+    }
+
+    public LikeId(long postId, long userId) {
+        this.postId = postId;
+        this.userId = userId;
+    }
+
+    public long getPostId() {
+        return postId;
+    }
+
+    public long getUserId() {
+        return userId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof LikeId other)) {
+            return false;
+        }
+        return postId == other.postId && userId == other.userId;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(postId, userId);
+    }
+}
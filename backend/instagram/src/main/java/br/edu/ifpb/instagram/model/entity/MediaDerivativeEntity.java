@@ -0,0 +1,109 @@
+package br.edu.ifpb.instagram.model.entity;
+
+import java.io.Serializable;
+
+import br.edu.ifpb.instagram.ids.SnowflakeId;
+import br.edu.ifpb.instagram.media.DerivativeSize;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+/**
+ * Versão redimensionada de uma mídia. O blob é endereçado por conteúdo como o
+ * original, no mesmo storage.
+ */
+@Entity(name = "media_derivatives")
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_media_derivatives_media_size", columnNames = { "media_id", "size" }),
+       indexes = @Index(name = "idx_media_derivatives_sha256", columnList = "sha256"))
+public class MediaDerivativeEntity implements Serializable {
+
+    @Id
+    @SnowflakeId
+    private long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "media_id", nullable = false)
+    private MediaEntity media;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private DerivativeSize size;
+
+    @Column(nullable = false, length = 64)
+    private String sha256;
+
+    @Column(nullable = false)
+    private long byteSize;
+
+    @Column(nullable = false)
+    private int width;
+
+    @Column(nullable = false)
+    private int height;
+
+
+    public long getId() {
+        return id;
+    }
+
+    public void setId(long id) {
+        this.id = id;
+    }
+
+    public MediaEntity getMedia() {
+        return media;
+    }
+
+    public void setMedia(MediaEntity media) {
+        this.media = media;
+    }
+
+    public DerivativeSize getSize() {
+        return size;
+    }
+
+    public void setSize(DerivativeSize size) {
+        this.size = size;
+    }
+
+    public String getSha256() {
+        return sha256;
+    }
+
+    public void setSha256(String sha256) {
+        this.sha256 = sha256;
+    }
+
+    public long getByteSize() {
+        return byteSize;
+    }
+
+    public void setByteSize(long byteSize) {
+        this.byteSize = byteSize;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public void setWidth(int width) {
+        this.width = width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public void setHeight(int height) {
+        this.height = height;
+    }
+
+}
@@ -0,0 +1,139 @@
+package br.edu.ifpb.instagram.model.entity;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+/**
+ * Evento gravado na mesma transação da mudança que o gerou e entregue depois
+ * pelo {@code OutboxRelay}. A linha sai da tabela quando todos os handlers
+ * terminam; até lá, {@code nextAttemptAt} diz quando ela pode ser pega de
+ * novo e {@code claims} conta quantas vezes foi pega, para que só um relay
+ * a entregue por vez.
+ */
+@Entity(name = "outbox_events")
+@Table(indexes = {
+    @Index(name = "idx_outbox_events_aggregate", columnList = "aggregate_type, aggregate_id, id"),
+    @Index(name = "idx_outbox_events_next_attempt", columnList = "next_attempt_at, id")
+})
+public class OutboxEventEntity implements Serializable {
+
+    @Id
+    @GeneratedValue
+    private long id;
+
+    @Column(nullable = false, length = 32)
+    private String aggregateType;
+
+    @Column(nullable = false)
+    private long aggregateId;
+
+    @Column(nullable = false, length = 64)
+    private String type;
+
+    @Column(length = 4000)
+    private String payload;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    @Column(nullable = false)
+    private Instant nextAttemptAt;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(nullable = false)
+    private int claims;
+
+    @Column(length = 1000)
+    private String lastError;
+
+
+    public long getId() {
+        return id;
+    }
+
+    public void setId(long id) {
+        this.id = id;
+    }
+
+    public String getAggregateType() {
+        return aggregateType;
+    }
+
+    public void setAggregateType(String aggregateType) {
+        this.aggregateType = aggregateType;
+    }
+
+    public long getAggregateId() {
+        return aggregateId;
+    }
+
+    public void setAggregateId(long aggregateId) {
+        this.aggregateId = aggregateId;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public void setPayload(String payload) {
+        this.payload = payload;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public Instant getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+
+    public void setNextAttemptAt(Instant nextAttemptAt) {
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+
+    public int getClaims() {
+        return claims;
+    }
+
+    public void setClaims(int claims) {
+        this.claims = claims;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+
+}
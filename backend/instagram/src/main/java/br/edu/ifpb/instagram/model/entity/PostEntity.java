@@ -0,0 +1,78 @@
+package br.edu.ifpb.instagram.model.entity;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+import org.hibernate.annotations.ColumnDefault;
+
+import br.edu.ifpb.instagram.ids.SnowflakeId;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+
+@Entity(name = "posts")
+@Table(indexes = @Index(name = "idx_posts_author_id", columnList = "author_id, id"))
+public class PostEntity implements Serializable {
+
+    @Id
+    @SnowflakeId
+    private long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "author_id", nullable = false)
+    private UserEntity author;
+
+    @Column(nullable = false, length = 2200)
+    private String caption;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    // escrito só pelo LikeCounters, em lotes; o JPA nunca grava este campo
+    @ColumnDefault("0")
+    @Column(nullable = false, insertable = false, updatable = false)
+    private long likeCount;
+
+
+    public long getId() {
+        return id;
+    }
+
+    public void setId(long id) {
+        this.id = id;
+    }
+
+    public UserEntity getAuthor() {
+        return author;
+    }
+
+    public void setAuthor(UserEntity author) {
+        this.author = author;
+    }
+
+    public String getCaption() {
+        return caption;
+    }
+
+    public void setCaption(String caption) {
+        this.caption = caption;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public long getLikeCount() {
+        return likeCount;
+    }
+
+}
@@ -0,0 +1,44 @@
+package br.edu.ifpb.instagram.model.entity;
+
+import java.io.Serializable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+/**
+ * O HyperLogLog dos visitantes de um perfil num dia (UTC), serializado. A
+ * linha é regravada em lote pelo {@code ProfileViewCounters}, nunca a cada
+ * visita.
+ */
+@Entity(name = "profile_view_sketches")
+@Table(indexes = @Index(name = "idx_profile_view_sketches_day", columnList = "view_day"))
+public class ProfileViewSketchEntity implements Serializable {
+
+    @EmbeddedId
+    private ProfileViewSketchId id;
+
+    // 6 KB na forma densa, mais o byte do tipo
+    @Column(nullable = false, length = 8192)
+    private byte[] sketch;
+
+
+    public ProfileViewSketchId getId() {
+        return id;
+    }
+
+    public void setId(ProfileViewSketchId id) {
+        this.id = id;
+    }
+
+    public byte[] getSketch() {
+        return sketch;
+    }
+
+    public void setSketch(byte[] sketch) {
+        this.sketch = sketch;
+    }
+
+}
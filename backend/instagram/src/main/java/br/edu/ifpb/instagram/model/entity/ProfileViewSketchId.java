@@ -0,0 +1,50 @@
+package br.edu.ifpb.instagram.model.entity;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+
+@Embeddable
+public class ProfileViewSketchId implements Serializable {
+
+    @Column(nullable = false)
+    private long userId;
+
+    @Column(nullable = false)
+    private LocalDate viewDay;
+
+    public ProfileViewSketchId() {
+    }
+
+    public ProfileViewSketchId(long userId, LocalDate viewDay) {
+        this.userId = userId;
+        this.viewDay = viewDay;
+    }
+
+    public long getUserId() {
+        return userId;
+    }
+
+    public LocalDate getViewDay() {
+        return viewDay;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ProfileViewSketchId other)) {
+            return false;
+        }
+        return userId == other.userId && Objects.equals(viewDay, other.viewDay);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(userId, viewDay);
+    }
+}
@@ -0,0 +1,51 @@
+package br.edu.ifpb.instagram.model.entity;
+
+import java.io.Serializable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+
+/**
+ * Uma posição do ring buffer da timeline de um usuário. Cada usuário tem no
+ * máximo {@code capacity} linhas: a posição {@code seq % capacity} é
+ * sobrescrita quando o buffer dá a volta.
+ */
+@Entity(name = "timeline_entries")
+public class TimelineEntryEntity implements Serializable {
+
+    @EmbeddedId
+    private TimelineEntryId id;
+
+    @Column(nullable = false)
+    private long seq;
+
+    @Column(nullable = false)
+    private long postId;
+
+
+    public TimelineEntryId getId() {
+        return id;
+    }
+
+    public void setId(TimelineEntryId id) {
+        this.id = id;
+    }
+
+    public long getSeq() {
+        return seq;
+    }
+
+    public void setSeq(long seq) {
+        this.seq = seq;
+    }
+
+    public long getPostId() {
+        return postId;
+    }
+
+    public void setPostId(long postId) {
+        this.postId = postId;
+    }
+
+}
@@ -0,0 +1,49 @@
+package br.edu.ifpb.instagram.model.entity;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+
+@Embeddable
+public class TimelineEntryId implements Serializable {
+
+    @Column(nullable = false)
+    private long userId;
+
+    @Column(nullable = false)
+    private int slot;
+
+    public TimelineEntryId() {
+    }
+
+    public TimelineEntryId(long userId, int slot) {
+        this.userId = userId;
+        this.slot = slot;
+    }
+
+    public long getUserId() {
+        return userId;
+    }
+
+    public int getSlot() {
+        return slot;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof TimelineEntryId other)) {
+            return false;
+        }
+        return userId == other.userId && slot == other.slot;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(userId, slot);
+    }
+}
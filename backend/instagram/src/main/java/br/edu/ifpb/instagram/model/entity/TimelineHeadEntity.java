@@ -0,0 +1,40 @@
+package br.edu.ifpb.instagram.model.entity;
+
+import java.io.Serializable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+
+/**
+ * Próxima sequência da timeline de um usuário. O fan-out incrementa a linha
+ * para decidir o slot do post sem ler o ring, e o lock da linha até o commit
+ * ordena pushes concorrentes para o mesmo usuário. Escrita só pelo
+ * {@code TimelineStore}, via JDBC.
+ */
+@Entity(name = "timeline_heads")
+public class TimelineHeadEntity implements Serializable {
+
+    @Id
+    private long userId;
+
+    @Column(nullable = false)
+    private long nextSeq;
+
+
+    public long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(long userId) {
+        this.userId = userId;
+    }
+
+    public long getNextSeq() {
+        return nextSeq;
+    }
+
+    public void setNextSeq(long nextSeq) {
+        this.nextSeq = nextSeq;
+    }
+}
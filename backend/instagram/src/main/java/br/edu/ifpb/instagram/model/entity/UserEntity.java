@@ -1,17 +1,26 @@
 package br.edu.ifpb.instagram.model.entity;
 
 import java.io.Serializable;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 
+import org.hibernate.annotations.SQLRestriction;
+
+import br.edu.ifpb.instagram.ids.SnowflakeId;
+import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
+import jakarta.persistence.OneToMany;
 
+// contas apagadas somem de todas as leituras enquanto o UserPurger limpa os dados delas
 @Entity(name = "users")
+@SQLRestriction("deleted_at IS NULL")
 public class UserEntity implements Serializable {
 
     @Id
-    @GeneratedValue
+    @SnowflakeId
     private long id;
 
     @Column(nullable = false, length = 100)
@@ -26,6 +35,14 @@ public class UserEntity implements Serializable {
     @Column(nullable = false, length = 120, unique = true)
     private String email;
 
+    @OneToMany(mappedBy = "author", cascade = CascadeType.REMOVE)
+    private List<PostEntity> posts = new ArrayList<>();
+
+    // só as linhas; os blobs são compartilhados por conteúdo e ficam no storage
+    @OneToMany(mappedBy = "owner", cascade = CascadeType.REMOVE)
+    private List<MediaEntity> media = new ArrayList<>();
+
+    private Instant deletedAt;
 
     public long getId() {
         return id;
@@ -67,4 +84,20 @@ public class UserEntity implements Serializable {
         this.email = email;
     }
 
+    public List<PostEntity> getPosts() {
+        return posts;
+    }
+
+    public List<MediaEntity> getMedia() {
+        return media;
+    }
+
+    public Instant getDeletedAt() {
+        return deletedAt;
+    }
+
+    public void setDeletedAt(Instant deletedAt) {
+        this.deletedAt = deletedAt;
+    }
+
 }
@@ -0,0 +1,103 @@
+package br.edu.ifpb.instagram.model.entity;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+import br.edu.ifpb.instagram.purge.PurgeStep;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+
+/**
+ * Conta apagada cujos dados ainda estão saindo, com a etapa em que o
+ * {@code UserPurger} parou. A linha sai junto com a do usuário, na última
+ * etapa.
+ *
+ * Uma conta cuja limpeza falhou só volta a ser tentada em
+ * {@code nextAttemptAt}, com espera que dobra a cada falha seguida
+ * ({@code attempts}), para não travar as contas atrás dela na fila.
+ */
+@Entity(name = "user_purges")
+public class UserPurgeEntity implements Serializable {
+
+    @Id
+    private long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private PurgeStep step;
+
+    @Column(nullable = false)
+    private long purgedRows;
+
+    @Column(nullable = false)
+    private Instant requestedAt;
+
+    @Column(nullable = false)
+    private Instant updatedAt;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(nullable = false)
+    private Instant nextAttemptAt;
+
+
+    public long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(long userId) {
+        this.userId = userId;
+    }
+
+    public PurgeStep getStep() {
+        return step;
+    }
+
+    public void setStep(PurgeStep step) {
+        this.step = step;
+    }
+
+    public long getPurgedRows() {
+        return purgedRows;
+    }
+
+    public void setPurgedRows(long purgedRows) {
+        this.purgedRows = purgedRows;
+    }
+
+    public Instant getRequestedAt() {
+        return requestedAt;
+    }
+
+    public void setRequestedAt(Instant requestedAt) {
+        this.requestedAt = requestedAt;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Instant updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+
+    public Instant getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+
+    public void setNextAttemptAt(Instant nextAttemptAt) {
+        this.nextAttemptAt = nextAttemptAt;
+    }
+}
@@ -0,0 +1,5 @@
+package br.edu.ifpb.instagram.model.request;
+
+import java.util.List;
+
+public record ConversationRequest(List<Long> memberIds) { }
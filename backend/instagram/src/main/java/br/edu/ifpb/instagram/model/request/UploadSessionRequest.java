@@ -0,0 +1,3 @@
+package br.edu.ifpb.instagram.model.request;
+
+public record UploadSessionRequest(String contentType, long size) { }
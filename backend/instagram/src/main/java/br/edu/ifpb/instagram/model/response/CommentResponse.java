@@ -0,0 +1,11 @@
+package br.edu.ifpb.instagram.model.response;
+
+import java.time.Instant;
+
+public record CommentResponse(
+    Long id,
+    Long postId,
+    Long authorId,
+    String authorUsername,
+    String text,
+    Instant createdAt) { }
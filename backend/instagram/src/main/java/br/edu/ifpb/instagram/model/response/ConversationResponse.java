@@ -0,0 +1,9 @@
+package br.edu.ifpb.instagram.model.response;
+
+import java.time.Instant;
+import java.util.List;
+
+public record ConversationResponse(
+    Long id,
+    List<Long> memberIds,
+    Instant createdAt) { }
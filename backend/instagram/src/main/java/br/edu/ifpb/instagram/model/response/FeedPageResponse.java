@@ -0,0 +1,7 @@
+package br.edu.ifpb.instagram.model.response;
+
+import java.util.List;
+
+public record FeedPageResponse(
+    List<PostResponse> posts,
+    String nextCursor) { }
@@ -0,0 +1,6 @@
+package br.edu.ifpb.instagram.model.response;
+
+public record FollowStatsResponse(
+    Long userId,
+    int followers,
+    int following) { }
@@ -0,0 +1,6 @@
+package br.edu.ifpb.instagram.model.response;
+
+public record LikeResponse(
+    Long postId,
+    long likes,
+    boolean liked) { }
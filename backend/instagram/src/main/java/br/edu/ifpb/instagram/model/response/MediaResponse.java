@@ -0,0 +1,11 @@
+package br.edu.ifpb.instagram.model.response;
+
+import java.time.Instant;
+
+public record MediaResponse(
+    Long id,
+    Long ownerId,
+    String sha256,
+    long size,
+    String contentType,
+    Instant createdAt) { }
@@ -0,0 +1,10 @@
+package br.edu.ifpb.instagram.model.response;
+
+import java.time.Instant;
+
+public record MessageResponse(
+    Long conversationId,
+    Long seq,
+    Long senderId,
+    String text,
+    Instant createdAt) { }
@@ -0,0 +1,13 @@
+package br.edu.ifpb.instagram.model.response;
+
+import java.time.Instant;
+
+import br.edu.ifpb.instagram.notification.NotificationType;
+
+public record NotificationResponse(
+    Long id,
+    NotificationType type,
+    Long actorId,
+    String actorUsername,
+    Long postId,
+    Instant createdAt) { }
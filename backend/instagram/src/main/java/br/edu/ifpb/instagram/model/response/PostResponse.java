@@ -0,0 +1,10 @@
+package br.edu.ifpb.instagram.model.response;
+
+import java.time.Instant;
+
+public record PostResponse(
+    Long id,
+    Long authorId,
+    String authorUsername,
+    String caption,
+    Instant createdAt) { }
@@ -0,0 +1,6 @@
+package br.edu.ifpb.instagram.model.response;
+
+public record ProfileViewsResponse(
+    long today,
+    long last7Days,
+    long last30Days) { }
@@ -0,0 +1,11 @@
+package br.edu.ifpb.instagram.model.response;
+
+import java.time.Instant;
+
+public record StoryResponse(
+    Long id,
+    Long authorId,
+    String authorUsername,
+    Long mediaId,
+    Instant createdAt,
+    Instant expiresAt) { }
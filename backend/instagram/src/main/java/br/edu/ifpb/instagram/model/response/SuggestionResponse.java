@@ -0,0 +1,7 @@
+package br.edu.ifpb.instagram.model.response;
+
+public record SuggestionResponse(
+    Long id,
+    String fullName,
+    String username,
+    int mutualCount) { }
@@ -0,0 +1,5 @@
+package br.edu.ifpb.instagram.model.response;
+
+public record TrendingHashtagResponse(
+    String hashtag,
+    long count) { }
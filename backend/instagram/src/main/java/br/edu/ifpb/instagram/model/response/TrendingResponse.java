@@ -0,0 +1,8 @@
+package br.edu.ifpb.instagram.model.response;
+
+import java.time.Instant;
+import java.util.List;
+
+public record TrendingResponse(
+    Instant computedAt,
+    List<TrendingHashtagResponse> hashtags) { }
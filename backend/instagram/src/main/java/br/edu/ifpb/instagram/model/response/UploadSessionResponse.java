@@ -0,0 +1,10 @@
+package br.edu.ifpb.instagram.model.response;
+
+import java.time.Instant;
+
+public record UploadSessionResponse(
+    String id,
+    String contentType,
+    long size,
+    long offset,
+    Instant expiresAt) { }
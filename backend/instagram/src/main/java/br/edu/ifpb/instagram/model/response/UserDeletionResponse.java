@@ -0,0 +1,10 @@
+package br.edu.ifpb.instagram.model.response;
+
+import java.time.Instant;
+
+public record UserDeletionResponse(
+    Long userId,
+    String step,
+    long purgedRows,
+    Instant requestedAt,
+    Instant updatedAt) { }
@@ -1,7 +1,18 @@
 package br.edu.ifpb.instagram.model.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+// campos nulos são omitidos: é assim que os sparse fieldsets (fields=) saem
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public record UserDetailsResponse(
     Long id,
     String fullName,
     String username,
-    String email) { }
+    String email,
+    ProfileViewsResponse views) {
+
+    // as visitas só saem no perfil completo (GET /users/{id})
+    public UserDetailsResponse(Long id, String fullName, String username, String email) {
+        this(id, fullName, username, email, null);
+    }
+}
@@ -0,0 +1,37 @@
+package br.edu.ifpb.instagram.notification;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Extrai as menções ({@code @username}) de legendas e comentários.
+ */
+public final class Mentions {
+
+    // limite por texto: uma lista de @ não vira uma rajada de notificações
+    public static final int MAX_MENTIONS = 10;
+
+    private static final Pattern MENTION = Pattern.compile("(?<![\\w@])@([A-Za-z0-9._]{1,30})");
+
+    private Mentions() {
+    }
+
+    public static Set<String> parse(String text) {
+        Set<String> usernames = new LinkedHashSet<>();
+        if (text == null || text.indexOf('@') < 0) {
+            return usernames;
+        }
+
+        Matcher matcher = MENTION.matcher(text);
+        while (matcher.find() && usernames.size() < MAX_MENTIONS) {
+            // ponto final da frase não faz parte do username
+            String username = matcher.group(1).replaceAll("\\.+$", "");
+            if (!username.isEmpty()) {
+                usernames.add(username);
+            }
+        }
+        return usernames;
+    }
+}
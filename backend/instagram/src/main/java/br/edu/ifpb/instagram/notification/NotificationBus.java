@@ -0,0 +1,367 @@
+package br.edu.ifpb.instagram.notification;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Barramento de notificações em memória.
+ *
+ * Publicar só enfileira o evento no buffer de cada assinatura do
+ * destinatário; a escrita na conexão fica com um pool pequeno de
+ * despachantes. O buffer é limitado: cheio, descarta o evento mais antigo e
+ * avisa o cliente com um {@code overflow}. Curtidas pendentes no mesmo post
+ * são aglutinadas e só a mais recente é entregue. Assim um cliente lento
+ * perde eventos, mas nunca segura quem publica.
+ *
+ * Os últimos {@code replay-size} eventos ficam num anel para a retomada por
+ * Last-Event-ID. Os ids partem do relógio na subida, então um id de antes de
+ * um restart cai fora da janela e o cliente recebe {@code reset}.
+ */
+@Component
+public class NotificationBus implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationBus.class);
+
+    private final int bufferSize;
+    private final Duration heartbeatInterval;
+
+    private final Object lock = new Object();
+    private final NotificationEvent[] replay;
+    private int replayNext;
+    private long lastId;
+    private long firstRetainedId;
+    private final Map<Long, Set<Subscription>> subscribers = new HashMap<>();
+
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final Counter droppedEvents;
+
+    // cada assinatura entra na fila no máximo uma vez, então ela não passa
+    // do número de conexões
+    private final ExecutorService dispatchers;
+    private ScheduledExecutorService heartbeats;
+
+    public NotificationBus(MeterRegistry meterRegistry,
+                           @Value("${instagram.notifications.buffer-size:64}") int bufferSize,
+                           @Value("${instagram.notifications.replay-size:10000}") int replaySize,
+                           @Value("${instagram.notifications.dispatchers:4}") int dispatchers,
+                           @Value("${instagram.notifications.heartbeat-interval:25s}") Duration heartbeatInterval) {
+        this.bufferSize = bufferSize;
+        this.heartbeatInterval = heartbeatInterval;
+        this.replay = new NotificationEvent[replaySize];
+        this.lastId = System.currentTimeMillis() * 1_000;
+        this.firstRetainedId = lastId + 1;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.dispatchers = Executors.newFixedThreadPool(dispatchers, runnable -> {
+            Thread thread = new Thread(runnable, "notification-dispatcher-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        Gauge.builder("instagram.notifications.subscribers", subscriberCount, AtomicInteger::get)
+                .description("Open notification streams")
+                .register(meterRegistry);
+        this.droppedEvents = Counter.builder("instagram.notifications.dropped")
+                .description("Notifications dropped because a client buffer was full")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (heartbeatInterval.isZero() || heartbeatInterval.isNegative()) {
+            return;
+        }
+
+        heartbeats = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "notification-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long millis = heartbeatInterval.toMillis();
+        heartbeats.scheduleWithFixedDelay(this::heartbeat, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Publica um evento para {@code recipientId}. Ações do próprio usuário
+     * sobre si mesmo não geram notificação.
+     */
+    public NotificationEvent publish(NotificationType type, long recipientId, long actorId,
+                                     String actorUsername, Long postId) {
+        if (recipientId == actorId) {
+            return null;
+        }
+
+        List<Subscription> ready = new ArrayList<>(1);
+        NotificationEvent event;
+        synchronized (lock) {
+            event = new NotificationEvent(++lastId, type, recipientId, actorId, actorUsername, postId, Instant.now());
+
+            if (replay.length > 0) {
+                NotificationEvent overwritten = replay[replayNext];
+                if (overwritten != null) {
+                    firstRetainedId = overwritten.id() + 1;
+                }
+                replay[replayNext] = event;
+                replayNext = (replayNext + 1) % replay.length;
+            }
+
+            for (Subscription subscription : subscribers.getOrDefault(recipientId, Set.of())) {
+                if (subscription.offer(event)) {
+                    ready.add(subscription);
+                }
+            }
+        }
+
+        ready.forEach(this::dispatch);
+        return event;
+    }
+
+    /**
+     * Abre uma assinatura. Com {@code lastEventId}, os eventos do usuário
+     * publicados depois dele e ainda no anel são entregues antes dos novos.
+     */
+    public Subscription subscribe(long userId, Long lastEventId, NotificationSink sink) {
+        Subscription subscription = new Subscription(userId, sink);
+        boolean ready = false;
+
+        synchronized (lock) {
+            if (lastEventId != null) {
+                if (lastEventId + 1 < firstRetainedId || lastEventId > lastId) {
+                    ready = subscription.requestReset();
+                } else {
+                    for (int i = 0; i < replay.length; i++) {
+                        NotificationEvent event = replay[(replayNext + i) % replay.length];
+                        if (event != null && event.recipientId() == userId && event.id() > lastEventId) {
+                            ready |= subscription.offer(event);
+                        }
+                    }
+                }
+            }
+            subscribers.computeIfAbsent(userId, id -> new HashSet<>(2)).add(subscription);
+        }
+        subscriberCount.incrementAndGet();
+
+        if (ready) {
+            dispatch(subscription);
+        }
+        return subscription;
+    }
+
+    public int subscriberCount() {
+        return subscriberCount.get();
+    }
+
+    private void unsubscribe(Subscription subscription) {
+        synchronized (lock) {
+            Set<Subscription> userSubscriptions = subscribers.get(subscription.userId);
+            if (userSubscriptions == null || !userSubscriptions.remove(subscription)) {
+                return;
+            }
+            if (userSubscriptions.isEmpty()) {
+                subscribers.remove(subscription.userId);
+            }
+        }
+        subscriberCount.decrementAndGet();
+    }
+
+    private void heartbeat() {
+        List<Subscription> all = snapshot();
+        for (Subscription subscription : all) {
+            if (subscription.requestHeartbeat()) {
+                dispatch(subscription);
+            }
+        }
+    }
+
+    private List<Subscription> snapshot() {
+        synchronized (lock) {
+            List<Subscription> all = new ArrayList<>(subscriberCount.get());
+            subscribers.values().forEach(all::addAll);
+            return all;
+        }
+    }
+
+    private void dispatch(Subscription subscription) {
+        try {
+            dispatchers.execute(subscription::drain);
+        } catch (RejectedExecutionException e) {
+            // desligando
+        }
+    }
+
+    /**
+     * Fecha os streams no início do desligamento. Requisições assíncronas
+     * contam como em andamento no graceful shutdown do Tomcat, que esperaria
+     * o timeout inteiro por elas; fechadas, os clientes reconectam com o
+     * Last-Event-ID em outro nó.
+     */
+    @EventListener(ContextClosedEvent.class)
+    public void closeStreams() {
+        for (Subscription subscription : snapshot()) {
+            subscription.cancel();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (heartbeats != null) {
+            heartbeats.shutdownNow();
+        }
+        dispatchers.shutdownNow();
+        closeStreams();
+    }
+
+    /**
+     * Uma conexão de um usuário. O estado pendente é protegido pelo monitor da
+     * própria assinatura; {@code scheduled} garante um único despachante por
+     * vez e que nada fique parado no buffer.
+     */
+    public final class Subscription {
+
+        private final long userId;
+        private final NotificationSink sink;
+
+        private final ArrayDeque<NotificationEvent> pending = new ArrayDeque<>();
+        private int dropped;
+        private boolean reset;
+        private boolean heartbeat;
+        private boolean scheduled;
+        private volatile boolean cancelled;
+
+        private Subscription(long userId, NotificationSink sink) {
+            this.userId = userId;
+            this.sink = sink;
+        }
+
+        /**
+         * Devolve {@code true} quando a assinatura precisa ser despachada.
+         */
+        private synchronized boolean offer(NotificationEvent event) {
+            if (cancelled) {
+                return false;
+            }
+
+            if (event.type() == NotificationType.LIKE) {
+                pending.removeIf(queued -> queued.type() == NotificationType.LIKE
+                        && Objects.equals(queued.postId(), event.postId()));
+            }
+            if (pending.size() >= bufferSize) {
+                pending.pollFirst();
+                dropped++;
+                droppedEvents.increment();
+            }
+            pending.addLast(event);
+            return schedule();
+        }
+
+        private synchronized boolean requestReset() {
+            reset = true;
+            return schedule();
+        }
+
+        private synchronized boolean requestHeartbeat() {
+            if (cancelled) {
+                return false;
+            }
+            heartbeat = true;
+            return schedule();
+        }
+
+        private boolean schedule() {
+            if (scheduled) {
+                return false;
+            }
+            scheduled = true;
+            return true;
+        }
+
+        private void drain() {
+            try {
+                while (true) {
+                    List<NotificationEvent> events;
+                    int droppedNow;
+                    boolean resetNow;
+                    boolean heartbeatNow;
+
+                    synchronized (this) {
+                        if (cancelled || (pending.isEmpty() && dropped == 0 && !reset && !heartbeat)) {
+                            scheduled = false;
+                            return;
+                        }
+                        events = new ArrayList<>(pending);
+                        pending.clear();
+                        droppedNow = dropped;
+                        resetNow = reset;
+                        heartbeatNow = heartbeat;
+                        dropped = 0;
+                        reset = false;
+                        heartbeat = false;
+                    }
+
+                    if (resetNow) {
+                        sink.reset();
+                    }
+                    if (droppedNow > 0) {
+                        sink.overflow(droppedNow);
+                    }
+                    for (NotificationEvent event : events) {
+                        sink.send(event);
+                    }
+                    // qualquer escrita já mantém a conexão viva
+                    if (heartbeatNow && events.isEmpty() && !resetNow && droppedNow == 0) {
+                        sink.heartbeat();
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                log.debug("Notification stream for user {} closed: {}", userId, e.toString());
+                synchronized (this) {
+                    scheduled = false;
+                }
+                cancel();
+            }
+        }
+
+        /**
+         * Encerra a assinatura; chamado quando a conexão fecha ou expira.
+         */
+        public void cancel() {
+            synchronized (this) {
+                if (cancelled) {
+                    return;
+                }
+                cancelled = true;
+                pending.clear();
+            }
+            unsubscribe(this);
+            sink.close();
+        }
+    }
+}
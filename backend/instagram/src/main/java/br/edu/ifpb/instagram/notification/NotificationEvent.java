@@ -0,0 +1,16 @@
+package br.edu.ifpb.instagram.notification;
+
+import java.time.Instant;
+
+/**
+ * Evento entregue pelo {@link NotificationBus}. O id é crescente no processo
+ * e vai para o cliente como id do evento SSE.
+ */
+public record NotificationEvent(
+    long id,
+    NotificationType type,
+    long recipientId,
+    long actorId,
+    String actorUsername,
+    Long postId,
+    Instant createdAt) { }
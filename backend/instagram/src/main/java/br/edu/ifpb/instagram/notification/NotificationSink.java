@@ -0,0 +1,28 @@
+package br.edu.ifpb.instagram.notification;
+
+import java.io.IOException;
+
+/**
+ * Destino de uma assinatura, normalmente uma conexão SSE. Os métodos são
+ * chamados por um único despachante de cada vez; uma {@link IOException}
+ * encerra a assinatura.
+ */
+public interface NotificationSink {
+
+    void send(NotificationEvent event) throws IOException;
+
+    /**
+     * Eventos descartados porque o buffer do cliente encheu. O cliente deve
+     * recarregar o que exibe em vez de confiar no stream.
+     */
+    void overflow(int dropped) throws IOException;
+
+    /**
+     * O Last-Event-ID pedido já saiu da janela de replay.
+     */
+    void reset() throws IOException;
+
+    void heartbeat() throws IOException;
+
+    void close();
+}
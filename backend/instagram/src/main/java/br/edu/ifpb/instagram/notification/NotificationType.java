@@ -0,0 +1,8 @@
+package br.edu.ifpb.instagram.notification;
+
+public enum NotificationType {
+    FOLLOW,
+    LIKE,
+    COMMENT,
+    MENTION
+}
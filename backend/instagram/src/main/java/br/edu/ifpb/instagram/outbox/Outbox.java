@@ -0,0 +1,83 @@
+package br.edu.ifpb.instagram.outbox;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.edu.ifpb.instagram.model.entity.OutboxEventEntity;
+import br.edu.ifpb.instagram.repository.OutboxEventRepository;
+
+/**
+ * Grava eventos na tabela {@code outbox_events} dentro da transação de quem
+ * chama: o evento existe se e só se a mudança foi confirmada.
+ *
+ * Depois do commit o evento é passado direto ao {@link OutboxRelay}, que o
+ * entrega na thread dele sem esperar a próxima varredura. Até {@code lease}
+ * depois da gravação a linha fica reservada para essa entrega; se o processo
+ * cair antes, a varredura pega o evento quando a reserva vence.
+ */
+@Component
+public class Outbox {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxRelay outboxRelay;
+    private final ObjectMapper objectMapper;
+    private final Duration lease;
+
+    public Outbox(OutboxEventRepository outboxEventRepository, OutboxRelay outboxRelay, ObjectMapper objectMapper,
+                  @Value("${instagram.outbox.lease:10s}") Duration lease) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.outboxRelay = outboxRelay;
+        this.objectMapper = objectMapper;
+        this.lease = lease;
+    }
+
+    /**
+     * Grava um evento do agregado {@code aggregateType}/{@code aggregateId}.
+     * Exige uma transação em andamento.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publish(String aggregateType, long aggregateId, String type, Object payload) {
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MICROS);
+
+        OutboxEventEntity eventEntity = new OutboxEventEntity();
+        eventEntity.setAggregateType(aggregateType);
+        eventEntity.setAggregateId(aggregateId);
+        eventEntity.setType(type);
+        eventEntity.setPayload(serialize(payload));
+        eventEntity.setCreatedAt(now);
+        eventEntity.setNextAttemptAt(now.plus(lease));
+
+        OutboxEventEntity storedEvent = outboxEventRepository.save(eventEntity);
+        OutboxEvent event = new OutboxEvent(storedEvent.getId(), aggregateType, aggregateId, type,
+                storedEvent.getPayload(), now, 0);
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                outboxRelay.dispatchCommitted(event);
+            }
+        });
+    }
+
+    private String serialize(Object payload) {
+        if (payload == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Outbox payload is not serializable", e);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package br.edu.ifpb.instagram.outbox;
+
+import java.time.Instant;
+
+/**
+ * Evento entregue aos {@link OutboxHandler}s. {@code payload} é o JSON
+ * gravado por {@link Outbox#publish}, ou {@code null}.
+ */
+public record OutboxEvent(
+    long id,
+    String aggregateType,
+    long aggregateId,
+    String type,
+    String payload,
+    Instant createdAt,
+    int attempts) { }
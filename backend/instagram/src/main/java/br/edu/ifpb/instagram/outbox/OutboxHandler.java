@@ -0,0 +1,14 @@
+package br.edu.ifpb.instagram.outbox;
+
+/**
+ * Efeito colateral disparado por eventos do outbox. A entrega é pelo menos
+ * uma vez: se um handler falha, o evento volta inteiro para a fila e todos os
+ * handlers dele rodam de novo, então cada um precisa tolerar repetição.
+ * Eventos do mesmo agregado chegam na ordem em que foram gravados.
+ */
+public interface OutboxHandler {
+
+    boolean handles(String eventType);
+
+    void handle(OutboxEvent event) throws Exception;
+}
@@ -0,0 +1,222 @@
+package br.edu.ifpb.instagram.outbox;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import br.edu.ifpb.instagram.model.entity.OutboxEventEntity;
+import br.edu.ifpb.instagram.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Entrega os eventos do outbox aos {@link OutboxHandler}s, numa thread só.
+ *
+ * Eventos recém-confirmados chegam por {@link #dispatchCommitted}; a cada
+ * {@code poll-interval} a tabela é varrida atrás do resto: eventos cuja
+ * reserva venceu (o processo caiu antes de entregar) e os que falharam e
+ * chegaram na hora da nova tentativa. Cada evento é pego com um UPDATE
+ * condicional em {@code claims}, então dois relays nunca o entregam ao mesmo
+ * tempo, e só sai da tabela depois que todos os handlers terminam.
+ *
+ * A ordem por agregado vem da consulta, que só devolve o evento mais antigo
+ * de cada agregado; um evento que falha segura os seguintes do mesmo
+ * agregado até passar, com espera dobrando a cada falha até
+ * {@code max-backoff}. Não há desistência: um evento que nunca passa aparece
+ * em {@code instagram.outbox.oldest.age}.
+ */
+@Component
+public class OutboxRelay implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private static final Duration BASE_BACKOFF = Duration.ofSeconds(1);
+    private static final int MAX_ERROR_LENGTH = 1000;
+    // rodadas seguidas de uma varredura enquanto houver progresso
+    private static final int MAX_ROUNDS = 100;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final List<OutboxHandler> handlers;
+    private final Duration pollInterval;
+    private final int batchSize;
+    private final Duration lease;
+    private final Duration maxBackoff;
+
+    private final Timer lagTimer;
+    private final Counter failures;
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicLong oldestAgeMillis = new AtomicLong();
+
+    private ScheduledExecutorService executor;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository, List<OutboxHandler> handlers,
+                       MeterRegistry meterRegistry,
+                       @Value("${instagram.outbox.poll-interval:1s}") Duration pollInterval,
+                       @Value("${instagram.outbox.batch-size:100}") int batchSize,
+                       @Value("${instagram.outbox.lease:10s}") Duration lease,
+                       @Value("${instagram.outbox.max-backoff:5m}") Duration maxBackoff) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+        this.outboxEventRepository = outboxEventRepository;
+        this.handlers = List.copyOf(handlers);
+        this.pollInterval = pollInterval;
+        this.batchSize = batchSize;
+        this.lease = lease;
+        this.maxBackoff = maxBackoff;
+
+        this.lagTimer = Timer.builder("instagram.outbox.lag")
+                .description("Tempo entre a gravação do evento e a entrega a todos os handlers")
+                .register(meterRegistry);
+        this.failures = Counter.builder("instagram.outbox.failures")
+                .description("Entregas de eventos do outbox que falharam e voltaram para a fila")
+                .register(meterRegistry);
+        Gauge.builder("instagram.outbox.pending", pending, AtomicLong::get)
+                .description("Eventos do outbox ainda não entregues")
+                .register(meterRegistry);
+        TimeGauge.builder("instagram.outbox.oldest.age", oldestAgeMillis, TimeUnit.MILLISECONDS, AtomicLong::get)
+                .description("Idade do evento mais antigo ainda não entregue")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "outbox-relay");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (pollInterval.toMillis() > 0) {
+            long millis = pollInterval.toMillis();
+            executor.scheduleWithFixedDelay(this::pollQuietly, millis, millis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Agenda a entrega de um evento cuja transação acabou de ser confirmada.
+     * Se ainda houver evento anterior do mesmo agregado na tabela, este fica
+     * para a varredura.
+     */
+    public void dispatchCommitted(OutboxEvent event) {
+        if (executor == null) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    if (!outboxEventRepository.existsByAggregateTypeAndAggregateIdAndIdLessThan(
+                            event.aggregateType(), event.aggregateId(), event.id())) {
+                        deliver(event, 0, Instant.now());
+                    }
+                } catch (RuntimeException e) {
+                    log.warn("Failed to dispatch outbox event {}", event.id(), e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // desligando: a varredura da próxima subida entrega
+        }
+    }
+
+    /**
+     * Entrega os eventos vencidos até {@code now} e devolve quantos saíram da
+     * tabela.
+     */
+    public int poll(Instant now) {
+        int delivered = 0;
+        for (int round = 0; round < MAX_ROUNDS; round++) {
+            int progress = 0;
+            for (OutboxEventEntity eventEntity : outboxEventRepository.findDueHeads(now, Limit.of(batchSize))) {
+                if (deliver(toEvent(eventEntity), eventEntity.getClaims(), now)) {
+                    progress++;
+                }
+            }
+            delivered += progress;
+            if (progress == 0) {
+                break;
+            }
+        }
+
+        pending.set(outboxEventRepository.count());
+        oldestAgeMillis.set(outboxEventRepository.findOldestCreatedAt()
+                .map(oldest -> Math.max(0, Duration.between(oldest, Instant.now()).toMillis()))
+                .orElse(0L));
+        return delivered;
+    }
+
+    private boolean deliver(OutboxEvent event, int claims, Instant now) {
+        if (outboxEventRepository.claim(event.id(), claims, now.plus(lease)) == 0) {
+            return false;
+        }
+
+        try {
+            for (OutboxHandler handler : handlers) {
+                if (handler.handles(event.type())) {
+                    handler.handle(event);
+                }
+            }
+        } catch (Exception e) {
+            failures.increment();
+            Duration backoff = backoff(event.attempts() + 1);
+            log.warn("Outbox event {} ({} of {} {}) failed, retrying in {}", event.id(), event.type(),
+                    event.aggregateType(), event.aggregateId(), backoff, e);
+            outboxEventRepository.fail(event.id(), Instant.now().plus(backoff), truncate(String.valueOf(e)));
+            return false;
+        }
+
+        outboxEventRepository.deleteById(event.id());
+        lagTimer.record(Duration.between(event.createdAt(), Instant.now()));
+        return true;
+    }
+
+    private Duration backoff(int attempts) {
+        Duration backoff = BASE_BACKOFF.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return backoff.compareTo(maxBackoff) > 0 ? maxBackoff : backoff;
+    }
+
+    private static String truncate(String error) {
+        return error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH);
+    }
+
+    private static OutboxEvent toEvent(OutboxEventEntity eventEntity) {
+        return new OutboxEvent(
+                eventEntity.getId(),
+                eventEntity.getAggregateType(),
+                eventEntity.getAggregateId(),
+                eventEntity.getType(),
+                eventEntity.getPayload(),
+                eventEntity.getCreatedAt(),
+                eventEntity.getAttempts()
+        );
+    }
+
+    private void pollQuietly() {
+        try {
+            poll(Instant.now());
+        } catch (RuntimeException e) {
+            log.warn("Failed to poll the outbox", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package br.edu.ifpb.instagram.outbox;
+
+/**
+ * Eventos do agregado usuário publicados pelo {@code UserServiceImpl}.
+ */
+public final class UserEvents {
+
+    public static final String AGGREGATE = "user";
+
+    public static final String CREATED = "UserCreated";
+    public static final String UPDATED = "UserUpdated";
+    public static final String DELETED = "UserDeleted";
+
+    private UserEvents() {
+    }
+}
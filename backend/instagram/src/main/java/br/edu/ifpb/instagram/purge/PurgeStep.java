@@ -0,0 +1,21 @@
+package br.edu.ifpb.instagram.purge;
+
+/**
+ * Etapas da limpeza de uma conta apagada, na ordem em que rodam. As
+ * dependências vêm antes de quem elas apontam: curtidas e comentários antes
+ * dos posts, stories antes das mídias, e a linha do usuário por último.
+ */
+public enum PurgeStep {
+    FOLLOWS,
+    LIKES,
+    COMMENTS,
+    STORIES,
+    MESSAGES,
+    POSTS,
+    MEDIA,
+    ACCOUNT;
+
+    public PurgeStep next() {
+        return values()[ordinal() + 1];
+    }
+}
@@ -0,0 +1,282 @@
+package br.edu.ifpb.instagram.purge;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.edu.ifpb.instagram.model.entity.UserPurgeEntity;
+import br.edu.ifpb.instagram.repository.UserPurgeRepository;
+import br.edu.ifpb.instagram.service.CommentService;
+import br.edu.ifpb.instagram.service.FollowService;
+import br.edu.ifpb.instagram.service.LikeService;
+import br.edu.ifpb.instagram.service.MediaService;
+import br.edu.ifpb.instagram.service.MessageService;
+import br.edu.ifpb.instagram.service.PostService;
+import br.edu.ifpb.instagram.service.StoryService;
+import br.edu.ifpb.instagram.transaction.AfterCommit;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Apaga os dados das contas marcadas como apagadas, numa thread só.
+ *
+ * Cada conta passa pelas {@link PurgeStep}s em ordem. Cada lote remove até
+ * {@code batch-size} linhas numa transação curta, que também grava a etapa e
+ * o total removido em {@code user_purges}; por isso uma queda no meio retoma
+ * do último lote confirmado. Entre lotes a thread espera
+ * {@code batch-pause}, para que a limpeza de uma conta grande não dispute o
+ * banco com as requisições.
+ *
+ * Uma conta nova na fila começa logo depois do commit que a marcou; as que
+ * sobrarem (queda, erro) são pegas na varredura a cada {@code interval}.
+ *
+ * A falha de uma conta não interrompe a rodada: ela é registrada na linha da
+ * conta, que só volta a ser tentada depois de {@code retry-backoff}, dobrando
+ * a cada falha seguida até {@code max-retry-backoff}, e as demais seguem.
+ */
+@Component
+public class UserPurger implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(UserPurger.class);
+
+    // a linha do usuário só sai se ele continua marcado como apagado
+    private static final String DELETE_USER = "DELETE FROM users WHERE id = ? AND deleted_at IS NOT NULL";
+    private static final int MAX_USERS_PER_ROUND = 10;
+
+    private final UserPurgeRepository userPurgeRepository;
+    private final FollowService followService;
+    private final LikeService likeService;
+    private final CommentService commentService;
+    private final StoryService storyService;
+    private final MessageService messageService;
+    private final PostService postService;
+    private final MediaService mediaService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration interval;
+    private final int batchSize;
+    private final Duration batchPause;
+    private final Duration retryBackoff;
+    private final Duration maxRetryBackoff;
+
+    private final Map<PurgeStep, Counter> purgedRows = new EnumMap<>(PurgeStep.class);
+    private final Counter failures;
+    private final AtomicLong pending = new AtomicLong();
+
+    private ScheduledExecutorService executor;
+
+    public UserPurger(UserPurgeRepository userPurgeRepository, FollowService followService,
+                      LikeService likeService, CommentService commentService, StoryService storyService,
+                      MessageService messageService, PostService postService, MediaService mediaService,
+                      JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                      MeterRegistry meterRegistry,
+                      @Value("${instagram.users.purge.interval:1s}") Duration interval,
+                      @Value("${instagram.users.purge.batch-size:500}") int batchSize,
+                      @Value("${instagram.users.purge.batch-pause:20ms}") Duration batchPause,
+                      @Value("${instagram.users.purge.retry-backoff:30s}") Duration retryBackoff,
+                      @Value("${instagram.users.purge.max-retry-backoff:1h}") Duration maxRetryBackoff) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+        this.userPurgeRepository = userPurgeRepository;
+        this.followService = followService;
+        this.likeService = likeService;
+        this.commentService = commentService;
+        this.storyService = storyService;
+        this.messageService = messageService;
+        this.postService = postService;
+        this.mediaService = mediaService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.interval = interval;
+        this.batchSize = batchSize;
+        this.batchPause = batchPause;
+        this.retryBackoff = retryBackoff;
+        this.maxRetryBackoff = maxRetryBackoff;
+
+        for (PurgeStep step : PurgeStep.values()) {
+            purgedRows.put(step, Counter.builder("instagram.users.purge.rows")
+                    .description("Linhas removidas na limpeza de contas apagadas")
+                    .tag("step", step.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+        failures = Counter.builder("instagram.users.purge.failures")
+                .description("Tentativas de limpeza de uma conta que falharam")
+                .register(meterRegistry);
+        Gauge.builder("instagram.users.purge.pending", pending, AtomicLong::get)
+                .description("Contas apagadas com dados ainda por remover")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "user-purger");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (interval.toMillis() > 0) {
+            long millis = interval.toMillis();
+            executor.scheduleWithFixedDelay(this::purgeQuietly, millis, millis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Põe a conta na fila de limpeza. Precisa rodar na transação que marca a
+     * conta como apagada.
+     */
+    public void schedule(long userId) {
+        Instant now = Instant.now();
+        UserPurgeEntity purge = new UserPurgeEntity();
+        purge.setUserId(userId);
+        purge.setStep(PurgeStep.values()[0]);
+        purge.setRequestedAt(now);
+        purge.setUpdatedAt(now);
+        purge.setNextAttemptAt(now);
+        userPurgeRepository.save(purge);
+
+        AfterCommit.run(() -> {
+            if (executor != null) {
+                try {
+                    executor.execute(this::purgeQuietly);
+                } catch (RejectedExecutionException e) {
+                    // desligando: a varredura da próxima subida retoma
+                }
+            }
+        });
+    }
+
+    public Optional<UserPurgeEntity> find(long userId) {
+        return userPurgeRepository.findById(userId);
+    }
+
+    /**
+     * Limpa as contas da fila que já podem ser tentadas, das mais antigas para
+     * as mais novas, e devolve quantas linhas saíram.
+     */
+    public long purge() {
+        long purged = 0;
+        for (UserPurgeEntity purge : userPurgeRepository.findAllByNextAttemptAtLessThanEqualOrderByRequestedAtAsc(
+                Instant.now(), Limit.of(MAX_USERS_PER_ROUND))) {
+            long rows;
+            try {
+                rows = purge(purge.getUserId(), purge.getStep());
+            } catch (RuntimeException e) {
+                backOff(purge, e);
+                continue;
+            }
+            if (rows < 0) {
+                break;
+            }
+            purged += rows;
+        }
+        pending.set(userPurgeRepository.count());
+        return purged;
+    }
+
+    // -1 quando a thread foi interrompida no meio
+    private long purge(long userId, PurgeStep from) {
+        long purged = 0;
+        PurgeStep step = from;
+        while (true) {
+            PurgeStep current = step;
+            int removed = transactionTemplate.execute(status -> removeBatch(userId, current));
+            purgedRows.get(current).increment(removed);
+            purged += removed;
+
+            if (current == PurgeStep.ACCOUNT) {
+                log.info("Purged deleted user {}: {} rows", userId, purged);
+                return purged;
+            }
+            if (removed < batchSize) {
+                step = current.next();
+            }
+            if (removed > 0 && !pause()) {
+                return -1;
+            }
+        }
+    }
+
+    // os lotes já confirmados ficam; a conta volta da etapa gravada depois da espera
+    private void backOff(UserPurgeEntity purge, RuntimeException cause) {
+        failures.increment();
+        int attempt = purge.getAttempts() + 1;
+        Duration delay = retryBackoff.multipliedBy(1L << Math.min(attempt - 1, 20));
+        if (delay.compareTo(maxRetryBackoff) > 0) {
+            delay = maxRetryBackoff;
+        }
+        Instant now = Instant.now();
+        Instant nextAttemptAt = now.plus(delay);
+        log.warn("Failed to purge deleted user {} (attempt {}), retrying at {}", purge.getUserId(), attempt,
+                nextAttemptAt, cause);
+        transactionTemplate.executeWithoutResult(status ->
+                userPurgeRepository.fail(purge.getUserId(), nextAttemptAt, now));
+    }
+
+    private int removeBatch(long userId, PurgeStep step) {
+        if (step == PurgeStep.ACCOUNT) {
+            int removed = jdbcTemplate.update(DELETE_USER, userId);
+            userPurgeRepository.deleteById(userId);
+            return removed;
+        }
+
+        int removed = switch (step) {
+            case FOLLOWS -> followService.removeUser(userId, batchSize);
+            case LIKES -> likeService.removeUser(userId, batchSize);
+            case COMMENTS -> commentService.removeUser(userId, batchSize);
+            case STORIES -> storyService.removeUser(userId, batchSize);
+            case MESSAGES -> messageService.removeUser(userId, batchSize);
+            case POSTS -> postService.removeUser(userId, batchSize);
+            case MEDIA -> mediaService.removeUser(userId, batchSize);
+            case ACCOUNT -> throw new IllegalStateException("Account step is handled above");
+        };
+        userPurgeRepository.advance(userId, removed < batchSize ? step.next() : step, removed, Instant.now());
+        return removed;
+    }
+
+    private boolean pause() {
+        if (batchPause.isZero()) {
+            return true;
+        }
+        try {
+            Thread.sleep(batchPause.toMillis());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void purgeQuietly() {
+        try {
+            purge();
+        } catch (RuntimeException e) {
+            log.warn("Failed to purge deleted users", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package br.edu.ifpb.instagram.repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import br.edu.ifpb.instagram.model.entity.CommentEntity;
+
+@Repository
+public interface CommentRepository extends CrudRepository<CommentEntity, Long> {
+
+    @Query("SELECT c FROM comments c JOIN FETCH c.author WHERE c.id = :id")
+    Optional<CommentEntity> findWithAuthorById(Long id);
+
+    @Query("SELECT c FROM comments c JOIN FETCH c.author WHERE c.post.id = :postId "
+            + "ORDER BY c.createdAt DESC, c.id DESC")
+    List<CommentEntity> findFirstPage(@Param("postId") long postId, Limit limit);
+
+    // keyset: continua depois do último comentário da página anterior, sem OFFSET
+    @Query("SELECT c FROM comments c JOIN FETCH c.author WHERE c.post.id = :postId "
+            + "AND (c.createdAt < :createdAt OR (c.createdAt = :createdAt AND c.id < :id)) "
+            + "ORDER BY c.createdAt DESC, c.id DESC")
+    List<CommentEntity> findPageAfter(@Param("postId") long postId, @Param("createdAt") Instant createdAt,
+                                      @Param("id") long id, Limit limit);
+
+    @Query("select distinct c.post.id from comments c where c.id in :ids")
+    List<Long> findPostIdsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("delete from comments c where c.post.id = :postId")
+    int deleteAllByPostId(@Param("postId") long postId);
+
+    // comentários do usuário e os recebidos pelos posts dele, que saem junto com ele
+    @Query("select c.id from comments c where c.author.id = :userId or c.post.id in "
+            + "(select p.id from posts p where p.author.id = :userId)")
+    List<Long> findIdsByUserId(@Param("userId") long userId, Limit limit);
+
+    @Modifying
+    @Query("delete from comments c where c.id in :ids")
+    int deleteAllByIdIn(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,35 @@
+package br.edu.ifpb.instagram.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import br.edu.ifpb.instagram.model.entity.ConversationMemberEntity;
+import br.edu.ifpb.instagram.model.entity.ConversationMemberId;
+
+@Repository
+public interface ConversationMemberRepository extends CrudRepository<ConversationMemberEntity, ConversationMemberId> {
+
+    @Query("select m.id.userId from conversation_members m where m.id.conversationId = :conversationId")
+    List<Long> findUserIdsByConversationId(@Param("conversationId") long conversationId);
+
+    @Query("select m from conversation_members m where m.id.conversationId in :conversationIds")
+    List<ConversationMemberEntity> findAllByConversationIdIn(@Param("conversationIds") Collection<Long> conversationIds);
+
+    @Query("select m.id.conversationId from conversation_members m where m.id.userId = :userId")
+    List<Long> findConversationIdsByUserId(@Param("userId") long userId);
+
+    @Modifying
+    @Query("delete from conversation_members m where m.id.conversationId in :conversationIds")
+    int deleteAllByConversationIdIn(@Param("conversationIds") Collection<Long> conversationIds);
+
+    @Modifying
+    @Query("delete from conversation_members m where m.id.userId = :userId and m.id.conversationId in :conversationIds")
+    int deleteAllByUserIdAndConversationIdIn(@Param("userId") long userId,
+                                             @Param("conversationIds") Collection<Long> conversationIds);
+}
@@ -0,0 +1,26 @@
+package br.edu.ifpb.instagram.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import br.edu.ifpb.instagram.model.entity.ConversationEntity;
+
+@Repository
+public interface ConversationRepository extends CrudRepository<ConversationEntity, Long> {
+
+    Optional<ConversationEntity> findByDirectKey(String directKey);
+
+    @Query("SELECT c FROM conversations c WHERE c.id IN "
+            + "(SELECT m.id.conversationId FROM conversation_members m WHERE m.id.userId = :userId) ORDER BY c.id DESC")
+    List<ConversationEntity> findAllByMemberId(@Param("userId") long userId);
+
+    @Query("SELECT c FROM conversations c WHERE c.id IN "
+            + "(SELECT m.id.conversationId FROM conversation_members m WHERE m.id.userId = :userId) ORDER BY c.id DESC")
+    List<ConversationEntity> findAllByMemberId(@Param("userId") long userId, Limit limit);
+}
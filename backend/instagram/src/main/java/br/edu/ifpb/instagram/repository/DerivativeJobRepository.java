@@ -0,0 +1,60 @@
+package br.edu.ifpb.instagram.repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.edu.ifpb.instagram.model.entity.DerivativeJobEntity;
+import br.edu.ifpb.instagram.model.entity.DerivativeJobEntity.Status;
+
+@Repository
+public interface DerivativeJobRepository extends CrudRepository<DerivativeJobEntity, Long> {
+
+    List<DerivativeJobEntity> findByStatusOrderByEnqueuedAtAsc(Status status, Limit limit);
+
+    long countByStatusIn(List<Status> statuses);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM derivative_jobs j WHERE j.status = :status AND j.enqueuedAt < :before")
+    int deleteByStatusAndEnqueuedAtBefore(Status status, Instant before);
+
+    // só uma instância consegue passar o job de PENDING para RUNNING
+    @Transactional
+    @Modifying
+    @Query("UPDATE derivative_jobs j SET j.status = :to, j.leaseUntil = :leaseUntil "
+            + "WHERE j.mediaId = :mediaId AND j.status = :from")
+    int claim(long mediaId, Status from, Status to, Instant leaseUntil);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE derivative_jobs j SET j.status = :to, j.leaseUntil = NULL WHERE j.mediaId = :mediaId AND j.status = :from")
+    int updateStatus(long mediaId, Status from, Status to);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE derivative_jobs j SET j.leaseUntil = :leaseUntil WHERE j.mediaId IN :mediaIds AND j.status = :status")
+    int renewLeases(Collection<Long> mediaIds, Status status, Instant leaseUntil);
+
+    // jobs cujo dono parou de renovar o lease voltam para a fila; a queda
+    // conta como tentativa, para uma imagem que derruba o processo não voltar
+    // para a fila para sempre
+    @Transactional
+    @Modifying
+    @Query("UPDATE derivative_jobs j SET j.status = :to, j.attempts = j.attempts + 1, j.leaseUntil = NULL "
+            + "WHERE j.status = :from AND j.leaseUntil < :now AND j.attempts + 1 < :maxAttempts")
+    int requeueExpired(Status from, Status to, Instant now, int maxAttempts);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE derivative_jobs j SET j.status = :to, j.attempts = j.attempts + 1, j.leaseUntil = NULL "
+            + "WHERE j.status = :from AND j.leaseUntil < :now AND j.attempts + 1 >= :maxAttempts")
+    int failExpired(Status from, Status to, Instant now, int maxAttempts);
+}
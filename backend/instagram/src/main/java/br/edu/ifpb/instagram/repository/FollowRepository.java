@@ -0,0 +1,32 @@
+package br.edu.ifpb.instagram.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import br.edu.ifpb.instagram.model.entity.FollowEntity;
+import br.edu.ifpb.instagram.model.entity.FollowId;
+
+@Repository
+public interface FollowRepository extends CrudRepository<FollowEntity, FollowId> {
+
+    @Query("select f.id.followeeId from follows f where f.id.followerId = :userId")
+    List<Long> findFolloweeIds(@Param("userId") long userId, Limit limit);
+
+    @Query("select f.id.followerId from follows f where f.id.followeeId = :userId")
+    List<Long> findFollowerIds(@Param("userId") long userId, Limit limit);
+
+    @Modifying
+    @Query("delete from follows f where f.id.followerId = :userId and f.id.followeeId in :followeeIds")
+    int deleteFollowing(@Param("userId") long userId, @Param("followeeIds") Collection<Long> followeeIds);
+
+    @Modifying
+    @Query("delete from follows f where f.id.followeeId = :userId and f.id.followerId in :followerIds")
+    int deleteFollowers(@Param("userId") long userId, @Param("followerIds") Collection<Long> followerIds);
+}
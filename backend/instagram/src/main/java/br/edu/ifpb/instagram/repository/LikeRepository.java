@@ -0,0 +1,37 @@
+package br.edu.ifpb.instagram.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import br.edu.ifpb.instagram.model.entity.LikeEntity;
+import br.edu.ifpb.instagram.model.entity.LikeId;
+
+@Repository
+public interface LikeRepository extends CrudRepository<LikeEntity, LikeId> {
+
+    @Query("select l.id.postId from likes l where l.id.userId = :userId")
+    List<Long> findPostIdsByUserId(@Param("userId") long userId, Limit limit);
+
+    @Modifying
+    @Query("delete from likes l where l.id.userId = :userId and l.id.postId in :postIds")
+    int deleteAllByUserIdAndPostIdIn(@Param("userId") long userId, @Param("postIds") Collection<Long> postIds);
+
+    // curtidas recebidas pelos posts do usuário, que saem junto com ele
+    @Query("select l.id from likes l where l.id.postId in (select p.id from posts p where p.author.id = :userId)")
+    List<LikeId> findIdsOnPostsOfAuthor(@Param("userId") long userId, Limit limit);
+
+    @Modifying
+    @Query("delete from likes l where l.id.postId = :postId and l.id.userId in :userIds")
+    int deleteAllByPostIdAndUserIdIn(@Param("postId") long postId, @Param("userIds") Collection<Long> userIds);
+
+    @Modifying
+    @Query("delete from likes l where l.id.postId = :postId")
+    int deleteAllByPostId(@Param("postId") long postId);
+}
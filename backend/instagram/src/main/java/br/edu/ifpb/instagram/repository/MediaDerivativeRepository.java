@@ -0,0 +1,28 @@
+package br.edu.ifpb.instagram.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.stereotype.Repository;
+
+import br.edu.ifpb.instagram.media.DerivativeSize;
+import br.edu.ifpb.instagram.model.entity.MediaDerivativeEntity;
+
+@Repository
+public interface MediaDerivativeRepository extends CrudRepository<MediaDerivativeEntity, Long> {
+
+    Optional<MediaDerivativeEntity> findByMediaIdAndSize(long mediaId, DerivativeSize size);
+
+    boolean existsBySha256(String sha256);
+
+    @Query("SELECT DISTINCT d.sha256 FROM media_derivatives d WHERE d.media.id IN :mediaIds")
+    List<String> findSha256ByMediaIdIn(Collection<Long> mediaIds);
+
+    @Modifying
+    @Query("DELETE FROM media_derivatives d WHERE d.media.id IN :mediaIds")
+    int deleteAllByMediaIdIn(Collection<Long> mediaIds);
+}
@@ -0,0 +1,32 @@
+package br.edu.ifpb.instagram.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.stereotype.Repository;
+
+import br.edu.ifpb.instagram.model.entity.MediaEntity;
+
+@Repository
+public interface MediaRepository extends CrudRepository<MediaEntity, Long> {
+
+    @Query("SELECT m FROM media m JOIN FETCH m.owner WHERE m.id = :id")
+    Optional<MediaEntity> findWithOwnerById(Long id);
+
+    boolean existsBySha256(String sha256);
+
+    @Query("SELECT DISTINCT m.sha256 FROM media m WHERE m.id IN :ids")
+    List<String> findSha256ByIdIn(Collection<Long> ids);
+
+    @Query("SELECT m.id FROM media m WHERE m.owner.id = :ownerId")
+    List<Long> findIdsByOwnerId(long ownerId, Limit limit);
+
+    @Modifying
+    @Query("DELETE FROM media m WHERE m.id IN :ids")
+    int deleteAllByIdIn(Collection<Long> ids);
+}
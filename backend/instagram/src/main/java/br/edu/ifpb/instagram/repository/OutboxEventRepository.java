@@ -0,0 +1,43 @@
+package br.edu.ifpb.instagram.repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.edu.ifpb.instagram.model.entity.OutboxEventEntity;
+
+@Repository
+public interface OutboxEventRepository extends CrudRepository<OutboxEventEntity, Long> {
+
+    // só o evento mais antigo de cada agregado: os seguintes esperam ele sair da tabela
+    @Query("SELECT e FROM outbox_events e WHERE e.nextAttemptAt <= :now AND NOT EXISTS "
+            + "(SELECT 1 FROM outbox_events p WHERE p.aggregateType = e.aggregateType "
+            + "AND p.aggregateId = e.aggregateId AND p.id < e.id) ORDER BY e.id")
+    List<OutboxEventEntity> findDueHeads(@Param("now") Instant now, Limit limit);
+
+    boolean existsByAggregateTypeAndAggregateIdAndIdLessThan(String aggregateType, long aggregateId, long id);
+
+    @Query("SELECT MIN(e.createdAt) FROM outbox_events e")
+    Optional<Instant> findOldestCreatedAt();
+
+    // só um relay consegue pegar o evento com o número de claims que leu
+    @Transactional
+    @Modifying
+    @Query("UPDATE outbox_events e SET e.claims = e.claims + 1, e.nextAttemptAt = :leaseEnd "
+            + "WHERE e.id = :id AND e.claims = :claims")
+    int claim(@Param("id") long id, @Param("claims") int claims, @Param("leaseEnd") Instant leaseEnd);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE outbox_events e SET e.attempts = e.attempts + 1, e.nextAttemptAt = :nextAttemptAt, "
+            + "e.lastError = :error WHERE e.id = :id")
+    int fail(@Param("id") long id, @Param("nextAttemptAt") Instant nextAttemptAt, @Param("error") String error);
+}
@@ -0,0 +1,36 @@
+package br.edu.ifpb.instagram.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.stereotype.Repository;
+
+import br.edu.ifpb.instagram.model.entity.PostEntity;
+
+@Repository
+public interface PostRepository extends CrudRepository<PostEntity, Long> {
+
+    @Query("SELECT p FROM posts p JOIN FETCH p.author WHERE p.id = :id")
+    Optional<PostEntity> findWithAuthorById(Long id);
+
+    @Query("SELECT p FROM posts p JOIN FETCH p.author WHERE p.id IN :ids")
+    List<PostEntity> findAllWithAuthorByIdIn(Collection<Long> ids);
+
+    @Query("SELECT p.id FROM posts p WHERE p.author.id = :authorId ORDER BY p.id DESC")
+    List<Long> findIdsByAuthorIdOrderByIdDesc(long authorId, Limit limit);
+
+    @Query("SELECT p.likeCount FROM posts p WHERE p.id = :id")
+    Optional<Long> findLikeCountById(Long id);
+
+    @Query("SELECT p.author.id FROM posts p WHERE p.id = :id")
+    Optional<Long> findAuthorIdById(Long id);
+
+    @Modifying
+    @Query("DELETE FROM posts p WHERE p.id IN :ids")
+    int deleteAllByIdIn(Collection<Long> ids);
+}
@@ -0,0 +1,34 @@
+package br.edu.ifpb.instagram.repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import br.edu.ifpb.instagram.model.entity.StoryEntity;
+
+@Repository
+public interface StoryRepository extends CrudRepository<StoryEntity, Long> {
+
+    // stories vencidos e ainda não apagados nunca saem daqui
+    @Query("SELECT s FROM stories s JOIN FETCH s.author WHERE s.id = :id AND s.expiresAt > :now")
+    Optional<StoryEntity> findActiveById(@Param("id") long id, @Param("now") Instant now);
+
+    @Query("SELECT s FROM stories s JOIN FETCH s.author WHERE s.author.id = :authorId AND s.expiresAt > :now "
+            + "ORDER BY s.createdAt, s.id")
+    List<StoryEntity> findActiveByAuthorId(@Param("authorId") long authorId, @Param("now") Instant now);
+
+    @Query("select s.id from stories s where s.author.id = :authorId")
+    List<Long> findIdsByAuthorId(@Param("authorId") long authorId, Limit limit);
+
+    @Modifying
+    @Query("delete from stories s where s.id in :ids")
+    int deleteAllByIdIn(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,15 @@
+package br.edu.ifpb.instagram.repository;
+
+import java.util.List;
+
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.stereotype.Repository;
+
+import br.edu.ifpb.instagram.model.entity.TimelineEntryEntity;
+import br.edu.ifpb.instagram.model.entity.TimelineEntryId;
+
+@Repository
+public interface TimelineEntryRepository extends CrudRepository<TimelineEntryEntity, TimelineEntryId> {
+
+    List<TimelineEntryEntity> findByIdUserIdOrderBySeqAsc(long userId);
+}
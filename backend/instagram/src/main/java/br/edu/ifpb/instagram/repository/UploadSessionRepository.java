@@ -0,0 +1,28 @@
+package br.edu.ifpb.instagram.repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.edu.ifpb.instagram.model.entity.UploadSessionEntity;
+
+@Repository
+public interface UploadSessionRepository extends CrudRepository<UploadSessionEntity, String> {
+
+    Optional<UploadSessionEntity> findByIdAndOwnerId(String id, long ownerId);
+
+    List<UploadSessionEntity> findByUpdatedAtBefore(Instant cutoff, Limit limit);
+
+    // o offset só avança: dois PUTs concorrentes do mesmo trecho não o fazem voltar
+    @Transactional
+    @Modifying
+    @Query("UPDATE upload_sessions s SET s.receivedBytes = CASE WHEN s.receivedBytes < :receivedBytes THEN :receivedBytes ELSE s.receivedBytes END, s.updatedAt = :now WHERE s.id = :id")
+    int advance(String id, long receivedBytes, Instant now);
+}
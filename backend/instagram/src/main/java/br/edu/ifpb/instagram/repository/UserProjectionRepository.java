@@ -0,0 +1,18 @@
+package br.edu.ifpb.instagram.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import br.edu.ifpb.instagram.model.dto.UserDto;
+import br.edu.ifpb.instagram.model.dto.UserField;
+
+/**
+ * Consultas que selecionam apenas as colunas pedidas. O id é sempre
+ * selecionado; os campos não pedidos voltam como {@code null} no DTO.
+ */
+public interface UserProjectionRepository {
+
+    List<UserDto> findAllProjected(Set<UserField> fields);
+    List<UserDto> findAllProjectedById(Collection<Long> ids, Set<UserField> fields);
+}
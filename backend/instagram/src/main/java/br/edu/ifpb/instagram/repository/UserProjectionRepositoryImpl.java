@@ -0,0 +1,74 @@
+package br.edu.ifpb.instagram.repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import br.edu.ifpb.instagram.model.dto.UserDto;
+import br.edu.ifpb.instagram.model.dto.UserField;
+import br.edu.ifpb.instagram.model.entity.UserEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+public class UserProjectionRepositoryImpl implements UserProjectionRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<UserDto> findAllProjected(Set<UserField> fields) {
+        return query(fields, null);
+    }
+
+    @Override
+    public List<UserDto> findAllProjectedById(Collection<Long> ids, Set<UserField> fields) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return query(fields, ids);
+    }
+
+    private List<UserDto> query(Set<UserField> fields, Collection<Long> ids) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> criteriaQuery = criteriaBuilder.createTupleQuery();
+        Root<UserEntity> root = criteriaQuery.from(UserEntity.class);
+
+        List<Selection<?>> selections = new ArrayList<>();
+        selections.add(root.get(UserField.ID.attribute()).alias(UserField.ID.attribute()));
+        for (UserField field : fields) {
+            if (field != UserField.ID) {
+                selections.add(root.get(field.attribute()).alias(field.attribute()));
+            }
+        }
+        criteriaQuery.multiselect(selections);
+
+        if (ids != null) {
+            criteriaQuery.where(root.get(UserField.ID.attribute()).in(ids));
+        }
+        // o id sempre vem na projeção e dá uma ordem estável às páginas
+        criteriaQuery.orderBy(criteriaBuilder.asc(root.get(UserField.ID.attribute())));
+
+        List<UserDto> users = new ArrayList<>();
+        for (Tuple tuple : entityManager.createQuery(criteriaQuery).getResultList()) {
+            users.add(new UserDto(
+                tuple.get(UserField.ID.attribute(), Long.class),
+                value(tuple, fields, UserField.FULL_NAME),
+                value(tuple, fields, UserField.USERNAME),
+                value(tuple, fields, UserField.EMAIL),
+                null,
+                null
+            ));
+        }
+        return users;
+    }
+
+    private static String value(Tuple tuple, Set<UserField> fields, UserField field) {
+        return fields.contains(field) ? tuple.get(field.attribute(), String.class) : null;
+    }
+}
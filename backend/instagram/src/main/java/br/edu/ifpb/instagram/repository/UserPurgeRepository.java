@@ -0,0 +1,33 @@
+package br.edu.ifpb.instagram.repository;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import br.edu.ifpb.instagram.model.entity.UserPurgeEntity;
+import br.edu.ifpb.instagram.purge.PurgeStep;
+
+@Repository
+public interface UserPurgeRepository extends CrudRepository<UserPurgeEntity, Long> {
+
+    List<UserPurgeEntity> findAllByNextAttemptAtLessThanEqualOrderByRequestedAtAsc(Instant now, Limit limit);
+
+    // um lote confirmado zera as falhas seguidas
+    @Modifying
+    @Query("UPDATE user_purges p SET p.step = :step, p.purgedRows = p.purgedRows + :rows, p.updatedAt = :now, "
+            + "p.attempts = 0 WHERE p.userId = :userId")
+    int advance(@Param("userId") long userId, @Param("step") PurgeStep step, @Param("rows") long rows,
+                @Param("now") Instant now);
+
+    @Modifying
+    @Query("UPDATE user_purges p SET p.attempts = p.attempts + 1, p.nextAttemptAt = :nextAttemptAt, "
+            + "p.updatedAt = :now WHERE p.userId = :userId")
+    int fail(@Param("userId") long userId, @Param("nextAttemptAt") Instant nextAttemptAt,
+             @Param("now") Instant now);
+}
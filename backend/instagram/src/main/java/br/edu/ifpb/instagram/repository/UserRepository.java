@@ -1,5 +1,6 @@
 package br.edu.ifpb.instagram.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,11 +13,20 @@ import br.edu.ifpb.instagram.model.entity.UserEntity;
 import jakarta.transaction.Transactional;
 
 @Repository
-public interface UserRepository extends CrudRepository<UserEntity, Long> {
+public interface UserRepository extends CrudRepository<UserEntity, Long>, UserProjectionRepository {
     boolean existsByEmail(String email);
     boolean existsByUsername(String username);
     Optional<UserEntity> findByUsername(String username);
+
+    // só o id, sem montar a entidade (caminho das curtidas)
+    @Query("SELECT u.id FROM users u WHERE u.username = :username")
+    Optional<Long> findIdByUsername(String username);
+
+    @Query("SELECT u.id FROM users u WHERE u.username IN :usernames")
+    List<Long> findIdsByUsernameIn(Collection<String> usernames);
+
     List<UserEntity> findAll();
+    List<UserEntity> findAllById(Iterable<Long> ids);
 
     @Modifying
     @Transactional
@@ -16,6 +16,7 @@ import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
 import br.edu.ifpb.instagram.service.impl.UserDetailsServiceImpl;
+import jakarta.servlet.DispatcherType;
 
 
 @Configuration
@@ -42,7 +43,10 @@ public class InstagramSecurityConfig {
                     return corsConfig;
                 }))
                 .authorizeHttpRequests(request -> request
+                        // retomada de uma requisição assíncrona (SSE) que já passou pela autorização
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers("/auth/signup", "/auth/signin").permitAll()
+                        .requestMatchers("/actuator/health/**").permitAll()
                         .anyRequest().authenticated())
                 .sessionManagement(manager -> manager.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authenticationProvider(authenticationProvider()).addFilterBefore(
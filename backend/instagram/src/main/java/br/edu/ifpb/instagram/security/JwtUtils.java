@@ -1,6 +1,8 @@
 package br.edu.ifpb.instagram.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
@@ -19,8 +21,12 @@ public class JwtUtils {
 
     private final byte[] jwtSecret;
 
+    // imutável e thread-safe; montar um por requisição carrega os serviços do jjwt de novo a cada vez
+    private final JwtParser jwtParser;
+
     public JwtUtils() {
         this.jwtSecret = Base64.getEncoder().encode(SECRET_KEY.getBytes());
+        this.jwtParser = Jwts.parserBuilder().setSigningKey(this.jwtSecret).build();
     }
 
     public String generateToken(Authentication authentication) {
@@ -37,7 +43,7 @@ public class JwtUtils {
 
     public boolean validateToken(String token) {
         try {
-            Jwts.parserBuilder().setSigningKey(this.jwtSecret).build().parseClaimsJws(token);
+            jwtParser.parseClaimsJws(token);
             return true;
         } catch (Exception e) {
             System.err.println("Token inválido: " + e.getMessage());
@@ -45,12 +51,18 @@ public class JwtUtils {
         }
     }
 
+    // sem log: o limite de concorrência chama em toda requisição com token, antes da autenticação
+    public boolean isValid(String token) {
+        try {
+            jwtParser.parseClaimsJws(token);
+            return true;
+        } catch (JwtException | IllegalArgumentException e) {
+            return false;
+        }
+    }
+
     public String getUsernameFromToken(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(this.jwtSecret)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        Claims claims = jwtParser.parseClaimsJws(token).getBody();
 
         return claims.getSubject();
     }
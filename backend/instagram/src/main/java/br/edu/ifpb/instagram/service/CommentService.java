@@ -0,0 +1,17 @@
+package br.edu.ifpb.instagram.service;
+
+import br.edu.ifpb.instagram.model.dto.CommentDto;
+import br.edu.ifpb.instagram.model.dto.CommentPageDto;
+
+public interface CommentService {
+
+    CommentDto addComment(String username, Long postId, String text);
+
+    CommentPageDto findComments(Long postId, String cursor, int limit);
+
+    void deleteComment(String username, Long postId, Long commentId);
+
+    void removePost(Long postId);
+
+    int removeUser(Long userId, int limit);
+}
@@ -0,0 +1,26 @@
+package br.edu.ifpb.instagram.service;
+
+import java.util.List;
+
+import br.edu.ifpb.instagram.model.dto.FollowStatsDto;
+import br.edu.ifpb.instagram.model.dto.SuggestionDto;
+import br.edu.ifpb.instagram.model.dto.UserDto;
+
+public interface FollowService {
+
+    void follow(String followerUsername, Long followeeId);
+
+    void unfollow(String followerUsername, Long followeeId);
+
+    boolean isFollowing(Long followerId, Long followeeId);
+
+    FollowStatsDto findStats(Long userId);
+
+    List<UserDto> findFollowers(Long userId, int offset, int limit);
+
+    List<UserDto> findFollowing(Long userId, int offset, int limit);
+
+    List<SuggestionDto> findSuggestions(String username, int limit);
+
+    int removeUser(Long userId, int limit);
+}
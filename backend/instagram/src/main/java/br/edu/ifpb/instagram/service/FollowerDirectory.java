@@ -0,0 +1,19 @@
+package br.edu.ifpb.instagram.service;
+
+/**
+ * Fonte dos seguidores de um usuário, usada pelo fan-out das timelines.
+ */
+public interface FollowerDirectory {
+
+    long[] followersOf(long userId);
+
+    long[] followingOf(long userId);
+
+    int followerCount(long userId);
+
+    /**
+     * Seguidos de {@code userId} com seguidores suficientes para o feed
+     * puxar os posts deles na leitura.
+     */
+    long[] largeAccountsFollowedBy(long userId);
+}
@@ -0,0 +1,16 @@
+package br.edu.ifpb.instagram.service;
+
+import br.edu.ifpb.instagram.model.dto.LikeDto;
+
+public interface LikeService {
+
+    LikeDto like(String username, Long postId);
+
+    LikeDto unlike(String username, Long postId);
+
+    LikeDto find(String username, Long postId);
+
+    void removePost(Long postId);
+
+    int removeUser(Long userId, int limit);
+}
@@ -0,0 +1,25 @@
+package br.edu.ifpb.instagram.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+
+import br.edu.ifpb.instagram.media.DerivativeSize;
+import br.edu.ifpb.instagram.model.dto.MediaDto;
+
+public interface MediaService {
+
+    MediaDto upload(String ownerUsername, String contentType, InputStream content) throws IOException;
+
+    /**
+     * Registra como mídia um arquivo já completo no disco do storage (upload
+     * retomável finalizado). O arquivo é movido, não copiado.
+     */
+    MediaDto importFile(String ownerUsername, String contentType, Path file) throws IOException;
+
+    MediaDto findById(Long id);
+
+    MediaDto findDerivative(Long id, DerivativeSize size) throws IOException;
+
+    int removeUser(Long userId, int limit);
+}
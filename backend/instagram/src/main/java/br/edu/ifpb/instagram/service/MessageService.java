@@ -0,0 +1,33 @@
+package br.edu.ifpb.instagram.service;
+
+import java.util.List;
+
+import br.edu.ifpb.instagram.model.dto.ConversationDto;
+import br.edu.ifpb.instagram.model.dto.MessageDto;
+
+public interface MessageService {
+
+    /**
+     * Cria uma conversa entre o usuário e {@code memberIds}. A dois, devolve
+     * a conversa já existente, se houver.
+     */
+    ConversationDto createConversation(String username, List<Long> memberIds);
+
+    /**
+     * Conversas do usuário, da mais nova para a mais antiga.
+     */
+    List<ConversationDto> findConversations(String username);
+
+    MessageDto sendMessage(String username, Long conversationId, String text);
+
+    /**
+     * Com {@code after}, as mensagens seguintes da mais antiga para a mais
+     * nova; senão, as anteriores a {@code before} (ou as últimas) da mais
+     * nova para a mais antiga.
+     */
+    List<MessageDto> findMessages(String username, Long conversationId, Long before, Long after, int limit);
+
+    void deleteMessage(String username, Long conversationId, Long seq);
+
+    int removeUser(Long userId, int limit);
+}
@@ -0,0 +1,16 @@
+package br.edu.ifpb.instagram.service;
+
+import br.edu.ifpb.instagram.notification.NotificationBus;
+import br.edu.ifpb.instagram.notification.NotificationSink;
+
+public interface NotificationService {
+
+    NotificationBus.Subscription subscribe(String username, Long lastEventId, NotificationSink sink);
+
+    /**
+     * Notifica os usuários mencionados em {@code text} depois do commit da
+     * transação corrente. {@code skipUserId} já recebe outra notificação pela
+     * mesma ação.
+     */
+    void notifyMentions(long actorId, String actorUsername, Long postId, String text, long skipUserId);
+}
@@ -0,0 +1,13 @@
+package br.edu.ifpb.instagram.service;
+
+import br.edu.ifpb.instagram.model.dto.FeedPageDto;
+import br.edu.ifpb.instagram.model.dto.PostDto;
+
+public interface PostService {
+
+    PostDto createPost(String authorUsername, String caption);
+    PostDto findById(Long id);
+    void deletePost(String requesterUsername, Long id);
+    FeedPageDto findFeed(String username, String cursor, int limit);
+    int removeUser(Long userId, int limit);
+}
@@ -0,0 +1,21 @@
+package br.edu.ifpb.instagram.service;
+
+import java.util.List;
+
+import br.edu.ifpb.instagram.model.dto.StoryDto;
+
+public interface StoryService {
+
+    StoryDto createStory(String authorUsername, Long mediaId);
+
+    StoryDto findById(Long id);
+
+    /**
+     * Stories ainda no ar do autor, do mais antigo para o mais novo.
+     */
+    List<StoryDto> findActiveByAuthor(Long authorId);
+
+    void deleteStory(String requesterUsername, Long id);
+
+    int removeUser(Long userId, int limit);
+}
@@ -0,0 +1,25 @@
+package br.edu.ifpb.instagram.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import br.edu.ifpb.instagram.model.dto.MediaDto;
+import br.edu.ifpb.instagram.model.dto.UploadSessionDto;
+
+/**
+ * Uploads retomáveis: cria a sessão, recebe os chunks por offset e, com todos
+ * os bytes confirmados, transforma o arquivo em mídia. Toda operação recebe o
+ * usuário autenticado; sessões de outro usuário se comportam como inexistentes.
+ */
+public interface UploadSessionService {
+
+    UploadSessionDto create(String ownerUsername, String contentType, long size) throws IOException;
+
+    UploadSessionDto find(String ownerUsername, String id);
+
+    UploadSessionDto writeChunk(String ownerUsername, String id, long offset, InputStream content) throws IOException;
+
+    MediaDto complete(String ownerUsername, String id) throws IOException;
+
+    void abort(String ownerUsername, String id) throws IOException;
+}
@@ -1,10 +1,14 @@
 package br.edu.ifpb.instagram.service;
 
 import java.util.List;
+import java.util.Set;
 
 import org.springframework.stereotype.Service;
 
+import br.edu.ifpb.instagram.model.dto.UserBatchDto;
+import br.edu.ifpb.instagram.model.dto.UserDeletionDto;
 import br.edu.ifpb.instagram.model.dto.UserDto;
+import br.edu.ifpb.instagram.model.dto.UserField;
 
 @Service
 public interface UserService {
@@ -12,6 +16,13 @@ public interface UserService {
     UserDto createUser(UserDto user);
     UserDto updateUser(UserDto user);
     void deleteUser(Long id);
+    UserDeletionDto findDeletion(Long id);
     List<UserDto> findAll();
     UserDto findById(Long id);
+    UserBatchDto findAllById(List<Long> ids);
+
+    // sparse fieldsets: apenas os campos pedidos vêm preenchidos
+    List<UserDto> findAll(Set<UserField> fields);
+    UserDto findById(Long id, Set<UserField> fields);
+    UserBatchDto findAllById(List<Long> ids, Set<UserField> fields);
 }
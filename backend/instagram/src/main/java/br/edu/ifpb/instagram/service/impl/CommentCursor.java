@@ -0,0 +1,42 @@
+package br.edu.ifpb.instagram.service.impl;
+
+import java.nio.ByteBuffer;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.util.Base64;
+
+import br.edu.ifpb.instagram.model.dto.CommentDto;
+
+/**
+ * Posição de uma página de comentários: {@code (created_at, id)} do último
+ * comentário entregue. Vai para o cliente como texto opaco em base64url.
+ */
+record CommentCursor(Instant createdAt, long id) {
+
+    private static final int SIZE = 3 * Long.BYTES;
+
+    static CommentCursor after(CommentDto comment) {
+        return new CommentCursor(comment.createdAt(), comment.id());
+    }
+
+    String encode() {
+        ByteBuffer buffer = ByteBuffer.allocate(SIZE)
+                .putLong(createdAt.getEpochSecond())
+                .putLong(createdAt.getNano())
+                .putLong(id);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+
+    static CommentCursor decode(String cursor) {
+        try {
+            byte[] bytes = Base64.getUrlDecoder().decode(cursor);
+            if (bytes.length != SIZE) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            return new CommentCursor(Instant.ofEpochSecond(buffer.getLong(), buffer.getLong()), buffer.getLong());
+        } catch (IllegalArgumentException | DateTimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
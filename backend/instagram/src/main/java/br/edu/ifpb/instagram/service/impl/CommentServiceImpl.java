@@ -0,0 +1,197 @@
+package br.edu.ifpb.instagram.service.impl;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.edu.ifpb.instagram.cache.CommentThreadCache;
+import br.edu.ifpb.instagram.exception.ResourceNotFoundException;
+import br.edu.ifpb.instagram.model.dto.CommentDto;
+import br.edu.ifpb.instagram.model.dto.CommentPageDto;
+import br.edu.ifpb.instagram.model.entity.CommentEntity;
+import br.edu.ifpb.instagram.model.entity.PostEntity;
+import br.edu.ifpb.instagram.model.entity.UserEntity;
+import br.edu.ifpb.instagram.notification.NotificationBus;
+import br.edu.ifpb.instagram.notification.NotificationType;
+import br.edu.ifpb.instagram.repository.CommentRepository;
+import br.edu.ifpb.instagram.repository.PostRepository;
+import br.edu.ifpb.instagram.repository.UserRepository;
+import br.edu.ifpb.instagram.service.CommentService;
+import br.edu.ifpb.instagram.service.NotificationService;
+import br.edu.ifpb.instagram.transaction.AfterCommit;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Comentários paginados por cursor. A primeira página sai do
+ * {@link CommentThreadCache} sempre que ele tem comentários suficientes; a
+ * leitura não abre transação, então um acerto não toca no banco. As páginas
+ * seguintes vão por keyset no índice do thread, com custo constante em
+ * qualquer profundidade, ao contrário de um OFFSET que lê e descarta as
+ * linhas anteriores.
+ */
+@Service
+public class CommentServiceImpl implements CommentService {
+
+    private static final int MAX_TEXT_LENGTH = 2200;
+
+    private final CommentRepository commentRepository;
+    private final PostRepository postRepository;
+    private final UserRepository userRepository;
+    private final CommentThreadCache threadCache;
+    private final NotificationBus notificationBus;
+    private final NotificationService notificationService;
+    private final Counter cacheHits;
+    private final Counter cacheMisses;
+
+    public CommentServiceImpl(CommentRepository commentRepository, PostRepository postRepository,
+                              UserRepository userRepository, CommentThreadCache threadCache,
+                              NotificationBus notificationBus, NotificationService notificationService,
+                              MeterRegistry meterRegistry) {
+        this.commentRepository = commentRepository;
+        this.postRepository = postRepository;
+        this.userRepository = userRepository;
+        this.threadCache = threadCache;
+        this.notificationBus = notificationBus;
+        this.notificationService = notificationService;
+        this.cacheHits = Counter.builder("instagram.comments.cache")
+                .description("First-page comment reads by cache result")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.cacheMisses = Counter.builder("instagram.comments.cache")
+                .description("First-page comment reads by cache result")
+                .tag("result", "miss")
+                .register(meterRegistry);
+    }
+
+    @Override
+    @Transactional
+    public CommentDto addComment(String username, Long postId, String text) {
+        if (text == null || text.isBlank()) {
+            throw new IllegalArgumentException("Comment must not be empty");
+        }
+        if (text.length() > MAX_TEXT_LENGTH) {
+            throw new IllegalArgumentException("Comment must have at most " + MAX_TEXT_LENGTH + " characters");
+        }
+
+        UserEntity author = userRepository.findByUsername(username)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with username: " + username));
+        PostEntity post = postRepository.findById(postId)
+                .orElseThrow(() -> new ResourceNotFoundException("Post not found with id: " + postId));
+
+        CommentEntity commentEntity = new CommentEntity();
+        commentEntity.setPost(post);
+        commentEntity.setAuthor(author);
+        commentEntity.setText(text);
+        // mesma precisão da coluna: o valor em cache e o cursor batem com o lido do banco
+        commentEntity.setCreatedAt(Instant.now().truncatedTo(ChronoUnit.MICROS));
+
+        CommentDto comment = mapToDto(commentRepository.save(commentEntity));
+        long postAuthorId = post.getAuthor().getId();
+        AfterCommit.run(() -> {
+            threadCache.added(comment);
+            notificationBus.publish(NotificationType.COMMENT, postAuthorId, author.getId(), username, postId);
+        });
+        notificationService.notifyMentions(author.getId(), username, postId, text, postAuthorId);
+        return comment;
+    }
+
+    @Override
+    public CommentPageDto findComments(Long postId, String cursor, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limit must be positive");
+        }
+
+        if (cursor != null && !cursor.isEmpty()) {
+            CommentCursor after = CommentCursor.decode(cursor);
+            List<CommentDto> rows = commentRepository
+                    .findPageAfter(postId, after.createdAt(), after.id(), Limit.of(limit + 1))
+                    .stream().map(this::mapToDto).toList();
+            return page(rows, limit, rows.size() > limit);
+        }
+
+        CommentThreadCache.TopPage thread = threadCache.get(postId);
+        if (thread != null && (thread.complete() || thread.newest().size() >= limit)) {
+            cacheHits.increment();
+            List<CommentDto> newest = thread.newest();
+            return page(newest, limit, newest.size() > limit || !thread.complete());
+        }
+        cacheMisses.increment();
+
+        if (!postRepository.existsById(postId)) {
+            throw new ResourceNotFoundException("Post not found with id: " + postId);
+        }
+
+        // a versão é lida antes da consulta: um comentário gravado no meio
+        // impede que esta página, já velha, entre no cache
+        long version = threadCache.version(postId);
+        int fetch = Math.max(limit, threadCache.pageSize()) + 1;
+        List<CommentDto> rows = commentRepository.findFirstPage(postId, Limit.of(fetch))
+                .stream().map(this::mapToDto).toList();
+        threadCache.put(postId, version, rows, rows.size() < fetch);
+
+        return page(rows, limit, rows.size() > limit);
+    }
+
+    @Override
+    @Transactional
+    public void deleteComment(String username, Long postId, Long commentId) {
+        CommentEntity commentEntity = commentRepository.findWithAuthorById(commentId)
+                .filter(comment -> comment.getPost().getId() == postId)
+                .orElseThrow(() -> new ResourceNotFoundException("Comment not found with id: " + commentId));
+
+        // o autor do comentário e o dono do post podem remover
+        if (!commentEntity.getAuthor().getUsername().equals(username)
+                && !commentEntity.getPost().getAuthor().getUsername().equals(username)) {
+            throw new AccessDeniedException("Only the author can delete this comment");
+        }
+
+        commentRepository.delete(commentEntity);
+        AfterCommit.run(() -> threadCache.removed(postId, commentId));
+    }
+
+    @Override
+    @Transactional
+    public void removePost(Long postId) {
+        commentRepository.deleteAllByPostId(postId);
+        AfterCommit.run(() -> threadCache.invalidate(postId));
+    }
+
+    @Override
+    @Transactional
+    public int removeUser(Long userId, int limit) {
+        List<Long> ids = commentRepository.findIdsByUserId(userId, Limit.of(limit));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        List<Long> threads = commentRepository.findPostIdsByIdIn(ids);
+        int removed = commentRepository.deleteAllByIdIn(ids);
+
+        AfterCommit.run(() -> threads.forEach(threadCache::invalidate));
+        return removed;
+    }
+
+    private static CommentPageDto page(List<CommentDto> rows, int limit, boolean hasMore) {
+        List<CommentDto> comments = rows.size() > limit ? rows.subList(0, limit) : rows;
+        String nextCursor = hasMore && !comments.isEmpty()
+                ? CommentCursor.after(comments.get(comments.size() - 1)).encode()
+                : null;
+        return new CommentPageDto(List.copyOf(comments), nextCursor);
+    }
+
+    private CommentDto mapToDto(CommentEntity commentEntity) {
+        return new CommentDto(
+                commentEntity.getId(),
+                commentEntity.getPost().getId(),
+                commentEntity.getAuthor().getId(),
+                commentEntity.getAuthor().getUsername(),
+                commentEntity.getText(),
+                commentEntity.getCreatedAt()
+        );
+    }
+}
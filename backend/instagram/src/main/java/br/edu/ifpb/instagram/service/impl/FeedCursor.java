@@ -0,0 +1,38 @@
+package br.edu.ifpb.instagram.service.impl;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+
+/**
+ * Posição de uma página do feed: a sequência da timeline empurrada a partir
+ * da qual continuar (exclusiva) e o último id entregue, que limita os posts
+ * puxados das contas grandes. Vai para o cliente como texto opaco em
+ * base64url.
+ */
+record FeedCursor(long timelineSeq, long beforePostId) {
+
+    static final FeedCursor START = new FeedCursor(Long.MAX_VALUE, Long.MAX_VALUE);
+
+    private static final int SIZE = 2 * Long.BYTES;
+
+    String encode() {
+        byte[] bytes = ByteBuffer.allocate(SIZE).putLong(timelineSeq).putLong(beforePostId).array();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    static FeedCursor decode(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return START;
+        }
+        try {
+            byte[] bytes = Base64.getUrlDecoder().decode(cursor);
+            if (bytes.length != SIZE) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            return new FeedCursor(buffer.getLong(), buffer.getLong());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
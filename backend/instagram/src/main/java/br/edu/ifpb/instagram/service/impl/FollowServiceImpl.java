@@ -0,0 +1,200 @@
+package br.edu.ifpb.instagram.service.impl;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.edu.ifpb.instagram.exception.ResourceNotFoundException;
+import br.edu.ifpb.instagram.graph.FollowGraphStore;
+import br.edu.ifpb.instagram.model.dto.FollowStatsDto;
+import br.edu.ifpb.instagram.model.dto.SuggestionDto;
+import br.edu.ifpb.instagram.model.dto.UserDto;
+import br.edu.ifpb.instagram.model.entity.FollowEntity;
+import br.edu.ifpb.instagram.model.entity.FollowId;
+import br.edu.ifpb.instagram.model.entity.UserEntity;
+import br.edu.ifpb.instagram.notification.NotificationBus;
+import br.edu.ifpb.instagram.notification.NotificationType;
+import br.edu.ifpb.instagram.repository.FollowRepository;
+import br.edu.ifpb.instagram.repository.UserRepository;
+import br.edu.ifpb.instagram.service.FollowService;
+import br.edu.ifpb.instagram.suggestion.SuggestionList;
+import br.edu.ifpb.instagram.suggestion.SuggestionStore;
+import br.edu.ifpb.instagram.transaction.AfterCommit;
+
+@Service
+public class FollowServiceImpl implements FollowService {
+
+    private final FollowRepository followRepository;
+    private final UserRepository userRepository;
+    private final FollowGraphStore followGraphStore;
+    private final NotificationBus notificationBus;
+    private final SuggestionStore suggestionStore;
+
+    public FollowServiceImpl(FollowRepository followRepository, UserRepository userRepository,
+                             FollowGraphStore followGraphStore, NotificationBus notificationBus,
+                             SuggestionStore suggestionStore) {
+        this.followRepository = followRepository;
+        this.userRepository = userRepository;
+        this.followGraphStore = followGraphStore;
+        this.notificationBus = notificationBus;
+        this.suggestionStore = suggestionStore;
+    }
+
+    @Override
+    @Transactional
+    public void follow(String followerUsername, Long followeeId) {
+        long followerId = findUserId(followerUsername);
+        if (followerId == followeeId) {
+            throw new IllegalArgumentException("Users cannot follow themselves");
+        }
+        requireUser(followeeId);
+
+        // follow repetido não é erro: a operação é idempotente
+        if (followGraphStore.isFollowing(followerId, followeeId)) {
+            return;
+        }
+
+        FollowEntity followEntity = new FollowEntity();
+        followEntity.setId(new FollowId(followerId, followeeId));
+        followEntity.setCreatedAt(Instant.now());
+        followRepository.save(followEntity);
+
+        followGraphStore.follow(followerId, followeeId);
+        suggestionStore.followChanged(followerId);
+        AfterCommit.run(() -> notificationBus.publish(
+                NotificationType.FOLLOW, followeeId, followerId, followerUsername, null));
+    }
+
+    @Override
+    @Transactional
+    public void unfollow(String followerUsername, Long followeeId) {
+        long followerId = findUserId(followerUsername);
+
+        if (!followGraphStore.isFollowing(followerId, followeeId)) {
+            return;
+        }
+
+        followRepository.deleteById(new FollowId(followerId, followeeId));
+        followGraphStore.unfollow(followerId, followeeId);
+        suggestionStore.followChanged(followerId);
+    }
+
+    @Override
+    public boolean isFollowing(Long followerId, Long followeeId) {
+        return followGraphStore.isFollowing(followerId, followeeId);
+    }
+
+    @Override
+    public FollowStatsDto findStats(Long userId) {
+        requireUser(userId);
+        return new FollowStatsDto(userId, followGraphStore.followerCount(userId), followGraphStore.followingCount(userId));
+    }
+
+    @Override
+    public List<UserDto> findFollowers(Long userId, int offset, int limit) {
+        requireUser(userId);
+        return loadUsers(followGraphStore.followers(userId, offset, limit));
+    }
+
+    @Override
+    public List<UserDto> findFollowing(Long userId, int offset, int limit) {
+        requireUser(userId);
+        return loadUsers(followGraphStore.following(userId, offset, limit));
+    }
+
+    @Override
+    public List<SuggestionDto> findSuggestions(String username, int limit) {
+        long userId = findUserId(username);
+        SuggestionList suggestions = suggestionStore.find(userId);
+
+        // a lista pode estar um recálculo atrás: pula quem já é seguido e quem foi apagado
+        List<Long> candidateIds = new ArrayList<>(suggestions.size());
+        Map<Long, Integer> mutualCounts = new HashMap<>();
+        for (int i = 0; i < suggestions.size(); i++) {
+            long candidateId = suggestions.userId(i);
+            if (!followGraphStore.isFollowing(userId, candidateId)) {
+                candidateIds.add(candidateId);
+                mutualCounts.put(candidateId, suggestions.mutualCount(i));
+            }
+        }
+
+        List<SuggestionDto> result = new ArrayList<>(Math.min(limit, candidateIds.size()));
+        for (UserDto userDto : loadUsers(candidateIds.stream().mapToLong(Long::longValue).toArray())) {
+            if (result.size() == limit) {
+                break;
+            }
+            result.add(new SuggestionDto(userDto, mutualCounts.get(userDto.id())));
+        }
+        return result;
+    }
+
+    // o grafo e as sugestões perdem o usuário inteiro já no primeiro lote
+    @Override
+    @Transactional
+    public int removeUser(Long userId, int limit) {
+        int removed = 0;
+        List<Long> followees = followRepository.findFolloweeIds(userId, Limit.of(limit));
+        if (!followees.isEmpty()) {
+            removed += followRepository.deleteFollowing(userId, followees);
+        }
+        if (removed < limit) {
+            List<Long> followers = followRepository.findFollowerIds(userId, Limit.of(limit - removed));
+            if (!followers.isEmpty()) {
+                removed += followRepository.deleteFollowers(userId, followers);
+            }
+        }
+        suggestionStore.userRemoved(userId);
+        followGraphStore.removeUser(userId);
+        return removed;
+    }
+
+    // uma única consulta pela página, mantendo a ordem do grafo
+    private List<UserDto> loadUsers(long[] userIds) {
+        if (userIds.length == 0) {
+            return List.of();
+        }
+
+        List<Long> ids = new ArrayList<>(userIds.length);
+        for (long userId : userIds) {
+            ids.add(userId);
+        }
+
+        Map<Long, UserEntity> found = new HashMap<>();
+        for (UserEntity userEntity : userRepository.findAllById(ids)) {
+            found.put(userEntity.getId(), userEntity);
+        }
+
+        List<UserDto> users = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            UserEntity userEntity = found.get(id);
+            if (userEntity != null) {
+                users.add(new UserDto(
+                        userEntity.getId(),
+                        userEntity.getFullName(),
+                        userEntity.getUsername(),
+                        userEntity.getEmail(),
+                        null,
+                        null));
+            }
+        }
+        return users;
+    }
+
+    private long findUserId(String username) {
+        return userRepository.findByUsername(username)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with username: " + username))
+                .getId();
+    }
+
+    private void requireUser(Long userId) {
+        if (!userRepository.existsById(userId)) {
+            throw new ResourceNotFoundException("User not found with id: " + userId);
+        }
+    }
+}
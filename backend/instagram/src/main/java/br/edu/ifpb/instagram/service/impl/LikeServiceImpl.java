@@ -0,0 +1,143 @@
+package br.edu.ifpb.instagram.service.impl;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.edu.ifpb.instagram.counter.LikeCounters;
+import br.edu.ifpb.instagram.exception.ResourceNotFoundException;
+import br.edu.ifpb.instagram.model.dto.LikeDto;
+import br.edu.ifpb.instagram.model.entity.LikeId;
+import br.edu.ifpb.instagram.notification.NotificationBus;
+import br.edu.ifpb.instagram.notification.NotificationType;
+import br.edu.ifpb.instagram.repository.LikeRepository;
+import br.edu.ifpb.instagram.repository.PostRepository;
+import br.edu.ifpb.instagram.repository.UserRepository;
+import br.edu.ifpb.instagram.service.LikeService;
+import br.edu.ifpb.instagram.transaction.AfterCommit;
+
+/**
+ * Curtir e descurtir gravam só a linha do log ({@code likes}); o contador do
+ * post é atualizado em memória pelo {@link LikeCounters} e chega ao banco no
+ * próximo flush. O total devolvido é o gravado mais o delta pendente e pode
+ * ficar uma curtida fora durante um flush em andamento.
+ *
+ * É o caminho de escrita mais frequente da aplicação: a linha do log vai por
+ * JDBC em autocommit, sem abrir EntityManager e transação JPA por curtida, e
+ * as leituras buscam só as colunas necessárias.
+ */
+@Service
+public class LikeServiceImpl implements LikeService {
+
+    private static final String INSERT_LIKE = "INSERT INTO likes (post_id, user_id, created_at) VALUES (?, ?, ?)";
+    private static final String DELETE_LIKE = "DELETE FROM likes WHERE post_id = ? AND user_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final LikeRepository likeRepository;
+    private final PostRepository postRepository;
+    private final UserRepository userRepository;
+    private final LikeCounters likeCounters;
+    private final NotificationBus notificationBus;
+
+    public LikeServiceImpl(JdbcTemplate jdbcTemplate, LikeRepository likeRepository, PostRepository postRepository,
+                           UserRepository userRepository, LikeCounters likeCounters,
+                           NotificationBus notificationBus) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.likeRepository = likeRepository;
+        this.postRepository = postRepository;
+        this.userRepository = userRepository;
+        this.likeCounters = likeCounters;
+        this.notificationBus = notificationBus;
+    }
+
+    @Override
+    public LikeDto like(String username, Long postId) {
+        long userId = findUserId(username);
+        long stored = findStoredCount(postId);
+
+        // curtida repetida não é erro: a chave primária recusa e nada muda
+        try {
+            jdbcTemplate.update(INSERT_LIKE, postId, userId, Timestamp.from(Instant.now()));
+            likeCounters.add(postId, 1);
+            postRepository.findAuthorIdById(postId).ifPresent(authorId ->
+                    notificationBus.publish(NotificationType.LIKE, authorId, userId, username, postId));
+        } catch (DuplicateKeyException e) {
+            // já curtido
+        }
+
+        return new LikeDto(postId, stored + likeCounters.pending(postId), true);
+    }
+
+    @Override
+    public LikeDto unlike(String username, Long postId) {
+        long userId = findUserId(username);
+        long stored = findStoredCount(postId);
+
+        if (jdbcTemplate.update(DELETE_LIKE, postId, userId) > 0) {
+            likeCounters.add(postId, -1);
+        }
+
+        return new LikeDto(postId, stored + likeCounters.pending(postId), false);
+    }
+
+    @Override
+    public LikeDto find(String username, Long postId) {
+        long userId = findUserId(username);
+        long stored = findStoredCount(postId);
+
+        boolean liked = likeRepository.existsById(new LikeId(postId, userId));
+        return new LikeDto(postId, stored + likeCounters.pending(postId), liked);
+    }
+
+    // o post é removido em seguida; o contador dele deixa de importar
+    @Override
+    @Transactional
+    public void removePost(Long postId) {
+        likeRepository.deleteAllByPostId(postId);
+    }
+
+    // primeiro as curtidas dadas pelo usuário, depois as recebidas pelos posts dele
+    @Override
+    @Transactional
+    public int removeUser(Long userId, int limit) {
+        List<Long> likedPosts = likeRepository.findPostIdsByUserId(userId, Limit.of(limit));
+        int removed = likedPosts.isEmpty() ? 0 : likeRepository.deleteAllByUserIdAndPostIdIn(userId, likedPosts);
+
+        Map<Long, List<Long>> received = new HashMap<>();
+        if (removed < limit) {
+            for (LikeId likeId : likeRepository.findIdsOnPostsOfAuthor(userId, Limit.of(limit - removed))) {
+                received.computeIfAbsent(likeId.getPostId(), postId -> new ArrayList<>()).add(likeId.getUserId());
+            }
+            for (Map.Entry<Long, List<Long>> entry : received.entrySet()) {
+                removed += likeRepository.deleteAllByPostIdAndUserIdIn(entry.getKey(), entry.getValue());
+            }
+        }
+
+        AfterCommit.run(() -> {
+            for (Long postId : likedPosts) {
+                likeCounters.add(postId, -1);
+            }
+            received.forEach((postId, userIds) -> likeCounters.add(postId, -userIds.size()));
+        });
+        return removed;
+    }
+
+    private long findStoredCount(Long postId) {
+        return postRepository.findLikeCountById(postId)
+                .orElseThrow(() -> new ResourceNotFoundException("Post not found with id: " + postId));
+    }
+
+    private long findUserId(String username) {
+        return userRepository.findIdByUsername(username)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with username: " + username));
+    }
+}
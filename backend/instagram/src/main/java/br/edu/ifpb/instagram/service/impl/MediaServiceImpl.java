@@ -0,0 +1,189 @@
+package br.edu.ifpb.instagram.service.impl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.edu.ifpb.instagram.exception.ResourceNotFoundException;
+import br.edu.ifpb.instagram.media.DerivativePipeline;
+import br.edu.ifpb.instagram.media.DerivativeSize;
+import br.edu.ifpb.instagram.model.dto.MediaDto;
+import br.edu.ifpb.instagram.model.entity.MediaDerivativeEntity;
+import br.edu.ifpb.instagram.model.entity.MediaEntity;
+import br.edu.ifpb.instagram.model.entity.UserEntity;
+import br.edu.ifpb.instagram.repository.MediaDerivativeRepository;
+import br.edu.ifpb.instagram.repository.MediaRepository;
+import br.edu.ifpb.instagram.repository.UserRepository;
+import br.edu.ifpb.instagram.service.MediaService;
+import br.edu.ifpb.instagram.storage.MediaStorage;
+import br.edu.ifpb.instagram.storage.StoredBlob;
+import br.edu.ifpb.instagram.transaction.AfterCommit;
+
+@Service
+public class MediaServiceImpl implements MediaService {
+
+    private static final Logger log = LoggerFactory.getLogger(MediaServiceImpl.class);
+
+    private static final Set<String> ALLOWED_CONTENT_TYPES =
+            Set.of("image/jpeg", "image/png", "image/webp", "image/gif", "video/mp4");
+
+    private final MediaRepository mediaRepository;
+    private final MediaDerivativeRepository mediaDerivativeRepository;
+    private final UserRepository userRepository;
+    private final MediaStorage mediaStorage;
+    private final DerivativePipeline derivativePipeline;
+    private final Duration blobGrace;
+
+    public MediaServiceImpl(MediaRepository mediaRepository, MediaDerivativeRepository mediaDerivativeRepository,
+                            UserRepository userRepository, MediaStorage mediaStorage,
+                            DerivativePipeline derivativePipeline,
+                            @Value("${instagram.media.blob-grace:1h}") Duration blobGrace) {
+        this.mediaRepository = mediaRepository;
+        this.mediaDerivativeRepository = mediaDerivativeRepository;
+        this.userRepository = userRepository;
+        this.mediaStorage = mediaStorage;
+        this.derivativePipeline = derivativePipeline;
+        this.blobGrace = blobGrace;
+    }
+
+    @Override
+    public MediaDto upload(String ownerUsername, String contentType, InputStream content) throws IOException {
+        return register(ownerUsername, contentType, () -> mediaStorage.store(content));
+    }
+
+    @Override
+    public MediaDto importFile(String ownerUsername, String contentType, Path file) throws IOException {
+        return register(ownerUsername, contentType, () -> mediaStorage.importFile(file));
+    }
+
+    static void checkContentType(String contentType) {
+        if (contentType == null || !ALLOWED_CONTENT_TYPES.contains(contentType)) {
+            throw new IllegalArgumentException("Unsupported media type: " + contentType);
+        }
+    }
+
+    private MediaDto register(String ownerUsername, String contentType, BlobWriter blobWriter) throws IOException {
+        checkContentType(contentType);
+
+        UserEntity owner = userRepository.findByUsername(ownerUsername)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with username: " + ownerUsername));
+
+        boolean image = DerivativePipeline.supports(contentType);
+        if (image) {
+            derivativePipeline.checkCapacity();
+        }
+
+        // o blob é gravado antes da linha: se o save falhar sobra só um blob
+        // sem referência, nunca uma linha apontando para um blob inexistente
+        StoredBlob blob = blobWriter.write();
+
+        MediaEntity mediaEntity = new MediaEntity();
+        mediaEntity.setOwner(owner);
+        mediaEntity.setSha256(blob.sha256());
+        mediaEntity.setSize(blob.size());
+        mediaEntity.setContentType(contentType);
+        mediaEntity.setCreatedAt(Instant.now());
+
+        MediaEntity storedMedia = mediaRepository.save(mediaEntity);
+
+        if (image) {
+            derivativePipeline.enqueue(storedMedia.getId());
+        }
+
+        return mapToDto(storedMedia, owner.getId());
+    }
+
+    @Override
+    public MediaDto findById(Long id) {
+        MediaEntity mediaEntity = mediaRepository.findWithOwnerById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Media not found with id: " + id));
+        return mapToDto(mediaEntity, mediaEntity.getOwner().getId());
+    }
+
+    /**
+     * Remove um lote de mídias do usuário. Os blobs são compartilhados por
+     * conteúdo: depois do commit só saem os que ficaram sem nenhuma linha em
+     * {@code media} ou {@code media_derivatives} e que nenhum upload usou nos
+     * últimos {@code blob-grace} (um upload que deduplica para o blob pode
+     * estar com a linha ainda sem commit).
+     */
+    @Override
+    @Transactional
+    public int removeUser(Long userId, int limit) {
+        List<Long> ids = mediaRepository.findIdsByOwnerId(userId, Limit.of(limit));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        Set<String> blobs = new HashSet<>(mediaRepository.findSha256ByIdIn(ids));
+        blobs.addAll(mediaDerivativeRepository.findSha256ByMediaIdIn(ids));
+
+        mediaDerivativeRepository.deleteAllByMediaIdIn(ids);
+        int removed = mediaRepository.deleteAllByIdIn(ids);
+
+        // a conferência enxerga os deletes desta transação
+        List<String> unreferenced = blobs.stream()
+                .filter(sha256 -> !mediaRepository.existsBySha256(sha256)
+                        && !mediaDerivativeRepository.existsBySha256(sha256))
+                .toList();
+        if (!unreferenced.isEmpty()) {
+            AfterCommit.run(() -> deleteBlobs(unreferenced));
+        }
+        return removed;
+    }
+
+    private void deleteBlobs(List<String> blobs) {
+        for (String sha256 : blobs) {
+            try {
+                mediaStorage.deleteIfIdle(sha256, blobGrace);
+            } catch (IOException e) {
+                // fica um blob órfão, como no upload cujo save falha
+                log.warn("Failed to delete unreferenced blob {}", sha256, e);
+            }
+        }
+    }
+
+    @Override
+    public MediaDto findDerivative(Long id, DerivativeSize size) throws IOException {
+        MediaEntity mediaEntity = mediaRepository.findWithOwnerById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Media not found with id: " + id));
+
+        MediaDerivativeEntity derivative = derivativePipeline.derivative(mediaEntity, size);
+
+        return new MediaDto(
+                mediaEntity.getId(),
+                mediaEntity.getOwner().getId(),
+                derivative.getSha256(),
+                derivative.getByteSize(),
+                "image/jpeg",
+                mediaEntity.getCreatedAt()
+        );
+    }
+
+    private MediaDto mapToDto(MediaEntity mediaEntity, Long ownerId) {
+        return new MediaDto(
+                mediaEntity.getId(),
+                ownerId,
+                mediaEntity.getSha256(),
+                mediaEntity.getSize(),
+                mediaEntity.getContentType(),
+                mediaEntity.getCreatedAt()
+        );
+    }
+
+    @FunctionalInterface
+    private interface BlobWriter {
+        StoredBlob write() throws IOException;
+    }
+}
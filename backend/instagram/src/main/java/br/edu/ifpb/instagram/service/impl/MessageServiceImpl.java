@@ -0,0 +1,219 @@
+package br.edu.ifpb.instagram.service.impl;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeSet;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.edu.ifpb.instagram.exception.ResourceNotFoundException;
+import br.edu.ifpb.instagram.messaging.ConversationLogStore;
+import br.edu.ifpb.instagram.messaging.Message;
+import br.edu.ifpb.instagram.model.dto.ConversationDto;
+import br.edu.ifpb.instagram.model.dto.MessageDto;
+import br.edu.ifpb.instagram.model.entity.ConversationEntity;
+import br.edu.ifpb.instagram.model.entity.ConversationMemberEntity;
+import br.edu.ifpb.instagram.model.entity.ConversationMemberId;
+import br.edu.ifpb.instagram.repository.ConversationMemberRepository;
+import br.edu.ifpb.instagram.repository.ConversationRepository;
+import br.edu.ifpb.instagram.repository.UserRepository;
+import br.edu.ifpb.instagram.service.MessageService;
+import br.edu.ifpb.instagram.transaction.AfterCommit;
+
+/**
+ * Conversas e participantes ficam no banco; as mensagens ficam no
+ * {@link ConversationLogStore}, fora de qualquer transação. Enviar e ler
+ * mensagens só consulta o banco para resolver o id do usuário.
+ *
+ * Para quem não participa, a conversa não existe: a resposta é a mesma de
+ * um id inválido.
+ */
+@Service
+public class MessageServiceImpl implements MessageService {
+
+    private static final int MAX_MEMBERS = 32;
+    private static final int MAX_TEXT_LENGTH = 1000;
+
+    private final ConversationRepository conversationRepository;
+    private final ConversationMemberRepository conversationMemberRepository;
+    private final UserRepository userRepository;
+    private final ConversationLogStore conversationLogStore;
+
+    public MessageServiceImpl(ConversationRepository conversationRepository,
+                              ConversationMemberRepository conversationMemberRepository,
+                              UserRepository userRepository, ConversationLogStore conversationLogStore) {
+        this.conversationRepository = conversationRepository;
+        this.conversationMemberRepository = conversationMemberRepository;
+        this.userRepository = userRepository;
+        this.conversationLogStore = conversationLogStore;
+    }
+
+    @Override
+    @Transactional
+    public ConversationDto createConversation(String username, List<Long> memberIds) {
+        if (memberIds == null) {
+            throw new IllegalArgumentException("memberIds must not be null");
+        }
+
+        long userId = requireUserId(username);
+        TreeSet<Long> members = new TreeSet<>();
+        memberIds.stream().filter(Objects::nonNull).forEach(members::add);
+        members.add(userId);
+        if (members.size() < 2) {
+            throw new IllegalArgumentException("A conversation needs at least one other member");
+        }
+        if (members.size() > MAX_MEMBERS) {
+            throw new IllegalArgumentException("A conversation must have at most " + MAX_MEMBERS + " members");
+        }
+        if (userRepository.findAllById(members).size() != members.size()) {
+            throw new ResourceNotFoundException("User not found among: " + members);
+        }
+
+        String directKey = members.size() == 2 ? members.first() + ":" + members.last() : null;
+        if (directKey != null) {
+            var existing = conversationRepository.findByDirectKey(directKey);
+            if (existing.isPresent()) {
+                return new ConversationDto(existing.get().getId(), List.copyOf(members), existing.get().getCreatedAt());
+            }
+        }
+
+        ConversationEntity conversationEntity = new ConversationEntity();
+        conversationEntity.setDirectKey(directKey);
+        conversationEntity.setCreatedAt(Instant.now().truncatedTo(ChronoUnit.MICROS));
+        ConversationEntity storedConversation = conversationRepository.save(conversationEntity);
+
+        List<ConversationMemberEntity> memberEntities = new ArrayList<>();
+        for (long memberId : members) {
+            ConversationMemberEntity memberEntity = new ConversationMemberEntity();
+            memberEntity.setId(new ConversationMemberId(storedConversation.getId(), memberId));
+            memberEntities.add(memberEntity);
+        }
+        conversationMemberRepository.saveAll(memberEntities);
+
+        long[] memberArray = members.stream().mapToLong(Long::longValue).toArray();
+        AfterCommit.run(() -> conversationLogStore.create(storedConversation.getId(), memberArray));
+
+        return new ConversationDto(storedConversation.getId(), List.copyOf(members), storedConversation.getCreatedAt());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ConversationDto> findConversations(String username) {
+        long userId = requireUserId(username);
+        List<ConversationEntity> conversations = conversationRepository.findAllByMemberId(userId);
+        if (conversations.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, List<Long>> members = new LinkedHashMap<>();
+        conversations.forEach(conversation -> members.put(conversation.getId(), new ArrayList<>()));
+        for (ConversationMemberEntity member : conversationMemberRepository.findAllByConversationIdIn(members.keySet())) {
+            members.get(member.getId().getConversationId()).add(member.getId().getUserId());
+        }
+
+        return conversations.stream()
+                .map(conversation -> new ConversationDto(conversation.getId(),
+                        members.get(conversation.getId()).stream().sorted().toList(), conversation.getCreatedAt()))
+                .toList();
+    }
+
+    @Override
+    public MessageDto sendMessage(String username, Long conversationId, String text) {
+        if (text == null || text.isBlank()) {
+            throw new IllegalArgumentException("Message must not be empty");
+        }
+        if (text.length() > MAX_TEXT_LENGTH) {
+            throw new IllegalArgumentException("Message must have at most " + MAX_TEXT_LENGTH + " characters");
+        }
+
+        long userId = requireMember(username, conversationId);
+        Message message = conversationLogStore.append(conversationId, userId, Instant.now(), text);
+        return mapToDto(conversationId, message);
+    }
+
+    @Override
+    public List<MessageDto> findMessages(String username, Long conversationId, Long before, Long after, int limit) {
+        if (before != null && after != null) {
+            throw new IllegalArgumentException("Use either before or after, not both");
+        }
+
+        requireMember(username, conversationId);
+        List<Message> messages = after != null
+                ? conversationLogStore.after(conversationId, after, limit)
+                : conversationLogStore.before(conversationId, before != null ? before : Long.MAX_VALUE, limit);
+        return messages.stream().map(message -> mapToDto(conversationId, message)).toList();
+    }
+
+    @Override
+    public void deleteMessage(String username, Long conversationId, Long seq) {
+        long userId = requireMember(username, conversationId);
+        Message message = conversationLogStore.find(conversationId, seq)
+                .orElseThrow(() -> new ResourceNotFoundException("Message not found with seq: " + seq));
+
+        if (message.senderId() != userId) {
+            throw new AccessDeniedException("Only the sender can delete this message");
+        }
+
+        conversationLogStore.delete(conversationId, seq);
+    }
+
+    // o limite conta conversas: cada uma tem poucos participantes
+    @Override
+    @Transactional
+    public int removeUser(Long userId, int limit) {
+        List<Long> direct = new ArrayList<>();
+        List<Long> groups = new ArrayList<>();
+        for (ConversationEntity conversation : conversationRepository.findAllByMemberId(userId, Limit.of(limit))) {
+            (conversation.getDirectKey() != null ? direct : groups).add(conversation.getId());
+        }
+        if (direct.isEmpty() && groups.isEmpty()) {
+            return 0;
+        }
+
+        // conversas a dois somem com as mensagens; nos grupos, as mensagens ficam
+        if (!groups.isEmpty()) {
+            conversationMemberRepository.deleteAllByUserIdAndConversationIdIn(userId, groups);
+        }
+        if (!direct.isEmpty()) {
+            conversationMemberRepository.deleteAllByConversationIdIn(direct);
+            conversationRepository.deleteAllById(direct);
+        }
+
+        AfterCommit.run(() -> {
+            direct.forEach(conversationLogStore::drop);
+            groups.forEach(conversationLogStore::evict);
+        });
+        return direct.size() + groups.size();
+    }
+
+    private long requireUserId(String username) {
+        return userRepository.findIdByUsername(username)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with username: " + username));
+    }
+
+    private long requireMember(String username, Long conversationId) {
+        long userId = requireUserId(username);
+        if (!conversationLogStore.isMember(conversationId, userId)) {
+            throw new ResourceNotFoundException("Conversation not found with id: " + conversationId);
+        }
+        return userId;
+    }
+
+    private static MessageDto mapToDto(Long conversationId, Message message) {
+        return new MessageDto(
+                conversationId,
+                message.seq(),
+                message.senderId(),
+                message.text(),
+                message.createdAt()
+        );
+    }
+}
@@ -0,0 +1,51 @@
+package br.edu.ifpb.instagram.service.impl;
+
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.stereotype.Service;
+
+import br.edu.ifpb.instagram.exception.ResourceNotFoundException;
+import br.edu.ifpb.instagram.notification.Mentions;
+import br.edu.ifpb.instagram.notification.NotificationBus;
+import br.edu.ifpb.instagram.notification.NotificationSink;
+import br.edu.ifpb.instagram.notification.NotificationType;
+import br.edu.ifpb.instagram.repository.UserRepository;
+import br.edu.ifpb.instagram.service.NotificationService;
+import br.edu.ifpb.instagram.transaction.AfterCommit;
+
+@Service
+public class NotificationServiceImpl implements NotificationService {
+
+    private final NotificationBus notificationBus;
+    private final UserRepository userRepository;
+
+    public NotificationServiceImpl(NotificationBus notificationBus, UserRepository userRepository) {
+        this.notificationBus = notificationBus;
+        this.userRepository = userRepository;
+    }
+
+    @Override
+    public NotificationBus.Subscription subscribe(String username, Long lastEventId, NotificationSink sink) {
+        long userId = userRepository.findIdByUsername(username)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with username: " + username));
+        return notificationBus.subscribe(userId, lastEventId, sink);
+    }
+
+    @Override
+    public void notifyMentions(long actorId, String actorUsername, Long postId, String text, long skipUserId) {
+        Set<String> usernames = Mentions.parse(text);
+        if (usernames.isEmpty()) {
+            return;
+        }
+
+        List<Long> mentioned = userRepository.findIdsByUsernameIn(usernames);
+        AfterCommit.run(() -> {
+            for (Long userId : mentioned) {
+                if (userId != skipUserId) {
+                    notificationBus.publish(NotificationType.MENTION, userId, actorId, actorUsername, postId);
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,217 @@
+package br.edu.ifpb.instagram.service.impl;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.edu.ifpb.instagram.exception.ResourceNotFoundException;
+import br.edu.ifpb.instagram.model.dto.FeedPageDto;
+import br.edu.ifpb.instagram.model.dto.PostDto;
+import br.edu.ifpb.instagram.model.entity.PostEntity;
+import br.edu.ifpb.instagram.model.entity.UserEntity;
+import br.edu.ifpb.instagram.repository.PostRepository;
+import br.edu.ifpb.instagram.repository.UserRepository;
+import br.edu.ifpb.instagram.service.CommentService;
+import br.edu.ifpb.instagram.service.FollowerDirectory;
+import br.edu.ifpb.instagram.service.LikeService;
+import br.edu.ifpb.instagram.service.NotificationService;
+import br.edu.ifpb.instagram.service.PostService;
+import br.edu.ifpb.instagram.timeline.AuthorPostsStore;
+import br.edu.ifpb.instagram.timeline.FeedMerger;
+import br.edu.ifpb.instagram.timeline.TimelineRing;
+import br.edu.ifpb.instagram.timeline.TimelineStore;
+import br.edu.ifpb.instagram.transaction.AfterCommit;
+import br.edu.ifpb.instagram.trending.Hashtags;
+import br.edu.ifpb.instagram.trending.TrendingAggregator;
+
+@Service
+public class PostServiceImpl implements PostService {
+
+    private final PostRepository postRepository;
+    private final UserRepository userRepository;
+    private final TimelineStore timelineStore;
+    private final FollowerDirectory followerDirectory;
+    private final AuthorPostsStore authorPostsStore;
+    private final LikeService likeService;
+    private final CommentService commentService;
+    private final NotificationService notificationService;
+    private final TrendingAggregator trendingAggregator;
+    private final int pullThreshold;
+
+    public PostServiceImpl(PostRepository postRepository, UserRepository userRepository,
+                           TimelineStore timelineStore, FollowerDirectory followerDirectory,
+                           AuthorPostsStore authorPostsStore, LikeService likeService,
+                           CommentService commentService, NotificationService notificationService,
+                           TrendingAggregator trendingAggregator,
+                           @Value("${instagram.feed.pull-threshold:10000}") int pullThreshold) {
+        this.postRepository = postRepository;
+        this.userRepository = userRepository;
+        this.timelineStore = timelineStore;
+        this.followerDirectory = followerDirectory;
+        this.authorPostsStore = authorPostsStore;
+        this.likeService = likeService;
+        this.commentService = commentService;
+        this.notificationService = notificationService;
+        this.trendingAggregator = trendingAggregator;
+        this.pullThreshold = pullThreshold;
+    }
+
+    @Override
+    @Transactional
+    public PostDto createPost(String authorUsername, String caption) {
+        if (caption == null || caption.isBlank()) {
+            throw new IllegalArgumentException("Caption must not be empty");
+        }
+
+        UserEntity author = findUser(authorUsername);
+
+        PostEntity postEntity = new PostEntity();
+        postEntity.setAuthor(author);
+        postEntity.setCaption(caption);
+        postEntity.setCreatedAt(Instant.now());
+
+        PostEntity storedPost = postRepository.save(postEntity);
+
+        // fan-out on write para contas comuns; contas grandes só escrevem na
+        // própria timeline e os seguidores puxam o post na leitura do feed
+        long authorId = author.getId();
+        long postId = storedPost.getId();
+        if (followerDirectory.followerCount(authorId) >= pullThreshold) {
+            timelineStore.append(List.of(authorId), postId);
+            AfterCommit.run(() -> authorPostsStore.append(authorId, postId));
+        } else {
+            long[] followers = followerDirectory.followersOf(authorId);
+            List<Long> audience = new ArrayList<>(followers.length + 1);
+            audience.add(authorId);
+            for (long follower : followers) {
+                audience.add(follower);
+            }
+            timelineStore.append(audience, postId);
+        }
+
+        notificationService.notifyMentions(authorId, authorUsername, postId, caption, authorId);
+
+        Set<String> hashtags = Hashtags.parse(caption);
+        if (!hashtags.isEmpty()) {
+            Instant createdAt = storedPost.getCreatedAt();
+            AfterCommit.run(() -> trendingAggregator.record(hashtags, createdAt));
+        }
+
+        return mapToDto(storedPost);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PostDto findById(Long id) {
+        PostEntity postEntity = postRepository.findWithAuthorById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Post not found with id: " + id));
+        return mapToDto(postEntity);
+    }
+
+    @Override
+    @Transactional
+    public void deletePost(String requesterUsername, Long id) {
+        PostEntity postEntity = postRepository.findWithAuthorById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Post not found with id: " + id));
+
+        if (!postEntity.getAuthor().getUsername().equals(requesterUsername)) {
+            throw new AccessDeniedException("Only the author can delete this post");
+        }
+
+        // as timelines não são varridas: ids de posts removidos somem na leitura
+        likeService.removePost(id);
+        commentService.removePost(id);
+        postRepository.delete(postEntity);
+    }
+
+    // curtidas e comentários dos posts já saíram nas etapas anteriores da limpeza;
+    // removePost só pega o que chegou nesse meio tempo
+    @Override
+    @Transactional
+    public int removeUser(Long userId, int limit) {
+        List<Long> ids = postRepository.findIdsByAuthorIdOrderByIdDesc(userId, Limit.of(limit));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        for (Long id : ids) {
+            likeService.removePost(id);
+            commentService.removePost(id);
+        }
+        return postRepository.deleteAllByIdIn(ids);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public FeedPageDto findFeed(String username, String cursor, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limit must be positive");
+        }
+        FeedCursor after = FeedCursor.decode(cursor);
+        UserEntity user = findUser(username);
+
+        long userId = user.getId();
+        TimelineRing.Page timeline = timelineStore.before(userId, after.timelineSeq(), limit);
+        List<long[]> pulled = new ArrayList<>();
+        for (long followeeId : followerDirectory.largeAccountsFollowedBy(userId)) {
+            pulled.add(authorPostsStore.recent(followeeId, after.beforePostId(), limit));
+        }
+        FeedMerger.Page page = FeedMerger.merge(timeline.postIds(), pulled, limit);
+
+        // uma fonte que devolveu o limite inteiro pode ter mais, mesmo com a página curta por repetidos
+        boolean hasMore = page.postIds().length == limit || timeline.postIds().length == limit;
+        for (long[] source : pulled) {
+            hasMore |= source.length == limit;
+        }
+        String nextCursor = hasMore && page.postIds().length > 0
+                ? new FeedCursor(timeline.newestSeq() + 1 - page.fromTimeline(), page.last()).encode()
+                : null;
+
+        if (page.postIds().length == 0) {
+            return new FeedPageDto(List.of(), nextCursor);
+        }
+
+        List<Long> ids = new ArrayList<>(page.postIds().length);
+        for (long postId : page.postIds()) {
+            ids.add(postId);
+        }
+
+        Map<Long, PostEntity> found = new HashMap<>();
+        for (PostEntity postEntity : postRepository.findAllWithAuthorByIdIn(ids)) {
+            found.put(postEntity.getId(), postEntity);
+        }
+
+        // posts apagados depois do fan-out somem aqui; o cursor já passou deles
+        List<PostDto> feed = new ArrayList<>(ids.size());
+        for (Long postId : ids) {
+            PostEntity postEntity = found.get(postId);
+            if (postEntity != null) {
+                feed.add(mapToDto(postEntity));
+            }
+        }
+        return new FeedPageDto(List.copyOf(feed), nextCursor);
+    }
+
+    private UserEntity findUser(String username) {
+        return userRepository.findByUsername(username)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with username: " + username));
+    }
+
+    private PostDto mapToDto(PostEntity postEntity) {
+        return new PostDto(
+                postEntity.getId(),
+                postEntity.getAuthor().getId(),
+                postEntity.getAuthor().getUsername(),
+                postEntity.getCaption(),
+                postEntity.getCreatedAt()
+        );
+    }
+}
@@ -0,0 +1,130 @@
+package br.edu.ifpb.instagram.service.impl;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.edu.ifpb.instagram.exception.ResourceNotFoundException;
+import br.edu.ifpb.instagram.model.dto.StoryDto;
+import br.edu.ifpb.instagram.model.entity.MediaEntity;
+import br.edu.ifpb.instagram.model.entity.StoryEntity;
+import br.edu.ifpb.instagram.model.entity.UserEntity;
+import br.edu.ifpb.instagram.repository.MediaRepository;
+import br.edu.ifpb.instagram.repository.StoryRepository;
+import br.edu.ifpb.instagram.repository.UserRepository;
+import br.edu.ifpb.instagram.service.StoryService;
+import br.edu.ifpb.instagram.story.StoryExpiry;
+import br.edu.ifpb.instagram.transaction.AfterCommit;
+
+/**
+ * Stories ficam no ar por {@code ttl}. A remoção física é do
+ * {@link StoryExpiry}; aqui toda leitura compara {@code expires_at} com o
+ * relógio, então um story vencido some na hora, mesmo que a linha ainda
+ * exista.
+ */
+@Service
+public class StoryServiceImpl implements StoryService {
+
+    private final StoryRepository storyRepository;
+    private final UserRepository userRepository;
+    private final MediaRepository mediaRepository;
+    private final StoryExpiry storyExpiry;
+    private final Duration ttl;
+
+    public StoryServiceImpl(StoryRepository storyRepository, UserRepository userRepository,
+                            MediaRepository mediaRepository, StoryExpiry storyExpiry,
+                            @Value("${instagram.stories.ttl:24h}") Duration ttl) {
+        this.storyRepository = storyRepository;
+        this.userRepository = userRepository;
+        this.mediaRepository = mediaRepository;
+        this.storyExpiry = storyExpiry;
+        this.ttl = ttl;
+    }
+
+    @Override
+    @Transactional
+    public StoryDto createStory(String authorUsername, Long mediaId) {
+        if (mediaId == null) {
+            throw new IllegalArgumentException("mediaId must not be null");
+        }
+
+        UserEntity author = userRepository.findByUsername(authorUsername)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with username: " + authorUsername));
+        MediaEntity media = mediaRepository.findWithOwnerById(mediaId)
+                .orElseThrow(() -> new ResourceNotFoundException("Media not found with id: " + mediaId));
+        if (media.getOwner().getId() != author.getId()) {
+            throw new AccessDeniedException("Only the owner can publish this media");
+        }
+
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MICROS);
+        StoryEntity storyEntity = new StoryEntity();
+        storyEntity.setAuthor(author);
+        storyEntity.setMedia(media);
+        storyEntity.setCreatedAt(now);
+        storyEntity.setExpiresAt(now.plus(ttl));
+
+        StoryEntity storedStory = storyRepository.save(storyEntity);
+        AfterCommit.run(() -> storyExpiry.schedule(storedStory.getId(), storedStory.getExpiresAt()));
+
+        return mapToDto(storedStory);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public StoryDto findById(Long id) {
+        return storyRepository.findActiveById(id, Instant.now())
+                .map(this::mapToDto)
+                .orElseThrow(() -> new ResourceNotFoundException("Story not found with id: " + id));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<StoryDto> findActiveByAuthor(Long authorId) {
+        if (!userRepository.existsById(authorId)) {
+            throw new ResourceNotFoundException("User not found with id: " + authorId);
+        }
+
+        return storyRepository.findActiveByAuthorId(authorId, Instant.now())
+                .stream().map(this::mapToDto).toList();
+    }
+
+    @Override
+    @Transactional
+    public void deleteStory(String requesterUsername, Long id) {
+        StoryEntity storyEntity = storyRepository.findActiveById(id, Instant.now())
+                .orElseThrow(() -> new ResourceNotFoundException("Story not found with id: " + id));
+
+        if (!storyEntity.getAuthor().getUsername().equals(requesterUsername)) {
+            throw new AccessDeniedException("Only the author can delete this story");
+        }
+
+        // o id continua na roda do StoryExpiry e vira um DELETE sem efeito no prazo
+        storyRepository.delete(storyEntity);
+    }
+
+    // como no deleteStory, os ids que ficam na roda do StoryExpiry viram DELETEs sem efeito
+    @Override
+    @Transactional
+    public int removeUser(Long userId, int limit) {
+        List<Long> ids = storyRepository.findIdsByAuthorId(userId, Limit.of(limit));
+        return ids.isEmpty() ? 0 : storyRepository.deleteAllByIdIn(ids);
+    }
+
+    private StoryDto mapToDto(StoryEntity storyEntity) {
+        return new StoryDto(
+                storyEntity.getId(),
+                storyEntity.getAuthor().getId(),
+                storyEntity.getAuthor().getUsername(),
+                storyEntity.getMedia().getId(),
+                storyEntity.getCreatedAt(),
+                storyEntity.getExpiresAt()
+        );
+    }
+}
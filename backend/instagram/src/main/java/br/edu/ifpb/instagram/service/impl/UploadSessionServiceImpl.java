@@ -0,0 +1,157 @@
+package br.edu.ifpb.instagram.service.impl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.NoSuchFileException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import br.edu.ifpb.instagram.exception.ResourceNotFoundException;
+import br.edu.ifpb.instagram.exception.UploadOffsetConflictException;
+import br.edu.ifpb.instagram.model.dto.MediaDto;
+import br.edu.ifpb.instagram.model.dto.UploadSessionDto;
+import br.edu.ifpb.instagram.model.entity.UploadSessionEntity;
+import br.edu.ifpb.instagram.model.entity.UserEntity;
+import br.edu.ifpb.instagram.repository.UploadSessionRepository;
+import br.edu.ifpb.instagram.repository.UserRepository;
+import br.edu.ifpb.instagram.service.MediaService;
+import br.edu.ifpb.instagram.service.UploadSessionService;
+import br.edu.ifpb.instagram.storage.UploadPartFiles;
+
+@Service
+public class UploadSessionServiceImpl implements UploadSessionService {
+
+    private final UploadSessionRepository uploadSessionRepository;
+    private final UserRepository userRepository;
+    private final UploadPartFiles uploadPartFiles;
+    private final MediaService mediaService;
+    private final long maxSize;
+    private final Duration expireAfter;
+
+    public UploadSessionServiceImpl(UploadSessionRepository uploadSessionRepository,
+                                    UserRepository userRepository,
+                                    UploadPartFiles uploadPartFiles,
+                                    MediaService mediaService,
+                                    @Value("${instagram.media.uploads.max-size:2GB}") DataSize maxSize,
+                                    @Value("${instagram.media.uploads.expire-after:24h}") Duration expireAfter) {
+        this.uploadSessionRepository = uploadSessionRepository;
+        this.userRepository = userRepository;
+        this.uploadPartFiles = uploadPartFiles;
+        this.mediaService = mediaService;
+        this.maxSize = maxSize.toBytes();
+        this.expireAfter = expireAfter;
+    }
+
+    @Override
+    public UploadSessionDto create(String ownerUsername, String contentType, long size) throws IOException {
+        MediaServiceImpl.checkContentType(contentType);
+        if (size <= 0 || size > maxSize) {
+            throw new IllegalArgumentException("Upload size must be between 1 and " + maxSize + " bytes");
+        }
+
+        Instant now = Instant.now();
+        UploadSessionEntity session = new UploadSessionEntity();
+        session.setId(UUID.randomUUID().toString());
+        session.setOwnerId(ownerId(ownerUsername));
+        session.setContentType(contentType);
+        session.setTotalSize(size);
+        session.setCreatedAt(now);
+        session.setUpdatedAt(now);
+
+        // a linha vem primeiro: um arquivo parcial sem sessão nunca seria coletado
+        UploadSessionEntity storedSession = uploadSessionRepository.save(session);
+        try {
+            uploadPartFiles.create(storedSession.getId(), size);
+        } catch (IOException | RuntimeException e) {
+            uploadSessionRepository.delete(storedSession);
+            uploadPartFiles.delete(storedSession.getId());
+            throw e;
+        }
+
+        return mapToDto(storedSession);
+    }
+
+    @Override
+    public UploadSessionDto find(String ownerUsername, String id) {
+        return mapToDto(findSession(ownerUsername, id));
+    }
+
+    @Override
+    public UploadSessionDto writeChunk(String ownerUsername, String id, long offset, InputStream content)
+            throws IOException {
+        UploadSessionEntity session = findSession(ownerUsername, id);
+
+        // reenviar um trecho já confirmado é permitido; pular bytes não
+        if (offset < 0 || offset > session.getReceivedBytes()) {
+            throw new UploadOffsetConflictException(
+                    "Chunk offset " + offset + " does not match the upload offset", session.getReceivedBytes());
+        }
+
+        long written;
+        try {
+            written = uploadPartFiles.write(id, offset, session.getTotalSize() - offset, content);
+        } catch (NoSuchFileException e) {
+            // finalizada ou coletada enquanto o chunk chegava
+            throw notFound(id);
+        }
+
+        uploadSessionRepository.advance(id, offset + written, Instant.now());
+
+        return mapToDto(findSession(ownerUsername, id));
+    }
+
+    @Override
+    public MediaDto complete(String ownerUsername, String id) throws IOException {
+        UploadSessionEntity session = findSession(ownerUsername, id);
+        if (session.getReceivedBytes() < session.getTotalSize()) {
+            throw new UploadOffsetConflictException("Upload is incomplete", session.getReceivedBytes());
+        }
+
+        MediaDto media;
+        try {
+            media = mediaService.importFile(ownerUsername, session.getContentType(), uploadPartFiles.path(id));
+        } catch (NoSuchFileException e) {
+            throw notFound(id);
+        }
+
+        uploadSessionRepository.delete(session);
+        return media;
+    }
+
+    @Override
+    public void abort(String ownerUsername, String id) throws IOException {
+        UploadSessionEntity session = findSession(ownerUsername, id);
+        uploadSessionRepository.delete(session);
+        uploadPartFiles.delete(id);
+    }
+
+    private UploadSessionEntity findSession(String ownerUsername, String id) {
+        return uploadSessionRepository.findByIdAndOwnerId(id, ownerId(ownerUsername))
+                .orElseThrow(() -> notFound(id));
+    }
+
+    private long ownerId(String ownerUsername) {
+        return userRepository.findByUsername(ownerUsername)
+                .map(UserEntity::getId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with username: " + ownerUsername));
+    }
+
+    private static ResourceNotFoundException notFound(String id) {
+        return new ResourceNotFoundException("Upload session not found with id: " + id);
+    }
+
+    private UploadSessionDto mapToDto(UploadSessionEntity session) {
+        return new UploadSessionDto(
+                session.getId(),
+                session.getContentType(),
+                session.getTotalSize(),
+                session.getReceivedBytes(),
+                session.getUpdatedAt().plus(expireAfter)
+        );
+    }
+}
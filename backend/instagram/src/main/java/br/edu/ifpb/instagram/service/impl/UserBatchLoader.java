@@ -0,0 +1,156 @@
+package br.edu.ifpb.instagram.service.impl;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import br.edu.ifpb.instagram.model.entity.UserEntity;
+import br.edu.ifpb.instagram.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Agrupa buscas de usuário por id que chegam na mesma janela curta em uma
+ * única consulta {@code findAllById} (estilo DataLoader).
+ *
+ * Só agrupa sob concorrência: sem outra busca na fila ou no banco, a busca
+ * vai direto para {@code findById} na thread de quem chamou, dentro da
+ * transação dela e sem esperar a janela. As que chegam enquanto há uma em
+ * andamento entram na fila e saem juntas no fim da janela.
+ *
+ * Buscas repetidas do mesmo id enquanto a anterior ainda está na fila
+ * compartilham o mesmo future. Depois que a consulta sai para o banco, uma
+ * busca nova abre outra janela: entrar numa consulta já enviada devolveria a
+ * linha de antes de um commit que aconteceu no meio, e o cache de respostas
+ * gravaria esse valor com a versão nova. Uma janela com um único id usa
+ * {@code findById}, que continua sendo uma busca pela chave primária. Uma
+ * busca na fila falha com {@link TimeoutException} depois de {@code timeout},
+ * para um lote preso não segurar as threads das requisições.
+ */
+@Component
+public class UserBatchLoader {
+
+    private final UserRepository userRepository;
+    private final long windowMicros;
+    private final int maxBatchSize;
+    private final Duration timeout;
+    private final ScheduledExecutorService executor;
+
+    // futures na fila, ainda não enviados ao banco, e buscas em andamento; protegidos por lock
+    private final Object lock = new Object();
+    private Map<Long, CompletableFuture<Optional<UserEntity>>> queued = new LinkedHashMap<>();
+    private int inFlight;
+
+    public UserBatchLoader(UserRepository userRepository,
+                           @Value("${instagram.users.batch.window-micros:1000}") long windowMicros,
+                           @Value("${instagram.users.batch.max-size:100}") int maxBatchSize,
+                           @Value("${instagram.users.batch.threads:4}") int threads,
+                           @Value("${instagram.users.batch.timeout:2s}") Duration timeout) {
+        this.userRepository = userRepository;
+        this.windowMicros = windowMicros;
+        this.maxBatchSize = maxBatchSize;
+        this.timeout = timeout;
+        this.executor = Executors.newScheduledThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "user-batch-loader");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public CompletableFuture<Optional<UserEntity>> load(Long id) {
+        if (windowMicros <= 0) {
+            return CompletableFuture.completedFuture(userRepository.findById(id));
+        }
+
+        synchronized (lock) {
+            CompletableFuture<Optional<UserEntity>> existing = queued.get(id);
+            if (existing != null) {
+                return existing;
+            }
+
+            if (inFlight > 0 || !queued.isEmpty()) {
+                CompletableFuture<Optional<UserEntity>> future = new CompletableFuture<>();
+                future.orTimeout(timeout.toNanos(), TimeUnit.NANOSECONDS);
+                queued.put(id, future);
+
+                if (queued.size() >= maxBatchSize) {
+                    Map<Long, CompletableFuture<Optional<UserEntity>>> batch = drainQueue();
+                    executor.execute(() -> dispatch(batch));
+                } else if (queued.size() == 1) {
+                    executor.schedule(this::dispatchQueued, windowMicros, TimeUnit.MICROSECONDS);
+                }
+                return future;
+            }
+            inFlight++;
+        }
+
+        // sem concorrência: nada para agrupar
+        try {
+            return CompletableFuture.completedFuture(userRepository.findById(id));
+        } finally {
+            finished();
+        }
+    }
+
+    private void dispatchQueued() {
+        Map<Long, CompletableFuture<Optional<UserEntity>>> batch;
+        synchronized (lock) {
+            batch = drainQueue();
+        }
+        if (!batch.isEmpty()) {
+            dispatch(batch);
+        }
+    }
+
+    // chamado sob o lock; o lote conta como em andamento até dispatch terminar
+    private Map<Long, CompletableFuture<Optional<UserEntity>>> drainQueue() {
+        Map<Long, CompletableFuture<Optional<UserEntity>>> batch = queued;
+        queued = new LinkedHashMap<>();
+        if (!batch.isEmpty()) {
+            inFlight++;
+        }
+        return batch;
+    }
+
+    private void finished() {
+        synchronized (lock) {
+            inFlight--;
+        }
+    }
+
+    private void dispatch(Map<Long, CompletableFuture<Optional<UserEntity>>> batch) {
+        List<Long> ids = new ArrayList<>(batch.keySet());
+        try {
+            Map<Long, UserEntity> found = new HashMap<>();
+            if (ids.size() == 1) {
+                userRepository.findById(ids.get(0)).ifPresent(user -> found.put(user.getId(), user));
+            } else {
+                for (UserEntity user : userRepository.findAllById(ids)) {
+                    found.put(user.getId(), user);
+                }
+            }
+
+            batch.forEach((id, future) -> future.complete(Optional.ofNullable(found.get(id))));
+        } catch (RuntimeException e) {
+            batch.values().forEach(future -> future.completeExceptionally(e));
+        } finally {
+            finished();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -1,14 +1,34 @@
 package br.edu.ifpb.instagram.service.impl;
 
+import br.edu.ifpb.instagram.cache.UserResponseCache;
 import br.edu.ifpb.instagram.exception.FieldAlreadyExistsException;
+import br.edu.ifpb.instagram.exception.ResourceNotFoundException;
+import br.edu.ifpb.instagram.exception.ServiceBusyException;
+import br.edu.ifpb.instagram.model.dto.UserBatchDto;
+import br.edu.ifpb.instagram.model.dto.UserDeletionDto;
 import br.edu.ifpb.instagram.model.dto.UserDto;
+import br.edu.ifpb.instagram.model.dto.UserField;
 import br.edu.ifpb.instagram.model.entity.UserEntity;
+import br.edu.ifpb.instagram.outbox.Outbox;
+import br.edu.ifpb.instagram.outbox.UserEvents;
+import br.edu.ifpb.instagram.purge.UserPurger;
 import br.edu.ifpb.instagram.repository.UserRepository;
 import br.edu.ifpb.instagram.service.UserService;
+import br.edu.ifpb.instagram.transaction.AfterCommit;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 
 @Service
@@ -16,13 +36,25 @@ public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
-
-    public UserServiceImpl(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    private final UserResponseCache userResponseCache;
+    private final Outbox outbox;
+    private final UserBatchLoader userBatchLoader;
+    private final UserPurger userPurger;
+
+    public UserServiceImpl(UserRepository userRepository, PasswordEncoder passwordEncoder,
+                           UserResponseCache userResponseCache, Outbox outbox,
+                           UserBatchLoader userBatchLoader,
+                           UserPurger userPurger) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.userResponseCache = userResponseCache;
+        this.outbox = outbox;
+        this.userBatchLoader = userBatchLoader;
+        this.userPurger = userPurger;
     }
 
     @Override
+    @Transactional
     public UserDto createUser(UserDto userDto) {
         if (userRepository.existsByEmail(userDto.email())) {
             throw new FieldAlreadyExistsException("E-email already in use.");
@@ -39,11 +71,14 @@ public class UserServiceImpl implements UserService {
         userEntity.setEncryptedPassword(passwordEncoder.encode(userDto.password()));
 
         UserEntity storedUserEntity = userRepository.save(userEntity);
+        outbox.publish(UserEvents.AGGREGATE, storedUserEntity.getId(), UserEvents.CREATED,
+                Map.of("username", storedUserEntity.getUsername()));
 
         return mapToDto(storedUserEntity); // 3. Usando método auxiliar
     }
 
     @Override
+    @Transactional
     public UserDto updateUser(UserDto userDto) {
         if (userDto == null || userDto.id() == null) {
             throw new IllegalArgumentException("UserDto or UserDto.id must not be null");
@@ -61,25 +96,75 @@ public class UserServiceImpl implements UserService {
         }
 
         UserEntity updatedUser = userRepository.save(userEntityToUpdate);
+        // o cache sai na hora do commit: um GET logo depois do PUT já vê o novo
+        AfterCommit.run(() -> userResponseCache.invalidate(userDto.id()));
+        outbox.publish(UserEvents.AGGREGATE, updatedUser.getId(), UserEvents.UPDATED,
+                Map.of("username", updatedUser.getUsername()));
 
         return mapToDto(updatedUser);
     }
 
+    // só marca a conta; o UserPurger apaga os dados em lotes, fora da requisição
     @Override
+    @Transactional
     public void deleteUser(Long id) {
-        if (!userRepository.existsById(id)) {
-            throw new RuntimeException("User not found with id: " + id);
-        }
-        userRepository.deleteById(id);
+        UserEntity userEntity = userRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("User not found with id: " + id));
+
+        // username e e-mail ficam livres na hora para um novo cadastro
+        userEntity.setUsername("deleted-" + id);
+        userEntity.setEmail("deleted-" + id + "@deleted.invalid");
+        userEntity.setDeletedAt(Instant.now());
+        userRepository.save(userEntity);
+
+        userPurger.schedule(id);
+        AfterCommit.run(() -> userResponseCache.invalidate(id));
+        outbox.publish(UserEvents.AGGREGATE, id, UserEvents.DELETED, null);
+    }
+
+    @Override
+    public UserDeletionDto findDeletion(Long id) {
+        return userPurger.find(id)
+                .map(purge -> new UserDeletionDto(
+                        purge.getUserId(),
+                        purge.getStep().name(),
+                        purge.getPurgedRows(),
+                        purge.getRequestedAt(),
+                        purge.getUpdatedAt()))
+                .orElseThrow(() -> new ResourceNotFoundException("No deletion in progress for user with id: " + id));
     }
 
     @Override
     public UserDto findById(Long id) {
-        UserEntity userEntity = userRepository.findById(id)
+        UserEntity userEntity = loadBatched(id)
                 .orElseThrow(() -> new RuntimeException("User not found with id: " + id));
         return mapToDto(userEntity);
     }
 
+    @Override
+    public UserBatchDto findAllById(List<Long> ids) {
+        List<Long> distinctIds = new ArrayList<>(new LinkedHashSet<>(ids));
+
+        Map<Long, UserEntity> found = new HashMap<>();
+        for (UserEntity userEntity : userRepository.findAllById(distinctIds)) {
+            found.put(userEntity.getId(), userEntity);
+        }
+
+        // mantém a ordem pedida e informa os ids que não existem
+        List<UserDto> users = new ArrayList<>();
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : distinctIds) {
+            UserEntity userEntity = found.get(id);
+            if (userEntity != null) {
+                users.add(mapToDto(userEntity));
+            } else {
+                missingIds.add(id);
+            }
+        }
+
+        return new UserBatchDto(users, missingIds);
+    }
+
     @Override
     public List<UserDto> findAll() {
         return userRepository.findAll()
@@ -88,6 +173,68 @@ public class UserServiceImpl implements UserService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public List<UserDto> findAll(Set<UserField> fields) {
+        return userRepository.findAllProjected(fields)
+                .stream()
+                .map(userDto -> project(userDto, fields))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public UserDto findById(Long id, Set<UserField> fields) {
+        List<UserDto> found = userRepository.findAllProjectedById(List.of(id), fields);
+        if (found.isEmpty()) {
+            throw new RuntimeException("User not found with id: " + id);
+        }
+        return project(found.get(0), fields);
+    }
+
+    @Override
+    public UserBatchDto findAllById(List<Long> ids, Set<UserField> fields) {
+        List<Long> distinctIds = new ArrayList<>(new LinkedHashSet<>(ids));
+
+        Map<Long, UserDto> found = new HashMap<>();
+        for (UserDto userDto : userRepository.findAllProjectedById(distinctIds, fields)) {
+            found.put(userDto.id(), userDto);
+        }
+
+        List<UserDto> users = new ArrayList<>();
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : distinctIds) {
+            UserDto userDto = found.get(id);
+            if (userDto != null) {
+                users.add(project(userDto, fields));
+            } else {
+                missingIds.add(id);
+            }
+        }
+
+        return new UserBatchDto(users, missingIds);
+    }
+
+    // o id sempre é selecionado (chave de ordenação), mas só sai se foi pedido
+    private UserDto project(UserDto userDto, Set<UserField> fields) {
+        if (fields.contains(UserField.ID)) {
+            return userDto;
+        }
+        return new UserDto(null, userDto.fullName(), userDto.username(), userDto.email(), null, null);
+    }
+
+    private Optional<UserEntity> loadBatched(Long id) {
+        try {
+            return userBatchLoader.load(id).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof TimeoutException) {
+                throw new ServiceBusyException("User lookup did not answer in time, try again later");
+            }
+            throw e;
+        }
+    }
+
     private UserDto mapToDto(UserEntity userEntity) {
         return new UserDto(
                 userEntity.getId(),
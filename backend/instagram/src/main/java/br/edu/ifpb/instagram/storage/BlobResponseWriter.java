@@ -0,0 +1,140 @@
+package br.edu.ifpb.instagram.storage;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.stereotype.Component;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Escreve um blob na resposta HTTP sem passar os bytes pelo heap.
+ *
+ * No Tomcat o arquivo é entregue ao conector por sendfile (atributos
+ * {@code org.apache.tomcat.sendfile.*}), que chama {@code transferTo} direto
+ * para o socket depois que o filtro termina. Em containers sem esse suporte
+ * (e no MockMvc) o corpo sai por {@link FileChannel#transferTo} para o canal
+ * do output stream.
+ *
+ * Como os blobs são endereçados por conteúdo, o ETag é o próprio hash e a
+ * resposta pode ser cacheada para sempre ({@code immutable}).
+ */
+@Component
+public class BlobResponseWriter {
+
+    private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final String cacheControl;
+
+    public BlobResponseWriter(@Value("${instagram.media.cache-max-age-seconds:31536000}") long maxAgeSeconds) {
+        // private: a mídia exige o JWT, então caches compartilhados não devem guardá-la
+        this.cacheControl = "private, max-age=" + maxAgeSeconds + ", immutable";
+    }
+
+    public void write(Path blob, String sha256, String contentType,
+                      HttpServletRequest request, HttpServletResponse response) throws IOException {
+
+        long size = blob.toFile().length();
+        String etag = "\"" + sha256 + "\"";
+
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        long start = 0;
+        long length = size;
+
+        HttpRange range = singleRange(request, etag);
+        if (range != null) {
+            start = range.getRangeStart(size);
+            if (start >= size) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+                response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            }
+            length = range.getRangeEnd(size) - start + 1;
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + (start + length - 1) + "/" + size);
+        } else {
+            response.setStatus(HttpServletResponse.SC_OK);
+        }
+
+        response.setContentType(contentType);
+        response.setContentLengthLong(length);
+
+        if ("HEAD".equals(request.getMethod()) || length == 0) {
+            return;
+        }
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+            request.setAttribute(SENDFILE_FILENAME, blob.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, start + length);
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(blob, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = length;
+            while (remaining > 0) {
+                long sent = channel.transferTo(position, remaining, out);
+                position += sent;
+                remaining -= sent;
+            }
+        }
+    }
+
+    /**
+     * Só um intervalo é atendido; múltiplos intervalos, sintaxe inválida ou um
+     * If-Range que não bate com o ETag fazem a resposta voltar inteira.
+     */
+    private static HttpRange singleRange(HttpServletRequest request, String etag) {
+        String header = request.getHeader(HttpHeaders.RANGE);
+        if (header == null) {
+            return null;
+        }
+
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange != null && !ifRange.equals(etag)) {
+            return null;
+        }
+
+        try {
+            List<HttpRange> ranges = HttpRange.parseRanges(header);
+            return ranges.size() == 1 ? ranges.get(0) : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String trimmed = candidate.trim();
+            if (trimmed.equals("*") || trimmed.equals(etag) || trimmed.equals("W/" + etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,201 @@
+package br.edu.ifpb.instagram.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@link MediaStorage} em disco local. O upload é copiado de canal para canal
+ * com um buffer de tamanho fixo, e o SHA-256 é calculado sobre o mesmo
+ * buffer enquanto os bytes passam. O buffer é de heap: um direto alocado a
+ * cada upload só é liberado pelo GC, e o {@link FileChannel} já copia por um
+ * buffer direto que o JDK reaproveita por thread. O arquivo vai primeiro para {@code tmp/} e
+ * só depois é movido para {@code blobs/ab/cd/<hash>}; o rename atômico faz
+ * com que um blob visível esteja sempre completo. A data de modificação do
+ * blob é a do último upload que o gravou ou deduplicou para ele.
+ */
+@Component
+public class LocalMediaStorage implements MediaStorage {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final Pattern SHA256_HEX = Pattern.compile("[0-9a-f]{64}");
+
+    private final Path blobsDir;
+    private final Path tmpDir;
+
+    public LocalMediaStorage(@Value("${instagram.media.root}") Path root) throws IOException {
+        this.blobsDir = Files.createDirectories(root.resolve("blobs"));
+        this.tmpDir = Files.createDirectories(root.resolve("tmp"));
+    }
+
+    @Override
+    public StoredBlob store(InputStream content) throws IOException {
+        MessageDigest digest = sha256();
+        Path tmp = Files.createTempFile(tmpDir, "upload-", ".part");
+
+        try {
+            long size = 0;
+            ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+            try (ReadableByteChannel source = Channels.newChannel(content);
+                 FileChannel target = FileChannel.open(tmp, StandardOpenOption.WRITE)) {
+
+                while (source.read(buffer) != -1) {
+                    buffer.flip();
+                    digest.update(buffer.duplicate());
+                    while (buffer.hasRemaining()) {
+                        size += target.write(buffer);
+                    }
+                    buffer.clear();
+                }
+                target.force(true);
+            }
+
+            return commit(tmp, HexFormat.of().formatHex(digest.digest()), size);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    @Override
+    public StoredBlob importFile(Path file) throws IOException {
+        MessageDigest digest = sha256();
+        long size = 0;
+
+        try {
+            ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+            try (FileChannel source = FileChannel.open(file, StandardOpenOption.READ)) {
+                int read;
+                while ((read = source.read(buffer)) != -1) {
+                    buffer.flip();
+                    digest.update(buffer);
+                    size += read;
+                    buffer.clear();
+                }
+            }
+
+            return commit(file, HexFormat.of().formatHex(digest.digest()), size);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    // move o arquivo completo para o endereço do hash, a menos que o blob já exista
+    private StoredBlob commit(Path file, String sha256, long size) throws IOException {
+        Path blob = blobPath(sha256);
+        if (markUsed(blob)) {
+            return new StoredBlob(sha256, size, true);
+        }
+
+        Files.createDirectories(blob.getParent());
+        try {
+            Files.move(file, blob, StandardCopyOption.ATOMIC_MOVE);
+        } catch (FileAlreadyExistsException e) {
+            // outro upload com o mesmo conteúdo ganhou a corrida
+            markUsed(blob);
+            return new StoredBlob(sha256, size, true);
+        }
+        return new StoredBlob(sha256, size, false);
+    }
+
+    // afasta a limpeza de blobs sem referência enquanto a linha deste upload
+    // não tem commit; false se o blob não existe (ou acabou de ser apagado)
+    private static boolean markUsed(Path blob) throws IOException {
+        try {
+            Files.setLastModifiedTime(blob, FileTime.from(Instant.now()));
+            return true;
+        } catch (NoSuchFileException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public boolean exists(String sha256) {
+        return SHA256_HEX.matcher(sha256).matches() && Files.exists(blobPath(sha256));
+    }
+
+    @Override
+    public boolean deleteIfIdle(String sha256, Duration idle) throws IOException {
+        if (!SHA256_HEX.matcher(sha256).matches()) {
+            return false;
+        }
+
+        Path blob = blobPath(sha256);
+        Path trash = tmpDir.resolve(sha256 + ".deleted");
+        try {
+            if (!idle(blob, idle)) {
+                return false;
+            }
+            Files.move(blob, trash, StandardCopyOption.ATOMIC_MOVE);
+        } catch (NoSuchFileException e) {
+            return false;
+        }
+
+        // um upload pode ter reencontrado o blob entre a conferência e o rename;
+        // depois do rename, quem chegar grava o blob de novo
+        if (!idle(trash, idle)) {
+            try {
+                Files.move(trash, blob, StandardCopyOption.ATOMIC_MOVE);
+            } catch (FileAlreadyExistsException e) {
+                // um upload já o recriou, com o mesmo conteúdo
+                Files.deleteIfExists(trash);
+            }
+            return false;
+        }
+        Files.delete(trash);
+        return true;
+    }
+
+    private static boolean idle(Path file, Duration idle) throws IOException {
+        return !Files.getLastModifiedTime(file).toInstant().isAfter(Instant.now().minus(idle));
+    }
+
+    @Override
+    public InputStream open(String sha256) throws IOException {
+        return Files.newInputStream(locate(sha256));
+    }
+
+    @Override
+    public Path locate(String sha256) throws IOException {
+        if (!SHA256_HEX.matcher(sha256).matches()) {
+            throw new NoSuchFileException(sha256);
+        }
+
+        Path blob = blobPath(sha256);
+        if (!Files.isRegularFile(blob)) {
+            throw new NoSuchFileException(sha256);
+        }
+        return blob;
+    }
+
+    // dois níveis de diretório para não acumular milhões de arquivos em um só
+    private Path blobPath(String sha256) {
+        return blobsDir.resolve(sha256.substring(0, 2)).resolve(sha256.substring(2, 4)).resolve(sha256);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package br.edu.ifpb.instagram.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Armazenamento endereçado por conteúdo: cada blob é identificado pelo
+ * SHA-256 dos seus bytes, então uploads idênticos ocupam um único blob.
+ */
+public interface MediaStorage {
+
+    /**
+     * Consome o stream até o fim sem carregá-lo inteiro em memória.
+     */
+    StoredBlob store(InputStream content) throws IOException;
+
+    /**
+     * Adota um arquivo já completo no mesmo sistema de arquivos do storage
+     * (uploads retomáveis): o arquivo é lido uma vez para o hash e movido,
+     * sem cópia. Depois da chamada o arquivo original não existe mais.
+     */
+    StoredBlob importFile(Path file) throws IOException;
+
+    boolean exists(String sha256);
+
+    /**
+     * Apaga o blob se ninguém o gravou nem o reencontrou num upload há mais de
+     * {@code idle}, e diz se apagou. Um upload que deduplica para o blob o
+     * marca como usado, então um blob que acabou de ganhar uma referência
+     * ainda sem commit não some.
+     */
+    boolean deleteIfIdle(String sha256, Duration idle) throws IOException;
+
+    InputStream open(String sha256) throws IOException;
+
+    /**
+     * Arquivo local do blob, para ser servido sem cópia (sendfile /
+     * {@code FileChannel.transferTo}). Lança {@link java.nio.file.NoSuchFileException}
+     * se o blob não existe.
+     */
+    Path locate(String sha256) throws IOException;
+}
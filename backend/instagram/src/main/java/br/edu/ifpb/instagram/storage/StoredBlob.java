@@ -0,0 +1,10 @@
+package br.edu.ifpb.instagram.storage;
+
+/**
+ * Resultado de um {@link MediaStorage#store}: o hash SHA-256 (hex) que
+ * identifica o blob, o tamanho em bytes e se o conteúdo já existia.
+ */
+public record StoredBlob(
+    String sha256,
+    long size,
+    boolean deduplicated) { }
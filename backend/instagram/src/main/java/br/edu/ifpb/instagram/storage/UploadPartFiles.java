@@ -0,0 +1,113 @@
+package br.edu.ifpb.instagram.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import br.edu.ifpb.instagram.exception.ServiceBusyException;
+
+/**
+ * Arquivos parciais dos uploads retomáveis, em {@code uploads/<sessão>.part}
+ * dentro da mesma raiz do {@link LocalMediaStorage}; assim a finalização é só
+ * um rename para {@code blobs/}.
+ *
+ * O arquivo é criado já com o tamanho final e cada chunk é gravado com
+ * escrita posicional ({@link FileChannel#write(ByteBuffer, long)}), então
+ * reenviar um trecho depois de uma queda sobrescreve os mesmos bytes em vez
+ * de anexar.
+ */
+@Component
+public class UploadPartFiles {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final Pattern SESSION_ID = Pattern.compile("[0-9a-f-]{36}");
+
+    private final Path uploadsDir;
+
+    public UploadPartFiles(@Value("${instagram.media.root}") Path root) throws IOException {
+        this.uploadsDir = Files.createDirectories(root.resolve("uploads"));
+    }
+
+    /**
+     * Reserva o arquivo com o tamanho declarado. Conforme o sistema de
+     * arquivos ele fica esparso, por isso o espaço livre é conferido antes.
+     */
+    public void create(String sessionId, long size) throws IOException {
+        if (Files.getFileStore(uploadsDir).getUsableSpace() < size) {
+            throw new ServiceBusyException("Not enough storage for this upload, try again later");
+        }
+
+        try (RandomAccessFile file = new RandomAccessFile(path(sessionId).toFile(), "rw")) {
+            file.setLength(size);
+        }
+    }
+
+    /**
+     * Grava o corpo a partir de {@code offset} e devolve quantos bytes chegaram
+     * ao disco. Se o cliente cair no meio, o que já foi gravado conta: a
+     * próxima tentativa continua dali. Corpo maior que {@code maxLength} é
+     * recusado.
+     */
+    public long write(String sessionId, long offset, long maxLength, InputStream content) throws IOException {
+        long position = offset;
+        long end = offset + maxLength;
+
+        try (FileChannel target = FileChannel.open(path(sessionId), StandardOpenOption.WRITE);
+             ReadableByteChannel source = Channels.newChannel(content)) {
+
+            // heap, como no LocalMediaStorage: um buffer direto por chunk só sairia no GC
+            ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+            boolean exhausted = false;
+            while (position < end) {
+                buffer.limit((int) Math.min(buffer.capacity(), end - position));
+                int read;
+                try {
+                    read = source.read(buffer);
+                } catch (IOException e) {
+                    // conexão interrompida: mantém o que já foi gravado
+                    break;
+                }
+                if (read == -1) {
+                    exhausted = true;
+                    break;
+                }
+
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    position += target.write(buffer, position);
+                }
+                buffer.clear();
+            }
+            target.force(false);
+
+            if (!exhausted && position == end && content.read() != -1) {
+                throw new IllegalArgumentException("Chunk exceeds the declared upload size");
+            }
+        }
+
+        return position - offset;
+    }
+
+    public Path path(String sessionId) throws IOException {
+        if (!SESSION_ID.matcher(sessionId).matches()) {
+            throw new NoSuchFileException(sessionId);
+        }
+        return uploadsDir.resolve(sessionId + ".part");
+    }
+
+    public void delete(String sessionId) throws IOException {
+        Files.deleteIfExists(path(sessionId));
+    }
+}
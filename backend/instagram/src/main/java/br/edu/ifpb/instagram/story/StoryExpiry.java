@@ -0,0 +1,156 @@
+package br.edu.ifpb.instagram.story;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Apaga os stories vencidos sem consultar a tabela por prazo.
+ *
+ * Os prazos ficam numa {@link TimingWheel} em memória, reconstruída na
+ * subida com uma leitura de {@code (id, expires_at)}. A cada tick a roda
+ * entrega os ids vencidos, que saem em {@code DELETE ... WHERE id IN (...)}
+ * de até {@code delete-batch-size} ids. Ids de stories já apagados pelo autor
+ * continuam na roda até o prazo e viram um DELETE sem efeito.
+ *
+ * O atraso da remoção física não aparece para o cliente: as leituras
+ * filtram por {@code expires_at}.
+ */
+@Component
+public class StoryExpiry implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(StoryExpiry.class);
+
+    private static final String LOAD_DEADLINES = "SELECT id, expires_at FROM stories";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Duration tick;
+    private final int deleteBatchSize;
+
+    private final Object lock = new Object();
+    private final TimingWheel wheel;
+    // vencidos que ainda não saíram do banco, inclusive de um DELETE que falhou
+    private final List<Long> due = new ArrayList<>();
+
+    private ScheduledExecutorService purger;
+
+    public StoryExpiry(JdbcTemplate jdbcTemplate,
+                       @Value("${instagram.stories.tick:1s}") Duration tick,
+                       @Value("${instagram.stories.delete-batch-size:500}") int deleteBatchSize) {
+        if (deleteBatchSize <= 0) {
+            throw new IllegalArgumentException("Delete batch size must be positive");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.tick = tick;
+        this.deleteBatchSize = deleteBatchSize;
+        this.wheel = new TimingWheel(tick.toMillis(), System.currentTimeMillis());
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        long start = System.nanoTime();
+        int[] loaded = { 0 };
+        jdbcTemplate.query(LOAD_DEADLINES, (RowCallbackHandler) rs -> {
+            schedule(rs.getLong(1), rs.getTimestamp(2).toInstant());
+            loaded[0]++;
+        });
+        log.info("Story expiry rebuilt with {} stories in {} ms", loaded[0], (System.nanoTime() - start) / 1_000_000);
+
+        purger = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "story-expiry");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long millis = tick.toMillis();
+        purger.scheduleWithFixedDelay(this::purgeQuietly, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Agenda a remoção de um story. Deve ser chamado depois do commit da
+     * linha.
+     */
+    public void schedule(long storyId, Instant expiresAt) {
+        synchronized (lock) {
+            if (!wheel.add(storyId, expiresAt.toEpochMilli())) {
+                due.add(storyId);
+            }
+        }
+    }
+
+    /**
+     * Apaga os stories vencidos até {@code now} e devolve quantas linhas
+     * saíram do banco.
+     */
+    public int purge(Instant now) {
+        List<Long> expired;
+        synchronized (lock) {
+            wheel.advance(now.toEpochMilli(), due::add);
+            if (due.isEmpty()) {
+                return 0;
+            }
+            expired = new ArrayList<>(due);
+            due.clear();
+        }
+
+        int deleted = 0;
+        for (int from = 0; from < expired.size(); from += deleteBatchSize) {
+            List<Long> batch = expired.subList(from, Math.min(from + deleteBatchSize, expired.size()));
+            try {
+                deleted += jdbcTemplate.update(deleteStatement(batch.size()), batch.toArray());
+            } catch (RuntimeException e) {
+                // o que não saiu volta para a próxima rodada
+                synchronized (lock) {
+                    due.addAll(expired.subList(from, expired.size()));
+                }
+                throw e;
+            }
+        }
+        return deleted;
+    }
+
+    /**
+     * Stories agendados e ainda não apagados.
+     */
+    public int pending() {
+        synchronized (lock) {
+            return wheel.size() + due.size();
+        }
+    }
+
+    private static String deleteStatement(int ids) {
+        return "DELETE FROM stories WHERE id IN (" + String.join(", ", Collections.nCopies(ids, "?")) + ")";
+    }
+
+    private void purgeQuietly() {
+        try {
+            int deleted = purge(Instant.now());
+            if (deleted > 0) {
+                log.debug("Purged {} expired stories", deleted);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to purge expired stories", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (purger != null) {
+            purger.shutdownNow();
+        }
+    }
+}
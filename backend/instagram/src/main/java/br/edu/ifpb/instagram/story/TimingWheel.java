@@ -0,0 +1,142 @@
+package br.edu.ifpb.instagram.story;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * Timing wheel hierárquica de ids com prazo.
+ *
+ * São {@value #LEVELS} rodas de {@value #SLOTS} slots; um slot do nível
+ * {@code n} cobre {@code 64^n} ticks. Um id entra no nível mais baixo cujo
+ * alcance contém o prazo, e quando o tick atual chega ao início do slot dele
+ * o slot inteiro desce para os níveis de baixo. Inserir e vencer custam O(1)
+ * por id e avançar custa um slot por tick, com qualquer número de ids
+ * pendentes. Com tick de 1 s as quatro rodas alcançam ~194 dias; prazos mais
+ * longos ficam no último nível e são reposicionados a cada volta.
+ *
+ * Não é thread-safe.
+ */
+public final class TimingWheel {
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+
+    private final long tickMillis;
+    private final Bucket[][] wheels = new Bucket[LEVELS][SLOTS];
+    private Bucket spare = new Bucket();
+    private long currentTick;
+    private int size;
+
+    public TimingWheel(long tickMillis, long startMillis) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("Tick must be positive");
+        }
+        this.tickMillis = tickMillis;
+        this.currentTick = startMillis / tickMillis;
+        for (Bucket[] wheel : wheels) {
+            for (int slot = 0; slot < SLOTS; slot++) {
+                wheel[slot] = new Bucket();
+            }
+        }
+    }
+
+    /**
+     * Agenda {@code id} para {@code deadlineMillis}. Devolve {@code false},
+     * sem agendar, quando o prazo já passou.
+     */
+    public boolean add(long id, long deadlineMillis) {
+        // arredondado para cima: o id nunca vence antes do prazo
+        long deadlineTick = Math.ceilDiv(deadlineMillis, tickMillis);
+        if (deadlineTick <= currentTick) {
+            return false;
+        }
+        place(id, deadlineTick);
+        size++;
+        return true;
+    }
+
+    /**
+     * Avança até {@code nowMillis} entregando cada id vencido a
+     * {@code expired}.
+     */
+    public void advance(long nowMillis, LongConsumer expired) {
+        long targetTick = nowMillis / tickMillis;
+        while (currentTick < targetTick) {
+            if (size == 0) {
+                currentTick = targetTick;
+                return;
+            }
+            currentTick++;
+
+            // de cima para baixo: o que desce de um nível entra nos slots de
+            // baixo antes de eles serem lidos neste mesmo tick
+            for (int level = LEVELS - 1; level >= 0; level--) {
+                int shift = SLOT_BITS * level;
+                if ((currentTick & ((1L << shift) - 1)) == 0) {
+                    cascade(level, (int) (currentTick >>> shift) & SLOT_MASK, expired);
+                }
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private void place(long id, long deadlineTick) {
+        long delta = deadlineTick - currentTick;
+        int level = 0;
+        while (level < LEVELS - 1 && delta >= 1L << (SLOT_BITS * (level + 1))) {
+            level++;
+        }
+        wheels[level][(int) (deadlineTick >>> (SLOT_BITS * level)) & SLOT_MASK].add(id, deadlineTick);
+    }
+
+    private void cascade(int level, int slot, LongConsumer expired) {
+        Bucket bucket = wheels[level][slot];
+        if (bucket.size == 0) {
+            return;
+        }
+        wheels[level][slot] = spare;
+
+        for (int i = 0; i < bucket.size; i++) {
+            if (bucket.deadlines[i] <= currentTick) {
+                size--;
+                expired.accept(bucket.ids[i]);
+            } else {
+                place(bucket.ids[i], bucket.deadlines[i]);
+            }
+        }
+
+        bucket.clear();
+        spare = bucket;
+    }
+
+    private static final class Bucket {
+
+        private long[] ids = new long[4];
+        private long[] deadlines = new long[4];
+        private int size;
+
+        void add(long id, long deadlineTick) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                deadlines = Arrays.copyOf(deadlines, size * 2);
+            }
+            ids[size] = id;
+            deadlines[size] = deadlineTick;
+            size++;
+        }
+
+        void clear() {
+            // slots que receberam um pico não seguram o array grande para sempre
+            if (ids.length > 1024) {
+                ids = new long[4];
+                deadlines = new long[4];
+            }
+            size = 0;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package br.edu.ifpb.instagram.suggestion;
+
+import java.util.Map;
+import java.util.concurrent.RecursiveAction;
+
+import br.edu.ifpb.instagram.service.FollowerDirectory;
+
+/**
+ * Recalcula as sugestões de um lote de usuários num {@code ForkJoinPool}:
+ * o lote é dividido ao meio até {@link #THRESHOLD} usuários, e cada folha
+ * grava direto em {@code table}. Usuários sem candidatos saem da tabela.
+ */
+public class MutualFollowJob extends RecursiveAction {
+
+    static final int THRESHOLD = 64;
+
+    private final FollowerDirectory directory;
+    private final long[] userIds;
+    private final int from;
+    private final int to;
+    private final int size;
+    private final Map<Long, SuggestionList> table;
+
+    public MutualFollowJob(FollowerDirectory directory, long[] userIds, int size, Map<Long, SuggestionList> table) {
+        this(directory, userIds, 0, userIds.length, size, table);
+    }
+
+    private MutualFollowJob(FollowerDirectory directory, long[] userIds, int from, int to, int size,
+                            Map<Long, SuggestionList> table) {
+        this.directory = directory;
+        this.userIds = userIds;
+        this.from = from;
+        this.to = to;
+        this.size = size;
+        this.table = table;
+    }
+
+    @Override
+    protected void compute() {
+        if (to - from > THRESHOLD) {
+            int middle = (from + to) >>> 1;
+            invokeAll(new MutualFollowJob(directory, userIds, from, middle, size, table),
+                    new MutualFollowJob(directory, userIds, middle, to, size, table));
+            return;
+        }
+
+        for (int i = from; i < to; i++) {
+            SuggestionList suggestions = MutualFollows.compute(directory, userIds[i], size);
+            if (suggestions.size() == 0) {
+                table.remove(userIds[i]);
+            } else {
+                table.put(userIds[i], suggestions);
+            }
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package br.edu.ifpb.instagram.suggestion;
+
+import java.util.Arrays;
+
+import br.edu.ifpb.instagram.service.FollowerDirectory;
+
+/**
+ * Amigos de amigos: os candidatos de um usuário são os seguidos dos seus
+ * seguidos, ordenados por quantos dos seus seguidos seguem o candidato.
+ *
+ * As listas de seguidos do grafo já vêm ordenadas; elas são concatenadas e
+ * ordenadas num único {@code long[]}, e o tamanho de cada sequência de ids
+ * iguais é o tamanho da interseção entre "quem o usuário segue" e "quem
+ * segue o candidato", sem montar o conjunto de seguidores de cada
+ * candidato.
+ */
+public final class MutualFollows {
+
+    private MutualFollows() {
+    }
+
+    public static SuggestionList compute(FollowerDirectory directory, long userId, int size) {
+        long[] following = directory.followingOf(userId);
+        if (following.length == 0 || size <= 0) {
+            return SuggestionList.EMPTY;
+        }
+
+        long[][] lists = new long[following.length][];
+        int total = 0;
+        for (int i = 0; i < following.length; i++) {
+            lists[i] = directory.followingOf(following[i]);
+            total += lists[i].length;
+        }
+        long[] merged = new long[total];
+        int offset = 0;
+        for (long[] list : lists) {
+            System.arraycopy(list, 0, merged, offset, list.length);
+            offset += list.length;
+        }
+        Arrays.sort(merged);
+
+        // os candidatos chegam em ordem de id, então no empate fica o de id menor
+        long[] topIds = new long[size];
+        int[] topCounts = new int[size];
+        int count = 0;
+        for (int start = 0; start < total; ) {
+            long candidateId = merged[start];
+            int end = start + 1;
+            while (end < total && merged[end] == candidateId) {
+                end++;
+            }
+            int mutual = end - start;
+            start = end;
+
+            if (candidateId == userId || Arrays.binarySearch(following, candidateId) >= 0) {
+                continue;
+            }
+            if (count == size && topCounts[size - 1] >= mutual) {
+                continue;
+            }
+
+            int position = count == size ? size - 1 : count++;
+            while (position > 0 && topCounts[position - 1] < mutual) {
+                topIds[position] = topIds[position - 1];
+                topCounts[position] = topCounts[position - 1];
+                position--;
+            }
+            topIds[position] = candidateId;
+            topCounts[position] = mutual;
+        }
+
+        return count == 0
+                ? SuggestionList.EMPTY
+                : new SuggestionList(Arrays.copyOf(topIds, count), Arrays.copyOf(topCounts, count));
+    }
+}
@@ -0,0 +1,30 @@
+package br.edu.ifpb.instagram.suggestion;
+
+/**
+ * Sugestões pré-calculadas de um usuário: ids e número de seguidos em comum
+ * em dois arrays primitivos paralelos, do mais bem colocado para o menos.
+ */
+public final class SuggestionList {
+
+    public static final SuggestionList EMPTY = new SuggestionList(new long[0], new int[0]);
+
+    private final long[] userIds;
+    private final int[] mutualCounts;
+
+    SuggestionList(long[] userIds, int[] mutualCounts) {
+        this.userIds = userIds;
+        this.mutualCounts = mutualCounts;
+    }
+
+    public int size() {
+        return userIds.length;
+    }
+
+    public long userId(int index) {
+        return userIds[index];
+    }
+
+    public int mutualCount(int index) {
+        return mutualCounts[index];
+    }
+}
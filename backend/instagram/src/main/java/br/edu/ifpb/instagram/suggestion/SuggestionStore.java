@@ -0,0 +1,191 @@
+package br.edu.ifpb.instagram.suggestion;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import br.edu.ifpb.instagram.graph.FollowGraphStore;
+import br.edu.ifpb.instagram.transaction.AfterCommit;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Sugestões de "pessoas que você talvez conheça", pré-calculadas em
+ * background a partir do grafo de follows em memória.
+ *
+ * Quando a aplicação termina de subir, todos os usuários que seguem alguém
+ * são calculados num {@link MutualFollowJob}; depois disso só os afetados
+ * por mudanças são recalculados, a cada {@code refresh-interval}. Um follow
+ * de A muda os candidatos de A e de quem segue A (A é um dos "amigos" deles),
+ * então esses usuários entram na fila; a fila é um conjunto, e várias
+ * mudanças no mesmo intervalo custam um recálculo só.
+ *
+ * As leituras só consultam a tabela e podem ficar até um intervalo atrás
+ * do grafo.
+ */
+@Component
+public class SuggestionStore implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(SuggestionStore.class);
+
+    private final FollowGraphStore followGraphStore;
+    private final int size;
+    private final Duration refreshInterval;
+    private final ForkJoinPool pool;
+    private final Timer rebuildTimer;
+    private final Timer refreshTimer;
+
+    private final Map<Long, SuggestionList> table = new ConcurrentHashMap<>();
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+
+    private ScheduledExecutorService executor;
+
+    public SuggestionStore(FollowGraphStore followGraphStore, MeterRegistry meterRegistry,
+                           @Value("${instagram.suggestions.size:50}") int size,
+                           @Value("${instagram.suggestions.parallelism:0}") int parallelism,
+                           @Value("${instagram.suggestions.refresh-interval:5s}") Duration refreshInterval) {
+        if (size <= 0 || parallelism < 0) {
+            throw new IllegalArgumentException("Size must be positive and parallelism not negative");
+        }
+        this.followGraphStore = followGraphStore;
+        this.size = size;
+        this.refreshInterval = refreshInterval;
+        this.pool = new ForkJoinPool(parallelism == 0 ? Runtime.getRuntime().availableProcessors() : parallelism);
+
+        this.rebuildTimer = Timer.builder("instagram.suggestions.job")
+                .description("Duração do cálculo das sugestões")
+                .tag("kind", "rebuild")
+                .register(meterRegistry);
+        this.refreshTimer = Timer.builder("instagram.suggestions.job")
+                .description("Duração do cálculo das sugestões")
+                .tag("kind", "refresh")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "suggestions");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (refreshInterval.toMillis() > 0) {
+            long millis = refreshInterval.toMillis();
+            executor.scheduleWithFixedDelay(this::refreshQuietly, millis, millis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    // o grafo só fica completo depois que todos os singletons subiram
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        executor.execute(this::rebuildQuietly);
+    }
+
+    public SuggestionList find(long userId) {
+        return table.getOrDefault(userId, SuggestionList.EMPTY);
+    }
+
+    /**
+     * Agenda o recálculo de quem é afetado por um follow ou unfollow de
+     * {@code followerId}, depois do commit.
+     */
+    public void followChanged(long followerId) {
+        AfterCommit.run(() -> {
+            dirty.add(followerId);
+            for (long userId : followGraphStore.followersOf(followerId)) {
+                dirty.add(userId);
+            }
+        });
+    }
+
+    /**
+     * Descarta as sugestões do usuário e agenda o recálculo de quem o
+     * seguia. Deve ser chamado antes de os follows dele saírem do grafo.
+     * Quem o tinha como candidato continua com ele até o próximo recálculo;
+     * as leituras já ignoram usuários que não existem mais.
+     */
+    public void userRemoved(long userId) {
+        long[] followers = followGraphStore.followersOf(userId);
+        AfterCommit.run(() -> {
+            table.remove(userId);
+            dirty.remove(userId);
+            for (long followerId : followers) {
+                dirty.add(followerId);
+            }
+        });
+    }
+
+    /**
+     * Recalcula os usuários afetados desde a última chamada e devolve
+     * quantos foram.
+     */
+    public int refresh() {
+        if (dirty.isEmpty()) {
+            return 0;
+        }
+        long[] userIds = dirty.stream().mapToLong(Long::longValue).toArray();
+        for (long userId : userIds) {
+            dirty.remove(userId);
+        }
+        refreshTimer.record(() -> pool.invoke(new MutualFollowJob(followGraphStore, userIds, size, table)));
+        return userIds.length;
+    }
+
+    /**
+     * Recalcula todos os usuários que seguem alguém e descarta os demais.
+     */
+    public int rebuild() {
+        long[] userIds = followGraphStore.followingUsers();
+        long start = System.nanoTime();
+        rebuildTimer.record(() -> pool.invoke(new MutualFollowJob(followGraphStore, userIds, size, table)));
+
+        Set<Long> current = new HashSet<>(userIds.length * 2);
+        for (long userId : userIds) {
+            current.add(userId);
+        }
+        table.keySet().retainAll(current);
+
+        log.info("Suggestions computed for {} users in {} ms with parallelism {}", userIds.length,
+                (System.nanoTime() - start) / 1_000_000, pool.getParallelism());
+        return userIds.length;
+    }
+
+    private void refreshQuietly() {
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            log.warn("Failed to refresh suggestions", e);
+        }
+    }
+
+    private void rebuildQuietly() {
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            log.warn("Failed to compute suggestions", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+        pool.shutdownNow();
+    }
+}
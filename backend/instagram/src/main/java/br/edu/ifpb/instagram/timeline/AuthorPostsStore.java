@@ -0,0 +1,89 @@
+package br.edu.ifpb.instagram.timeline;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import br.edu.ifpb.instagram.cache.Eviction;
+import br.edu.ifpb.instagram.cache.VersionStripes;
+import br.edu.ifpb.instagram.repository.PostRepository;
+
+/**
+ * Posts recentes das contas em modo pull, lidos no momento do feed em vez de
+ * empurrados para cada seguidor. Um {@link TimelineRing} por autor, carregado
+ * do índice {@code (author_id, id)} de {@code posts} no primeiro acesso e
+ * alimentado pelos posts novos depois do commit.
+ *
+ * Como no {@code CommentThreadCache}, cada faixa de autores tem uma versão
+ * ({@link VersionStripes})
+ * que o post novo incrementa: um ring carregado antes do commit de um post,
+ * que não o inclui, não entra no mapa depois do callback desse post.
+ */
+@Component
+public class AuthorPostsStore {
+
+    private final PostRepository postRepository;
+    private final int capacity;
+    private final int maxCachedAuthors;
+
+    private final ConcurrentHashMap<Long, TimelineRing> rings = new ConcurrentHashMap<>();
+    private final VersionStripes versions = new VersionStripes();
+
+    public AuthorPostsStore(PostRepository postRepository,
+                            @Value("${instagram.timeline.capacity:500}") int capacity,
+                            @Value("${instagram.feed.max-cached-authors:1000}") int maxCachedAuthors) {
+        this.postRepository = postRepository;
+        this.capacity = capacity;
+        this.maxCachedAuthors = maxCachedAuthors;
+    }
+
+    /**
+     * Chamado depois do commit do post. Autores que ainda não estão em memória
+     * são ignorados: a carga a partir da tabela já vai incluir o post.
+     */
+    public void append(long authorId, long postId) {
+        // antes do get: uma carga em andamento ou já enxerga o post ou é descartada
+        versions.increment(authorId);
+        TimelineRing ring = rings.get(authorId);
+        if (ring != null) {
+            ring.push(postId);
+        }
+    }
+
+    /**
+     * Até {@code limit} posts do autor com id menor que {@code beforePostId},
+     * do mais novo para o mais antigo.
+     */
+    public long[] recent(long authorId, long beforePostId, int limit) {
+        return ring(authorId).olderThan(beforePostId, limit);
+    }
+
+    private TimelineRing ring(long authorId) {
+        TimelineRing ring = rings.get(authorId);
+        if (ring != null) {
+            return ring;
+        }
+
+        long version = versions.get(authorId);
+        TimelineRing loaded = new TimelineRing(capacity);
+        List<Long> postIds = postRepository.findIdsByAuthorIdOrderByIdDesc(authorId, Limit.of(capacity));
+        for (int i = postIds.size() - 1; i >= 0; i--) {
+            loaded.push(postIds.get(i));
+        }
+
+        if (rings.size() >= maxCachedAuthors) {
+            Eviction.evictAny(rings);
+        }
+        TimelineRing existing = rings.compute(authorId, (id, current) -> {
+            if (current != null) {
+                return current;
+            }
+            return versions.get(id) == version ? loaded : null;
+        });
+        // a carga pode ter perdido um post novo: serve esta leitura e recarrega na próxima
+        return existing != null ? existing : loaded;
+    }
+}
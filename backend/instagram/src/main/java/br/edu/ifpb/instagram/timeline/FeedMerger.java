@@ -0,0 +1,94 @@
+package br.edu.ifpb.instagram.timeline;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Merge k-way das fontes de um feed híbrido: a timeline empurrada do usuário
+ * e os posts recentes de cada conta em modo pull. Cada fonte vem ordenada do
+ * mais novo para o mais antigo (ids de post crescem com o tempo), e o heap
+ * sempre tem no máximo um cursor por fonte, então montar uma página custa
+ * O(limit log k).
+ *
+ * O resultado diz até onde cada lado foi consumido, para a próxima página
+ * continuar dali: quantas entradas da timeline saíram (a posição nela é por
+ * sequência) e o último id entregue, já que todo post puxado que sobrou é
+ * mais antigo que ele.
+ */
+public final class FeedMerger {
+
+    /**
+     * {@code fromTimeline} entradas da timeline foram consumidas, repetidas
+     * inclusive; {@code last} é o último id tirado do heap.
+     */
+    public record Page(long[] postIds, int fromTimeline, long last) { }
+
+    private FeedMerger() {
+    }
+
+    public static Page merge(long[] timeline, List<long[]> pulled, int limit) {
+        PriorityQueue<Cursor> heap = new PriorityQueue<>(pulled.size() + 1);
+        if (timeline.length > 0) {
+            heap.add(new Cursor(timeline, true));
+        }
+        for (long[] source : pulled) {
+            if (source.length > 0) {
+                heap.add(new Cursor(source, false));
+            }
+        }
+
+        long[] page = new long[limit];
+        int count = 0;
+        int fromTimeline = 0;
+        long last = Long.MAX_VALUE;
+
+        // depois de encher a página ainda tira as cópias do último post, para
+        // ele não voltar na próxima por outra fonte
+        while (!heap.isEmpty() && (count < limit || heap.peek().current() == last)) {
+            Cursor cursor = heap.poll();
+            long postId = cursor.current();
+
+            // o mesmo post pode chegar empurrado e puxado (troca de modo do autor)
+            if (postId != last) {
+                last = postId;
+                page[count++] = postId;
+            }
+            if (cursor.timeline) {
+                fromTimeline++;
+            }
+
+            if (cursor.advance()) {
+                heap.add(cursor);
+            }
+        }
+
+        return new Page(count == limit ? page : Arrays.copyOf(page, count), fromTimeline, last);
+    }
+
+    private static final class Cursor implements Comparable<Cursor> {
+
+        private final long[] postIds;
+        private final boolean timeline;
+        private int position;
+
+        Cursor(long[] postIds, boolean timeline) {
+            this.postIds = postIds;
+            this.timeline = timeline;
+        }
+
+        long current() {
+            return postIds[position];
+        }
+
+        boolean advance() {
+            return ++position < postIds.length;
+        }
+
+        // maior id primeiro
+        @Override
+        public int compareTo(Cursor other) {
+            return Long.compare(other.current(), current());
+        }
+    }
+}
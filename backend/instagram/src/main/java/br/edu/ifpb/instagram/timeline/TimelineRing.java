@@ -0,0 +1,107 @@
+package br.edu.ifpb.instagram.timeline;
+
+import java.util.Arrays;
+
+/**
+ * Ring buffer de ids de posts com capacidade fixa. Cada push recebe uma
+ * sequência crescente; a posição física é {@code seq % capacity}, então os
+ * posts mais antigos são sobrescritos quando o buffer enche.
+ */
+public class TimelineRing {
+
+    /**
+     * Posts de uma página, do mais novo para o mais antigo; o de índice
+     * {@code i} tem a sequência {@code newestSeq - i}.
+     */
+    public record Page(long newestSeq, long[] postIds) { }
+
+    private final long[] postIds;
+    private long head; // próxima sequência
+
+    public TimelineRing(int capacity) {
+        this.postIds = new long[capacity];
+    }
+
+    public synchronized long push(long postId) {
+        long seq = head++;
+        postIds[slot(seq)] = postId;
+        return seq;
+    }
+
+    /**
+     * Grava um post numa sequência já decidida fora do ring. Sequências que
+     * já saíram do buffer são ignoradas, para não sobrescrever um slot mais
+     * novo.
+     */
+    public synchronized void restore(long seq, long postId) {
+        if (seq < head - postIds.length) {
+            return;
+        }
+        postIds[slot(seq)] = postId;
+        head = Math.max(head, seq + 1);
+    }
+
+    /**
+     * Página do mais novo para o mais antigo, em O(limit).
+     */
+    public synchronized long[] page(int offset, int limit) {
+        int size = size();
+        if (offset >= size || limit <= 0) {
+            return new long[0];
+        }
+
+        int count = Math.min(limit, size - offset);
+        long[] page = new long[count];
+        for (int i = 0; i < count; i++) {
+            page[i] = postIds[slot(head - 1 - offset - i)];
+        }
+        return page;
+    }
+
+    /**
+     * Até {@code limit} posts com sequência menor que {@code beforeSeq}, do
+     * mais novo para o mais antigo. Pushes novos não mudam o que vem depois
+     * de uma sequência, então paginar por ela não repete nem pula posts.
+     */
+    public synchronized Page before(long beforeSeq, int limit) {
+        long newest = Math.min(head, beforeSeq) - 1;
+        long oldest = Math.max(0, head - postIds.length);
+        int count = (int) Math.max(0, Math.min(limit, newest - oldest + 1));
+
+        long[] page = new long[count];
+        for (int i = 0; i < count; i++) {
+            page[i] = postIds[slot(newest - i)];
+        }
+        return new Page(newest, page);
+    }
+
+    /**
+     * Até {@code limit} posts com id menor que {@code beforePostId}, do mais
+     * novo para o mais antigo, para rings em que os ids crescem com a
+     * sequência (os posts de um autor).
+     */
+    public synchronized long[] olderThan(long beforePostId, int limit) {
+        int size = size();
+        long[] page = new long[Math.min(Math.max(limit, 0), size)];
+        int count = 0;
+        for (int i = 0; i < size && count < page.length; i++) {
+            long postId = postIds[slot(head - 1 - i)];
+            if (postId < beforePostId) {
+                page[count++] = postId;
+            }
+        }
+        return count == page.length ? page : Arrays.copyOf(page, count);
+    }
+
+    public synchronized int size() {
+        return (int) Math.min(head, postIds.length);
+    }
+
+    public int capacity() {
+        return postIds.length;
+    }
+
+    int slot(long seq) {
+        return (int) (seq % postIds.length);
+    }
+}
@@ -0,0 +1,212 @@
+package br.edu.ifpb.instagram.timeline;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import br.edu.ifpb.instagram.cache.Eviction;
+import br.edu.ifpb.instagram.cache.VersionStripes;
+import br.edu.ifpb.instagram.model.entity.TimelineEntryEntity;
+import br.edu.ifpb.instagram.repository.TimelineEntryRepository;
+import br.edu.ifpb.instagram.transaction.AfterCommit;
+
+/**
+ * Timelines pré-computadas (fan-out on write), persistidas na tabela
+ * {@code timeline_entries}, com um {@link TimelineRing} por usuário lido
+ * recentemente em memória.
+ *
+ * O fan-out não lê ring nenhum: a próxima sequência de cada usuário fica em
+ * {@code timeline_heads}, e um post custa, para toda a audiência, um UPDATE em
+ * lote das cabeças, um SELECT delas por faixas de ids e a gravação em lote das
+ * entradas. O UPDATE segura o lock da linha até o commit, então dois posts
+ * para o mesmo usuário nunca recebem a mesma sequência, nem em instâncias
+ * diferentes; as cabeças são travadas em ordem de id para dois fan-outs não
+ * se esperarem em ciclo. Como a sequência sai do banco, um rollback desfaz a
+ * cabeça junto com as entradas.
+ *
+ * Os rings em memória só servem leituras. Depois do commit o post entra nos
+ * rings que já estão carregados; as versões por faixa de usuários
+ * ({@link VersionStripes}) seguem a ideia do {@code CommentThreadCache}: um
+ * ring carregado antes do commit de um push não entra no mapa depois dele.
+ */
+@Component
+public class TimelineStore {
+
+    private static final String INSERT_ENTRY =
+            "INSERT INTO timeline_entries (user_id, slot, seq, post_id) VALUES (?, ?, ?, ?)";
+    private static final String UPDATE_ENTRY =
+            "UPDATE timeline_entries SET seq = ?, post_id = ? WHERE user_id = ? AND slot = ?";
+    private static final String BUMP_HEAD = "UPDATE timeline_heads SET next_seq = next_seq + 1 WHERE user_id = ?";
+    // continua de entradas gravadas antes da tabela de cabeças existir
+    private static final String INSERT_HEAD = "INSERT INTO timeline_heads (user_id, next_seq) "
+            + "SELECT ?, COALESCE(MAX(seq), -1) + 2 FROM timeline_entries WHERE user_id = ?";
+    private static final String SELECT_HEADS = "SELECT user_id, next_seq FROM timeline_heads WHERE user_id IN (";
+
+    private static final int HEADS_PER_SELECT = 500;
+
+    private final TimelineEntryRepository timelineEntryRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final int capacity;
+    private final int maxCachedTimelines;
+
+    private final ConcurrentHashMap<Long, Entry> rings = new ConcurrentHashMap<>();
+    private final VersionStripes versions = new VersionStripes();
+
+    public TimelineStore(TimelineEntryRepository timelineEntryRepository,
+                         JdbcTemplate jdbcTemplate,
+                         @Value("${instagram.timeline.capacity:500}") int capacity,
+                         @Value("${instagram.timeline.max-cached:10000}") int maxCachedTimelines) {
+        this.timelineEntryRepository = timelineEntryRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.capacity = capacity;
+        this.maxCachedTimelines = maxCachedTimelines;
+    }
+
+    public void append(Collection<Long> userIds, long postId) {
+        List<Long> users = new ArrayList<>(new TreeSet<>(userIds));
+        if (users.isEmpty()) {
+            return;
+        }
+
+        Map<Long, Long> seqs = nextSeqs(users);
+
+        List<Object[]> inserts = new ArrayList<>();
+        List<Object[]> updates = new ArrayList<>();
+        for (Long userId : users) {
+            long seq = seqs.get(userId);
+            int slot = (int) (seq % capacity);
+            if (seq < capacity) {
+                inserts.add(new Object[] { userId, slot, seq, postId });
+            } else {
+                updates.add(new Object[] { seq, postId, userId, slot });
+            }
+        }
+        write(inserts, updates);
+
+        AfterCommit.run(() -> {
+            for (Long userId : users) {
+                // antes do get: uma carga em andamento ou já enxerga o post ou é descartada
+                versions.increment(userId);
+                Entry entry = rings.get(userId);
+                if (entry != null) {
+                    entry.ring.restore(seqs.get(userId), postId);
+                }
+            }
+        });
+    }
+
+    /**
+     * Página da timeline com sequências menores que {@code beforeSeq}; a
+     * primeira página usa {@link Long#MAX_VALUE}.
+     */
+    public TimelineRing.Page before(Long userId, long beforeSeq, int limit) {
+        return entry(userId).ring.before(beforeSeq, limit);
+    }
+
+    // a sequência que cada usuário recebe neste push, com a cabeça travada até o commit
+    private Map<Long, Long> nextSeqs(List<Long> users) {
+        List<Object[]> bumps = new ArrayList<>(users.size());
+        for (Long userId : users) {
+            bumps.add(new Object[] { userId });
+        }
+        int[] counts = jdbcTemplate.batchUpdate(BUMP_HEAD, bumps);
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == 0) {
+                createHead(users.get(i));
+            }
+        }
+
+        Map<Long, Long> seqs = new HashMap<>(users.size() * 2);
+        for (int from = 0; from < users.size(); from += HEADS_PER_SELECT) {
+            List<Long> chunk = users.subList(from, Math.min(users.size(), from + HEADS_PER_SELECT));
+            String sql = SELECT_HEADS + String.join(", ", Collections.nCopies(chunk.size(), "?")) + ")";
+            jdbcTemplate.query(sql, rs -> {
+                seqs.put(rs.getLong(1), rs.getLong(2) - 1);
+            }, chunk.toArray());
+        }
+        return seqs;
+    }
+
+    private void createHead(Long userId) {
+        try {
+            jdbcTemplate.update(INSERT_HEAD, userId, userId);
+        } catch (DuplicateKeyException e) {
+            // outro push criou a cabeça entre o update e o insert
+            jdbcTemplate.update(BUMP_HEAD, userId);
+        }
+    }
+
+    private void write(List<Object[]> inserts, List<Object[]> updates) {
+        if (!inserts.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_ENTRY, inserts);
+        }
+        if (updates.isEmpty()) {
+            return;
+        }
+
+        // o slot pode estar vazio se as entradas forem apagadas sem a cabeça
+        int[] counts = jdbcTemplate.batchUpdate(UPDATE_ENTRY, updates);
+        List<Object[]> missing = new ArrayList<>();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == 0) {
+                Object[] row = updates.get(i);
+                missing.add(new Object[] { row[2], row[3], row[0], row[1] });
+            }
+        }
+        if (!missing.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_ENTRY, missing);
+        }
+    }
+
+    private Entry entry(Long userId) {
+        Entry entry = rings.get(userId);
+        if (entry != null) {
+            entry.lastAccess = System.nanoTime();
+            return entry;
+        }
+
+        // carrega fora do map para não segurar o lock do bin durante a consulta
+        long version = versions.get(userId);
+        Entry loaded = new Entry(load(userId));
+        if (rings.size() >= maxCachedTimelines) {
+            Eviction.evictLeastRecent(rings, cached -> cached.lastAccess, cached -> true);
+        }
+        Entry existing = rings.compute(userId, (id, current) -> {
+            if (current != null) {
+                return current;
+            }
+            // um push terminou durante a consulta: a carga pode não ter a sequência dele
+            return versions.get(id) == version ? loaded : null;
+        });
+        // a carga ainda vale para esta leitura; a próxima carrega de novo
+        return existing != null ? existing : loaded;
+    }
+
+    private TimelineRing load(Long userId) {
+        TimelineRing ring = new TimelineRing(capacity);
+        for (TimelineEntryEntity entry : timelineEntryRepository.findByIdUserIdOrderBySeqAsc(userId)) {
+            ring.restore(entry.getSeq(), entry.getPostId());
+        }
+        return ring;
+    }
+
+    private static final class Entry {
+
+        final TimelineRing ring;
+        volatile long lastAccess = System.nanoTime();
+
+        Entry(TimelineRing ring) {
+            this.ring = ring;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package br.edu.ifpb.instagram.trending;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Count-Min Sketch de strings: {@code depth} linhas de {@code width}
+ * contadores. A estimativa nunca fica abaixo da contagem real e passa dela
+ * em no máximo {@code e / width} do total com probabilidade
+ * {@code 1 - e^-depth}, com memória fixa qualquer que seja o número de
+ * chaves distintas.
+ *
+ * O sketch é linear: somar e subtrair sketches de mesmas dimensões equivale
+ * a somar e subtrair as contagens, o que permite manter a soma de uma janela
+ * deslizante sem recontar os buckets dela.
+ *
+ * Não é thread-safe.
+ */
+public final class CountMinSketch {
+
+    private final int depth;
+    private final int width;
+    private final int[] counters;
+
+    public CountMinSketch(int depth, int width) {
+        if (depth <= 0 || width <= 0) {
+            throw new IllegalArgumentException("Depth and width must be positive");
+        }
+        this.depth = depth;
+        this.width = width;
+        this.counters = new int[depth * width];
+    }
+
+    public int depth() {
+        return depth;
+    }
+
+    public int width() {
+        return width;
+    }
+
+    public void add(String key, int count) {
+        long hash = hash(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        for (int row = 0; row < depth; row++) {
+            counters[row * width + Math.floorMod(h1 + row * h2, width)] += count;
+        }
+    }
+
+    public int estimate(String key) {
+        long hash = hash(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        int min = Integer.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            min = Math.min(min, counters[row * width + Math.floorMod(h1 + row * h2, width)]);
+        }
+        return min;
+    }
+
+    public void addAll(CountMinSketch other) {
+        checkShape(other);
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] += other.counters[i];
+        }
+    }
+
+    public void subtractAll(CountMinSketch other) {
+        checkShape(other);
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] -= other.counters[i];
+        }
+    }
+
+    public void clear() {
+        Arrays.fill(counters, 0);
+    }
+
+    public void writeTo(DataOutput output) throws IOException {
+        for (int counter : counters) {
+            output.writeInt(counter);
+        }
+    }
+
+    public void readFrom(DataInput input) throws IOException {
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] = input.readInt();
+        }
+    }
+
+    private void checkShape(CountMinSketch other) {
+        if (other.depth != depth || other.width != width) {
+            throw new IllegalArgumentException("Sketches must have the same dimensions");
+        }
+    }
+
+    // FNV-1a de 64 bits; as linhas usam h1 + i * h2 (Kirsch-Mitzenmacher)
+    private static long hash(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            hash ^= key.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash ^ (hash >>> 29);
+    }
+}
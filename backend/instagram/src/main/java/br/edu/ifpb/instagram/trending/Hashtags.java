@@ -0,0 +1,34 @@
+package br.edu.ifpb.instagram.trending;
+
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Extrai as hashtags de legendas, em minúsculas e sem o {@code #}.
+ */
+public final class Hashtags {
+
+    // mesmo limite do Instagram por legenda
+    public static final int MAX_HASHTAGS = 30;
+
+    private static final Pattern HASHTAG = Pattern.compile("(?<![\\p{L}\\p{N}_#&])#(\\p{L}[\\p{L}\\p{N}_]{0,99})");
+
+    private Hashtags() {
+    }
+
+    public static Set<String> parse(String text) {
+        Set<String> hashtags = new LinkedHashSet<>();
+        if (text == null || text.indexOf('#') < 0) {
+            return hashtags;
+        }
+
+        Matcher matcher = HASHTAG.matcher(text);
+        while (matcher.find() && hashtags.size() < MAX_HASHTAGS) {
+            hashtags.add(matcher.group(1).toLowerCase(Locale.ROOT));
+        }
+        return hashtags;
+    }
+}
@@ -0,0 +1,347 @@
+package br.edu.ifpb.instagram.trending;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import br.edu.ifpb.instagram.model.dto.TrendingDto;
+import br.edu.ifpb.instagram.model.dto.TrendingHashtagDto;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Hashtags mais usadas numa janela deslizante, agregadas em stream a cada
+ * post criado.
+ *
+ * A janela é um anel de {@code window-buckets} buckets de {@code bucket},
+ * cada um com um {@link CountMinSketch}; um sketch extra guarda a soma da
+ * janela, e o bucket que sai é subtraído dela. O top-K vem de um conjunto
+ * limitado de candidatos: uma hashtag entra quando a estimativa dela passa a
+ * do candidato mais fraco. A cada {@code refresh-interval} os candidatos são
+ * reestimados e o ranking é publicado como um {@link TrendingDto} imutável,
+ * trocado de uma vez; {@link #current()} não pega lock nem calcula nada.
+ *
+ * Os buckets e os candidatos são gravados em {@code snapshot-path} a cada
+ * {@code snapshot-interval} e no desligamento. Na subida o snapshot é lido de
+ * volta e os buckets que já saíram da janela são descartados.
+ */
+@Component
+public class TrendingAggregator implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(TrendingAggregator.class);
+
+    private static final int SNAPSHOT_MAGIC = 0x54524e44;
+    private static final int SNAPSHOT_VERSION = 1;
+    // folga para uma hashtag em ascensão ainda estar entre os candidatos
+    private static final int CANDIDATES_PER_POSITION = 10;
+
+    private final long bucketMillis;
+    private final int windowBuckets;
+    private final int topK;
+    private final int maxCandidates;
+    private final Duration refreshInterval;
+    private final Duration snapshotInterval;
+    private final Path snapshotPath;
+
+    private final Object lock = new Object();
+    private final CountMinSketch[] buckets;
+    private final CountMinSketch window;
+    private long currentBucket;
+    private final Map<String, Integer> candidates = new HashMap<>();
+
+    private volatile TrendingDto current = new TrendingDto(Instant.now(), List.of());
+
+    private ScheduledExecutorService scheduler;
+
+    public TrendingAggregator(@Value("${instagram.trending.bucket:5m}") Duration bucket,
+                              @Value("${instagram.trending.window-buckets:12}") int windowBuckets,
+                              @Value("${instagram.trending.top-k:10}") int topK,
+                              @Value("${instagram.trending.sketch-depth:4}") int sketchDepth,
+                              @Value("${instagram.trending.sketch-width:4096}") int sketchWidth,
+                              @Value("${instagram.trending.refresh-interval:10s}") Duration refreshInterval,
+                              @Value("${instagram.trending.snapshot-interval:1m}") Duration snapshotInterval,
+                              @Value("${instagram.trending.snapshot-path:}") String snapshotPath) {
+        if (bucket.toMillis() <= 0 || windowBuckets <= 0 || topK <= 0) {
+            throw new IllegalArgumentException("Bucket, window and top-k must be positive");
+        }
+        this.bucketMillis = bucket.toMillis();
+        this.windowBuckets = windowBuckets;
+        this.topK = topK;
+        this.maxCandidates = topK * CANDIDATES_PER_POSITION;
+        this.refreshInterval = refreshInterval;
+        this.snapshotInterval = snapshotInterval;
+        this.snapshotPath = snapshotPath.isBlank() ? null : Path.of(snapshotPath);
+
+        this.buckets = new CountMinSketch[windowBuckets];
+        for (int i = 0; i < windowBuckets; i++) {
+            buckets[i] = new CountMinSketch(sketchDepth, sketchWidth);
+        }
+        this.window = new CountMinSketch(sketchDepth, sketchWidth);
+        this.currentBucket = System.currentTimeMillis() / bucketMillis;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        loadSnapshot();
+        refresh(Instant.now());
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "trending-aggregator");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (refreshInterval.toMillis() > 0) {
+            long millis = refreshInterval.toMillis();
+            scheduler.scheduleWithFixedDelay(this::refreshQuietly, millis, millis, TimeUnit.MILLISECONDS);
+        }
+        if (snapshotPath != null && snapshotInterval.toMillis() > 0) {
+            long millis = snapshotInterval.toMillis();
+            scheduler.scheduleWithFixedDelay(this::saveSnapshotQuietly, millis, millis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Conta as hashtags de um post criado em {@code createdAt}. Deve ser
+     * chamado depois do commit.
+     */
+    public void record(Collection<String> hashtags, Instant createdAt) {
+        if (hashtags.isEmpty()) {
+            return;
+        }
+
+        long bucketIndex = createdAt.toEpochMilli() / bucketMillis;
+        synchronized (lock) {
+            advanceTo(bucketIndex);
+            if (bucketIndex <= currentBucket - windowBuckets) {
+                return;
+            }
+
+            CountMinSketch bucket = buckets[slot(bucketIndex)];
+            for (String hashtag : hashtags) {
+                bucket.add(hashtag, 1);
+                window.add(hashtag, 1);
+                offerCandidate(hashtag, window.estimate(hashtag));
+            }
+        }
+    }
+
+    /**
+     * Estimativa de usos de {@code hashtag} na janela atual; nunca abaixo do
+     * valor real.
+     */
+    public int estimate(String hashtag) {
+        synchronized (lock) {
+            return window.estimate(hashtag);
+        }
+    }
+
+    /**
+     * Último ranking publicado.
+     */
+    public TrendingDto current() {
+        return current;
+    }
+
+    /**
+     * Fecha a janela em {@code now}, reestima os candidatos e publica o novo
+     * ranking.
+     */
+    public TrendingDto refresh(Instant now) {
+        List<TrendingHashtagDto> top;
+        synchronized (lock) {
+            advanceTo(now.toEpochMilli() / bucketMillis);
+            candidates.replaceAll((hashtag, count) -> window.estimate(hashtag));
+            candidates.values().removeIf(count -> count <= 0);
+
+            top = candidates.entrySet().stream()
+                    .sorted(Map.Entry.<String, Integer>comparingByValue(Comparator.reverseOrder())
+                            .thenComparing(Map.Entry.comparingByKey()))
+                    .limit(topK)
+                    .map(entry -> new TrendingHashtagDto(entry.getKey(), entry.getValue()))
+                    .toList();
+        }
+
+        TrendingDto published = new TrendingDto(now, top);
+        current = published;
+        return published;
+    }
+
+    /**
+     * Grava o estado em {@code snapshot-path}, trocando o arquivo anterior
+     * só depois de o novo estar completo.
+     */
+    public void saveSnapshot() throws IOException {
+        if (snapshotPath == null) {
+            return;
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            synchronized (lock) {
+                output.writeInt(SNAPSHOT_MAGIC);
+                output.writeInt(SNAPSHOT_VERSION);
+                output.writeLong(bucketMillis);
+                output.writeInt(windowBuckets);
+                output.writeInt(window.depth());
+                output.writeInt(window.width());
+                output.writeLong(currentBucket);
+                for (CountMinSketch bucket : buckets) {
+                    bucket.writeTo(output);
+                }
+                output.writeInt(candidates.size());
+                for (String hashtag : candidates.keySet()) {
+                    output.writeUTF(hashtag);
+                }
+            }
+        }
+
+        Path parent = snapshotPath.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temporary = Files.createTempFile(parent, snapshotPath.getFileName().toString(), ".tmp");
+        try {
+            Files.write(temporary, bytes.toByteArray());
+            Files.move(temporary, snapshotPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    /**
+     * Lê o snapshot gravado por {@link #saveSnapshot()}. Um arquivo com outro
+     * formato ou dimensões é ignorado e a agregação recomeça do zero.
+     */
+    boolean loadSnapshot() {
+        if (snapshotPath == null) {
+            return false;
+        }
+
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(snapshotPath)))) {
+            if (input.readInt() != SNAPSHOT_MAGIC || input.readInt() != SNAPSHOT_VERSION
+                    || input.readLong() != bucketMillis || input.readInt() != windowBuckets
+                    || input.readInt() != window.depth() || input.readInt() != window.width()) {
+                log.info("Ignoring trending snapshot {} written with another layout", snapshotPath);
+                return false;
+            }
+
+            synchronized (lock) {
+                try {
+                    currentBucket = input.readLong();
+                    window.clear();
+                    for (CountMinSketch bucket : buckets) {
+                        bucket.readFrom(input);
+                        window.addAll(bucket);
+                    }
+                    candidates.clear();
+                    int count = input.readInt();
+                    for (int i = 0; i < count; i++) {
+                        candidates.put(input.readUTF(), 0);
+                    }
+                } catch (IOException e) {
+                    clear();
+                    throw e;
+                }
+            }
+            log.info("Trending state restored from {}", snapshotPath);
+            return true;
+        } catch (NoSuchFileException e) {
+            return false;
+        } catch (IOException e) {
+            log.warn("Failed to read trending snapshot {}", snapshotPath, e);
+            return false;
+        }
+    }
+
+    // bucketIndex passa a ser o mais novo; os que saem da janela são
+    // subtraídos da soma e zerados para reuso
+    private void advanceTo(long bucketIndex) {
+        if (bucketIndex <= currentBucket) {
+            return;
+        }
+
+        long expired = Math.min(bucketIndex - currentBucket, windowBuckets);
+        for (long index = bucketIndex - expired + 1; index <= bucketIndex; index++) {
+            CountMinSketch bucket = buckets[slot(index)];
+            window.subtractAll(bucket);
+            bucket.clear();
+        }
+        currentBucket = bucketIndex;
+    }
+
+    private void offerCandidate(String hashtag, int estimate) {
+        if (candidates.containsKey(hashtag) || candidates.size() < maxCandidates) {
+            candidates.put(hashtag, estimate);
+            return;
+        }
+
+        String weakest = null;
+        int weakestCount = Integer.MAX_VALUE;
+        for (Map.Entry<String, Integer> candidate : candidates.entrySet()) {
+            if (candidate.getValue() < weakestCount) {
+                weakestCount = candidate.getValue();
+                weakest = candidate.getKey();
+            }
+        }
+        if (estimate > weakestCount) {
+            candidates.remove(weakest);
+            candidates.put(hashtag, estimate);
+        }
+    }
+
+    private void clear() {
+        for (CountMinSketch bucket : buckets) {
+            bucket.clear();
+        }
+        window.clear();
+        candidates.clear();
+        currentBucket = System.currentTimeMillis() / bucketMillis;
+    }
+
+    private int slot(long bucketIndex) {
+        return (int) Math.floorMod(bucketIndex, (long) windowBuckets);
+    }
+
+    private void refreshQuietly() {
+        try {
+            refresh(Instant.now());
+        } catch (RuntimeException e) {
+            log.warn("Failed to refresh trending hashtags", e);
+        }
+    }
+
+    private void saveSnapshotQuietly() {
+        try {
+            saveSnapshot();
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failed to write trending snapshot {}", snapshotPath, e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        saveSnapshotQuietly();
+    }
+}
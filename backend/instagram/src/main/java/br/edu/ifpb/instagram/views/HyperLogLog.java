@@ -0,0 +1,296 @@
+package br.edu.ifpb.instagram.views;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * HyperLogLog com {@value #PRECISION} bits de índice: {@code 2^13}
+ * registradores de 6 bits (6 KB) e erro padrão de ~1,15% qualquer que seja
+ * o número de elementos distintos.
+ *
+ * Enquanto poucos registradores foram tocados o sketch fica esparso: um
+ * {@code int[]} ordenado com (índice, valor) dos registradores não zerados,
+ * que vira a forma densa ao passar de {@link #SPARSE_LIMIT} entradas. Um
+ * perfil com poucas visitas no dia ocupa algumas dezenas de bytes.
+ *
+ * A estimativa usa o estimador de Ertl ("New cardinality estimation
+ * algorithms for HyperLogLog sketches", 2017), calculado sobre o histograma
+ * dos registradores, que não precisa da tabela de correção de viés do
+ * HyperLogLog++ nem da troca para linear counting em cardinalidades baixas.
+ *
+ * Não é thread-safe.
+ */
+public final class HyperLogLog {
+
+    static final int PRECISION = 13;
+    static final int REGISTERS = 1 << PRECISION;
+    static final int SPARSE_LIMIT = REGISTERS / 16;
+
+    private static final int REGISTER_BITS = 6;
+    private static final int REGISTER_MASK = (1 << REGISTER_BITS) - 1;
+    // maior valor de registrador: zeros à esquerda nos 64 - p bits restantes, mais um
+    private static final int MAX_RANK = 64 - PRECISION + 1;
+    private static final double ALPHA_INFINITY = 1 / (2 * Math.log(2));
+
+    private static final byte SPARSE = 1;
+    private static final byte DENSE = 2;
+
+    // esparso: índice << 6 | valor, em ordem de índice
+    private int[] sparse = new int[4];
+    private int sparseSize;
+    private long[] dense;
+
+    public HyperLogLog() {
+    }
+
+    /**
+     * Registra um elemento e diz se algum registrador mudou; quando não
+     * muda, a estimativa também não muda.
+     */
+    public boolean add(String value) {
+        return addHash(hash(value));
+    }
+
+    boolean addHash(long hash) {
+        int index = (int) (hash >>> (64 - PRECISION));
+        int rank = Long.numberOfLeadingZeros((hash << PRECISION) | (1L << (PRECISION - 1))) + 1;
+        return raise(index, rank);
+    }
+
+    /**
+     * Une {@code other} a este sketch: a estimativa passa a ser a da união
+     * dos dois conjuntos.
+     */
+    public void merge(HyperLogLog other) {
+        if (other.dense == null) {
+            for (int i = 0; i < other.sparseSize; i++) {
+                raise(other.sparse[i] >>> REGISTER_BITS, other.sparse[i] & REGISTER_MASK);
+            }
+            return;
+        }
+
+        if (dense == null) {
+            toDense();
+        }
+        for (int index = 0; index < REGISTERS; index++) {
+            int rank = get(other.dense, index);
+            if (rank > get(dense, index)) {
+                set(dense, index, rank);
+            }
+        }
+    }
+
+    public long estimate() {
+        int[] histogram = new int[MAX_RANK + 1];
+        if (dense == null) {
+            histogram[0] = REGISTERS - sparseSize;
+            for (int i = 0; i < sparseSize; i++) {
+                histogram[sparse[i] & REGISTER_MASK]++;
+            }
+        } else {
+            for (int index = 0; index < REGISTERS; index++) {
+                histogram[get(dense, index)]++;
+            }
+        }
+
+        double m = REGISTERS;
+        double z = m * tau(1 - histogram[MAX_RANK] / m);
+        for (int rank = MAX_RANK - 1; rank >= 1; rank--) {
+            z = 0.5 * (z + histogram[rank]);
+        }
+        z += m * sigma(histogram[0] / m);
+        return Math.round(ALPHA_INFINITY * m * m / z);
+    }
+
+    public HyperLogLog copy() {
+        HyperLogLog copy = new HyperLogLog();
+        copy.sparse = Arrays.copyOf(sparse, Math.max(4, sparseSize));
+        copy.sparseSize = sparseSize;
+        copy.dense = dense == null ? null : dense.clone();
+        return copy;
+    }
+
+    public boolean isSparse() {
+        return dense == null;
+    }
+
+    public byte[] toBytes() {
+        if (dense == null) {
+            ByteBuffer buffer = ByteBuffer.allocate(1 + Integer.BYTES + sparseSize * Integer.BYTES);
+            buffer.put(SPARSE).putInt(sparseSize);
+            for (int i = 0; i < sparseSize; i++) {
+                buffer.putInt(sparse[i]);
+            }
+            return buffer.array();
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(1 + dense.length * Long.BYTES);
+        buffer.put(DENSE);
+        for (long word : dense) {
+            buffer.putLong(word);
+        }
+        return buffer.array();
+    }
+
+    public static HyperLogLog fromBytes(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        HyperLogLog sketch = new HyperLogLog();
+        byte kind = buffer.get();
+        if (kind == SPARSE) {
+            int size = buffer.getInt();
+            if (size < 0 || size > SPARSE_LIMIT || buffer.remaining() != size * Integer.BYTES) {
+                throw new IllegalArgumentException("Corrupted sparse sketch");
+            }
+            sketch.sparse = new int[Math.max(4, size)];
+            for (int i = 0; i < size; i++) {
+                sketch.sparse[i] = buffer.getInt();
+            }
+            sketch.sparseSize = size;
+        } else if (kind == DENSE) {
+            if (buffer.remaining() != denseWords() * Long.BYTES) {
+                throw new IllegalArgumentException("Corrupted dense sketch");
+            }
+            sketch.dense = new long[denseWords()];
+            for (int i = 0; i < sketch.dense.length; i++) {
+                sketch.dense[i] = buffer.getLong();
+            }
+        } else {
+            throw new IllegalArgumentException("Unknown sketch kind " + kind);
+        }
+        return sketch;
+    }
+
+    private boolean raise(int index, int rank) {
+        if (dense != null) {
+            if (rank <= get(dense, index)) {
+                return false;
+            }
+            set(dense, index, rank);
+            return true;
+        }
+
+        int position = sparseSearch(index);
+        if (position >= 0) {
+            if (rank <= (sparse[position] & REGISTER_MASK)) {
+                return false;
+            }
+            sparse[position] = index << REGISTER_BITS | rank;
+            return true;
+        }
+
+        if (sparseSize == SPARSE_LIMIT) {
+            toDense();
+            set(dense, index, rank);
+            return true;
+        }
+        position = -(position + 1);
+        if (sparseSize == sparse.length) {
+            sparse = Arrays.copyOf(sparse, Math.min(SPARSE_LIMIT, sparseSize * 2));
+        }
+        System.arraycopy(sparse, position, sparse, position + 1, sparseSize - position);
+        sparse[position] = index << REGISTER_BITS | rank;
+        sparseSize++;
+        return true;
+    }
+
+    private int sparseSearch(int index) {
+        int low = 0;
+        int high = sparseSize - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int middleIndex = sparse[middle] >>> REGISTER_BITS;
+            if (middleIndex < index) {
+                low = middle + 1;
+            } else if (middleIndex > index) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -(low + 1);
+    }
+
+    private void toDense() {
+        dense = new long[denseWords()];
+        for (int i = 0; i < sparseSize; i++) {
+            set(dense, sparse[i] >>> REGISTER_BITS, sparse[i] & REGISTER_MASK);
+        }
+        sparse = new int[0];
+        sparseSize = 0;
+    }
+
+    private static int denseWords() {
+        return REGISTERS * REGISTER_BITS / Long.SIZE;
+    }
+
+    // registradores de 6 bits empacotados; um registrador pode atravessar duas palavras
+    private static int get(long[] words, int index) {
+        int bit = index * REGISTER_BITS;
+        int word = bit >>> 6;
+        int offset = bit & 63;
+        long value = words[word] >>> offset;
+        if (offset > 64 - REGISTER_BITS) {
+            value |= words[word + 1] << (64 - offset);
+        }
+        return (int) (value & REGISTER_MASK);
+    }
+
+    private static void set(long[] words, int index, int rank) {
+        int bit = index * REGISTER_BITS;
+        int word = bit >>> 6;
+        int offset = bit & 63;
+        words[word] = (words[word] & ~((long) REGISTER_MASK << offset)) | ((long) rank << offset);
+        if (offset > 64 - REGISTER_BITS) {
+            int spilled = offset + REGISTER_BITS - 64;
+            words[word + 1] = (words[word + 1] & -(1L << spilled)) | ((long) rank >>> (64 - offset));
+        }
+    }
+
+    private static double sigma(double x) {
+        if (x == 1) {
+            return Double.POSITIVE_INFINITY;
+        }
+        double y = 1;
+        double z = x;
+        double previous;
+        do {
+            x *= x;
+            previous = z;
+            z += x * y;
+            y += y;
+        } while (z != previous);
+        return z;
+    }
+
+    private static double tau(double x) {
+        if (x == 0 || x == 1) {
+            return 0;
+        }
+        double y = 1;
+        double z = 1 - x;
+        double previous;
+        do {
+            x = Math.sqrt(x);
+            previous = z;
+            y *= 0.5;
+            z -= (1 - x) * (1 - x) * y;
+        } while (z != previous);
+        return z / 3;
+    }
+
+    // FNV-1a de 64 bits seguido do finalizador do MurmurHash3: o HyperLogLog
+    // depende dos bits altos e dos zeros à esquerda, que o FNV sozinho não espalha bem
+    static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,332 @@
+package br.edu.ifpb.instagram.views;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.edu.ifpb.instagram.cache.UserResponseCache;
+import br.edu.ifpb.instagram.model.dto.ProfileViewsDto;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Visitantes únicos de cada perfil no dia, nos últimos 7 e nos últimos 30
+ * dias, estimados com um {@link HyperLogLog} por perfil e por dia (UTC).
+ *
+ * Uma visita só atualiza o sketch do dia em memória; a cada
+ * {@code flush-interval} os sketches alterados são regravados na tabela
+ * {@code profile_view_sketches} em lote. O banco só é lido na primeira vez
+ * que um perfil aparece no dia (para continuar o sketch gravado antes de um
+ * restart), na gravação e para montar as janelas.
+ *
+ * Várias instâncias gravam a mesma linha, então a gravação não sobrescreve:
+ * numa transação, cada linha é lida com {@code FOR UPDATE}, unida ao sketch
+ * em memória (a união de HyperLogLogs é o máximo de cada registrador, então
+ * repetir não conta duas vezes) e regravada. As linhas são travadas sempre na
+ * mesma ordem, e o sketch em memória passa a incluir os visitantes vistos
+ * pelas outras instâncias.
+ *
+ * As janelas de 7 e 30 dias são a união do sketch de hoje com a dos dias
+ * anteriores, que não mudam mais depois que o dia vira; essa união dos dias
+ * fechados é calculada uma vez por perfil e por dia e guardada para até
+ * {@code max-cached-windows} perfis. Sketches com mais de 30 dias são
+ * apagados na primeira gravação de cada dia.
+ *
+ * Os totais vão junto na resposta cacheada de {@code GET /users/{id}}. A
+ * visita não mexe no cache: a gravação descarta as respostas dos perfis que
+ * mudaram, então um perfil visitado sem parar sai do cache no máximo uma vez
+ * por {@code flush-interval}, e os totais servidos atrasam no máximo isso.
+ */
+@Component
+public class ProfileViewCounters implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(ProfileViewCounters.class);
+
+    private static final int WEEK_DAYS = 7;
+    private static final int MONTH_DAYS = 30;
+
+    private static final String SELECT_SKETCH =
+            "SELECT sketch FROM profile_view_sketches WHERE user_id = ? AND view_day = ?";
+    private static final String SELECT_SKETCH_FOR_UPDATE = SELECT_SKETCH + " FOR UPDATE";
+    private static final String SELECT_RANGE =
+            "SELECT view_day, sketch FROM profile_view_sketches WHERE user_id = ? AND view_day >= ? AND view_day < ?";
+    private static final String UPDATE_SKETCH =
+            "UPDATE profile_view_sketches SET sketch = ? WHERE user_id = ? AND view_day = ?";
+    private static final String INSERT_SKETCH =
+            "INSERT INTO profile_view_sketches (user_id, view_day, sketch) VALUES (?, ?, ?)";
+    private static final String DELETE_EXPIRED = "DELETE FROM profile_view_sketches WHERE view_day < ?";
+    private static final String DELETE_USER = "DELETE FROM profile_view_sketches WHERE user_id = ?";
+
+    private record SketchKey(long userId, LocalDate day) { }
+
+    // ordem em que as linhas são travadas na gravação, igual em todas as instâncias
+    private static final Comparator<SketchKey> LOCK_ORDER =
+            Comparator.comparingLong(SketchKey::userId).thenComparing(SketchKey::day);
+
+    // união dos dias anteriores a {@code today}, nas duas janelas
+    private record ClosedDays(LocalDate today, HyperLogLog week, HyperLogLog month) { }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final UserResponseCache userResponseCache;
+    private final Duration flushInterval;
+    private final int maxCachedWindows;
+
+    private final Map<SketchKey, HyperLogLog> sketches = new ConcurrentHashMap<>();
+    private final Set<SketchKey> dirty = ConcurrentHashMap.newKeySet();
+    private final Map<Long, ClosedDays> closedDays = new LinkedHashMap<>(16, 0.75f, true);
+
+    private volatile LocalDate expiredBefore;
+    private ScheduledExecutorService flusher;
+
+    public ProfileViewCounters(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                               UserResponseCache userResponseCache,
+                               @Value("${instagram.views.flush-interval:10s}") Duration flushInterval,
+                               @Value("${instagram.views.max-cached-windows:10000}") int maxCachedWindows) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.userResponseCache = userResponseCache;
+        this.flushInterval = flushInterval;
+        this.maxCachedWindows = maxCachedWindows;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (flushInterval.toMillis() <= 0) {
+            return;
+        }
+
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "profile-view-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long millis = flushInterval.toMillis();
+        flusher.scheduleWithFixedDelay(this::flushQuietly, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Registra que {@code viewer} visitou o perfil hoje e diz se a
+     * estimativa de algum total pode ter mudado. Visitas repetidas do mesmo
+     * visitante nunca mudam.
+     */
+    public boolean record(long userId, String viewer) {
+        return record(userId, viewer, today());
+    }
+
+    boolean record(long userId, String viewer, LocalDate day) {
+        SketchKey key = new SketchKey(userId, day);
+        HyperLogLog sketch = sketch(key);
+        boolean changed;
+        synchronized (sketch) {
+            changed = sketch.add(viewer);
+        }
+        if (changed) {
+            dirty.add(key);
+        }
+        return changed;
+    }
+
+    public ProfileViewsDto stats(long userId) {
+        return stats(userId, today());
+    }
+
+    ProfileViewsDto stats(long userId, LocalDate today) {
+        ClosedDays closed = closedDays(userId, today);
+        HyperLogLog week = closed.week().copy();
+        HyperLogLog month = closed.month().copy();
+
+        HyperLogLog current = sketch(new SketchKey(userId, today));
+        long todayEstimate;
+        synchronized (current) {
+            week.merge(current);
+            month.merge(current);
+            todayEstimate = current.estimate();
+        }
+        return new ProfileViewsDto(todayEstimate, week.estimate(), month.estimate());
+    }
+
+    /**
+     * Grava os sketches alterados desde a última chamada e devolve quantos
+     * foram, descartando as respostas cacheadas desses perfis. Sketches de
+     * dias anteriores saem da memória depois de gravados.
+     */
+    public int flush() {
+        LocalDate today = today();
+        List<SketchKey> keys = new ArrayList<>(dirty);
+        // sai da fila antes de serializar: uma visita no meio marca de novo
+        dirty.removeAll(keys);
+        keys.sort(LOCK_ORDER);
+
+        // os totais em memória já mudaram, mesmo que a gravação falhe
+        long previous = -1;
+        for (SketchKey key : keys) {
+            if (key.userId() != previous) {
+                userResponseCache.invalidate(key.userId());
+                previous = key.userId();
+            }
+        }
+
+        if (!keys.isEmpty()) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> write(keys));
+            } catch (RuntimeException e) {
+                // duas instâncias inserindo a mesma linha nova, por exemplo: a
+                // próxima rodada já encontra a linha e une os sketches
+                dirty.addAll(keys);
+                throw e;
+            }
+        }
+
+        sketches.keySet().removeIf(key -> key.day().isBefore(today) && !dirty.contains(key));
+
+        LocalDate oldest = today.minusDays(MONTH_DAYS - 1);
+        if (!oldest.equals(expiredBefore)) {
+            int expired = jdbcTemplate.update(DELETE_EXPIRED, oldest);
+            expiredBefore = oldest;
+            log.debug("Deleted {} expired profile view sketches", expired);
+        }
+        return keys.size();
+    }
+
+    private void write(List<SketchKey> keys) {
+        List<Object[]> updates = new ArrayList<>(keys.size());
+        List<Object[]> inserts = new ArrayList<>();
+        for (SketchKey key : keys) {
+            HyperLogLog sketch = sketches.get(key);
+            if (sketch == null) {
+                continue;
+            }
+            List<byte[]> stored = jdbcTemplate.query(SELECT_SKETCH_FOR_UPDATE, (rs, row) -> rs.getBytes(1),
+                    key.userId(), key.day());
+            byte[] bytes;
+            synchronized (sketch) {
+                if (!stored.isEmpty()) {
+                    sketch.merge(HyperLogLog.fromBytes(stored.get(0)));
+                }
+                bytes = sketch.toBytes();
+            }
+            if (stored.isEmpty()) {
+                inserts.add(new Object[] { key.userId(), key.day(), bytes });
+            } else {
+                updates.add(new Object[] { bytes, key.userId(), key.day() });
+            }
+        }
+
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_SKETCH, updates);
+        }
+        if (!inserts.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SKETCH, inserts);
+        }
+    }
+
+    /**
+     * Descarta as visitas de um usuário removido.
+     */
+    public void removeUser(long userId) {
+        sketches.keySet().removeIf(key -> key.userId() == userId);
+        dirty.removeIf(key -> key.userId() == userId);
+        synchronized (closedDays) {
+            closedDays.remove(userId);
+        }
+        jdbcTemplate.update(DELETE_USER, userId);
+    }
+
+    // o sketch do dia em memória, continuando o que já foi gravado
+    private HyperLogLog sketch(SketchKey key) {
+        HyperLogLog sketch = sketches.get(key);
+        if (sketch != null) {
+            return sketch;
+        }
+
+        List<byte[]> stored = jdbcTemplate.query(SELECT_SKETCH, (rs, row) -> rs.getBytes(1), key.userId(), key.day());
+        HyperLogLog loaded = stored.isEmpty() ? new HyperLogLog() : HyperLogLog.fromBytes(stored.get(0));
+        HyperLogLog previous = sketches.putIfAbsent(key, loaded);
+        return previous != null ? previous : loaded;
+    }
+
+    private ClosedDays closedDays(long userId, LocalDate today) {
+        synchronized (closedDays) {
+            ClosedDays cached = closedDays.get(userId);
+            if (cached != null && cached.today().equals(today)) {
+                return cached;
+            }
+        }
+
+        LocalDate weekStart = today.minusDays(WEEK_DAYS - 1);
+        Map<LocalDate, HyperLogLog> days = new HashMap<>();
+        jdbcTemplate.query(SELECT_RANGE, rs -> {
+            days.put(rs.getObject(1, LocalDate.class), HyperLogLog.fromBytes(rs.getBytes(2)));
+        }, userId, today.minusDays(MONTH_DAYS - 1), today);
+        // dias anteriores ainda não gravados (a virada do dia acabou de acontecer)
+        for (Map.Entry<SketchKey, HyperLogLog> entry : sketches.entrySet()) {
+            SketchKey key = entry.getKey();
+            if (key.userId() == userId && key.day().isBefore(today)) {
+                synchronized (entry.getValue()) {
+                    days.put(key.day(), entry.getValue().copy());
+                }
+            }
+        }
+
+        HyperLogLog week = new HyperLogLog();
+        HyperLogLog month = new HyperLogLog();
+        for (Map.Entry<LocalDate, HyperLogLog> entry : days.entrySet()) {
+            if (entry.getKey().isBefore(today.minusDays(MONTH_DAYS - 1))) {
+                continue;
+            }
+            month.merge(entry.getValue());
+            if (!entry.getKey().isBefore(weekStart)) {
+                week.merge(entry.getValue());
+            }
+        }
+
+        ClosedDays computed = new ClosedDays(today, week, month);
+        synchronized (closedDays) {
+            closedDays.put(userId, computed);
+            if (closedDays.size() > maxCachedWindows) {
+                Long eldest = closedDays.keySet().iterator().next();
+                closedDays.remove(eldest);
+            }
+        }
+        return computed;
+    }
+
+    private static LocalDate today() {
+        return LocalDate.now(ZoneOffset.UTC);
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.warn("Failed to flush profile view sketches", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (flusher != null) {
+            flusher.shutdownNow();
+        }
+        flushQuietly();
+    }
+}
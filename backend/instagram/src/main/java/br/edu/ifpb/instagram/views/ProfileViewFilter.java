@@ -0,0 +1,60 @@
+package br.edu.ifpb.instagram.views;
+
+import java.io.IOException;
+import java.security.Principal;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Conta uma visita a cada {@code GET /users/{id}} autenticado que deu certo.
+ *
+ * Fica por fora do {@code UserResponseCacheFilter}, então as respostas
+ * servidas do cache também contam. A visita não descarta a resposta
+ * cacheada: quem faz isso é a gravação dos {@link ProfileViewCounters}, uma
+ * vez por intervalo, para um perfil popular não ser regerado a cada visita.
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+public class ProfileViewFilter extends OncePerRequestFilter {
+
+    private static final Pattern USER_PATH = Pattern.compile("^/users/(\\d{1,18})$");
+
+    private final ProfileViewCounters profileViewCounters;
+
+    public ProfileViewFilter(ProfileViewCounters profileViewCounters) {
+        this.profileViewCounters = profileViewCounters;
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response, @NonNull FilterChain filterChain)
+            throws ServletException, IOException {
+
+        filterChain.doFilter(request, response);
+
+        Principal principal = request.getUserPrincipal();
+        if (principal == null || !"GET".equals(request.getMethod())) {
+            return;
+        }
+        int status = response.getStatus();
+        if (status != HttpServletResponse.SC_OK && status != HttpServletResponse.SC_NOT_MODIFIED) {
+            return;
+        }
+
+        Matcher matcher = USER_PATH.matcher(request.getRequestURI().substring(request.getContextPath().length()));
+        if (matcher.matches()) {
+            profileViewCounters.record(Long.parseLong(matcher.group(1)), principal.getName());
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package br.edu.ifpb.instagram.views;
+
+import org.springframework.stereotype.Component;
+
+import br.edu.ifpb.instagram.outbox.OutboxEvent;
+import br.edu.ifpb.instagram.outbox.OutboxHandler;
+import br.edu.ifpb.instagram.outbox.UserEvents;
+
+/**
+ * Apaga os sketches de visitas de um usuário removido.
+ */
+@Component
+public class ProfileViewsRemover implements OutboxHandler {
+
+    private final ProfileViewCounters profileViewCounters;
+
+    public ProfileViewsRemover(ProfileViewCounters profileViewCounters) {
+        this.profileViewCounters = profileViewCounters;
+    }
+
+    @Override
+    public boolean handles(String eventType) {
+        return UserEvents.DELETED.equals(eventType);
+    }
+
+    @Override
+    public void handle(OutboxEvent event) {
+        profileViewCounters.removeUser(event.aggregateId());
+    }
+}
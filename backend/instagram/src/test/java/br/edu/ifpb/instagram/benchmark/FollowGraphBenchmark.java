@@ -0,0 +1,130 @@
+package br.edu.ifpb.instagram.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.function.LongUnaryOperator;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import br.edu.ifpb.instagram.graph.FollowGraph;
+
+/**
+ * Memória por aresta e latência das consultas do {@link FollowGraph} com
+ * dezenas de milhões de arestas, comparado com um {@code Map<Long, Set<Long>>}.
+ *
+ * Os seguidos seguem uma distribuição enviesada (poucos usuários com
+ * centenas de milhares de seguidores, a maioria com poucos).
+ *
+ * Executar com: mvn test -Pbenchmark -Dtest=FollowGraphBenchmark
+ */
+public class FollowGraphBenchmark {
+
+    private static final int USERS = 1_000_000;
+    private static final int FOLLOWS_PER_USER = 20;
+    private static final int BASELINE_USERS = 100_000;
+    private static final int SAMPLES = 1_000_000;
+
+    @Test
+    @DisplayName("Grafo primitivo deve ocupar bem menos memória por aresta que Set<Long>")
+    void measureGraph() {
+        long before = usedMemory();
+        FollowGraph graph = new FollowGraph(USERS * FOLLOWS_PER_USER);
+        long buildStart = System.nanoTime();
+        forEachEdge(USERS, graph::follow);
+        long buildMillis = (System.nanoTime() - buildStart) / 1_000_000;
+        long graphBytes = usedMemory() - before;
+        int edges = graph.edgeCount();
+
+        before = usedMemory();
+        Map<Long, Set<Long>> following = new HashMap<>();
+        Map<Long, Set<Long>> followers = new HashMap<>();
+        forEachEdge(BASELINE_USERS, (follower, followee) -> {
+            following.computeIfAbsent(follower, id -> new HashSet<>()).add(followee);
+            followers.computeIfAbsent(followee, id -> new HashSet<>()).add(follower);
+            return true;
+        });
+        long baselineBytes = usedMemory() - before;
+        long baselineEdges = following.values().stream().mapToLong(Set::size).sum();
+
+        System.out.printf("edges=%,d build=%,d ms%n", edges, buildMillis);
+        System.out.printf("%-22s %10.1f bytes/edge%n", "FollowGraph", (double) graphBytes / edges);
+        System.out.printf("%-22s %10.1f bytes/edge (%,d arestas)%n", "Map<Long, Set<Long>>",
+                (double) baselineBytes / baselineEdges, baselineEdges);
+
+        SplittableRandom random = new SplittableRandom(7);
+        long celebrity = 1;
+
+        System.out.printf("%-28s %8s %8s %8s%n", "query", "p50 ns", "p99 ns", "p999 ns");
+        report("isFollowing", sample(i -> graph.isFollowing(1 + random.nextInt(USERS), skewedUser(random, USERS)) ? 1 : 0));
+        report("followerCount", sample(i -> graph.followerCount(skewedUser(random, USERS))));
+        report("followers page (20)", sample(i -> graph.followers(1 + random.nextInt(USERS), 0, 20).length));
+        report("followers page celebrity", sample(i -> graph.followers(celebrity, random.nextInt(graph.followerCount(celebrity)), 20).length));
+
+        assertThat(edges).isGreaterThan(10_000_000);
+        assertThat((double) graphBytes / edges).isLessThan((double) baselineBytes / baselineEdges);
+        assertThat(following).isNotEmpty();
+        assertThat(followers).isNotEmpty();
+    }
+
+    private interface EdgeConsumer {
+        boolean accept(long follower, long followee);
+    }
+
+    private static void forEachEdge(int users, EdgeConsumer consumer) {
+        SplittableRandom random = new SplittableRandom(42);
+        for (long follower = 1; follower <= users; follower++) {
+            for (int i = 0; i < FOLLOWS_PER_USER; i++) {
+                long followee = skewedUser(random, users);
+                if (followee != follower) {
+                    consumer.accept(follower, followee);
+                }
+            }
+        }
+    }
+
+    // r^3 concentra os follows nos ids baixos: o usuário 1 passa de 100 mil seguidores
+    private static long skewedUser(SplittableRandom random, int users) {
+        double r = random.nextDouble();
+        return 1 + (long) (users * r * r * r);
+    }
+
+    private static long[] sample(LongUnaryOperator query) {
+        long sink = 0;
+        for (int i = 0; i < SAMPLES; i++) {
+            sink += query.applyAsLong(i);
+        }
+
+        long[] nanos = new long[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            sink += query.applyAsLong(i);
+            nanos[i] = System.nanoTime() - start;
+        }
+        assertThat(sink).isNotNegative();
+
+        Arrays.sort(nanos);
+        return nanos;
+    }
+
+    private static void report(String name, long[] sortedNanos) {
+        System.out.printf("%-28s %8d %8d %8d%n", name,
+                sortedNanos[sortedNanos.length / 2],
+                sortedNanos[(int) (sortedNanos.length * 0.99)],
+                sortedNanos[(int) (sortedNanos.length * 0.999)]);
+    }
+
+    private static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,187 @@
+package br.edu.ifpb.instagram.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import br.edu.ifpb.instagram.graph.FollowGraph;
+import br.edu.ifpb.instagram.timeline.FeedMerger;
+import br.edu.ifpb.instagram.timeline.TimelineRing;
+
+/**
+ * Compara fan-out on write puro com o feed híbrido (push para contas comuns,
+ * pull para contas acima do limite) usando as mesmas estruturas do
+ * {@code PostServiceImpl}, sem banco: {@link FollowGraph}, um
+ * {@link TimelineRing} por usuário e o {@link FeedMerger}.
+ *
+ * Executar com: mvn test -Pbenchmark -Dtest=HybridFeedBenchmark
+ */
+public class HybridFeedBenchmark {
+
+    private static final int USERS = 100_000;
+    private static final int CELEBRITIES = 5;
+    private static final int FOLLOWS_PER_USER = 30;
+    private static final int PULL_THRESHOLD = 10_000;
+    private static final int RING_CAPACITY = 50;
+    private static final int POSTS = 200_000;
+    private static final int PAGE = 20;
+    private static final int SAMPLES = 200_000;
+
+    @Test
+    @DisplayName("Feed híbrido deve limitar escritas de contas grandes sem estourar a leitura")
+    void compareStrategies() {
+        FollowGraph graph = new FollowGraph(USERS * (FOLLOWS_PER_USER + CELEBRITIES), PULL_THRESHOLD / 2);
+        SplittableRandom random = new SplittableRandom(11);
+        for (long user = 1; user <= USERS; user++) {
+            for (long celebrity = 1; celebrity <= CELEBRITIES; celebrity++) {
+                if (user != celebrity) {
+                    graph.follow(user, celebrity);
+                }
+            }
+            for (int i = 0; i < FOLLOWS_PER_USER; i++) {
+                long followee = ordinaryUser(random);
+                if (followee != user) {
+                    graph.follow(user, followee);
+                }
+            }
+        }
+
+        Feed push = new Feed(graph, Integer.MAX_VALUE);
+        Feed hybrid = new Feed(graph, PULL_THRESHOLD);
+
+        System.out.printf("%-8s %-10s %14s %14s%n", "mode", "author", "writes/post", "us/post");
+        for (Feed feed : List.of(push, hybrid)) {
+            String mode = feed == push ? "push" : "hybrid";
+            report(mode, "celebrity", feed, 1, 20);
+            report(mode, "ordinary", feed, CELEBRITIES + 1, 2_000);
+        }
+
+        // mesma sequência de posts nas duas estratégias
+        SplittableRandom posts = new SplittableRandom(3);
+        for (long postId = 1; postId <= POSTS; postId++) {
+            long author = posts.nextInt(50) == 0 ? 1 + posts.nextInt(CELEBRITIES) : ordinaryUser(posts);
+            push.publish(author, postId);
+            hybrid.publish(author, postId);
+        }
+
+        long reader = CELEBRITIES + 1;
+        assertThat(hybrid.read(reader, PAGE)).containsExactly(push.read(reader, PAGE));
+
+        System.out.printf("%-8s %10s %10s %10s%n", "mode", "p50 ns", "p99 ns", "p999 ns");
+        for (Feed feed : List.of(push, hybrid)) {
+            long[] nanos = sampleReads(feed);
+            System.out.printf("%-8s %10d %10d %10d%n", feed == push ? "push" : "hybrid",
+                    nanos[nanos.length / 2], nanos[(int) (nanos.length * 0.99)], nanos[(int) (nanos.length * 0.999)]);
+        }
+
+        assertThat(hybrid.writesFor(1)).isLessThan(push.writesFor(1) / 1_000);
+    }
+
+    private static void report(String mode, String kind, Feed feed, long author, int posts) {
+        long writesBefore = feed.writes;
+        long start = System.nanoTime();
+        for (int i = 0; i < posts; i++) {
+            feed.publish(author, -1);
+        }
+        long nanos = System.nanoTime() - start;
+        System.out.printf("%-8s %-10s %14d %14.1f%n", mode, kind,
+                (feed.writes - writesBefore) / posts, nanos / 1_000.0 / posts);
+        feed.reset();
+    }
+
+    private static long[] sampleReads(Feed feed) {
+        SplittableRandom random = new SplittableRandom(5);
+        long sink = 0;
+        for (int i = 0; i < SAMPLES; i++) {
+            sink += feed.read(1 + random.nextInt(USERS), PAGE).length;
+        }
+
+        long[] nanos = new long[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            long user = 1 + random.nextInt(USERS);
+            long start = System.nanoTime();
+            sink += feed.read(user, PAGE).length;
+            nanos[i] = System.nanoTime() - start;
+        }
+        assertThat(sink).isPositive();
+
+        Arrays.sort(nanos);
+        return nanos;
+    }
+
+    private static long ordinaryUser(SplittableRandom random) {
+        return CELEBRITIES + 1 + random.nextInt(USERS - CELEBRITIES);
+    }
+
+    /**
+     * Mesma lógica de {@code PostServiceImpl.createPost}/{@code findFeed}, com
+     * os rings em um {@link HashMap} no lugar da tabela.
+     */
+    private static final class Feed {
+
+        private final FollowGraph graph;
+        private final int pullThreshold;
+        private Map<Long, TimelineRing> timelines = new HashMap<>();
+        private Map<Long, TimelineRing> authorPosts = new HashMap<>();
+        private long writes;
+
+        Feed(FollowGraph graph, int pullThreshold) {
+            this.graph = graph;
+            this.pullThreshold = pullThreshold;
+        }
+
+        void publish(long author, long postId) {
+            ring(timelines, author).push(postId);
+            writes++;
+
+            if (graph.followerCount(author) >= pullThreshold) {
+                ring(authorPosts, author).push(postId);
+                return;
+            }
+            for (long follower : graph.allFollowers(author)) {
+                ring(timelines, follower).push(postId);
+                writes++;
+            }
+        }
+
+        // primeira página, sem cursor
+        long[] read(long user, int limit) {
+            List<long[]> pulled = new ArrayList<>();
+            if (pullThreshold != Integer.MAX_VALUE) {
+                for (long followee : graph.allLargeFollowing(user)) {
+                    pulled.add(ring(authorPosts, followee).olderThan(Long.MAX_VALUE, limit));
+                }
+            }
+
+            TimelineRing timeline = timelines.get(user);
+            long[] pushed = timeline == null ? new long[0] : timeline.before(Long.MAX_VALUE, limit).postIds();
+            return FeedMerger.merge(pushed, pulled, limit).postIds();
+        }
+
+        long writesFor(long author) {
+            long before = writes;
+            publish(author, -1);
+            long result = writes - before;
+            reset();
+            return result;
+        }
+
+        void reset() {
+            timelines = new HashMap<>();
+            authorPosts = new HashMap<>();
+            writes = 0;
+        }
+
+        private static TimelineRing ring(Map<Long, TimelineRing> rings, long userId) {
+            return rings.computeIfAbsent(userId, id -> new TimelineRing(RING_CAPACITY));
+        }
+    }
+}
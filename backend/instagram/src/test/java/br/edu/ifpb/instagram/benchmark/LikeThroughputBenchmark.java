@@ -0,0 +1,159 @@
+package br.edu.ifpb.instagram.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.edu.ifpb.instagram.counter.LikeCounters;
+import br.edu.ifpb.instagram.model.entity.UserEntity;
+import br.edu.ifpb.instagram.repository.PostRepository;
+import br.edu.ifpb.instagram.repository.UserRepository;
+import br.edu.ifpb.instagram.service.LikeService;
+import br.edu.ifpb.instagram.service.PostService;
+
+/**
+ * Carga de curtidas de usuários distintos em um único post, comparando o
+ * caminho write-behind ({@link LikeService}) com um {@code UPDATE posts SET
+ * like_count = like_count + 1} na mesma transação de cada curtida.
+ *
+ * Executar com: mvn test -Pbenchmark -Dtest=LikeThroughputBenchmark
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:likes-benchmark;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+    "spring.jpa.show-sql=false",
+    "logging.level.org.springframework=WARN",
+    "logging.level.br.edu.ifpb.instagram=INFO",
+    "instagram.likes.flush-interval-ms=1000"
+})
+public class LikeThroughputBenchmark {
+
+    private static final int USERS = 40_000;
+    private static final int THREADS = 16;
+    private static final long FIRST_USER_ID = 10_000_000L;
+
+    @Autowired
+    private LikeService likeService;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private LikeCounters likeCounters;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    @DisplayName("Curtidas em um post quente não devem serializar na linha do post")
+    void hotPost() throws Exception {
+        createUsers();
+        UserEntity author = userRepository.findByUsername("bench0").orElseThrow();
+
+        long writeBehindPost = postService.createPost(author.getUsername(), "post quente").id();
+        long directPost = postService.createPost(author.getUsername(), "post quente").id();
+
+        // aquecimento com usuários que não entram na medição
+        run(0, 2_000, username -> likeService.like(username, writeBehindPost));
+        run(0, 2_000, username -> likeDirect(username, directPost));
+
+        int half = (USERS - 2_000) / 2;
+        Result writeBehind = run(2_000, half, username -> likeService.like(username, writeBehindPost));
+        Result direct = run(2_000 + half, half, username -> likeDirect(username, directPost));
+
+        System.out.printf("%-14s %10s %10s %10s%n", "variant", "likes/s", "p50 us", "p99 us");
+        writeBehind.print("write-behind");
+        direct.print("update-per-like");
+
+        likeCounters.flush();
+        assertThat(postRepository.findLikeCountById(writeBehindPost).orElseThrow()).isEqualTo(2_000L + half);
+        assertThat(postRepository.findLikeCountById(directPost).orElseThrow()).isEqualTo(2_000L + half);
+    }
+
+    // mesmas consultas do LikeServiceImpl, mais o UPDATE na linha do post dentro da transação
+    private void likeDirect(String username, long postId) {
+        long userId = userRepository.findIdByUsername(username).orElseThrow();
+        postRepository.findLikeCountById(postId).orElseThrow();
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update("INSERT INTO likes (post_id, user_id, created_at) VALUES (?, ?, ?)",
+                    postId, userId, Timestamp.from(Instant.now()));
+            jdbcTemplate.update("UPDATE posts SET like_count = like_count + 1 WHERE id = ?", postId);
+        });
+    }
+
+    private Result run(int firstUser, int count, LikeCall call) throws InterruptedException {
+        long[] nanos = new long[count];
+        AtomicInteger next = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+
+        for (int t = 0; t < THREADS; t++) {
+            pool.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                int i;
+                while ((i = next.getAndIncrement()) < count) {
+                    long begin = System.nanoTime();
+                    call.like("bench" + (firstUser + i));
+                    nanos[i] = System.nanoTime() - begin;
+                }
+            });
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        pool.shutdown();
+        assertThat(pool.awaitTermination(10, TimeUnit.MINUTES)).isTrue();
+        long elapsed = System.nanoTime() - begin;
+
+        Arrays.sort(nanos);
+        return new Result(count * 1e9 / elapsed, nanos[count / 2] / 1_000, nanos[count * 99 / 100] / 1_000);
+    }
+
+    private void createUsers() {
+        List<Object[]> rows = new ArrayList<>(USERS);
+        for (int i = 0; i < USERS; i++) {
+            rows.add(new Object[] { FIRST_USER_ID + i, "Bench " + i, "bench" + i, "x", "bench" + i + "@email.com" });
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO users (id, full_name, username, encrypted_password, email) VALUES (?, ?, ?, ?, ?)", rows);
+    }
+
+    @FunctionalInterface
+    private interface LikeCall {
+        void like(String username);
+    }
+
+    private record Result(double likesPerSecond, long p50Micros, long p99Micros) {
+        void print(String variant) {
+            System.out.printf("%-14s %10.0f %10d %10d%n", variant, likesPerSecond, p50Micros, p99Micros);
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package br.edu.ifpb.instagram.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.web.servlet.function.RequestPredicates.GET;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Random;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.servlet.function.RouterFunction;
+import org.springframework.web.servlet.function.RouterFunctions;
+import org.springframework.web.servlet.function.ServerResponse;
+
+import br.edu.ifpb.instagram.model.entity.MediaEntity;
+import br.edu.ifpb.instagram.model.entity.UserEntity;
+import br.edu.ifpb.instagram.repository.MediaRepository;
+import br.edu.ifpb.instagram.repository.UserRepository;
+import br.edu.ifpb.instagram.security.JwtUtils;
+import br.edu.ifpb.instagram.storage.MediaStorage;
+import br.edu.ifpb.instagram.storage.StoredBlob;
+
+/**
+ * Throughput e CPU por GB servido de {@code GET /media/{id}} (sendfile no
+ * Tomcat) contra duas implementações ingênuas: o arquivo inteiro em um
+ * {@code byte[]} e uma cópia {@code InputStream -> OutputStream}.
+ *
+ * Cliente e servidor rodam no mesmo processo; CPU e alocação são somados só
+ * nas threads do conector do Tomcat ({@code http-nio-*}) para deixar o
+ * cliente de fora.
+ *
+ * Executar com: mvn test -Pbenchmark -Dtest=MediaServingBenchmark
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class MediaServingBenchmark {
+
+    private static final int BLOB_MB = 64;
+    private static final int WARMUP_DOWNLOADS = 5;
+    private static final int DOWNLOADS = 32;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private MediaStorage mediaStorage;
+
+    @Autowired
+    private MediaRepository mediaRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @TestConfiguration
+    static class NaiveEndpoints {
+
+        @Bean
+        RouterFunction<ServerResponse> naiveMediaRoutes(MediaStorage mediaStorage) {
+            return RouterFunctions.route()
+                .route(GET("/benchmark/bytes/{sha256}"), request -> {
+                    Path blob = mediaStorage.locate(request.pathVariable("sha256"));
+                    return ServerResponse.ok().contentType(MediaType.APPLICATION_OCTET_STREAM)
+                            .body(Files.readAllBytes(blob));
+                })
+                .route(GET("/benchmark/stream/{sha256}"), request -> {
+                    Path blob = mediaStorage.locate(request.pathVariable("sha256"));
+                    return ServerResponse.ok().contentType(MediaType.APPLICATION_OCTET_STREAM)
+                            .build((req, res) -> {
+                                res.setContentLengthLong(Files.size(blob));
+                                try (InputStream in = Files.newInputStream(blob); OutputStream out = res.getOutputStream()) {
+                                    StreamUtils.copy(in, out);
+                                }
+                                return null;
+                            });
+                })
+                .build();
+        }
+    }
+
+    @Test
+    @DisplayName("Sendfile deve gastar menos CPU por GB que as cópias ingênuas")
+    void compareServing() throws Exception {
+        byte[] content = new byte[BLOB_MB * 1024 * 1024];
+        new Random(1).nextBytes(content);
+        StoredBlob blob = mediaStorage.store(new ByteArrayInputStream(content));
+        content = null;
+
+        UserEntity owner = new UserEntity();
+        owner.setFullName("Benchmark");
+        owner.setUsername("media_benchmark");
+        owner.setEmail("media_benchmark@email.com");
+        owner.setEncryptedPassword("123");
+        owner = userRepository.save(owner);
+
+        MediaEntity media = new MediaEntity();
+        media.setOwner(owner);
+        media.setSha256(blob.sha256());
+        media.setSize(blob.size());
+        media.setContentType("video/mp4");
+        media.setCreatedAt(Instant.now());
+        media = mediaRepository.save(media);
+
+        String token = jwtUtils.generateToken(new UsernamePasswordAuthenticationToken(owner.getUsername(), null));
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+        System.out.printf("%-10s %10s %14s %16s%n", "variant", "MB/s", "CPU ms/GB", "heap MB/GB");
+        measure("sendfile", "/media/" + media.getId(), token, client, blob.size());
+        measure("stream", "/benchmark/stream/" + blob.sha256(), token, client, blob.size());
+        measure("byte[]", "/benchmark/bytes/" + blob.sha256(), token, client, blob.size());
+    }
+
+    private void measure(String variant, String path, String token, HttpClient client, long size) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Authorization", "Bearer " + token)
+                .build();
+
+        for (int i = 0; i < WARMUP_DOWNLOADS; i++) {
+            download(client, request, size);
+        }
+
+        long[] before = serverThreadUsage();
+        long start = System.nanoTime();
+        for (int i = 0; i < DOWNLOADS; i++) {
+            download(client, request, size);
+        }
+        long nanos = System.nanoTime() - start;
+        long[] after = serverThreadUsage();
+        long cpuNanos = after[0] - before[0];
+        long allocated = after[1] - before[1];
+
+        double gigabytes = (double) size * DOWNLOADS / (1024 * 1024 * 1024);
+        System.out.printf("%-10s %10.0f %14.0f %16.0f%n", variant,
+                gigabytes * 1024 / (nanos / 1e9),
+                cpuNanos / 1e6 / gigabytes,
+                allocated / (1024.0 * 1024) / gigabytes);
+    }
+
+    // {cpu ns, bytes alocados} somados nas threads do Tomcat
+    private static long[] serverThreadUsage() {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+        long cpu = 0;
+        long allocated = 0;
+        for (ThreadInfo info : threads.getThreadInfo(threads.getAllThreadIds())) {
+            if (info != null && info.getThreadName().startsWith("http-nio")) {
+                cpu += Math.max(0, threads.getThreadCpuTime(info.getThreadId()));
+                allocated += Math.max(0, threads.getThreadAllocatedBytes(info.getThreadId()));
+            }
+        }
+        return new long[] { cpu, allocated };
+    }
+
+    private static void download(HttpClient client, HttpRequest request, long size) throws Exception {
+        HttpResponse<InputStream> response = client.send(request, HttpResponse.BodyHandlers.ofInputStream());
+        assertThat(response.statusCode()).isEqualTo(200);
+
+        long received = 0;
+        byte[] buffer = new byte[256 * 1024];
+        try (InputStream body = response.body()) {
+            int read;
+            while ((read = body.read(buffer)) != -1) {
+                received += read;
+            }
+        }
+        assertThat(received).isEqualTo(size);
+    }
+}
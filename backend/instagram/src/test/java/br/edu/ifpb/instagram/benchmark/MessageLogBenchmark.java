@@ -0,0 +1,161 @@
+package br.edu.ifpb.instagram.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import br.edu.ifpb.instagram.messaging.ConversationLog;
+
+/**
+ * Latência de escrita e de leitura da última página (e de uma página no
+ * meio do histórico) no {@link ConversationLog}, comparado com uma tabela
+ * {@code messages} indexada por {@code (conversation_id, seq)} no H2 em
+ * memória.
+ *
+ * Executar com: mvn test -Pbenchmark -Dtest=MessageLogBenchmark
+ */
+public class MessageLogBenchmark {
+
+    private static final int MESSAGES = 200_000;
+    private static final int READS = 20_000;
+    private static final int PAGE = 50;
+    private static final int SEGMENT_SIZE = (int) DataSize.ofMegabytes(4).toBytes();
+    private static final int INDEX_INTERVAL = (int) DataSize.ofKilobytes(4).toBytes();
+    private static final String TEXT = "x".repeat(100);
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    @DisplayName("Log mapeado: escrita e leitura de página")
+    void measureLog() throws Exception {
+        ConversationLog log = ConversationLog.open(directory, SEGMENT_SIZE, INDEX_INTERVAL, new long[] { 1, 2 });
+        long[] appends = new long[MESSAGES];
+        long start = System.nanoTime();
+        for (int i = 0; i < MESSAGES; i++) {
+            long t = System.nanoTime();
+            log.append(i % 2 + 1, Instant.now(), TEXT);
+            appends[i] = System.nanoTime() - t;
+        }
+        long appendNanos = System.nanoTime() - start;
+        log.flush();
+
+        long[] tail = new long[READS];
+        long[] deep = new long[READS];
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < READS; i++) {
+            long t = System.nanoTime();
+            assertThat(log.before(Long.MAX_VALUE, PAGE)).hasSize(PAGE);
+            tail[i] = System.nanoTime() - t;
+
+            long before = random.nextLong(PAGE + 1, MESSAGES);
+            t = System.nanoTime();
+            assertThat(log.before(before, PAGE)).hasSize(PAGE);
+            deep[i] = System.nanoTime() - t;
+        }
+
+        long bytes;
+        try (var files = Files.list(directory)) {
+            bytes = files.mapToLong(file -> file.toFile().length()).sum();
+        }
+        log.close();
+        long reopenStart = System.nanoTime();
+        ConversationLog reopened = ConversationLog.open(directory, SEGMENT_SIZE, INDEX_INTERVAL, new long[] { 1, 2 });
+        long reopenMillis = (System.nanoTime() - reopenStart) / 1_000_000;
+        assertThat(reopened.nextSeq()).isEqualTo(MESSAGES + 1);
+
+        print("log", appends, appendNanos, tail, deep);
+        System.out.printf("segments=%d disk=%,d bytes reopen=%,d ms%n", reopened.segmentCount(), bytes, reopenMillis);
+    }
+
+    @Test
+    @DisplayName("Tabela no H2: escrita e leitura de página")
+    void measureTable() throws Exception {
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:messages_benchmark")) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CREATE TABLE messages (conversation_id BIGINT, seq BIGINT, sender_id BIGINT, "
+                        + "created_at TIMESTAMP, text VARCHAR(1000), PRIMARY KEY (conversation_id, seq))");
+            }
+
+            long[] appends = new long[MESSAGES];
+            long start = System.nanoTime();
+            try (PreparedStatement insert = connection.prepareStatement("INSERT INTO messages VALUES (?, ?, ?, ?, ?)")) {
+                for (int i = 0; i < MESSAGES; i++) {
+                    long t = System.nanoTime();
+                    insert.setLong(1, 1);
+                    insert.setLong(2, i + 1);
+                    insert.setLong(3, i % 2 + 1);
+                    insert.setTimestamp(4, Timestamp.from(Instant.now()));
+                    insert.setString(5, TEXT);
+                    insert.executeUpdate();
+                    appends[i] = System.nanoTime() - t;
+                }
+            }
+            long appendNanos = System.nanoTime() - start;
+
+            long[] tail = new long[READS];
+            long[] deep = new long[READS];
+            SplittableRandom random = new SplittableRandom(42);
+            // com conversation_id no ORDER BY o H2 anda na chave primária em vez de ordenar a conversa
+            try (PreparedStatement page = connection.prepareStatement("SELECT seq, sender_id, created_at, text "
+                    + "FROM messages WHERE conversation_id = 1 AND seq < ? "
+                    + "ORDER BY conversation_id DESC, seq DESC LIMIT " + PAGE)) {
+                for (int i = 0; i < READS; i++) {
+                    long t = System.nanoTime();
+                    assertThat(read(page, Long.MAX_VALUE)).isEqualTo(PAGE);
+                    tail[i] = System.nanoTime() - t;
+
+                    long before = random.nextLong(PAGE + 1, MESSAGES);
+                    t = System.nanoTime();
+                    assertThat(read(page, before)).isEqualTo(PAGE);
+                    deep[i] = System.nanoTime() - t;
+                }
+            }
+
+            print("H2", appends, appendNanos, tail, deep);
+        }
+    }
+
+    private static int read(PreparedStatement page, long before) throws Exception {
+        page.setLong(1, before);
+        int rows = 0;
+        try (ResultSet resultSet = page.executeQuery()) {
+            while (resultSet.next()) {
+                resultSet.getLong(1);
+                resultSet.getLong(2);
+                resultSet.getTimestamp(3);
+                resultSet.getString(4);
+                rows++;
+            }
+        }
+        return rows;
+    }
+
+    private static void print(String name, long[] appends, long appendNanos, long[] tail, long[] deep) {
+        System.out.printf("%-4s append p50=%.1f µs p99=%.1f µs throughput=%,.0f msg/s%n", name,
+                percentile(appends, 50), percentile(appends, 99), MESSAGES / (appendNanos / 1e9));
+        System.out.printf("%-4s tail   p50=%.1f µs p99=%.1f µs%n", name, percentile(tail, 50), percentile(tail, 99));
+        System.out.printf("%-4s deep   p50=%.1f µs p99=%.1f µs%n", name, percentile(deep, 50), percentile(deep, 99));
+    }
+
+    private static double percentile(long[] nanos, int percentile) {
+        long[] sorted = nanos.clone();
+        Arrays.sort(sorted);
+        return sorted[Math.min(sorted.length - 1, sorted.length * percentile / 100)] / 1_000.0;
+    }
+}
@@ -0,0 +1,218 @@
+package br.edu.ifpb.instagram.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+
+import br.edu.ifpb.instagram.model.entity.UserEntity;
+import br.edu.ifpb.instagram.notification.NotificationBus;
+import br.edu.ifpb.instagram.notification.NotificationType;
+import br.edu.ifpb.instagram.repository.UserRepository;
+import br.edu.ifpb.instagram.security.JwtUtils;
+
+/**
+ * Dezenas de milhares de conexões SSE paradas em {@code /notifications/stream}
+ * num único processo: memória e threads por conexão e tempo para entregar um
+ * evento a todas.
+ *
+ * Os clientes rodam em outra JVM ({@link IdleClients}), porque cada conexão
+ * gasta um descritor de arquivo de cada lado e o limite é por processo. O
+ * número de conexões vem de {@code -Dsse.connections} e deve caber no
+ * {@code ulimit -n} do servidor.
+ *
+ * Executar com: mvn test -Pbenchmark -Dtest=NotificationStreamBenchmark
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "spring.datasource.url=jdbc:h2:mem:sse-benchmark;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+    "spring.jpa.show-sql=false",
+    "logging.level.org.springframework=WARN",
+    "logging.level.org.springframework.web=WARN",
+    "logging.level.br.edu.ifpb.instagram=INFO",
+    "server.tomcat.max-connections=30000",
+    "server.tomcat.accept-count=4096",
+    "instagram.notifications.heartbeat-interval=0"
+})
+public class NotificationStreamBenchmark {
+
+    private static final int CONNECTIONS = Integer.getInteger("sse.connections", 19_000);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private NotificationBus notificationBus;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Test
+    @DisplayName("Conexões SSE ociosas não devem ocupar threads do servidor")
+    void idleConnections() throws Exception {
+        UserEntity listener = createUser("sse_listener");
+        UserEntity actor = createUser("sse_actor");
+        String token = jwtUtils.generateToken(new UsernamePasswordAuthenticationToken(listener.getUsername(), null));
+
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        System.gc();
+        long heapBefore = memory.getHeapMemoryUsage().getUsed();
+        int threadsBefore = ManagementFactory.getThreadMXBean().getThreadCount();
+
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        Process clients = new ProcessBuilder(java, "-Xmx512m", "-cp", System.getProperty("java.class.path"),
+                IdleClients.class.getName(), Integer.toString(port), Integer.toString(CONNECTIONS), token)
+                .redirectError(ProcessBuilder.Redirect.INHERIT)
+                .start();
+
+        try (BufferedReader output = new BufferedReader(
+                new InputStreamReader(clients.getInputStream(), StandardCharsets.US_ASCII))) {
+
+            long connectStart = System.nanoTime();
+            assertThat(output.readLine()).isEqualTo("READY " + CONNECTIONS);
+            long connectMillis = (System.nanoTime() - connectStart) / 1_000_000;
+
+            System.gc();
+            long heapPerConnection = (memory.getHeapMemoryUsage().getUsed() - heapBefore) / CONNECTIONS;
+            int threadsAfter = ManagementFactory.getThreadMXBean().getThreadCount();
+            assertThat(notificationBus.subscriberCount()).isEqualTo(CONNECTIONS);
+
+            long publishStart = System.nanoTime();
+            notificationBus.publish(NotificationType.LIKE, listener.getId(), actor.getId(), actor.getUsername(), 1L);
+            assertThat(output.readLine()).isEqualTo("DELIVERED " + CONNECTIONS);
+            long fanOutMillis = (System.nanoTime() - publishStart) / 1_000_000;
+
+            System.out.printf("%-12s %12s %14s %14s %14s%n",
+                    "connections", "connect ms", "heap B/conn", "threads +/-", "fan-out ms");
+            System.out.printf("%-12d %12d %14d %14d %14d%n",
+                    CONNECTIONS, connectMillis, heapPerConnection, threadsAfter - threadsBefore, fanOutMillis);
+        } finally {
+            clients.getOutputStream().close();
+            clients.waitFor(30, TimeUnit.SECONDS);
+            clients.destroyForcibly();
+        }
+    }
+
+    private UserEntity createUser(String username) {
+        UserEntity user = new UserEntity();
+        user.setFullName(username);
+        user.setUsername(username);
+        user.setEmail(username + "@email.com");
+        user.setEncryptedPassword("123");
+        return userRepository.save(user);
+    }
+
+    /**
+     * Abre as conexões com um único seletor, escreve {@code READY n} quando
+     * todas receberam os headers da resposta e {@code DELIVERED n} quando o
+     * evento chegou em todas. Termina quando a entrada padrão fecha.
+     */
+    public static final class IdleClients {
+
+        private static final byte[] STATUS_OK = "HTTP/1.1 200".getBytes(StandardCharsets.US_ASCII);
+        private static final byte[] EVENT = "event:like".getBytes(StandardCharsets.US_ASCII);
+
+        public static void main(String[] args) throws IOException {
+            int port = Integer.parseInt(args[0]);
+            int connections = Integer.parseInt(args[1]);
+            byte[] request = ("GET /notifications/stream HTTP/1.1\r\nHost: localhost\r\n"
+                    + "Accept: text/event-stream\r\nAuthorization: Bearer " + args[2] + "\r\n\r\n")
+                    .getBytes(StandardCharsets.US_ASCII);
+
+            Thread exitOnStdinClose = new Thread(() -> {
+                try {
+                    while (System.in.read() != -1) {
+                        // aguarda o pai fechar
+                    }
+                } catch (IOException e) {
+                    // idem
+                }
+                System.exit(0);
+            });
+            exitOnStdinClose.setDaemon(true);
+            exitOnStdinClose.start();
+
+            Selector selector = Selector.open();
+            InetSocketAddress address = new InetSocketAddress("localhost", port);
+            ByteBuffer buffer = ByteBuffer.allocate(16 * 1024);
+            int ready = 0;
+            int delivered = 0;
+            int opened = 0;
+
+            while (delivered < connections) {
+                // abre em levas para não estourar o backlog do accept
+                for (int i = 0; i < 200 && opened < connections; i++, opened++) {
+                    SocketChannel channel = SocketChannel.open(address);
+                    channel.write(ByteBuffer.wrap(request));
+                    channel.configureBlocking(false);
+                    channel.register(selector, SelectionKey.OP_READ, new boolean[2]);
+                }
+
+                selector.select(opened < connections ? 1 : 0);
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    boolean[] state = (boolean[]) key.attachment();
+
+                    buffer.clear();
+                    if (((SocketChannel) key.channel()).read(buffer) < 0) {
+                        throw new IOException("Connection closed by server");
+                    }
+                    if (!state[0] && contains(buffer, STATUS_OK)) {
+                        state[0] = true;
+                        if (++ready == connections) {
+                            System.out.println("READY " + ready);
+                        }
+                    }
+                    if (!state[1] && contains(buffer, EVENT)) {
+                        state[1] = true;
+                        delivered++;
+                    }
+                }
+            }
+            System.out.println("DELIVERED " + delivered);
+
+            // mantém as conexões abertas até o pai encerrar
+            while (true) {
+                selector.select();
+                selector.selectedKeys().clear();
+            }
+        }
+
+        private static boolean contains(ByteBuffer buffer, byte[] pattern) {
+            byte[] data = buffer.array();
+            outer:
+            for (int i = 0; i <= buffer.position() - pattern.length; i++) {
+                for (int j = 0; j < pattern.length; j++) {
+                    if (data[i + j] != pattern[j]) {
+                        continue outer;
+                    }
+                }
+                return true;
+            }
+            return false;
+        }
+    }
+}
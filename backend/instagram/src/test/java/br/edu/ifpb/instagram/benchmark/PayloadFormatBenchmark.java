@@ -0,0 +1,81 @@
+package br.edu.ifpb.instagram.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+
+import br.edu.ifpb.instagram.model.response.UserDetailsResponse;
+
+/**
+ * Compara tamanho do payload e custo de encode/decode de uma lista de
+ * {@link UserDetailsResponse} em JSON, Smile e CBOR.
+ *
+ * Executar com: mvn test -Pbenchmark -Dtest=PayloadFormatBenchmark
+ */
+public class PayloadFormatBenchmark {
+
+    private static final int USERS = 1_000;
+    private static final int WARMUP_ROUNDS = 2_000;
+    private static final int MEASURED_ROUNDS = 2_000;
+
+    private static final TypeReference<List<UserDetailsResponse>> USER_LIST = new TypeReference<>() { };
+
+    @Test
+    @DisplayName("Formatos binários devem gerar payloads menores que JSON")
+    void compareFormats() throws Exception {
+        List<UserDetailsResponse> users = new ArrayList<>();
+        for (long i = 1; i <= USERS; i++) {
+            users.add(new UserDetailsResponse(i, "Usuário Número " + i, "user" + i, "user" + i + "@email.com"));
+        }
+
+        Map<String, ObjectMapper> mappers = new LinkedHashMap<>();
+        mappers.put("json", new ObjectMapper());
+        mappers.put("smile", new SmileMapper());
+        mappers.put("cbor", new CBORMapper());
+
+        Map<String, Integer> sizes = new LinkedHashMap<>();
+
+        System.out.printf("%-6s %10s %14s %14s%n", "format", "bytes", "encode (us)", "decode (us)");
+        for (Map.Entry<String, ObjectMapper> entry : mappers.entrySet()) {
+            ObjectMapper mapper = entry.getValue();
+            byte[] payload = mapper.writeValueAsBytes(users);
+
+            for (int i = 0; i < WARMUP_ROUNDS; i++) {
+                mapper.readValue(mapper.writeValueAsBytes(users), USER_LIST);
+            }
+
+            long encodeStart = System.nanoTime();
+            for (int i = 0; i < MEASURED_ROUNDS; i++) {
+                payload = mapper.writeValueAsBytes(users);
+            }
+            long encodeNanos = (System.nanoTime() - encodeStart) / MEASURED_ROUNDS;
+
+            List<UserDetailsResponse> decoded = null;
+            long decodeStart = System.nanoTime();
+            for (int i = 0; i < MEASURED_ROUNDS; i++) {
+                decoded = mapper.readValue(payload, USER_LIST);
+            }
+            long decodeNanos = (System.nanoTime() - decodeStart) / MEASURED_ROUNDS;
+
+            assertThat(decoded).isEqualTo(users);
+            sizes.put(entry.getKey(), payload.length);
+
+            System.out.printf("%-6s %10d %14.1f %14.1f%n",
+                    entry.getKey(), payload.length, encodeNanos / 1_000.0, decodeNanos / 1_000.0);
+        }
+
+        assertThat(sizes.get("smile")).isLessThan(sizes.get("json"));
+        assertThat(sizes.get("cbor")).isLessThan(sizes.get("json"));
+    }
+}
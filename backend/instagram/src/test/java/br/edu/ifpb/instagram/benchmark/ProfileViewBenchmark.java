@@ -0,0 +1,93 @@
+package br.edu.ifpb.instagram.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import br.edu.ifpb.instagram.views.HyperLogLog;
+
+/**
+ * Erro relativo e tamanho do {@link HyperLogLog} por número de visitantes
+ * distintos, comparado com um {@code Set<Long>} de ids de visitantes, e o
+ * custo de registrar uma visita e de unir 30 sketches diários.
+ *
+ * Executar com: mvn test -Pbenchmark -Dtest=ProfileViewBenchmark
+ */
+public class ProfileViewBenchmark {
+
+    private static final int[] CARDINALITIES = { 10, 100, 1_000, 10_000, 100_000, 1_000_000 };
+    private static final int TRIALS = 30;
+    private static final int ADDS = 10_000_000;
+    private static final int MERGES = 10_000;
+
+    @Test
+    @DisplayName("HyperLogLog: erro e memória por cardinalidade")
+    void measureError() {
+        System.out.printf("%10s %12s %12s %10s %14s%n", "distintos", "erro médio", "erro máx", "bytes", "Set<Long> bytes");
+        for (int cardinality : CARDINALITIES) {
+            double sumError = 0;
+            double maxError = 0;
+            int bytes = 0;
+            for (int trial = 0; trial < TRIALS; trial++) {
+                HyperLogLog sketch = new HyperLogLog();
+                for (int i = 0; i < cardinality; i++) {
+                    sketch.add("t" + trial + "_user_" + i);
+                }
+                double error = Math.abs(sketch.estimate() - cardinality) / (double) cardinality;
+                sumError += error;
+                maxError = Math.max(maxError, error);
+                bytes = sketch.toBytes().length;
+            }
+            // HashSet<Long>: ~32 bytes do nó + 16 do Long + 4-8 da tabela por elemento
+            long setBytes = (long) cardinality * 56;
+            System.out.printf("%,10d %11.2f%% %11.2f%% %,10d %,14d%n", cardinality,
+                    100 * sumError / TRIALS, 100 * maxError, bytes, setBytes);
+            assertThat(sumError / TRIALS).isLessThan(0.03);
+        }
+    }
+
+    @Test
+    @DisplayName("HyperLogLog: custo de uma visita e da janela de 30 dias")
+    void measureThroughput() {
+        HyperLogLog sketch = new HyperLogLog();
+        String[] viewers = new String[1 << 16];
+        for (int i = 0; i < viewers.length; i++) {
+            viewers[i] = "user_" + i;
+        }
+        for (int i = 0; i < ADDS; i++) {
+            sketch.add(viewers[i & (viewers.length - 1)]);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ADDS; i++) {
+            sketch.add(viewers[i & (viewers.length - 1)]);
+        }
+        double addNanos = (System.nanoTime() - start) / (double) ADDS;
+
+        HyperLogLog[] days = new HyperLogLog[30];
+        for (int day = 0; day < days.length; day++) {
+            days[day] = new HyperLogLog();
+            for (int i = 0; i < 5_000; i++) {
+                days[day].add("d" + day + "_user_" + i);
+            }
+        }
+        Set<Long> sink = new HashSet<>();
+        for (int round = 0; round < 2; round++) {
+            start = System.nanoTime();
+            for (int i = 0; i < MERGES; i++) {
+                HyperLogLog month = new HyperLogLog();
+                for (HyperLogLog day : days) {
+                    month.merge(day);
+                }
+                sink.add(month.estimate());
+            }
+        }
+        double mergeMicros = (System.nanoTime() - start) / 1_000.0 / MERGES;
+
+        assertThat(sink).isNotEmpty();
+        System.out.printf("add=%.1f ns/visita  união de 30 dias + estimativa=%.1f µs%n", addNanos, mergeMicros);
+    }
+}
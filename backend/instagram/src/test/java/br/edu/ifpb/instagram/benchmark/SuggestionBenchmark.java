@@ -0,0 +1,187 @@
+package br.edu.ifpb.instagram.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import br.edu.ifpb.instagram.graph.FollowGraph;
+import br.edu.ifpb.instagram.service.FollowerDirectory;
+import br.edu.ifpb.instagram.suggestion.MutualFollowJob;
+import br.edu.ifpb.instagram.suggestion.MutualFollows;
+import br.edu.ifpb.instagram.suggestion.SuggestionList;
+
+/**
+ * Tempo total do {@link MutualFollowJob} sobre o grafo inteiro com 1, 2, 4
+ * e 8 threads no {@link ForkJoinPool}, e a latência de calcular as
+ * sugestões de um usuário em memória comparada com o self-join no H2 que
+ * cada requisição faria sem a pré-computação.
+ *
+ * Executar com: mvn test -Pbenchmark -Dtest=SuggestionBenchmark
+ */
+public class SuggestionBenchmark {
+
+    private static final int USERS = 200_000;
+    private static final int FOLLOWS_PER_USER = 20;
+    private static final int SIZE = 50;
+    private static final int[] PARALLELISM = { 1, 2, 4, 8 };
+    private static final int SQL_USERS = 20_000;
+    private static final int SAMPLES = 500;
+
+    @Test
+    @DisplayName("Job fork/join: tempo total por número de threads")
+    void measureJob() {
+        FollowGraph graph = new FollowGraph(USERS * FOLLOWS_PER_USER);
+        forEachEdge(USERS, graph::follow);
+        FollowerDirectory directory = directory(graph);
+        long[] userIds = graph.followingUsers();
+
+        System.out.printf("users=%,d edges=%,d cores=%d%n", userIds.length, graph.edgeCount(),
+                Runtime.getRuntime().availableProcessors());
+        for (int parallelism : PARALLELISM) {
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try {
+                // a primeira rodada aquece o JIT
+                pool.invoke(new MutualFollowJob(directory, userIds, SIZE, new ConcurrentHashMap<>()));
+                Map<Long, SuggestionList> table = new ConcurrentHashMap<>();
+                long start = System.nanoTime();
+                pool.invoke(new MutualFollowJob(directory, userIds, SIZE, table));
+                long millis = (System.nanoTime() - start) / 1_000_000;
+
+                assertThat(table).hasSize(userIds.length);
+                System.out.printf("parallelism=%d wall=%,d ms (%.1f µs/usuário)%n", parallelism, millis,
+                        millis * 1_000.0 / userIds.length);
+            } finally {
+                pool.shutdown();
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Sugestões de um usuário: memória contra self-join no H2")
+    void measurePerUser() throws Exception {
+        FollowGraph graph = new FollowGraph(SQL_USERS * FOLLOWS_PER_USER);
+        forEachEdge(SQL_USERS, graph::follow);
+        FollowerDirectory directory = directory(graph);
+
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:suggestions_benchmark")) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CREATE TABLE follows (follower_id BIGINT, followee_id BIGINT, "
+                        + "PRIMARY KEY (follower_id, followee_id))");
+            }
+            try (PreparedStatement insert = connection.prepareStatement("INSERT INTO follows VALUES (?, ?)")) {
+                for (long userId : graph.followingUsers()) {
+                    for (long followeeId : graph.allFollowing(userId)) {
+                        insert.setLong(1, userId);
+                        insert.setLong(2, followeeId);
+                        insert.addBatch();
+                    }
+                    insert.executeBatch();
+                }
+            }
+
+            long[] memory = new long[SAMPLES];
+            long[] sql = new long[SAMPLES];
+            SplittableRandom random = new SplittableRandom(3);
+            try (PreparedStatement query = connection.prepareStatement(
+                    "SELECT f2.followee_id, COUNT(*) AS mutual FROM follows f1 "
+                    + "JOIN follows f2 ON f2.follower_id = f1.followee_id "
+                    + "WHERE f1.follower_id = ? AND f2.followee_id <> ? AND NOT EXISTS ("
+                    + "SELECT 1 FROM follows f3 WHERE f3.follower_id = ? AND f3.followee_id = f2.followee_id) "
+                    + "GROUP BY f2.followee_id ORDER BY mutual DESC, f2.followee_id LIMIT " + SIZE)) {
+                for (int i = -SAMPLES; i < SAMPLES; i++) {
+                    long userId = 1 + random.nextInt(SQL_USERS);
+
+                    long t = System.nanoTime();
+                    SuggestionList suggestions = MutualFollows.compute(directory, userId, SIZE);
+                    long memoryNanos = System.nanoTime() - t;
+
+                    query.setLong(1, userId);
+                    query.setLong(2, userId);
+                    query.setLong(3, userId);
+                    t = System.nanoTime();
+                    int rows = 0;
+                    try (ResultSet resultSet = query.executeQuery()) {
+                        while (resultSet.next()) {
+                            rows++;
+                        }
+                    }
+                    long sqlNanos = System.nanoTime() - t;
+
+                    assertThat(rows).isEqualTo(suggestions.size());
+                    // as primeiras rodadas só aquecem
+                    if (i >= 0) {
+                        memory[i] = memoryNanos;
+                        sql[i] = sqlNanos;
+                    }
+                }
+            }
+
+            System.out.printf("%-8s p50=%.1f µs p99=%.1f µs%n", "memória", percentile(memory, 50), percentile(memory, 99));
+            System.out.printf("%-8s p50=%.1f µs p99=%.1f µs%n", "H2", percentile(sql, 50), percentile(sql, 99));
+        }
+    }
+
+    private interface EdgeConsumer {
+        boolean accept(long follower, long followee);
+    }
+
+    private static void forEachEdge(int users, EdgeConsumer consumer) {
+        SplittableRandom random = new SplittableRandom(42);
+        for (long follower = 1; follower <= users; follower++) {
+            for (int i = 0; i < FOLLOWS_PER_USER; i++) {
+                long followee = skewedUser(random, users);
+                if (followee != follower) {
+                    consumer.accept(follower, followee);
+                }
+            }
+        }
+    }
+
+    // r^2 concentra os follows nos ids baixos, como no FollowGraphBenchmark, um pouco mais suave
+    private static long skewedUser(SplittableRandom random, int users) {
+        double r = random.nextDouble();
+        return 1 + (long) (users * r * r);
+    }
+
+    private static FollowerDirectory directory(FollowGraph graph) {
+        return new FollowerDirectory() {
+            @Override
+            public long[] followersOf(long userId) {
+                return graph.allFollowers(userId);
+            }
+
+            @Override
+            public long[] followingOf(long userId) {
+                return graph.allFollowing(userId);
+            }
+
+            @Override
+            public int followerCount(long userId) {
+                return graph.followerCount(userId);
+            }
+
+            @Override
+            public long[] largeAccountsFollowedBy(long userId) {
+                return graph.allLargeFollowing(userId);
+            }
+        };
+    }
+
+    private static double percentile(long[] nanos, int percentile) {
+        long[] sorted = nanos.clone();
+        Arrays.sort(sorted);
+        return sorted[Math.min(sorted.length - 1, sorted.length * percentile / 100)] / 1_000.0;
+    }
+}
@@ -0,0 +1,93 @@
+package br.edu.ifpb.instagram.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import br.edu.ifpb.instagram.model.dto.CommentDto;
+
+public class CommentThreadCacheTest {
+
+    private static final Instant BASE = Instant.parse("2026-01-01T00:00:00Z");
+
+    private CommentThreadCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new CommentThreadCache(3, 2);
+    }
+
+    @Test
+    @DisplayName("Comentário novo deve entrar no topo e empurrar o mais antigo para fora")
+    void added_ShouldUpdatePageInPlace() {
+        cache.put(1L, cache.version(1L), List.of(comment(1L, 3), comment(1L, 2), comment(1L, 1)), true);
+
+        cache.added(comment(1L, 4));
+
+        CommentThreadCache.TopPage page = cache.get(1L);
+        assertThat(page.newest()).extracting(CommentDto::id).containsExactly(4L, 3L, 2L);
+        assertThat(page.complete()).as("o comentário 1 ficou só no banco").isFalse();
+    }
+
+    @Test
+    @DisplayName("Comentário mais antigo que a página cheia não deve entrar")
+    void added_OlderThanFullPage_ShouldBeIgnored() {
+        cache.put(1L, cache.version(1L), List.of(comment(1L, 9), comment(1L, 8), comment(1L, 7)), false);
+
+        cache.added(comment(1L, 2));
+
+        assertThat(cache.get(1L).newest()).extracting(CommentDto::id).containsExactly(9L, 8L, 7L);
+    }
+
+    @Test
+    @DisplayName("Página carregada antes de um comentário novo não deve ser gravada")
+    void put_AfterConcurrentInsert_ShouldBeDiscarded() {
+        long version = cache.version(1L);
+        cache.added(comment(1L, 5));
+
+        cache.put(1L, version, List.of(comment(1L, 4)), true);
+
+        assertThat(cache.get(1L)).isNull();
+    }
+
+    @Test
+    @DisplayName("Comentário que já veio do banco não deve entrar duas vezes")
+    void added_WhenAlreadyLoaded_ShouldNotDuplicate() {
+        // leitura entre o commit do comentário 4 e o callback depois dele
+        cache.put(1L, cache.version(1L), List.of(comment(1L, 4), comment(1L, 3), comment(1L, 2)), false);
+
+        cache.added(comment(1L, 4));
+
+        assertThat(cache.get(1L).newest()).extracting(CommentDto::id).containsExactly(4L, 3L, 2L);
+    }
+
+    @Test
+    @DisplayName("Remoção deve tirar o comentário da página")
+    void removed_ShouldDropComment() {
+        cache.put(1L, cache.version(1L), List.of(comment(1L, 2), comment(1L, 1)), true);
+
+        cache.removed(1L, 2L);
+
+        assertThat(cache.get(1L).newest()).extracting(CommentDto::id).containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("Deve respeitar o limite de threads em memória")
+    void put_OverCapacity_ShouldEvict() {
+        cache.put(1L, cache.version(1L), List.of(), true);
+        cache.put(2L, cache.version(2L), List.of(), true);
+        cache.put(3L, cache.version(3L), List.of(), true);
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.get(3L)).isNotNull();
+    }
+
+    private static CommentDto comment(long postId, long id) {
+        return new CommentDto(id, postId, 1L, "joao123", "comentário " + id, BASE.plusSeconds(id));
+    }
+}
@@ -0,0 +1,49 @@
+package br.edu.ifpb.instagram.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class EvictionTest {
+
+    @Test
+    @DisplayName("Deve remover a entrada lida há mais tempo entre as que podem sair")
+    void evictLeastRecent_ShouldSkipPinnedEntries() {
+        // valor = último acesso; negativos estão presos
+        ConcurrentHashMap<Long, Long> entries = new ConcurrentHashMap<>();
+        entries.put(1L, -1L);
+        entries.put(2L, 30L);
+        entries.put(3L, 20L);
+
+        Eviction.evictLeastRecent(entries, access -> Math.abs(access), access -> access >= 0);
+
+        assertThat(entries).containsOnlyKeys(1L, 2L);
+    }
+
+    @Test
+    @DisplayName("Não deve remover nada quando todas as entradas estão presas")
+    void evictLeastRecent_WhenAllPinned_ShouldKeepEverything() {
+        ConcurrentHashMap<Long, Long> entries = new ConcurrentHashMap<>();
+        entries.put(1L, -1L);
+        entries.put(2L, -2L);
+
+        Eviction.evictLeastRecent(entries, access -> Math.abs(access), access -> access >= 0);
+
+        assertThat(entries).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("Incrementar uma chave deve mudar a versão da faixa dela")
+    void versionStripes_Increment_ShouldChangeVersion() {
+        VersionStripes versions = new VersionStripes();
+        long before = versions.get(42L);
+
+        versions.increment(42L);
+
+        assertThat(versions.get(42L)).isEqualTo(before + 1);
+        assertThat(versions.get(42L + 1024)).as("mesma faixa").isEqualTo(before + 1);
+    }
+}
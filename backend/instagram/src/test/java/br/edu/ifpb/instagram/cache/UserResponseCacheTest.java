@@ -0,0 +1,161 @@
+package br.edu.ifpb.instagram.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.edu.ifpb.instagram.model.response.UserDetailsResponse;
+
+public class UserResponseCacheTest {
+
+    private ObjectMapper objectMapper;
+    private UserResponseCache cache;
+    private UserResponseCacheFilter filter;
+
+    private UserDetailsResponse joao;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper();
+        cache = new UserResponseCache(objectMapper, 100, true);
+        filter = new UserResponseCacheFilter(cache);
+
+        joao = new UserDetailsResponse(1L, "João Silva", "joao123", "joao@email.com");
+    }
+
+    @Test
+    @DisplayName("Deve guardar os bytes JSON prontos da resposta")
+    void put_ShouldStoreSerializedBytes() throws Exception {
+        cache.put(1L, cache.version(1L), joao);
+
+        UserResponseCache.CachedResponse cached = cache.get(1L);
+
+        assertThat(cached).isNotNull();
+        assertThat(objectMapper.readValue(cached.body(), UserDetailsResponse.class)).isEqualTo(joao);
+        assertThat(cached.etag()).startsWith("\"1-");
+    }
+
+    @Test
+    @DisplayName("Deve remover a entrada quando o usuário é invalidado")
+    void invalidate_ShouldRemoveEntry() {
+        cache.put(1L, cache.version(1L), joao);
+
+        cache.invalidate(1L);
+
+        assertThat(cache.get(1L)).isNull();
+    }
+
+    @Test
+    @DisplayName("Não deve cachear resposta carregada antes de uma invalidação")
+    void put_WithStaleVersion_ShouldBeIgnored() {
+        long versionBeforeLoad = cache.version(1L);
+        cache.invalidate(1L); // atualização concorrente
+
+        cache.put(1L, versionBeforeLoad, joao);
+
+        assertThat(cache.get(1L)).isNull();
+    }
+
+    @Test
+    @DisplayName("Não deve guardar gzip quando ele é maior que o JSON")
+    void put_WithSmallBody_ShouldSkipGzip() {
+        cache.put(1L, cache.version(1L), joao);
+
+        assertThat(cache.get(1L).gzipBody()).isNull();
+    }
+
+    @Test
+    @DisplayName("Deve respeitar o número máximo de entradas")
+    void put_WhenFull_ShouldEvict() {
+        UserResponseCache small = new UserResponseCache(objectMapper, 2, false);
+        for (long id = 1; id <= 5; id++) {
+            small.put(id, small.version(id), new UserDetailsResponse(id, "User", "user" + id, "u@email.com"));
+        }
+
+        assertThat(small.size()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Filtro deve escrever o hit direto na resposta sem chamar o controller")
+    void filter_OnHit_ShouldWriteCachedBytes() throws Exception {
+        cache.put(1L, cache.version(1L), joao);
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/users/1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, response, chain);
+
+        assertThat(chain.getRequest()).as("a cadeia não deve continuar").isNull();
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentType()).isEqualTo("application/json");
+        assertThat(response.getContentAsByteArray()).isEqualTo(cache.get(1L).body());
+        assertThat(response.getHeader("ETag")).isEqualTo(cache.get(1L).etag());
+        assertThat(response.getHeader("Vary")).isEqualTo("Accept, Accept-Encoding");
+    }
+
+    @Test
+    @DisplayName("Filtro deve responder 304 quando o ETag não mudou")
+    void filter_WithMatchingEtag_ShouldReturnNotModified() throws Exception {
+        cache.put(1L, cache.version(1L), joao);
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/users/1");
+        request.addHeader("If-None-Match", cache.get(1L).etag());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, new MockFilterChain());
+
+        assertThat(response.getStatus()).isEqualTo(304);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Filtro deve servir a versão gzip quando o cliente aceita")
+    void filter_WithGzipAccepted_ShouldWritePreGzippedBody() throws Exception {
+        String longName = "Nome Muito Longo ".repeat(40);
+        UserDetailsResponse big = new UserDetailsResponse(7L, longName, "big", "big@email.com");
+        cache.put(7L, cache.version(7L), big);
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/users/7");
+        request.addHeader("Accept-Encoding", "gzip, deflate");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, new MockFilterChain());
+
+        assertThat(response.getHeader("Content-Encoding")).isEqualTo("gzip");
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(response.getContentAsByteArray()))) {
+            assertThat(objectMapper.readValue(in, UserDetailsResponse.class)).isEqualTo(big);
+        }
+    }
+
+    @Test
+    @DisplayName("Filtro deve deixar passar misses e formatos que não são JSON")
+    void filter_OnMissOrBinaryAccept_ShouldContinueChain() throws Exception {
+        cache.put(1L, cache.version(1L), joao);
+
+        MockHttpServletRequest miss = new MockHttpServletRequest("GET", "/users/2");
+        MockFilterChain missChain = new MockFilterChain();
+        filter.doFilter(miss, new MockHttpServletResponse(), missChain);
+
+        MockHttpServletRequest cbor = new MockHttpServletRequest("GET", "/users/1");
+        cbor.addHeader("Accept", "application/cbor");
+        MockHttpServletResponse cborResponse = new MockHttpServletResponse();
+        MockFilterChain cborChain = new MockFilterChain();
+        filter.doFilter(cbor, cborResponse, cborChain);
+
+        assertThat(missChain.getRequest()).isSameAs(miss);
+        assertThat(cborChain.getRequest()).isSameAs(cbor);
+        assertThat(cborResponse.getHeader("Vary")).as("o CBOR não pode sair de um cache com o JSON")
+                .isEqualTo("Accept, Accept-Encoding");
+    }
+}
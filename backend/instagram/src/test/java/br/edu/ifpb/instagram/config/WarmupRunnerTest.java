@@ -0,0 +1,74 @@
+package br.edu.ifpb.instagram.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import br.edu.ifpb.instagram.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+@SpringBootTest(properties = "instagram.warmup.enabled=true")
+@AutoConfigureMockMvc
+@DisplayName("Testes do aquecimento da aplicação")
+public class WarmupRunnerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private WarmupRunner warmupRunner;
+
+    @Test
+    @DisplayName("Deve reportar readiness UP somente depois do aquecimento")
+    void readiness_AfterWarmup_ShouldBeUp() throws Exception {
+        mockMvc.perform(get("/actuator/health/readiness"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("UP"));
+
+        Timer total = meterRegistry.find("instagram.warmup.duration").tag("phase", "total").timer();
+        assertThat(total).isNotNull();
+        assertThat(total.count()).isPositive();
+    }
+
+    @Test
+    @DisplayName("Deve registrar métricas de duração e efeito de cada fase")
+    void warmup_ShouldRecordMetricsPerPhase() {
+        for (String phase : new String[] { "bcrypt", "jwt", "jackson", "jpa" }) {
+            Timer timer = meterRegistry.find("instagram.warmup.duration").tag("phase", phase).timer();
+            assertThat(timer).as("timer da fase %s", phase).isNotNull();
+            assertThat(timer.totalTime(TimeUnit.NANOSECONDS)).isPositive();
+
+            assertThat(meterRegistry.find("instagram.warmup.iteration.first").tag("phase", phase).timeGauge())
+                    .isNotNull();
+            assertThat(meterRegistry.find("instagram.warmup.iteration.last").tag("phase", phase).timeGauge())
+                    .isNotNull();
+        }
+    }
+
+    @Test
+    @DisplayName("Não deve gravar nada no banco")
+    void warmup_ShouldOnlyRead() {
+        long before = userRepository.count();
+
+        warmupRunner.run(null);
+
+        assertThat(userRepository.count()).isEqualTo(before);
+    }
+}
@@ -9,6 +9,7 @@ import br.edu.ifpb.instagram.model.response.UserDetailsResponse;
 import br.edu.ifpb.instagram.service.UserService;
 import br.edu.ifpb.instagram.service.impl.AuthServiceImpl;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -20,6 +21,7 @@ import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
@@ -179,4 +181,26 @@ public class AuthControllerTest {
         verifyNoInteractions(userService);
     }
 
-}
\ No newline at end of file
+    @Test
+    @DisplayName("Deve fazer login com corpo e resposta em CBOR")
+    void signIn_WithCborPayload_ShouldReturnCborLoginResponse() throws Exception {
+        String mockToken = "eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9...";
+        when(authService.authenticate(any(LoginRequest.class))).thenReturn(mockToken);
+
+        CBORMapper cborMapper = new CBORMapper();
+
+        byte[] body = mockMvc.perform(post("/auth/signin")
+                .contentType(MediaType.APPLICATION_CBOR)
+                .accept(MediaType.APPLICATION_CBOR)
+                .content(cborMapper.writeValueAsBytes(loginRequest)))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        LoginResponse response = cborMapper.readValue(body, LoginResponse.class);
+
+        assertThat(response.username()).isEqualTo("joao123");
+        assertThat(response.token()).isEqualTo(mockToken);
+    }
+
+}
@@ -0,0 +1,99 @@
+package br.edu.ifpb.instagram.controller.integration;
+
+import br.edu.ifpb.instagram.exception.ResourceNotFoundException;
+import br.edu.ifpb.instagram.model.dto.CommentDto;
+import br.edu.ifpb.instagram.model.dto.CommentPageDto;
+import br.edu.ifpb.instagram.service.CommentService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.security.Principal;
+import java.time.Instant;
+import java.util.List;
+
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@SpringBootTest
+@AutoConfigureMockMvc(addFilters = false)
+@DisplayName("Testes de Integração do CommentController")
+public class CommentControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private CommentService commentService;
+
+    private final Principal joao = new UsernamePasswordAuthenticationToken("joao123", null);
+
+    private final CommentDto comment =
+            new CommentDto(5L, 10L, 1L, "joao123", "Que foto!", Instant.parse("2026-01-01T12:00:00Z"));
+
+    @Test
+    @DisplayName("Deve criar o comentário e retornar 201")
+    void addComment_ShouldReturnCreated() throws Exception {
+        when(commentService.addComment("joao123", 10L, "Que foto!")).thenReturn(comment);
+
+        mockMvc.perform(post("/posts/10/comments").principal(joao)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"text\":\"Que foto!\"}"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id", is(5)))
+                .andExpect(jsonPath("$.authorUsername", is("joao123")));
+    }
+
+    @Test
+    @DisplayName("Deve retornar a página e o cursor da próxima")
+    void getComments_ShouldReturnPage() throws Exception {
+        when(commentService.findComments(10L, "abc", 20)).thenReturn(new CommentPageDto(List.of(comment), "def"));
+
+        mockMvc.perform(get("/posts/10/comments").param("cursor", "abc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.comments[0].text", is("Que foto!")))
+                .andExpect(jsonPath("$.nextCursor", is("def")));
+    }
+
+    @Test
+    @DisplayName("Deve recusar limite acima do máximo")
+    void getComments_LimitTooLarge_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/posts/10/comments").param("limit", "500"))
+                .andExpect(status().isBadRequest());
+
+        verify(commentService, never()).findComments(any(), any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Deve retornar Not Found para post inexistente")
+    void getComments_UnknownPost_ShouldReturnNotFound() throws Exception {
+        when(commentService.findComments(99L, null, 20))
+                .thenThrow(new ResourceNotFoundException("Post not found with id: 99"));
+
+        mockMvc.perform(get("/posts/99/comments"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("Deve retornar Forbidden ao remover comentário de outro usuário")
+    void deleteComment_NotAuthor_ShouldReturnForbidden() throws Exception {
+        doThrow(new AccessDeniedException("Only the author can delete this comment"))
+                .when(commentService).deleteComment("joao123", 10L, 5L);
+
+        mockMvc.perform(delete("/posts/10/comments/5").principal(joao))
+                .andExpect(status().isForbidden());
+    }
+}
@@ -0,0 +1,78 @@
+package br.edu.ifpb.instagram.controller.integration;
+
+import br.edu.ifpb.instagram.model.dto.ConversationDto;
+import br.edu.ifpb.instagram.model.dto.MessageDto;
+import br.edu.ifpb.instagram.service.MessageService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.security.Principal;
+import java.time.Instant;
+import java.util.List;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@SpringBootTest
+@AutoConfigureMockMvc(addFilters = false)
+@DisplayName("Testes de Integração do ConversationController")
+public class ConversationControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private MessageService messageService;
+
+    private final Principal joao = new UsernamePasswordAuthenticationToken("joao123", null);
+
+    private final Instant now = Instant.parse("2026-01-01T12:00:00Z");
+
+    @Test
+    @DisplayName("Deve criar a conversa e retornar 201")
+    void createConversation_ShouldReturnCreated() throws Exception {
+        when(messageService.createConversation("joao123", List.of(2L)))
+                .thenReturn(new ConversationDto(9L, List.of(1L, 2L), now));
+
+        mockMvc.perform(post("/conversations").principal(joao)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"memberIds\":[2]}"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id", is(9)))
+                .andExpect(jsonPath("$.memberIds", hasSize(2)));
+    }
+
+    @Test
+    @DisplayName("Deve enviar a mensagem e retornar 201 com o seq")
+    void sendMessage_ShouldReturnCreated() throws Exception {
+        when(messageService.sendMessage("joao123", 9L, "oi"))
+                .thenReturn(new MessageDto(9L, 1L, 1L, "oi", now));
+
+        mockMvc.perform(post("/conversations/9/messages").principal(joao)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"text\":\"oi\"}"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.seq", is(1)));
+    }
+
+    @Test
+    @DisplayName("Deve retornar Bad Request para limite fora da faixa")
+    void getMessages_InvalidLimit_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/conversations/9/messages").principal(joao).param("limit", "500"))
+                .andExpect(status().isBadRequest());
+
+        verify(messageService, never()).findMessages(any(), any(), any(), any(), anyInt());
+    }
+}
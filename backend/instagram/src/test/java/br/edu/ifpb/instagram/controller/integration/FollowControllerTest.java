@@ -0,0 +1,125 @@
+package br.edu.ifpb.instagram.controller.integration;
+
+import br.edu.ifpb.instagram.exception.ResourceNotFoundException;
+import br.edu.ifpb.instagram.model.dto.FollowStatsDto;
+import br.edu.ifpb.instagram.model.dto.SuggestionDto;
+import br.edu.ifpb.instagram.model.dto.UserDto;
+import br.edu.ifpb.instagram.service.FollowService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.security.Principal;
+import java.util.List;
+
+import static org.hamcrest.Matchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@SpringBootTest
+@AutoConfigureMockMvc(addFilters = false)
+@DisplayName("Testes de Integração do FollowController")
+public class FollowControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private FollowService followService;
+
+    private final Principal joao = new UsernamePasswordAuthenticationToken("joao123", null);
+
+    @Test
+    @DisplayName("Deve seguir o usuário e retornar No Content")
+    void follow_ShouldReturnNoContent() throws Exception {
+        mockMvc.perform(post("/users/2/follow").principal(joao))
+                .andExpect(status().isNoContent());
+
+        verify(followService).follow("joao123", 2L);
+    }
+
+    @Test
+    @DisplayName("Deve retornar Not Found ao seguir usuário inexistente")
+    void follow_UnknownUser_ShouldReturnNotFound() throws Exception {
+        doThrow(new ResourceNotFoundException("User not found with id: 99"))
+                .when(followService).follow("joao123", 99L);
+
+        mockMvc.perform(post("/users/99/follow").principal(joao))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("Deve deixar de seguir o usuário")
+    void unfollow_ShouldReturnNoContent() throws Exception {
+        mockMvc.perform(delete("/users/2/follow").principal(joao))
+                .andExpect(status().isNoContent());
+
+        verify(followService).unfollow("joao123", 2L);
+    }
+
+    @Test
+    @DisplayName("Deve responder 204 quando segue e 404 quando não segue")
+    void isFollowing_ShouldReflectEdge() throws Exception {
+        when(followService.isFollowing(1L, 2L)).thenReturn(true);
+        when(followService.isFollowing(2L, 1L)).thenReturn(false);
+
+        mockMvc.perform(get("/users/1/following/2"))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(get("/users/2/following/1"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("Deve retornar as contagens de seguidores e seguindo")
+    void getStats_ShouldReturnCounts() throws Exception {
+        when(followService.findStats(2L)).thenReturn(new FollowStatsDto(2L, 120, 7));
+
+        mockMvc.perform(get("/users/2/follow-stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.followers", is(120)))
+                .andExpect(jsonPath("$.following", is(7)));
+    }
+
+    @Test
+    @DisplayName("Deve retornar a página de seguidores")
+    void getFollowers_ShouldReturnPage() throws Exception {
+        when(followService.findFollowers(2L, 0, 20)).thenReturn(List.of(
+                new UserDto(1L, "João Silva", "joao123", "joao@email.com", null, null)));
+
+        mockMvc.perform(get("/users/2/followers"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].username", is("joao123")));
+    }
+
+    @Test
+    @DisplayName("Deve retornar Bad Request quando a página é inválida")
+    void getFollowing_WithInvalidPage_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/users/2/following").param("offset", "-1"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(followService);
+    }
+
+    @Test
+    @DisplayName("Deve retornar as sugestões do usuário autenticado com os seguidos em comum")
+    void getSuggestions_ShouldReturnMutualCounts() throws Exception {
+        when(followService.findSuggestions("joao123", 20)).thenReturn(List.of(
+                new SuggestionDto(new UserDto(3L, "Ana Lima", "ana", "ana@email.com", null, null), 4)));
+
+        mockMvc.perform(get("/users/suggestions").principal(joao))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].username", is("ana")))
+                .andExpect(jsonPath("$[0].mutualCount", is(4)))
+                .andExpect(jsonPath("$[0].email").doesNotExist());
+    }
+}
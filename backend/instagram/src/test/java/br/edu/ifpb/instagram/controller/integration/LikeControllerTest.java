@@ -0,0 +1,79 @@
+package br.edu.ifpb.instagram.controller.integration;
+
+import br.edu.ifpb.instagram.exception.ResourceNotFoundException;
+import br.edu.ifpb.instagram.model.dto.LikeDto;
+import br.edu.ifpb.instagram.service.LikeService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.security.Principal;
+
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@SpringBootTest
+@AutoConfigureMockMvc(addFilters = false)
+@DisplayName("Testes de Integração do LikeController")
+public class LikeControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private LikeService likeService;
+
+    private final Principal joao = new UsernamePasswordAuthenticationToken("joao123", null);
+
+    @Test
+    @DisplayName("Deve curtir o post e retornar o total atualizado")
+    void like_ShouldReturnCount() throws Exception {
+        when(likeService.like("joao123", 10L)).thenReturn(new LikeDto(10L, 7L, true));
+
+        mockMvc.perform(post("/posts/10/like").principal(joao))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.postId", is(10)))
+                .andExpect(jsonPath("$.likes", is(7)))
+                .andExpect(jsonPath("$.liked", is(true)));
+    }
+
+    @Test
+    @DisplayName("Deve descurtir o post")
+    void unlike_ShouldReturnCount() throws Exception {
+        when(likeService.unlike("joao123", 10L)).thenReturn(new LikeDto(10L, 6L, false));
+
+        mockMvc.perform(delete("/posts/10/like").principal(joao))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.likes", is(6)))
+                .andExpect(jsonPath("$.liked", is(false)));
+    }
+
+    @Test
+    @DisplayName("Deve retornar o total e se o usuário curtiu")
+    void getLikes_ShouldReturnStatus() throws Exception {
+        when(likeService.find("joao123", 10L)).thenReturn(new LikeDto(10L, 3L, true));
+
+        mockMvc.perform(get("/posts/10/likes").principal(joao))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.likes", is(3)))
+                .andExpect(jsonPath("$.liked", is(true)));
+    }
+
+    @Test
+    @DisplayName("Deve retornar Not Found para post inexistente")
+    void like_UnknownPost_ShouldReturnNotFound() throws Exception {
+        when(likeService.like("joao123", 99L)).thenThrow(new ResourceNotFoundException("Post not found with id: 99"));
+
+        mockMvc.perform(post("/posts/99/like").principal(joao))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,135 @@
+package br.edu.ifpb.instagram.controller.integration;
+
+import br.edu.ifpb.instagram.exception.ResourceNotFoundException;
+import br.edu.ifpb.instagram.exception.ServiceBusyException;
+import br.edu.ifpb.instagram.media.DerivativeSize;
+import br.edu.ifpb.instagram.model.dto.MediaDto;
+import br.edu.ifpb.instagram.service.MediaService;
+import br.edu.ifpb.instagram.storage.MediaStorage;
+import br.edu.ifpb.instagram.storage.StoredBlob;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.Principal;
+import java.time.Instant;
+
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@SpringBootTest
+@AutoConfigureMockMvc(addFilters = false)
+@DisplayName("Testes de Integração do MediaController")
+public class MediaControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private MediaService mediaService;
+
+    @Autowired
+    private MediaStorage mediaStorage;
+
+    private final Principal joao = new UsernamePasswordAuthenticationToken("joao123", null);
+
+    @Test
+    @DisplayName("Deve receber o upload multipart e retornar Created")
+    void upload_ShouldReturnCreated() throws Exception {
+        MockMultipartFile file = new MockMultipartFile("file", "foto.jpg", "image/jpeg", new byte[] { 1, 2, 3 });
+        when(mediaService.upload(eq("joao123"), eq("image/jpeg"), any(InputStream.class)))
+                .thenReturn(new MediaDto(5L, 1L, "ab".repeat(32), 3, "image/jpeg", Instant.parse("2025-01-01T10:00:00Z")));
+
+        mockMvc.perform(multipart("/media").file(file).principal(joao))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id", is(5)))
+                .andExpect(jsonPath("$.sha256", is("ab".repeat(32))))
+                .andExpect(jsonPath("$.size", is(3)));
+    }
+
+    @Test
+    @DisplayName("Deve retornar Bad Request para arquivo vazio")
+    void upload_EmptyFile_ShouldReturnBadRequest() throws Exception {
+        MockMultipartFile file = new MockMultipartFile("file", "foto.jpg", "image/jpeg", new byte[0]);
+
+        mockMvc.perform(multipart("/media").file(file).principal(joao))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(mediaService);
+    }
+
+    @Test
+    @DisplayName("Deve retornar Bad Request para tipo de mídia não suportado")
+    void upload_UnsupportedType_ShouldReturnBadRequest() throws Exception {
+        MockMultipartFile file = new MockMultipartFile("file", "doc.pdf", "application/pdf", new byte[] { 1 });
+        when(mediaService.upload(eq("joao123"), eq("application/pdf"), any(InputStream.class)))
+                .thenThrow(new IllegalArgumentException("Unsupported media type: application/pdf"));
+
+        mockMvc.perform(multipart("/media").file(file).principal(joao))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Deve servir a mídia com suporte a Range")
+    void download_WithRange_ShouldReturnPartialContent() throws Exception {
+        StoredBlob blob = mediaStorage.store(new ByteArrayInputStream("conteudo do video".getBytes(StandardCharsets.UTF_8)));
+        when(mediaService.findById(7L))
+                .thenReturn(new MediaDto(7L, 1L, blob.sha256(), blob.size(), "video/mp4", Instant.parse("2025-01-01T10:00:00Z")));
+
+        mockMvc.perform(get("/media/7").principal(joao).header("Range", "bytes=0-7"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string("ETag", "\"" + blob.sha256() + "\""))
+                .andExpect(header().string("Content-Range", "bytes 0-7/" + blob.size()))
+                .andExpect(content().contentType("video/mp4"))
+                .andExpect(content().string("conteudo"));
+    }
+
+    @Test
+    @DisplayName("Deve retornar Not Found para mídia inexistente")
+    void download_UnknownMedia_ShouldReturnNotFound() throws Exception {
+        when(mediaService.findById(99L)).thenThrow(new ResourceNotFoundException("Media not found with id: 99"));
+
+        mockMvc.perform(get("/media/99").principal(joao))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("Deve servir a derivada pedida no parâmetro size")
+    void download_WithSize_ShouldServeDerivative() throws Exception {
+        StoredBlob thumb = mediaStorage.store(new ByteArrayInputStream("miniatura".getBytes(StandardCharsets.UTF_8)));
+        when(mediaService.findDerivative(8L, DerivativeSize.THUMB))
+                .thenReturn(new MediaDto(8L, 1L, thumb.sha256(), thumb.size(), "image/jpeg", Instant.parse("2025-01-01T10:00:00Z")));
+
+        mockMvc.perform(get("/media/8").param("size", "thumb").principal(joao))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("image/jpeg"))
+                .andExpect(content().string("miniatura"));
+    }
+
+    @Test
+    @DisplayName("Deve retornar Service Unavailable quando a fila de processamento está cheia")
+    void upload_WhenQueueIsFull_ShouldReturnServiceUnavailable() throws Exception {
+        MockMultipartFile file = new MockMultipartFile("file", "foto.png", "image/png", new byte[] { 1, 2, 3 });
+        when(mediaService.upload(eq("joao123"), eq("image/png"), any(InputStream.class)))
+                .thenThrow(new ServiceBusyException("Image processing queue is full, try again later"));
+
+        mockMvc.perform(multipart("/media").file(file).principal(joao))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().exists("Retry-After"));
+    }
+}
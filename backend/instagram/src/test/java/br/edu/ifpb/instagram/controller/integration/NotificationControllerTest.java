@@ -0,0 +1,78 @@
+package br.edu.ifpb.instagram.controller.integration;
+
+import br.edu.ifpb.instagram.exception.ResourceNotFoundException;
+import br.edu.ifpb.instagram.notification.NotificationBus;
+import br.edu.ifpb.instagram.notification.NotificationEvent;
+import br.edu.ifpb.instagram.notification.NotificationSink;
+import br.edu.ifpb.instagram.notification.NotificationType;
+import br.edu.ifpb.instagram.service.NotificationService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.security.Principal;
+import java.time.Instant;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@SpringBootTest
+@AutoConfigureMockMvc(addFilters = false)
+@DisplayName("Testes de Integração do NotificationController")
+public class NotificationControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private NotificationService notificationService;
+
+    private final Principal joao = new UsernamePasswordAuthenticationToken("joao123", null);
+
+    @Test
+    @DisplayName("Deve abrir o stream a partir do Last-Event-ID e escrever os eventos em SSE")
+    void stream_ShouldWriteEvents() throws Exception {
+        ArgumentCaptor<NotificationSink> sink = ArgumentCaptor.forClass(NotificationSink.class);
+        when(notificationService.subscribe(eq("joao123"), eq(41L), any()))
+                .thenReturn(mock(NotificationBus.Subscription.class));
+
+        MvcResult result = mockMvc.perform(get("/notifications/stream").principal(joao).header("Last-Event-ID", "41"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        verify(notificationService).subscribe(eq("joao123"), eq(41L), sink.capture());
+        sink.getValue().send(new NotificationEvent(42L, NotificationType.LIKE, 1L, 2L, "maria", 10L,
+                Instant.parse("2026-01-01T12:00:00Z")));
+        sink.getValue().overflow(3);
+        sink.getValue().close();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", containsString("text/event-stream")))
+                .andExpect(content().string(containsString("id:42\nevent:like\ndata:{\"id\":42,\"type\":\"LIKE\"")))
+                .andExpect(content().string(containsString("event:overflow\ndata:{\"dropped\":3}")));
+    }
+
+    @Test
+    @DisplayName("Deve retornar Not Found para usuário inexistente")
+    void stream_UnknownUser_ShouldReturnNotFound() throws Exception {
+        when(notificationService.subscribe(eq("joao123"), any(), any()))
+                .thenThrow(new ResourceNotFoundException("User not found with username: joao123"));
+
+        mockMvc.perform(get("/notifications/stream").principal(joao))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,104 @@
+package br.edu.ifpb.instagram.controller.integration;
+
+import br.edu.ifpb.instagram.model.dto.FeedPageDto;
+import br.edu.ifpb.instagram.model.dto.PostDto;
+import br.edu.ifpb.instagram.model.request.PostRequest;
+import br.edu.ifpb.instagram.service.PostService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.security.Principal;
+import java.time.Instant;
+import java.util.List;
+
+import static org.hamcrest.Matchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@SpringBootTest
+@AutoConfigureMockMvc(addFilters = false)
+@DisplayName("Testes de Integração do PostController e FeedController")
+public class PostControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private PostService postService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // Sem os filtros de segurança, o usuário autenticado é passado direto na requisição
+    private final Principal joao = new UsernamePasswordAuthenticationToken("joao123", null);
+
+    private final PostDto post = new PostDto(10L, 1L, "joao123", "minha foto", Instant.parse("2025-01-01T10:00:00Z"));
+
+    @Test
+    @DisplayName("Deve criar post para o usuário autenticado")
+    void createPost_ShouldReturnCreated() throws Exception {
+        when(postService.createPost("joao123", "minha foto")).thenReturn(post);
+
+        mockMvc.perform(post("/posts")
+                .principal(joao)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new PostRequest("minha foto"))))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id", is(10)))
+                .andExpect(jsonPath("$.authorUsername", is("joao123")))
+                .andExpect(jsonPath("$.caption", is("minha foto")));
+
+        verify(postService).createPost("joao123", "minha foto");
+    }
+
+    @Test
+    @DisplayName("Deve retornar Forbidden quando outro usuário tenta apagar o post")
+    void deletePost_WhenNotAuthor_ShouldReturnForbidden() throws Exception {
+        doThrow(new AccessDeniedException("Only the author can delete this post"))
+                .when(postService).deletePost("joao123", 10L);
+
+        mockMvc.perform(delete("/posts/10")
+                .principal(joao))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @DisplayName("Deve retornar a página do feed do usuário autenticado")
+    void getFeed_ShouldReturnPage() throws Exception {
+        when(postService.findFeed("joao123", "abc", 2)).thenReturn(new FeedPageDto(List.of(post), "def"));
+
+        mockMvc.perform(get("/feed")
+                .principal(joao)
+                .param("cursor", "abc")
+                .param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.posts", hasSize(1)))
+                .andExpect(jsonPath("$.posts[0].id", is(10)))
+                .andExpect(jsonPath("$.nextCursor", is("def")));
+
+        verify(postService).findFeed("joao123", "abc", 2);
+    }
+
+    @Test
+    @DisplayName("Deve retornar Bad Request quando o tamanho da página é inválido")
+    void getFeed_WithInvalidLimit_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/feed")
+                .principal(joao)
+                .param("limit", "500"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(postService);
+    }
+}
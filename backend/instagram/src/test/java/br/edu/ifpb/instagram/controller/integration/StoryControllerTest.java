@@ -0,0 +1,76 @@
+package br.edu.ifpb.instagram.controller.integration;
+
+import br.edu.ifpb.instagram.exception.ResourceNotFoundException;
+import br.edu.ifpb.instagram.model.dto.StoryDto;
+import br.edu.ifpb.instagram.service.StoryService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.security.Principal;
+import java.time.Instant;
+import java.util.List;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@SpringBootTest
+@AutoConfigureMockMvc(addFilters = false)
+@DisplayName("Testes de Integração do StoryController")
+public class StoryControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private StoryService storyService;
+
+    private final Principal joao = new UsernamePasswordAuthenticationToken("joao123", null);
+
+    private final StoryDto story = new StoryDto(7L, 1L, "joao123", 3L,
+            Instant.parse("2026-01-01T12:00:00Z"), Instant.parse("2026-01-02T12:00:00Z"));
+
+    @Test
+    @DisplayName("Deve publicar o story e retornar 201")
+    void createStory_ShouldReturnCreated() throws Exception {
+        when(storyService.createStory("joao123", 3L)).thenReturn(story);
+
+        mockMvc.perform(post("/stories").principal(joao)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"mediaId\":3}"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id", is(7)))
+                .andExpect(jsonPath("$.expiresAt", is("2026-01-02T12:00:00Z")));
+    }
+
+    @Test
+    @DisplayName("Deve listar os stories no ar do usuário")
+    void getUserStories_ShouldReturnActiveStories() throws Exception {
+        when(storyService.findActiveByAuthor(1L)).thenReturn(List.of(story));
+
+        mockMvc.perform(get("/users/1/stories"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].mediaId", is(3)));
+    }
+
+    @Test
+    @DisplayName("Deve retornar Not Found para story vencido")
+    void getStory_Expired_ShouldReturnNotFound() throws Exception {
+        when(storyService.findById(7L)).thenThrow(new ResourceNotFoundException("Story not found with id: 7"));
+
+        mockMvc.perform(get("/stories/7"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,49 @@
+package br.edu.ifpb.instagram.controller.integration;
+
+import br.edu.ifpb.instagram.model.dto.TrendingDto;
+import br.edu.ifpb.instagram.model.dto.TrendingHashtagDto;
+import br.edu.ifpb.instagram.trending.TrendingAggregator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@SpringBootTest
+@AutoConfigureMockMvc(addFilters = false)
+@DisplayName("Testes de Integração do TrendingController")
+public class TrendingControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private TrendingAggregator trendingAggregator;
+
+    @Test
+    @DisplayName("Deve retornar o ranking pré-calculado sem recalcular")
+    void getTrending_ShouldReturnPublishedRanking() throws Exception {
+        when(trendingAggregator.current()).thenReturn(new TrendingDto(Instant.parse("2026-01-01T12:00:00Z"),
+                List.of(new TrendingHashtagDto("praia", 42), new TrendingHashtagDto("festa", 7))));
+
+        mockMvc.perform(get("/trending"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hashtags[0].hashtag", is("praia")))
+                .andExpect(jsonPath("$.hashtags[0].count", is(42)))
+                .andExpect(jsonPath("$.hashtags[1].hashtag", is("festa")));
+
+        verify(trendingAggregator, never()).refresh(any());
+    }
+}
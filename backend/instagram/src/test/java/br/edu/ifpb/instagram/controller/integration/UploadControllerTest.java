@@ -0,0 +1,135 @@
+package br.edu.ifpb.instagram.controller.integration;
+
+import br.edu.ifpb.instagram.exception.ResourceNotFoundException;
+import br.edu.ifpb.instagram.exception.UploadOffsetConflictException;
+import br.edu.ifpb.instagram.model.dto.MediaDto;
+import br.edu.ifpb.instagram.model.dto.UploadSessionDto;
+import br.edu.ifpb.instagram.service.UploadSessionService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.InputStream;
+import java.security.Principal;
+import java.time.Instant;
+
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@SpringBootTest
+@AutoConfigureMockMvc(addFilters = false)
+@DisplayName("Testes de Integração do UploadController")
+public class UploadControllerTest {
+
+    private static final String SESSION_ID = "0f8fad5b-d9cb-469f-a165-70867728950e";
+    private static final Instant EXPIRES_AT = Instant.parse("2025-01-02T10:00:00Z");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private UploadSessionService uploadSessionService;
+
+    private final Principal joao = new UsernamePasswordAuthenticationToken("joao123", null);
+
+    @Test
+    @DisplayName("Deve criar a sessão de upload e retornar Created com Location")
+    void create_ShouldReturnCreated() throws Exception {
+        when(uploadSessionService.create("joao123", "video/mp4", 1000L))
+                .thenReturn(new UploadSessionDto(SESSION_ID, "video/mp4", 1000L, 0L, EXPIRES_AT));
+
+        mockMvc.perform(post("/media/uploads")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"contentType\":\"video/mp4\",\"size\":1000}")
+                .principal(joao))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Location", "/media/uploads/" + SESSION_ID))
+                .andExpect(header().string("Upload-Offset", "0"))
+                .andExpect(jsonPath("$.id", is(SESSION_ID)))
+                .andExpect(jsonPath("$.size", is(1000)));
+    }
+
+    @Test
+    @DisplayName("Deve gravar o chunk no offset informado")
+    void writeChunk_ShouldReturnNewOffset() throws Exception {
+        when(uploadSessionService.writeChunk(eq("joao123"), eq(SESSION_ID), eq(400L), any(InputStream.class)))
+                .thenReturn(new UploadSessionDto(SESSION_ID, "video/mp4", 1000L, 600L, EXPIRES_AT));
+
+        mockMvc.perform(put("/media/uploads/" + SESSION_ID)
+                .param("offset", "400")
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .content(new byte[200])
+                .principal(joao))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Upload-Offset", "600"))
+                .andExpect(jsonPath("$.offset", is(600)));
+    }
+
+    @Test
+    @DisplayName("Deve retornar Conflict com o offset atual quando o chunk pula bytes")
+    void writeChunk_WithGap_ShouldReturnConflict() throws Exception {
+        when(uploadSessionService.writeChunk(eq("joao123"), eq(SESSION_ID), eq(900L), any(InputStream.class)))
+                .thenThrow(new UploadOffsetConflictException("Chunk offset 900 does not match the upload offset", 600L));
+
+        mockMvc.perform(put("/media/uploads/" + SESSION_ID)
+                .param("offset", "900")
+                .content(new byte[10])
+                .principal(joao))
+                .andExpect(status().isConflict())
+                .andExpect(header().string("Upload-Offset", "600"));
+    }
+
+    @Test
+    @DisplayName("Deve informar o offset atual da sessão")
+    void status_ShouldReturnOffset() throws Exception {
+        when(uploadSessionService.find("joao123", SESSION_ID))
+                .thenReturn(new UploadSessionDto(SESSION_ID, "video/mp4", 1000L, 600L, EXPIRES_AT));
+
+        mockMvc.perform(get("/media/uploads/" + SESSION_ID).principal(joao))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Upload-Offset", "600"));
+    }
+
+    @Test
+    @DisplayName("Deve retornar Not Found para sessão de outro usuário")
+    void status_OtherUsersSession_ShouldReturnNotFound() throws Exception {
+        when(uploadSessionService.find("joao123", SESSION_ID))
+                .thenThrow(new ResourceNotFoundException("Upload session not found with id: " + SESSION_ID));
+
+        mockMvc.perform(get("/media/uploads/" + SESSION_ID).principal(joao))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("Deve finalizar o upload e retornar a mídia criada")
+    void complete_ShouldReturnCreatedMedia() throws Exception {
+        when(uploadSessionService.complete("joao123", SESSION_ID))
+                .thenReturn(new MediaDto(9L, 1L, "cd".repeat(32), 1000L, "video/mp4", EXPIRES_AT));
+
+        mockMvc.perform(post("/media/uploads/" + SESSION_ID + "/complete").principal(joao))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id", is(9)))
+                .andExpect(jsonPath("$.contentType", is("video/mp4")));
+    }
+
+    @Test
+    @DisplayName("Deve cancelar a sessão e retornar No Content")
+    void abort_ShouldReturnNoContent() throws Exception {
+        mockMvc.perform(delete("/media/uploads/" + SESSION_ID).principal(joao))
+                .andExpect(status().isNoContent());
+
+        verify(uploadSessionService).abort("joao123", SESSION_ID);
+    }
+}
@@ -1,9 +1,14 @@
 package br.edu.ifpb.instagram.controller.integration;
 
+import br.edu.ifpb.instagram.model.dto.UserBatchDto;
 import br.edu.ifpb.instagram.model.dto.UserDto;
+import br.edu.ifpb.instagram.model.dto.UserField;
 import br.edu.ifpb.instagram.model.request.UserDetailsRequest;
+import br.edu.ifpb.instagram.model.response.UserDetailsResponse;
 import br.edu.ifpb.instagram.service.UserService;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -17,8 +22,10 @@ import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
@@ -132,7 +139,10 @@ public class UserControllerTest {
                 .andExpect(jsonPath("$.id", is(1)))
                 .andExpect(jsonPath("$.fullName", is("João Silva")))
                 .andExpect(jsonPath("$.username", is("joao123")))
-                .andExpect(jsonPath("$.email", is("joao@email.com")));
+                .andExpect(jsonPath("$.email", is("joao@email.com")))
+                // perfil completo traz os visitantes únicos estimados
+                .andExpect(jsonPath("$.views.today").isNumber())
+                .andExpect(jsonPath("$.views.last30Days").isNumber());
 
         // VERIFY: Confirma que findById foi chamado com o parâmetro correto (1L)
         verify(userService).findById(1L);
@@ -177,7 +187,7 @@ public class UserControllerTest {
         // When & Then - Simula DELETE /users/1
         mockMvc.perform(delete("/users/" + userId)
                 .contentType(MediaType.APPLICATION_JSON))
-                .andExpect(status().isOk())
+                .andExpect(status().isAccepted())
                 // content().string(): verifica o texto retornado (não JSON, apenas string)
                 .andExpect(content().string("user was deleted!"));
 
@@ -239,4 +249,117 @@ public class UserControllerTest {
         // VERIFY: Confirma a chamada do service
         verify(userService).findAll();
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Deve retornar lista de usuários em CBOR quando Accept pede CBOR")
+    void getUsers_WithCborAccept_ShouldReturnCborPayload() throws Exception {
+        when(userService.findAll()).thenReturn(Arrays.asList(userDto1, userDto2));
+
+        byte[] body = mockMvc.perform(get("/users")
+                .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Decodifica o corpo binário de volta para os mesmos records do JSON
+        UserDetailsResponse[] users = new CBORMapper().readValue(body, UserDetailsResponse[].class);
+
+        assertThat(users).hasSize(2);
+        assertThat(users[0].username()).isEqualTo("joao123");
+        assertThat(users[1].email()).isEqualTo("maria@email.com");
+    }
+
+    @Test
+    @DisplayName("Deve aceitar e responder Smile no update quando solicitado")
+    void updateUser_WithSmileBody_ShouldReturnSmilePayload() throws Exception {
+        UserDto updatedUserDto = new UserDto(1L, "João Silva Atualizado", "joao_updated",
+                                           "joao.updated@email.com", null, null);
+        when(userService.updateUser(any(UserDto.class))).thenReturn(updatedUserDto);
+
+        MediaType smile = MediaType.parseMediaType("application/x-jackson-smile");
+        SmileMapper smileMapper = new SmileMapper();
+
+        byte[] body = mockMvc.perform(put("/users")
+                .contentType(smile)
+                .accept(smile)
+                .content(smileMapper.writeValueAsBytes(userDetailsRequest)))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(smile))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        UserDetailsResponse response = smileMapper.readValue(body, UserDetailsResponse.class);
+
+        assertThat(response.id()).isEqualTo(1L);
+        assertThat(response.username()).isEqualTo("joao_updated");
+    }
+
+    @Test
+    @DisplayName("Deve manter JSON como formato padrão quando Accept é genérico")
+    void getUser_WithWildcardAccept_ShouldDefaultToJson() throws Exception {
+        when(userService.findById(2L)).thenReturn(userDto2);
+
+        mockMvc.perform(get("/users/2")
+                .accept(MediaType.ALL))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.username", is("maria456")));
+    }
+
+    @Test
+    @DisplayName("Deve retornar vários usuários por ids com os faltantes informados")
+    void getUsersByIds_ShouldReturnUsersAndMissingIds() throws Exception {
+        when(userService.findAllById(List.of(2L, 9L, 1L)))
+                .thenReturn(new UserBatchDto(List.of(userDto2, userDto1), List.of(9L)));
+
+        mockMvc.perform(get("/users")
+                .param("ids", "2,9,1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.users", hasSize(2)))
+                .andExpect(jsonPath("$.users[0].id", is(2)))
+                .andExpect(jsonPath("$.users[1].id", is(1)))
+                .andExpect(jsonPath("$.missingIds", contains(9)));
+
+        verify(userService).findAllById(List.of(2L, 9L, 1L));
+        verify(userService, never()).findAll();
+    }
+
+    @Test
+    @DisplayName("Deve retornar Bad Request quando ids excedem o limite")
+    void getUsersByIds_WithTooManyIds_ShouldReturnBadRequest() throws Exception {
+        String ids = String.join(",", Collections.nCopies(101, "1"));
+
+        mockMvc.perform(get("/users")
+                .param("ids", ids))
+                .andExpect(status().isBadRequest());
+
+        verify(userService, never()).findAllById(any());
+    }
+
+    @Test
+    @DisplayName("Deve escrever apenas os campos pedidos em fields")
+    void getUsers_WithFields_ShouldWriteOnlyRequestedFields() throws Exception {
+        when(userService.findAll(EnumSet.of(UserField.ID, UserField.USERNAME)))
+                .thenReturn(List.of(new UserDto(1L, null, "joao123", null, null, null)));
+
+        mockMvc.perform(get("/users")
+                .param("fields", "id,username"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].*", hasSize(2)))
+                .andExpect(jsonPath("$[0].id", is(1)))
+                .andExpect(jsonPath("$[0].username", is("joao123")))
+                .andExpect(jsonPath("$[0].email").doesNotExist());
+
+        verify(userService, never()).findAll();
+    }
+
+    @Test
+    @DisplayName("Deve retornar Bad Request quando fields tem campo desconhecido")
+    void getUser_WithUnknownField_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/users/1")
+                .param("fields", "username,password"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(userService);
+    }
+}
@@ -0,0 +1,96 @@
+package br.edu.ifpb.instagram.counter;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+public class LikeCountersTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private LikeCounters counters;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        counters = new LikeCounters(jdbcTemplate, 0, false, 0, Duration.ofSeconds(30));
+    }
+
+    @Test
+    @DisplayName("Deve juntar curtidas concorrentes em um único UPDATE por post")
+    @SuppressWarnings("unchecked")
+    void flush_AfterConcurrentLikes_ShouldWriteOneDeltaPerPost() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 8; i++) {
+            pool.execute(() -> {
+                for (int j = 0; j < 10_000; j++) {
+                    counters.add(1L, 1);
+                }
+            });
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+        counters.add(2L, 1);
+        counters.add(2L, -1);
+        counters.add(3L, -1);
+
+        assertEquals(80_000, counters.pending(1L));
+
+        int updated = counters.flush();
+
+        ArgumentCaptor<List<Object[]>> captor = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), captor.capture());
+        assertEquals(2, updated, "O post 2 se anulou e não gera UPDATE");
+        assertTrue(captor.getValue().stream().anyMatch(row -> row[0].equals(80_000L) && row[1].equals(1L)));
+        assertTrue(captor.getValue().stream().anyMatch(row -> row[0].equals(-1L) && row[1].equals(3L)));
+        assertEquals(0, counters.pending(1L));
+    }
+
+    @Test
+    @DisplayName("Deve devolver os deltas para a próxima rodada quando o banco falha")
+    void flush_WhenDatabaseFails_ShouldKeepDeltas() {
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenThrow(new DataAccessResourceFailureException("db down"));
+        counters.add(1L, 5);
+
+        assertThrows(DataAccessResourceFailureException.class, counters::flush);
+
+        assertEquals(5, counters.pending(1L));
+    }
+
+    @Test
+    @DisplayName("Não deve acessar o banco quando não há deltas")
+    void flush_WithoutChanges_ShouldNotTouchDatabase() {
+        counters.add(1L, 1);
+        counters.flush();
+        reset(jdbcTemplate);
+
+        assertEquals(0, counters.flush());
+        assertEquals(0, counters.flush(), "O post ocioso sai do mapa");
+
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+    }
+
+    @Test
+    @DisplayName("Subida sem marca de queda não deve recalcular os contadores")
+    void startup_WithoutCrash_ShouldNotRecount() {
+        LikeCounters restarted = new LikeCounters(jdbcTemplate, 0, true, 0, Duration.ofSeconds(30));
+
+        restarted.afterSingletonsInstantiated();
+
+        verify(jdbcTemplate, never()).update(eq("UPDATE posts p SET like_count = (SELECT COUNT(*) FROM likes l WHERE l.post_id = p.id)"));
+    }
+}
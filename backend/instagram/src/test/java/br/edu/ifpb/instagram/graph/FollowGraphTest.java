@@ -0,0 +1,155 @@
+package br.edu.ifpb.instagram.graph;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class FollowGraphTest {
+
+    @Test
+    @DisplayName("Deve responder se A segue B e manter as contagens")
+    void follow_ShouldUpdateEdgesAndCounts() {
+        FollowGraph graph = new FollowGraph(0);
+
+        assertTrue(graph.follow(1, 2));
+        assertTrue(graph.follow(3, 2));
+        assertFalse(graph.follow(1, 2), "Follow repetido não deve criar aresta");
+
+        assertAll("Validação do grafo",
+            () -> assertTrue(graph.isFollowing(1, 2)),
+            () -> assertFalse(graph.isFollowing(2, 1), "Follow não é simétrico"),
+            () -> assertEquals(2, graph.followerCount(2)),
+            () -> assertEquals(1, graph.followingCount(1)),
+            () -> assertEquals(0, graph.followerCount(99)),
+            () -> assertEquals(2, graph.edgeCount())
+        );
+    }
+
+    @Test
+    @DisplayName("Deve paginar seguidores em ordem de id")
+    void followers_ShouldReturnSortedPages() {
+        FollowGraph graph = new FollowGraph(0);
+        for (long follower : new long[] { 50, 10, 40, 20, 30 }) {
+            graph.follow(follower, 1);
+        }
+
+        assertArrayEquals(new long[] { 10, 20 }, graph.followers(1, 0, 2));
+        assertArrayEquals(new long[] { 30, 40, 50 }, graph.followers(1, 2, 10));
+        assertEquals(0, graph.followers(1, 5, 10).length);
+    }
+
+    @Test
+    @DisplayName("Deve remover a aresta no unfollow")
+    void unfollow_ShouldRemoveEdge() {
+        FollowGraph graph = new FollowGraph(0);
+        graph.follow(1, 2);
+
+        assertTrue(graph.unfollow(1, 2));
+        assertFalse(graph.unfollow(1, 2));
+
+        assertFalse(graph.isFollowing(1, 2));
+        assertEquals(0, graph.followerCount(2));
+        assertEquals(0, graph.followingCount(1));
+    }
+
+    @Test
+    @DisplayName("Deve remover todas as arestas de um usuário apagado")
+    void removeUser_ShouldDropIncomingAndOutgoingEdges() {
+        FollowGraph graph = new FollowGraph(0);
+        graph.follow(1, 2);
+        graph.follow(2, 3);
+        graph.follow(4, 2);
+        graph.follow(4, 3);
+
+        graph.removeUser(2);
+
+        assertAll("Validação da remoção",
+            () -> assertFalse(graph.isFollowing(1, 2)),
+            () -> assertFalse(graph.isFollowing(2, 3)),
+            () -> assertTrue(graph.isFollowing(4, 3)),
+            () -> assertEquals(0, graph.followingCount(1)),
+            () -> assertArrayEquals(new long[] { 4 }, graph.followers(3, 0, 10)),
+            () -> assertEquals(1, graph.edgeCount())
+        );
+    }
+
+    @Test
+    @DisplayName("Deve manter as contas grandes seguidas por cada usuário")
+    void largeFollowing_ShouldTrackAccountsCrossingThreshold() {
+        FollowGraph graph = new FollowGraph(0, 2);
+        graph.follow(1, 9);
+        assertEquals(0, graph.allLargeFollowing(1).length, "Um seguidor ainda não torna a conta grande");
+
+        graph.follow(2, 9);
+        graph.follow(3, 9);
+        assertArrayEquals(new long[] { 9 }, graph.allLargeFollowing(1));
+        assertArrayEquals(new long[] { 9 }, graph.allLargeFollowing(3));
+
+        graph.unfollow(3, 9);
+        assertEquals(0, graph.allLargeFollowing(3).length);
+        assertArrayEquals(new long[] { 9 }, graph.allLargeFollowing(1));
+
+        graph.removeUser(2);
+        assertEquals(0, graph.allLargeFollowing(1).length, "Abaixo do limite a conta sai da lista de todos");
+    }
+
+    @Test
+    @DisplayName("Contas grandes seguidas devem bater com as contagens após operações aleatórias")
+    void largeFollowing_AfterRandomOperations_ShouldMatchCounts() {
+        FollowGraph graph = new FollowGraph(0, 6);
+        Random random = new Random(7);
+
+        for (int i = 0; i < 20_000; i++) {
+            long follower = 1 + random.nextInt(40);
+            long followee = 1 + random.nextInt(40);
+            int operation = random.nextInt(20);
+            if (operation == 0) {
+                graph.removeUser(follower);
+            } else if (operation < 8) {
+                graph.unfollow(follower, followee);
+            } else {
+                graph.follow(follower, followee);
+            }
+        }
+
+        for (long user = 1; user <= 40; user++) {
+            long[] expected = Arrays.stream(graph.allFollowing(user))
+                    .filter(followee -> graph.followerCount(followee) >= 6)
+                    .toArray();
+            assertArrayEquals(expected, graph.allLargeFollowing(user), "Usuário " + user);
+        }
+    }
+
+    @Test
+    @DisplayName("Deve se comportar como um Set de pares após muitas inserções e remoções")
+    void randomOperations_ShouldMatchReferenceSet() {
+        FollowGraph graph = new FollowGraph(0);
+        Set<Long> reference = new HashSet<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 50_000; i++) {
+            long follower = 1 + random.nextInt(200);
+            long followee = 1 + random.nextInt(200);
+            long key = follower * 1_000 + followee;
+
+            if (random.nextInt(3) == 0) {
+                assertEquals(reference.remove(key), graph.unfollow(follower, followee));
+            } else {
+                assertEquals(reference.add(key), graph.follow(follower, followee));
+            }
+        }
+
+        assertEquals(reference.size(), graph.edgeCount());
+        for (long follower = 1; follower <= 200; follower++) {
+            for (long followee = 1; followee <= 200; followee++) {
+                assertEquals(reference.contains(follower * 1_000 + followee), graph.isFollowing(follower, followee));
+            }
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package br.edu.ifpb.instagram.ids;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class SnowflakeIdsTest {
+
+    private static final long START = SnowflakeIds.EPOCH.toEpochMilli() + 1_000;
+
+    @Test
+    @DisplayName("Deve codificar tempo, nó e sequência e caber em 53 bits")
+    void next_ShouldEncodeTimestampNodeAndSequence() {
+        SnowflakeIds ids = new SnowflakeIds(5, () -> START);
+
+        long first = ids.next();
+        long second = ids.next();
+
+        assertEquals(SnowflakeIds.EPOCH.plusMillis(1_000), SnowflakeIds.timestamp(first));
+        assertEquals(5, SnowflakeIds.nodeId(first));
+        assertEquals(first + 1, second);
+        assertTrue(new SnowflakeIds(SnowflakeIds.MAX_NODE_ID, () -> SnowflakeIds.EPOCH.toEpochMilli() + (1L << 41) - 1)
+                .next() < 1L << 53);
+    }
+
+    @Test
+    @DisplayName("Deve emprestar o milissegundo seguinte quando a sequência estoura")
+    void next_WhenSequenceOverflows_ShouldBorrowNextMillisecond() {
+        SnowflakeIds ids = new SnowflakeIds(0, () -> START);
+
+        long previous = 0;
+        for (int i = 0; i < 128; i++) {
+            previous = ids.next();
+        }
+        long borrowed = ids.next();
+
+        assertTrue(borrowed > previous);
+        assertEquals(SnowflakeIds.EPOCH.plusMillis(1_001), SnowflakeIds.timestamp(borrowed));
+    }
+
+    @Test
+    @DisplayName("Deve continuar crescente quando o relógio volta")
+    void next_WhenClockMovesBack_ShouldStayMonotonic() {
+        AtomicLong clock = new AtomicLong(START);
+        SnowflakeIds ids = new SnowflakeIds(1, clock::get);
+
+        long before = ids.next();
+        clock.set(START - 500);
+        long during = ids.next();
+        clock.set(START + 10);
+        long after = ids.next();
+
+        assertTrue(during > before);
+        assertTrue(after > during);
+        assertEquals(SnowflakeIds.EPOCH.plusMillis(1_010), SnowflakeIds.timestamp(after));
+    }
+
+    @Test
+    @DisplayName("Deve gerar ids únicos com várias threads")
+    void next_WithConcurrentCallers_ShouldNotRepeat() throws Exception {
+        SnowflakeIds ids = new SnowflakeIds(3);
+        Set<Long> seen = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        for (int t = 0; t < 4; t++) {
+            executor.execute(() -> {
+                for (int i = 0; i < 50_000; i++) {
+                    seen.add(ids.next());
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertEquals(200_000, seen.size());
+    }
+
+    @Test
+    @DisplayName("Deve recusar nó fora do intervalo")
+    void constructor_WithInvalidNode_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> new SnowflakeIds(32));
+        assertThrows(IllegalArgumentException.class, () -> new SnowflakeIds(-1));
+    }
+}
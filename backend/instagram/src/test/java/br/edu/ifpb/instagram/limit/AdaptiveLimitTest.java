@@ -0,0 +1,72 @@
+package br.edu.ifpb.instagram.limit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class AdaptiveLimitTest {
+
+    private static final long RTT = 10_000_000L;
+
+    @Test
+    @DisplayName("Deve aumentar o limite quando a latência fica estável com o limite em uso")
+    void onSample_WithStableLatency_ShouldGrow() {
+        AdaptiveLimit limit = new AdaptiveLimit(20, 4, 200);
+
+        for (int i = 0; i < 50; i++) {
+            limit.onSample(RTT, limit.limit());
+        }
+
+        assertTrue(limit.limit() > 20, "O limite deve crescer, ficou em " + limit.limit());
+    }
+
+    @Test
+    @DisplayName("Não deve aumentar o limite com poucas requisições em voo")
+    void onSample_WhenAppLimited_ShouldKeepLimit() {
+        AdaptiveLimit limit = new AdaptiveLimit(20, 4, 200);
+
+        for (int i = 0; i < 50; i++) {
+            limit.onSample(RTT, 2);
+        }
+
+        assertEquals(20, limit.limit());
+    }
+
+    @Test
+    @DisplayName("Deve reduzir o limite quando a latência sobe, sem passar do mínimo")
+    void onSample_WhenLatencyRises_ShouldShrinkToMinimum() {
+        AdaptiveLimit limit = new AdaptiveLimit(100, 4, 200);
+        for (int i = 0; i < 20; i++) {
+            limit.onSample(RTT, limit.limit());
+        }
+        int before = limit.limit();
+
+        limit.onSample(RTT * 5, before);
+        assertTrue(limit.limit() < before, "O limite deve cair com a latência alta");
+
+        for (int i = 0; i < 100; i++) {
+            limit.onSample(RTT * 5, limit.limit());
+        }
+        assertEquals(4, limit.limit());
+    }
+
+    @Test
+    @DisplayName("Não deve passar do limite máximo")
+    void onSample_ShouldRespectMaximum() {
+        AdaptiveLimit limit = new AdaptiveLimit(20, 4, 30);
+
+        for (int i = 0; i < 500; i++) {
+            limit.onSample(RTT, limit.limit());
+        }
+
+        assertEquals(30, limit.limit());
+    }
+
+    @Test
+    @DisplayName("Deve recusar limites inconsistentes")
+    void constructor_WithInvalidBounds_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveLimit(2, 4, 200));
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveLimit(20, 0, 200));
+    }
+}
@@ -0,0 +1,164 @@
+package br.edu.ifpb.instagram.limit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.edu.ifpb.instagram.security.JwtUtils;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Testes do filtro com o limite fixo em 4: listagens em massa entram até 2
+ * em voo, escritas e leituras até 3 e login até 4.
+ */
+public class ConcurrencyLimitFilterTest {
+
+    private static final JwtUtils JWT_UTILS = new JwtUtils();
+    private static final String TOKEN =
+            JWT_UTILS.generateToken(new UsernamePasswordAuthenticationToken("joao123", null));
+
+    private SimpleMeterRegistry meterRegistry;
+    private ConcurrencyLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new ConcurrencyLimitFilter(new ObjectMapper(), JWT_UTILS, meterRegistry, 4, 4, 4, Duration.ofSeconds(2));
+    }
+
+    @Test
+    @DisplayName("Deve classificar as requisições por prioridade")
+    void priority_ShouldFollowPathMethodAndToken() {
+        assertAll("Prioridades",
+            () -> assertEquals(RequestPriority.AUTH, RequestPriority.of(request("POST", "/auth/signin", false), JWT_UTILS::isValid)),
+            () -> assertEquals(RequestPriority.BULK, RequestPriority.of(request("GET", "/users", true), JWT_UTILS::isValid)),
+            () -> assertEquals(RequestPriority.BULK, RequestPriority.of(request("GET", "/users/7/followers", true), JWT_UTILS::isValid)),
+            () -> assertEquals(RequestPriority.READ, RequestPriority.of(request("GET", "/users/7", true), JWT_UTILS::isValid)),
+            () -> assertEquals(RequestPriority.DEFAULT, RequestPriority.of(request("GET", "/users/7", false), JWT_UTILS::isValid)),
+            () -> assertEquals(RequestPriority.DEFAULT, RequestPriority.of(request("POST", "/posts", true), JWT_UTILS::isValid))
+        );
+    }
+
+    @Test
+    @DisplayName("Token não validado não deve dar prioridade de leitura")
+    void priority_WithForgedToken_ShouldBeDefault() {
+        MockHttpServletRequest forged = new MockHttpServletRequest("GET", "/users/7");
+        forged.addHeader(HttpHeaders.AUTHORIZATION, "Bearer qualquer-coisa");
+        MockHttpServletRequest tampered = new MockHttpServletRequest("GET", "/users/7");
+        tampered.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + TOKEN.substring(0, TOKEN.length() - 2) + "xx");
+
+        assertEquals(RequestPriority.DEFAULT, RequestPriority.of(forged, JWT_UTILS::isValid));
+        assertEquals(RequestPriority.DEFAULT, RequestPriority.of(tampered, JWT_UTILS::isValid));
+    }
+
+    @Test
+    @DisplayName("Login e cadastro não devem virar amostra de RTT")
+    void isRttSample_ShouldSkipAuth() {
+        assertAll("Amostras",
+            () -> assertFalse(ConcurrencyLimitFilter.isRttSample(RequestPriority.AUTH, request("POST", "/auth/signin", false))),
+            () -> assertFalse(ConcurrencyLimitFilter.isRttSample(RequestPriority.DEFAULT, request("POST", "/media", true))),
+            () -> assertTrue(ConcurrencyLimitFilter.isRttSample(RequestPriority.READ, request("GET", "/users/7", true))),
+            () -> assertTrue(ConcurrencyLimitFilter.isRttSample(RequestPriority.DEFAULT, request("POST", "/posts", true)))
+        );
+    }
+
+    @Test
+    @DisplayName("Envio e download de mídia não devem virar amostra de RTT")
+    void isTransfer_ShouldMatchOnlyBlobRoutes() {
+        assertAll("Rotas de arquivo",
+            () -> assertTrue(ConcurrencyLimitFilter.isTransfer(request("POST", "/media", true))),
+            () -> assertTrue(ConcurrencyLimitFilter.isTransfer(request("GET", "/media/42", true))),
+            () -> assertTrue(ConcurrencyLimitFilter.isTransfer(request("PUT", "/media/uploads/abc", true))),
+            () -> assertTrue(ConcurrencyLimitFilter.isTransfer(request("POST", "/media/uploads/abc/complete", true))),
+            () -> assertFalse(ConcurrencyLimitFilter.isTransfer(request("POST", "/media/uploads", true))),
+            () -> assertFalse(ConcurrencyLimitFilter.isTransfer(request("GET", "/media/uploads/abc", true))),
+            () -> assertFalse(ConcurrencyLimitFilter.isTransfer(request("DELETE", "/media/uploads/abc", true))),
+            () -> assertFalse(ConcurrencyLimitFilter.isTransfer(request("GET", "/users/7", true)))
+        );
+    }
+
+    @Test
+    @DisplayName("Deve recusar listagens em massa primeiro e deixar passar leituras e login")
+    void doFilter_UnderLoad_ShouldShedLowPriorityFirst() throws Exception {
+        List<MockHttpServletResponse> responses = new ArrayList<>();
+
+        // cada requisição só termina depois da seguinte, então ficam todas em voo
+        holdInFlight(responses,
+            request("GET", "/users/1", true),
+            request("GET", "/users/2", true),
+            request("GET", "/users", true),
+            request("GET", "/users/3", true),
+            request("POST", "/posts", true),
+            request("POST", "/auth/signin", false));
+
+        assertAll("Respostas",
+            () -> assertEquals(200, responses.get(0).getStatus()),
+            () -> assertEquals(200, responses.get(1).getStatus()),
+            () -> assertEquals(503, responses.get(2).getStatus(), "Listagem recusada com 2 em voo"),
+            () -> assertEquals("2", responses.get(2).getHeader(HttpHeaders.RETRY_AFTER)),
+            () -> assertTrue(responses.get(2).getContentAsString().contains("Service Unavailable")),
+            () -> assertEquals(200, responses.get(3).getStatus(), "Leitura ainda cabe com 2 em voo"),
+            () -> assertEquals(503, responses.get(4).getStatus(), "Escrita recusada com 3 em voo"),
+            () -> assertEquals(200, responses.get(5).getStatus(), "Login usa o limite inteiro"),
+            () -> assertEquals(0, filter.inFlight()),
+            () -> assertEquals(1.0, meterRegistry.get("instagram.http.concurrency.rejected")
+                    .tag("priority", "bulk").counter().count()),
+            () -> assertEquals(4.0, meterRegistry.get("instagram.http.concurrency.limit").gauge().value())
+        );
+    }
+
+    @Test
+    @DisplayName("Não deve limitar o health check")
+    void doFilter_Actuator_ShouldBypassLimit() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request("GET", "/actuator/health", false), response,
+                (req, res) -> assertEquals(0, filter.inFlight()));
+
+        assertEquals(200, response.getStatus());
+    }
+
+    private void holdInFlight(List<MockHttpServletResponse> responses, MockHttpServletRequest... requests)
+            throws Exception {
+        hold(responses, requests, 0);
+    }
+
+    private void hold(List<MockHttpServletResponse> responses, MockHttpServletRequest[] requests, int index)
+            throws Exception {
+        if (index == requests.length) {
+            return;
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        responses.add(response);
+        filter.doFilter(requests[index], response, (req, res) -> {
+            try {
+                hold(responses, requests, index + 1);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        // recusada no filtro: a seguinte precisa rodar mesmo assim
+        if (response.getStatus() == 503) {
+            hold(responses, requests, index + 1);
+        }
+    }
+
+    private static MockHttpServletRequest request(String method, String path, boolean authenticated) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        if (authenticated) {
+            request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + TOKEN);
+        }
+        return request;
+    }
+}
@@ -0,0 +1,222 @@
+package br.edu.ifpb.instagram.media;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.Color;
+import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import br.edu.ifpb.instagram.exception.ServiceBusyException;
+import br.edu.ifpb.instagram.model.dto.MediaDto;
+import br.edu.ifpb.instagram.model.entity.DerivativeJobEntity;
+import br.edu.ifpb.instagram.model.entity.DerivativeJobEntity.Status;
+import br.edu.ifpb.instagram.model.entity.UserEntity;
+import br.edu.ifpb.instagram.repository.DerivativeJobRepository;
+import br.edu.ifpb.instagram.repository.MediaDerivativeRepository;
+import br.edu.ifpb.instagram.repository.UserRepository;
+import br.edu.ifpb.instagram.service.MediaService;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Testes de integração do pipeline de derivadas. Os workers ficam desligados
+ * para que cada teste decida quando o job roda, e o banco é próprio: os
+ * pipelines de outros contextos em cache não enxergam estes jobs.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:derivatives;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+    "instagram.media.derivatives.enabled=false",
+    "instagram.media.derivatives.max-pending=2",
+    "instagram.media.derivatives.max-pixels=2000000"
+})
+public class DerivativePipelineTest {
+
+    @Autowired
+    private DerivativePipeline pipeline;
+
+    @Autowired
+    private MediaService mediaService;
+
+    @Autowired
+    private DerivativeJobRepository derivativeJobRepository;
+
+    @Autowired
+    private MediaDerivativeRepository mediaDerivativeRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private UserEntity owner;
+
+    @BeforeEach
+    void setUp() {
+        derivativeJobRepository.deleteAll();
+        pipeline.afterSingletonsInstantiated();
+        owner = createUser();
+    }
+
+    @Test
+    @DisplayName("Upload de imagem deve criar um job pendente na fila")
+    void upload_ShouldEnqueuePersistentJob() throws Exception {
+        MediaDto media = upload(1600, 1200);
+
+        DerivativeJobEntity job = derivativeJobRepository.findById(media.id()).orElseThrow();
+
+        assertEquals(Status.PENDING, job.getStatus());
+        assertEquals(1.0, meterRegistry.get("instagram.media.derivatives.queue.depth").gauge().value());
+    }
+
+    @Test
+    @DisplayName("O job deve gerar todos os tamanhos e concluir")
+    void process_ShouldGenerateAllSizes() throws Exception {
+        MediaDto media = upload(1600, 1200);
+        double savedBefore = meterRegistry.get("instagram.media.derivatives.bytes.saved").counter().count();
+
+        pipeline.process(derivativeJobRepository.findById(media.id()).orElseThrow());
+
+        for (DerivativeSize size : DerivativeSize.values()) {
+            var derivative = mediaDerivativeRepository.findByMediaIdAndSize(media.id(), size).orElseThrow();
+            assertEquals(Math.min(size.maxWidth(), 1600), derivative.getWidth(), "Largura de " + size);
+        }
+        assertFalse(derivativeJobRepository.existsById(media.id()), "Job concluído deve sair da tabela");
+        assertTrue(meterRegistry.get("instagram.media.derivatives.bytes.saved").counter().count() > savedBefore);
+        assertEquals(0.0, meterRegistry.get("instagram.media.derivatives.queue.depth").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Deve gerar a derivada na hora quando o job ainda não rodou")
+    void findDerivative_BeforeJob_ShouldGenerateLazily() throws Exception {
+        MediaDto media = upload(800, 600);
+
+        MediaDto thumb = mediaService.findDerivative(media.id(), DerivativeSize.THUMB);
+
+        assertEquals("image/jpeg", thumb.contentType());
+        assertNotEquals(media.sha256(), thumb.sha256());
+        assertTrue(mediaDerivativeRepository.findByMediaIdAndSize(media.id(), DerivativeSize.LARGE).isPresent(),
+                "Os outros tamanhos saem da mesma decodificação");
+    }
+
+    @Test
+    @DisplayName("Imagem acima do limite de pixels deve falhar sem decodificar nem tentar de novo")
+    void process_WithOversizedImage_ShouldFailAtOnce() throws Exception {
+        MediaDto media = upload(1500, 1400);
+
+        pipeline.process(derivativeJobRepository.findById(media.id()).orElseThrow());
+
+        DerivativeJobEntity job = derivativeJobRepository.findById(media.id()).orElseThrow();
+        assertEquals(Status.FAILED, job.getStatus());
+        assertEquals(0, job.getAttempts());
+        assertTrue(mediaDerivativeRepository.findByMediaIdAndSize(media.id(), DerivativeSize.THUMB).isEmpty());
+        assertThrows(IllegalArgumentException.class,
+                () -> mediaService.findDerivative(media.id(), DerivativeSize.THUMB));
+    }
+
+    @Test
+    @DisplayName("Jobs que falharam devem sair da tabela depois da retenção")
+    void recoverExpired_ShouldPruneOldFailedJobs() throws Exception {
+        MediaDto old = upload(300, 300);
+        DerivativeJobEntity job = derivativeJobRepository.findById(old.id()).orElseThrow();
+        job.setStatus(Status.FAILED);
+        job.setEnqueuedAt(Instant.now().minus(Duration.ofDays(8)));
+        derivativeJobRepository.save(job);
+        MediaDto recent = upload(301, 300);
+        markRunning(recent.id(), Instant.now().plusSeconds(60));
+
+        pipeline.recoverExpired();
+
+        assertFalse(derivativeJobRepository.existsById(old.id()));
+        assertTrue(derivativeJobRepository.existsById(recent.id()));
+    }
+
+    @Test
+    @DisplayName("Deve recusar uploads de imagem com a fila cheia")
+    void upload_WhenQueueIsFull_ShouldApplyBackpressure() throws Exception {
+        upload(200, 200);
+        upload(201, 200);
+
+        assertThrows(ServiceBusyException.class, () -> upload(202, 200));
+    }
+
+    @Test
+    @DisplayName("Só jobs com o lease vencido devem voltar para a fila")
+    void recoverExpired_ShouldOnlyRequeueExpiredLeases() throws Exception {
+        MediaDto abandoned = upload(300, 300);
+        MediaDto alive = upload(301, 300);
+        markRunning(abandoned.id(), Instant.now().minusSeconds(1));
+        markRunning(alive.id(), Instant.now().plusSeconds(60));
+
+        pipeline.afterSingletonsInstantiated();
+        assertEquals(Status.RUNNING, derivativeJobRepository.findById(abandoned.id()).orElseThrow().getStatus(),
+                "A subida não toma jobs de outras instâncias");
+
+        pipeline.recoverExpired();
+
+        DerivativeJobEntity requeued = derivativeJobRepository.findById(abandoned.id()).orElseThrow();
+        assertAll("Recuperação por lease",
+            () -> assertEquals(Status.PENDING, requeued.getStatus()),
+            () -> assertEquals(1, requeued.getAttempts(), "A queda conta como tentativa"),
+            () -> assertEquals(Status.RUNNING, derivativeJobRepository.findById(alive.id()).orElseThrow().getStatus()),
+            () -> assertEquals(2.0, meterRegistry.get("instagram.media.derivatives.queue.depth").gauge().value())
+        );
+    }
+
+    @Test
+    @DisplayName("Deve desistir de um job que derrubou o dono em todas as tentativas")
+    void recoverExpired_AfterMaxAttempts_ShouldFailJob() throws Exception {
+        MediaDto media = upload(300, 300);
+        DerivativeJobEntity job = derivativeJobRepository.findById(media.id()).orElseThrow();
+        job.setAttempts(2);
+        derivativeJobRepository.save(job);
+        markRunning(media.id(), Instant.now().minusSeconds(1));
+
+        pipeline.recoverExpired();
+
+        assertEquals(Status.FAILED, derivativeJobRepository.findById(media.id()).orElseThrow().getStatus());
+        assertEquals(0.0, meterRegistry.get("instagram.media.derivatives.queue.depth").gauge().value());
+    }
+
+    private void markRunning(long mediaId, Instant leaseUntil) {
+        DerivativeJobEntity job = derivativeJobRepository.findById(mediaId).orElseThrow();
+        job.setStatus(Status.RUNNING);
+        job.setLeaseUntil(leaseUntil);
+        derivativeJobRepository.save(job);
+    }
+
+    private MediaDto upload(int width, int height) throws Exception {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setPaint(new GradientPaint(0, 0, Color.RED, width, height, Color.BLUE));
+        graphics.fillRect(0, 0, width, height);
+        graphics.dispose();
+
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", png);
+        return mediaService.upload(owner.getUsername(), "image/png", new ByteArrayInputStream(png.toByteArray()));
+    }
+
+    private UserEntity createUser() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        UserEntity user = new UserEntity();
+        user.setFullName("Fotógrafo " + suffix);
+        user.setUsername("foto_" + suffix);
+        user.setEmail("foto_" + suffix + "@email.com");
+        user.setEncryptedPassword("123");
+        return userRepository.save(user);
+    }
+}
@@ -0,0 +1,48 @@
+package br.edu.ifpb.instagram.media;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class ImageResizerTest {
+
+    @Test
+    @DisplayName("Deve reduzir para a largura máxima mantendo a proporção")
+    void resize_ShouldKeepAspectRatio() throws Exception {
+        BufferedImage original = new BufferedImage(2000, 1000, BufferedImage.TYPE_INT_ARGB);
+
+        ImageResizer.Encoded encoded = ImageResizer.resize(original, DerivativeSize.FEED.maxWidth());
+
+        BufferedImage decoded = ImageIO.read(new ByteArrayInputStream(encoded.bytes()));
+        assertAll("Validação da derivada",
+            () -> assertEquals(640, encoded.width()),
+            () -> assertEquals(320, encoded.height()),
+            () -> assertEquals(640, decoded.getWidth(), "O JPEG gerado deve ter a largura informada"),
+            () -> assertEquals(320, decoded.getHeight())
+        );
+    }
+
+    @Test
+    @DisplayName("Não deve ampliar imagens menores que o tamanho pedido")
+    void resize_SmallImage_ShouldNotUpscale() throws Exception {
+        BufferedImage original = new BufferedImage(100, 80, BufferedImage.TYPE_INT_RGB);
+
+        ImageResizer.Encoded encoded = ImageResizer.resize(original, DerivativeSize.LARGE.maxWidth());
+
+        assertEquals(100, encoded.width());
+        assertEquals(80, encoded.height());
+    }
+
+    @Test
+    @DisplayName("Deve converter o parâmetro size sem diferenciar maiúsculas")
+    void parse_ShouldAcceptLowerCase() {
+        assertEquals(DerivativeSize.THUMB, DerivativeSize.parse("thumb"));
+        assertThrows(IllegalArgumentException.class, () -> DerivativeSize.parse("giant"));
+    }
+}
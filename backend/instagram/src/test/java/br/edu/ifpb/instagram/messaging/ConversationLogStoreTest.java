@@ -0,0 +1,81 @@
+package br.edu.ifpb.instagram.messaging;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import br.edu.ifpb.instagram.repository.ConversationMemberRepository;
+
+public class ConversationLogStoreTest {
+
+    @TempDir
+    private Path root;
+
+    private ConversationMemberRepository conversationMemberRepository;
+    private ConversationLogStore store;
+
+    @BeforeEach
+    void setUp() {
+        conversationMemberRepository = mock(ConversationMemberRepository.class);
+        store = new ConversationLogStore(conversationMemberRepository, root, DataSize.ofKilobytes(4),
+                DataSize.ofBytes(256), 10, Duration.ZERO, Duration.ZERO, 0.5);
+    }
+
+    @AfterEach
+    void tearDown() {
+        store.shutdown();
+    }
+
+    @Test
+    @DisplayName("Abertura lenta de uma conversa não deve segurar as outras")
+    void isMember_WhileAnotherConversationOpens_ShouldNotWait() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(conversationMemberRepository.findUserIdsByConversationId(1L)).thenAnswer(invocation -> {
+            loading.countDown();
+            release.await();
+            return List.of(1L, 2L);
+        });
+        when(conversationMemberRepository.findUserIdsByConversationId(2L)).thenReturn(List.of(3L, 4L));
+
+        CompletableFuture<Boolean> slow = CompletableFuture.supplyAsync(() -> store.isMember(1L, 1L));
+        CompletableFuture<Boolean> waiting = null;
+        try {
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+            waiting = CompletableFuture.supplyAsync(() -> store.isMember(1L, 2L));
+
+            assertTrue(CompletableFuture.supplyAsync(() -> store.isMember(2L, 3L)).get(5, TimeUnit.SECONDS));
+            assertFalse(waiting.isDone(), "Quem quer a mesma conversa espera a abertura em andamento");
+        } finally {
+            release.countDown();
+        }
+
+        assertTrue(slow.get(5, TimeUnit.SECONDS));
+        assertTrue(waiting.get(5, TimeUnit.SECONDS));
+        verify(conversationMemberRepository, times(1)).findUserIdsByConversationId(1L);
+    }
+
+    @Test
+    @DisplayName("Falha na abertura deve chegar a quem espera e permitir nova tentativa")
+    void isMember_WhenOpenFails_ShouldPropagateAndRetry() {
+        when(conversationMemberRepository.findUserIdsByConversationId(1L))
+                .thenThrow(new IllegalStateException("db down"))
+                .thenReturn(List.of(1L, 2L));
+
+        assertThrows(IllegalStateException.class, () -> store.isMember(1L, 1L));
+        assertTrue(store.isMember(1L, 1L));
+    }
+}
@@ -0,0 +1,125 @@
+package br.edu.ifpb.instagram.messaging;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ConversationLogTest {
+
+    // segmentos pequenos para forçar a troca de segmento com poucas mensagens
+    private static final int SEGMENT_SIZE = 512;
+    private static final int INDEX_INTERVAL = 64;
+    private static final long[] MEMBERS = { 2, 1 };
+
+    @TempDir
+    private Path directory;
+
+    private ConversationLog open() throws IOException {
+        return ConversationLog.open(directory, SEGMENT_SIZE, INDEX_INTERVAL, MEMBERS);
+    }
+
+    @Test
+    @DisplayName("Deve paginar para trás e para frente atravessando segmentos")
+    void pages_ShouldCrossSegments() throws IOException {
+        ConversationLog log = open();
+        append(log, 100);
+
+        assertTrue(log.segmentCount() > 5);
+        assertEquals(LongStream.rangeClosed(91, 100).boxed().toList().reversed(), seqs(log.before(Long.MAX_VALUE, 10)));
+        assertEquals(List.of(40L, 39L, 38L), seqs(log.before(41, 3)));
+        assertEquals(List.of(41L, 42L, 43L), seqs(log.after(40, 3)));
+        assertEquals(100, log.after(0, 1000).size());
+        assertEquals("mensagem 57", log.find(57).orElseThrow().text());
+        assertTrue(log.isMember(1) && log.isMember(2) && !log.isMember(3));
+    }
+
+    @Test
+    @DisplayName("Deve recuperar o log na reabertura e descartar um registro pela metade")
+    void open_ShouldRecoverAndDropTornRecord() throws IOException {
+        ConversationLog log = open();
+        append(log, 30);
+        log.close();
+        assertThrows(IllegalStateException.class, () -> log.append(1, Instant.now(), "fechado"));
+
+        Path active;
+        try (Stream<Path> files = Files.list(directory)) {
+            active = files.sorted().toList().getLast();
+        }
+        // só o tamanho de um registro que nunca foi terminado
+        try (FileChannel channel = FileChannel.open(active, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(4).putInt(0, 80), activeEnd(active));
+        }
+
+        ConversationLog recovered = open();
+        assertEquals(31, recovered.nextSeq());
+        assertEquals(List.of(30L, 29L), seqs(recovered.before(Long.MAX_VALUE, 2)));
+        assertEquals(31, recovered.append(1, Instant.now(), "depois").seq());
+        assertEquals("depois", recovered.find(31).orElseThrow().text());
+    }
+
+    @Test
+    @DisplayName("Removidas devem sumir das páginas e do disco depois da compactação")
+    void compact_ShouldDropDeletedMessages() throws IOException {
+        ConversationLog log = open();
+        append(log, 100);
+        int segments = log.segmentCount();
+        for (long seq = 1; seq <= 80; seq++) {
+            if (seq % 4 != 0) {
+                assertTrue(log.delete(seq));
+            }
+        }
+        assertFalse(log.delete(1));
+        assertTrue(log.find(1).isEmpty());
+        assertTrue(log.needsCompaction(0.5));
+
+        assertTrue(log.compact(0.5) > 0);
+
+        assertTrue(log.segmentCount() < segments);
+        List<Long> expected = Stream.concat(LongStream.rangeClosed(1, 20).map(i -> i * 4).boxed(),
+                LongStream.rangeClosed(81, 100).boxed()).toList();
+        assertEquals(expected, seqs(log.after(0, 1000)));
+        assertEquals(List.of(16L, 12L), seqs(log.before(17, 2)));
+        log.close();
+
+        ConversationLog reopened = open();
+        assertEquals(expected, seqs(reopened.after(0, 1000)));
+        assertEquals(101, reopened.append(1, Instant.now(), "nova").seq());
+    }
+
+    private static void append(ConversationLog log, int count) throws IOException {
+        for (int i = 1; i <= count; i++) {
+            log.append(i % 2 + 1, Instant.now(), "mensagem " + i);
+        }
+    }
+
+    private static List<Long> seqs(List<Message> messages) {
+        return messages.stream().map(Message::seq).toList();
+    }
+
+    private static int activeEnd(Path active) throws IOException {
+        // segmento ativo: registros válidos seguidos de zeros
+        byte[] bytes = Files.readAllBytes(active);
+        int position = 0;
+        while (position + 4 <= bytes.length) {
+            int size = ByteBuffer.wrap(bytes, position, 4).getInt();
+            if (size == 0) {
+                break;
+            }
+            position += size;
+        }
+        return position;
+    }
+}
@@ -0,0 +1,27 @@
+package br.edu.ifpb.instagram.notification;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class MentionsTest {
+
+    @Test
+    @DisplayName("Deve extrair as menções sem repetir nem pegar e-mails")
+    void parse_ShouldExtractUsernames() {
+        assertThat(Mentions.parse("Valeu @maria.silva e @joao123! Fala com @maria.silva. Mande para a@b.com"))
+                .containsExactly("maria.silva", "joao123");
+    }
+
+    @Test
+    @DisplayName("Deve limitar a quantidade de menções por texto")
+    void parse_ManyMentions_ShouldBeCapped() {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 30; i++) {
+            text.append("@user").append(i).append(' ');
+        }
+
+        assertThat(Mentions.parse(text.toString())).hasSize(Mentions.MAX_MENTIONS);
+    }
+}
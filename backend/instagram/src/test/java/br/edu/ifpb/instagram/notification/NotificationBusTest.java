@@ -0,0 +1,130 @@
+package br.edu.ifpb.instagram.notification;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class NotificationBusTest {
+
+    private NotificationBus bus;
+
+    @BeforeEach
+    void setUp() {
+        // buffer de 3 eventos, anel de 5 e sem heartbeat
+        bus = new NotificationBus(new SimpleMeterRegistry(), 3, 5, 1, Duration.ZERO);
+    }
+
+    @AfterEach
+    void tearDown() {
+        bus.shutdown();
+    }
+
+    @Test
+    @DisplayName("Deve entregar o evento só às conexões do destinatário")
+    void publish_ShouldReachRecipientOnly() {
+        RecordingSink maria = new RecordingSink();
+        RecordingSink pedro = new RecordingSink();
+        bus.subscribe(1L, null, maria);
+        bus.subscribe(2L, null, pedro);
+
+        bus.publish(NotificationType.FOLLOW, 1L, 3L, "joao123", null);
+
+        maria.awaitReceived(1);
+        assertThat(maria.received).containsExactly("FOLLOW:joao123");
+        assertThat(pedro.received).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Cliente lento deve perder os eventos mais antigos sem travar quem publica")
+    void publish_SlowConsumer_ShouldDropOldest() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingSink slow = new RecordingSink(release);
+        bus.subscribe(1L, null, slow);
+
+        // o primeiro evento prende o despachante; os seguintes enchem o buffer
+        bus.publish(NotificationType.FOLLOW, 1L, 10L, "fa0", null);
+        slow.sending.await();
+        for (int i = 1; i < 6; i++) {
+            bus.publish(NotificationType.FOLLOW, 1L, 10L + i, "fa" + i, null);
+        }
+        release.countDown();
+
+        slow.awaitReceived(5);
+        assertThat(slow.received).containsExactly("FOLLOW:fa0", "overflow:2", "FOLLOW:fa3", "FOLLOW:fa4", "FOLLOW:fa5");
+    }
+
+    @Test
+    @DisplayName("Curtidas pendentes no mesmo post devem ser aglutinadas")
+    void publish_PendingLikesOnSamePost_ShouldCoalesce() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingSink slow = new RecordingSink(release);
+        bus.subscribe(1L, null, slow);
+
+        bus.publish(NotificationType.COMMENT, 1L, 9L, "primeiro", 7L);
+        slow.sending.await();
+        bus.publish(NotificationType.LIKE, 1L, 10L, "ana", 7L);
+        bus.publish(NotificationType.LIKE, 1L, 11L, "bia", 7L);
+        bus.publish(NotificationType.LIKE, 1L, 12L, "caio", 8L);
+        release.countDown();
+
+        slow.awaitReceived(3);
+        assertThat(slow.received).containsExactly("COMMENT:primeiro", "LIKE:bia", "LIKE:caio");
+    }
+
+    @Test
+    @DisplayName("Deve retomar a partir do Last-Event-ID")
+    void subscribe_WithLastEventId_ShouldReplayMissedEvents() {
+        NotificationEvent seen = bus.publish(NotificationType.FOLLOW, 1L, 10L, "ana", null);
+        bus.publish(NotificationType.FOLLOW, 2L, 10L, "ana", null);
+        bus.publish(NotificationType.LIKE, 1L, 11L, "bia", 5L);
+
+        RecordingSink reconnected = new RecordingSink();
+        bus.subscribe(1L, seen.id(), reconnected);
+
+        reconnected.awaitReceived(1);
+        assertThat(reconnected.received).containsExactly("LIKE:bia");
+    }
+
+    @Test
+    @DisplayName("Last-Event-ID fora da janela de replay deve gerar reset")
+    void subscribe_WithExpiredLastEventId_ShouldReset() {
+        NotificationEvent old = bus.publish(NotificationType.FOLLOW, 1L, 10L, "ana", null);
+        for (int i = 0; i < 6; i++) {
+            bus.publish(NotificationType.FOLLOW, 2L, 10L, "ana", null);
+        }
+
+        RecordingSink reconnected = new RecordingSink();
+        bus.subscribe(1L, old.id(), reconnected);
+
+        reconnected.awaitReceived(1);
+        assertThat(reconnected.received).containsExactly("reset");
+    }
+
+    @Test
+    @DisplayName("Cancelar deve fechar a conexão e parar as entregas")
+    void cancel_ShouldUnsubscribe() {
+        RecordingSink sink = new RecordingSink();
+        NotificationBus.Subscription subscription = bus.subscribe(1L, null, sink);
+
+        subscription.cancel();
+        bus.publish(NotificationType.FOLLOW, 1L, 10L, "ana", null);
+
+        assertThat(sink.closed).isTrue();
+        assertThat(bus.subscriberCount()).isZero();
+        assertThat(sink.received).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Ação do usuário sobre si mesmo não deve notificar")
+    void publish_SelfAction_ShouldBeIgnored() {
+        assertThat(bus.publish(NotificationType.LIKE, 1L, 1L, "joao123", 5L)).isNull();
+    }
+}
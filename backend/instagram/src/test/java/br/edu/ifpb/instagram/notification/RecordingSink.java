@@ -0,0 +1,75 @@
+package br.edu.ifpb.instagram.notification;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Sink de teste: guarda o que recebeu e pode segurar o despachante, como um
+ * cliente lento com o buffer TCP cheio.
+ */
+class RecordingSink implements NotificationSink {
+
+    final List<String> received = new CopyOnWriteArrayList<>();
+    final CountDownLatch release;
+    final CountDownLatch sending = new CountDownLatch(1);
+    volatile boolean closed;
+
+    RecordingSink() {
+        this(new CountDownLatch(0));
+    }
+
+    RecordingSink(CountDownLatch release) {
+        this.release = release;
+    }
+
+    @Override
+    public void send(NotificationEvent event) throws IOException {
+        sending.countDown();
+        await();
+        received.add(event.type() + ":" + event.actorUsername());
+    }
+
+    @Override
+    public void overflow(int dropped) throws IOException {
+        received.add("overflow:" + dropped);
+    }
+
+    @Override
+    public void reset() throws IOException {
+        received.add("reset");
+    }
+
+    @Override
+    public void heartbeat() throws IOException {
+        received.add("heartbeat");
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+    }
+
+    void awaitReceived(int count) {
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (received.size() < count) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("Expected " + count + " deliveries, got " + received);
+            }
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                throw new AssertionError(e);
+            }
+        }
+    }
+
+    private void await() throws IOException {
+        try {
+            release.await();
+        } catch (InterruptedException e) {
+            throw new IOException(e);
+        }
+    }
+}
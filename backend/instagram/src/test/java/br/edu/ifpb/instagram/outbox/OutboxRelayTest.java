@@ -0,0 +1,141 @@
+package br.edu.ifpb.instagram.outbox;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.IllegalTransactionStateException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.edu.ifpb.instagram.model.entity.OutboxEventEntity;
+import br.edu.ifpb.instagram.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Testes de integração do outbox. O banco é próprio e a varredura do relay do
+ * contexto fica desligada; cada teste monta um relay com um handler que
+ * registra a ordem de entrega.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:outbox;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+    "instagram.outbox.poll-interval=0"
+})
+public class OutboxRelayTest {
+
+    @Autowired
+    private Outbox outbox;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final List<String> delivered = new ArrayList<>();
+    // eventos que falham na primeira entrega
+    private final Set<String> failOnce = new HashSet<>();
+
+    private OutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        outboxEventRepository.deleteAll();
+        relay = new OutboxRelay(outboxEventRepository, List.of(new OutboxHandler() {
+            @Override
+            public boolean handles(String eventType) {
+                return true;
+            }
+
+            @Override
+            public void handle(OutboxEvent event) {
+                if (failOnce.remove(event.type())) {
+                    throw new IllegalStateException("Falha simulada");
+                }
+                delivered.add(event.type());
+            }
+        }), new SimpleMeterRegistry(), Duration.ZERO, 100, Duration.ofSeconds(10), Duration.ofMinutes(5));
+    }
+
+    @Test
+    @DisplayName("Deve entregar na ordem de cada agregado e apagar os entregues")
+    void poll_ShouldDeliverInAggregateOrder() {
+        Instant now = Instant.now();
+        insert(1, "a1", now);
+        insert(2, "b1", now);
+        insert(1, "a2", now);
+
+        assertEquals(3, relay.poll(now));
+
+        assertEquals(List.of("a1", "b1", "a2"), delivered);
+        assertEquals(0, outboxEventRepository.count());
+    }
+
+    @Test
+    @DisplayName("Um evento que falha deve segurar os seguintes do mesmo agregado até passar")
+    void poll_WhenHandlerFails_ShouldRetryAndKeepOrder() {
+        Instant now = Instant.now();
+        insert(1, "a1", now);
+        insert(2, "b1", now);
+        insert(1, "a2", now);
+        failOnce.add("a1");
+
+        assertEquals(1, relay.poll(now));
+        assertEquals(List.of("b1"), delivered);
+
+        OutboxEventEntity failed = outboxEventRepository.findAll().iterator().next();
+        assertAll("Validação do evento que falhou",
+            () -> assertEquals("a1", failed.getType()),
+            () -> assertEquals(1, failed.getAttempts()),
+            () -> assertTrue(failed.getNextAttemptAt().isAfter(now)),
+            () -> assertTrue(failed.getLastError().contains("Falha simulada"))
+        );
+        assertEquals(0, relay.poll(now));
+
+        assertEquals(2, relay.poll(now.plus(Duration.ofSeconds(2))));
+        assertEquals(List.of("b1", "a1", "a2"), delivered);
+    }
+
+    @Test
+    @DisplayName("Publicar exige transação, e o evento confirmado é entregue sem esperar a varredura")
+    void publish_ShouldRequireTransactionAndDispatchAfterCommit() throws InterruptedException {
+        assertThrows(IllegalTransactionStateException.class,
+                () -> outbox.publish(UserEvents.AGGREGATE, 1, UserEvents.CREATED, null));
+
+        transactionTemplate.executeWithoutResult(status ->
+                outbox.publish(UserEvents.AGGREGATE, 1, UserEvents.CREATED, Map.of("username", "ana")));
+        // a reserva só venceria em 10s: quem apaga é a entrega logo após o commit
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (outboxEventRepository.count() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(0, outboxEventRepository.count());
+
+        transactionTemplate.executeWithoutResult(status -> {
+            outbox.publish(UserEvents.AGGREGATE, 2, UserEvents.CREATED, null);
+            status.setRollbackOnly();
+        });
+        assertEquals(0, outboxEventRepository.count());
+    }
+
+    private void insert(long aggregateId, String type, Instant nextAttemptAt) {
+        OutboxEventEntity eventEntity = new OutboxEventEntity();
+        eventEntity.setAggregateType("test");
+        eventEntity.setAggregateId(aggregateId);
+        eventEntity.setType(type);
+        eventEntity.setCreatedAt(Instant.now().truncatedTo(ChronoUnit.MICROS));
+        eventEntity.setNextAttemptAt(nextAttemptAt.truncatedTo(ChronoUnit.MICROS));
+        outboxEventRepository.save(eventEntity);
+    }
+}
@@ -0,0 +1,233 @@
+package br.edu.ifpb.instagram.purge;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.time.Instant;
+import java.util.Random;
+import java.util.UUID;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import br.edu.ifpb.instagram.model.dto.MediaDto;
+import br.edu.ifpb.instagram.model.dto.PostDto;
+import br.edu.ifpb.instagram.model.dto.UserDeletionDto;
+import br.edu.ifpb.instagram.model.entity.UserEntity;
+import br.edu.ifpb.instagram.model.entity.UserPurgeEntity;
+import br.edu.ifpb.instagram.repository.UserPurgeRepository;
+import br.edu.ifpb.instagram.repository.UserRepository;
+import br.edu.ifpb.instagram.service.CommentService;
+import br.edu.ifpb.instagram.service.FollowService;
+import br.edu.ifpb.instagram.service.LikeService;
+import br.edu.ifpb.instagram.service.MediaService;
+import br.edu.ifpb.instagram.service.PostService;
+import br.edu.ifpb.instagram.service.UserService;
+import br.edu.ifpb.instagram.storage.MediaStorage;
+
+/**
+ * Testes de integração da remoção assíncrona de contas, com banco próprio e
+ * lotes pequenos para cada etapa precisar de mais de um lote.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:purge;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+    "instagram.users.purge.interval=0",
+    "instagram.users.purge.batch-size=2",
+    "instagram.users.purge.batch-pause=0",
+    "instagram.media.blob-grace=0s"
+})
+public class UserPurgerTest {
+
+    @Autowired
+    private UserPurger userPurger;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private FollowService followService;
+
+    @Autowired
+    private LikeService likeService;
+
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserPurgeRepository userPurgeRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MediaService mediaService;
+
+    @Autowired
+    private MediaStorage mediaStorage;
+
+    @Test
+    @DisplayName("Deve esconder a conta na hora e apagar os dados dela em segundo plano")
+    void deleteUser_ShouldHideAccountAndPurgeInBackground() throws InterruptedException {
+        UserEntity ana = createUser();
+        UserEntity bia = createUser();
+        String username = ana.getUsername();
+        PostDto anaPost = postService.createPost(username, "post da ana");
+        PostDto biaPost = postService.createPost(bia.getUsername(), "post da bia");
+        for (int i = 0; i < 3; i++) {
+            postService.createPost(username, "post " + i);
+        }
+        followService.follow(username, bia.getId());
+        followService.follow(bia.getUsername(), ana.getId());
+        likeService.like(username, biaPost.id());
+        likeService.like(bia.getUsername(), anaPost.id());
+        commentService.addComment(username, biaPost.id(), "oi");
+        commentService.addComment(bia.getUsername(), anaPost.id(), "olá");
+
+        userService.deleteUser(ana.getId());
+
+        assertAll("Conta escondida antes da limpeza",
+            () -> assertThrows(RuntimeException.class, () -> userService.findById(ana.getId())),
+            () -> assertTrue(userRepository.findByUsername(username).isEmpty()),
+            () -> assertFalse(userRepository.existsByUsername(username), "O username deve ficar livre")
+        );
+
+        // a limpeza começa logo depois do commit, na thread do purger
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (userPurger.find(ana.getId()).isPresent() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertAll("Dados removidos",
+            () -> assertTrue(userPurger.find(ana.getId()).isEmpty(), "A limpeza deve terminar"),
+            () -> assertEquals(0, count("SELECT COUNT(*) FROM users WHERE id = ?", ana.getId())),
+            () -> assertEquals(0, count("SELECT COUNT(*) FROM posts WHERE author_id = ?", ana.getId())),
+            () -> assertEquals(0, count("SELECT COUNT(*) FROM follows WHERE follower_id = ? OR followee_id = ?",
+                    ana.getId(), ana.getId())),
+            () -> assertEquals(0, count("SELECT COUNT(*) FROM likes WHERE user_id = ? OR post_id = ?",
+                    ana.getId(), anaPost.id())),
+            () -> assertEquals(0, count("SELECT COUNT(*) FROM comments WHERE author_id = ? OR post_id = ?",
+                    ana.getId(), anaPost.id())),
+            () -> assertEquals(0, likeService.find(bia.getUsername(), biaPost.id()).likes()),
+            () -> assertEquals(1, count("SELECT COUNT(*) FROM posts WHERE id = ?", biaPost.id()))
+        );
+    }
+
+    @Test
+    @DisplayName("Deve retomar da etapa gravada, sem refazer as anteriores")
+    void purge_ShouldResumeFromRecordedStep() {
+        UserEntity caio = createUser();
+        UserEntity duda = createUser();
+        for (int i = 0; i < 3; i++) {
+            postService.createPost(caio.getUsername(), "post " + i);
+        }
+        // simula uma queda depois das etapas anteriores a POSTS
+        jdbcTemplate.update("UPDATE users SET deleted_at = ? WHERE id = ?", Instant.now(), caio.getId());
+
+        UserPurgeEntity purge = new UserPurgeEntity();
+        purge.setUserId(caio.getId());
+        purge.setStep(PurgeStep.POSTS);
+        purge.setPurgedRows(7);
+        purge.setRequestedAt(Instant.now());
+        purge.setUpdatedAt(Instant.now());
+        purge.setNextAttemptAt(Instant.now());
+        userPurgeRepository.save(purge);
+
+        UserDeletionDto progress = userService.findDeletion(caio.getId());
+        assertAll("Progresso antes de retomar",
+            () -> assertEquals("POSTS", progress.step()),
+            () -> assertEquals(7, progress.purgedRows())
+        );
+
+        assertEquals(4, userPurger.purge(), "Três posts em dois lotes e a linha da conta");
+        assertAll("Conta removida",
+            () -> assertTrue(userPurger.find(caio.getId()).isEmpty()),
+            () -> assertEquals(0, count("SELECT COUNT(*) FROM users WHERE id = ?", caio.getId())),
+            () -> assertEquals(1, count("SELECT COUNT(*) FROM users WHERE id = ?", duda.getId()))
+        );
+    }
+
+    @Test
+    @DisplayName("Conta que falha deve esperar e não travar as outras da fila")
+    void purge_WhenAccountFails_ShouldBackOffAndContinue() {
+        UserEntity eva = createUser();
+        UserEntity fabio = createUser();
+        postService.createPost(eva.getUsername(), "ainda referencia a conta");
+        jdbcTemplate.update("UPDATE users SET deleted_at = ? WHERE id IN (?, ?)", Instant.now(), eva.getId(), fabio.getId());
+
+        // eva pulou a etapa dos posts: o DELETE da conta falha pela chave estrangeira
+        Instant requestedAt = Instant.now();
+        savePurge(eva.getId(), PurgeStep.ACCOUNT, requestedAt.minusSeconds(60));
+        savePurge(fabio.getId(), PurgeStep.POSTS, requestedAt);
+
+        assertEquals(1, userPurger.purge(), "Só a linha da conta de fabio");
+
+        UserPurgeEntity failed = userPurger.find(eva.getId()).orElseThrow();
+        assertAll("Falha registrada",
+            () -> assertTrue(userPurger.find(fabio.getId()).isEmpty(), "A conta seguinte deve ser limpa"),
+            () -> assertEquals(1, failed.getAttempts()),
+            () -> assertTrue(failed.getNextAttemptAt().isAfter(Instant.now()), "A conta deve esperar")
+        );
+
+        assertEquals(0, userPurger.purge());
+        assertEquals(1, userPurger.find(eva.getId()).orElseThrow().getAttempts(), "Não tenta antes da hora");
+    }
+
+    @Test
+    @DisplayName("Etapa de mídias deve apagar só os blobs que ficaram sem referência")
+    void purge_ShouldDeleteUnreferencedBlobs() throws Exception {
+        UserEntity gil = createUser();
+        UserEntity helo = createUser();
+        byte[] own = randomBytes();
+        byte[] shared = randomBytes();
+        MediaDto ownMedia = mediaService.upload(gil.getUsername(), "video/mp4", new ByteArrayInputStream(own));
+        MediaDto sharedMedia = mediaService.upload(gil.getUsername(), "video/mp4", new ByteArrayInputStream(shared));
+        mediaService.upload(helo.getUsername(), "video/mp4", new ByteArrayInputStream(shared));
+        jdbcTemplate.update("UPDATE users SET deleted_at = ? WHERE id = ?", Instant.now(), gil.getId());
+        savePurge(gil.getId(), PurgeStep.MEDIA, Instant.now());
+
+        assertEquals(3, userPurger.purge(), "Duas mídias e a linha da conta");
+        assertAll("Blobs depois da limpeza",
+            () -> assertFalse(mediaStorage.exists(ownMedia.sha256()), "Sem referência, o blob sai do disco"),
+            () -> assertTrue(mediaStorage.exists(sharedMedia.sha256()), "Ainda usado por outra conta")
+        );
+    }
+
+    private static byte[] randomBytes() {
+        byte[] bytes = new byte[1024];
+        new Random().nextBytes(bytes);
+        return bytes;
+    }
+
+    private void savePurge(long userId, PurgeStep step, Instant requestedAt) {
+        UserPurgeEntity purge = new UserPurgeEntity();
+        purge.setUserId(userId);
+        purge.setStep(step);
+        purge.setRequestedAt(requestedAt);
+        purge.setUpdatedAt(requestedAt);
+        purge.setNextAttemptAt(requestedAt);
+        userPurgeRepository.save(purge);
+    }
+
+    private int count(String sql, Object... args) {
+        return jdbcTemplate.queryForObject(sql, Integer.class, args);
+    }
+
+    private UserEntity createUser() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        UserEntity user = new UserEntity();
+        user.setFullName("Usuário " + suffix);
+        user.setUsername("user_" + suffix);
+        user.setEmail("user_" + suffix + "@email.com");
+        user.setEncryptedPassword("123");
+        return userRepository.save(user);
+    }
+}
@@ -1,5 +1,7 @@
 package br.edu.ifpb.instagram.repository.integration;
 
+import br.edu.ifpb.instagram.model.dto.UserDto;
+import br.edu.ifpb.instagram.model.dto.UserField;
 import br.edu.ifpb.instagram.model.entity.UserEntity;
 import br.edu.ifpb.instagram.repository.UserRepository;
 
@@ -10,6 +12,7 @@ import org.junit.jupiter.api.TestInstance;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
 
@@ -127,4 +130,31 @@ public class UserRepositoryTest {
         Optional<UserEntity> found = userRepository.findById(user2.getId());
         assertThat(found).isEmpty();
     }
+
+    @Test
+    @DisplayName("Deve projetar apenas as colunas pedidas")
+    public void findAllProjected_ShouldFillOnlyRequestedFields() {
+        List<UserDto> users = userRepository.findAllProjected(EnumSet.of(UserField.USERNAME));
+
+        assertThat(users).hasSize(2);
+        assertThat(users).extracting(UserDto::username).containsExactlyInAnyOrder("joao123", "maria456");
+        assertThat(users).extracting(UserDto::id).isSorted();
+        assertThat(users).allSatisfy(user -> {
+            assertThat(user.id()).isNotNull();
+            assertThat(user.fullName()).isNull();
+            assertThat(user.email()).isNull();
+        });
+    }
+
+    @Test
+    @DisplayName("Deve projetar colunas pedidas apenas dos ids informados")
+    public void findAllProjectedById_ShouldFilterByIds() {
+        List<UserDto> users = userRepository.findAllProjectedById(
+                List.of(user2.getId(), 999L), EnumSet.of(UserField.ID, UserField.EMAIL));
+
+        assertThat(users).hasSize(1);
+        assertThat(users.get(0).id()).isEqualTo(user2.getId());
+        assertThat(users.get(0).email()).isEqualTo("maria@email.com");
+        assertThat(users.get(0).username()).isNull();
+    }
 }
@@ -0,0 +1,180 @@
+package br.edu.ifpb.instagram.service.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.access.AccessDeniedException;
+
+import br.edu.ifpb.instagram.cache.CommentThreadCache;
+import br.edu.ifpb.instagram.exception.ResourceNotFoundException;
+import br.edu.ifpb.instagram.model.dto.CommentDto;
+import br.edu.ifpb.instagram.model.dto.CommentPageDto;
+import br.edu.ifpb.instagram.model.dto.PostDto;
+import br.edu.ifpb.instagram.model.entity.UserEntity;
+import br.edu.ifpb.instagram.notification.NotificationBus;
+import br.edu.ifpb.instagram.notification.NotificationSink;
+import br.edu.ifpb.instagram.notification.NotificationType;
+import br.edu.ifpb.instagram.repository.UserRepository;
+import br.edu.ifpb.instagram.service.PostService;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Testes de integração dos comentários com o banco em memória. A página em
+ * cache é pequena para que os testes passem dela com poucos comentários.
+ */
+@SpringBootTest(properties = "instagram.comments.cache.page-size=5")
+public class CommentServiceImplTest {
+
+    @Autowired
+    private CommentServiceImpl commentService;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private CommentThreadCache threadCache;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private NotificationBus notificationBus;
+
+    private UserEntity author;
+    private PostDto post;
+
+    @BeforeEach
+    void setUp() {
+        author = createUser();
+        post = postService.createPost(author.getUsername(), "comentem aqui");
+    }
+
+    @Test
+    @DisplayName("Páginas por cursor devem cobrir o thread inteiro sem repetir comentários")
+    void findComments_WithCursor_ShouldWalkWholeThread() {
+        List<Long> written = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            written.add(commentService.addComment(author.getUsername(), post.id(), "comentário " + i).id());
+        }
+
+        List<Long> read = new ArrayList<>();
+        String cursor = null;
+        do {
+            CommentPageDto page = commentService.findComments(post.id(), cursor, 4);
+            page.comments().forEach(comment -> read.add(comment.id()));
+            cursor = page.nextCursor();
+        } while (cursor != null);
+
+        assertEquals(written.reversed(), read, "Do mais novo para o mais antigo, sem lacunas");
+    }
+
+    @Test
+    @DisplayName("Página do topo de um thread quente deve sair do cache, já com os comentários novos")
+    void findComments_HotThread_ShouldNotQueryDatabase() {
+        commentService.addComment(author.getUsername(), post.id(), "primeiro");
+        commentService.findComments(post.id(), null, 3); // carrega o thread
+
+        double hits = hits();
+        CommentDto latest = commentService.addComment(author.getUsername(), post.id(), "segundo");
+        CommentPageDto page = commentService.findComments(post.id(), null, 3);
+
+        assertAll("Validação do cache",
+            () -> assertEquals(hits + 1, hits(), "A leitura deve ser um acerto"),
+            () -> assertEquals(latest, page.comments().get(0), "O comentário novo entra sem invalidar"),
+            () -> assertEquals(2, page.comments().size()),
+            () -> assertNull(page.nextCursor(), "Thread inteiro na página")
+        );
+    }
+
+    @Test
+    @DisplayName("Limite maior que a página em cache deve ir ao banco")
+    void findComments_LimitBeyondCachedPage_ShouldQueryDatabase() {
+        for (int i = 0; i < 8; i++) {
+            commentService.addComment(author.getUsername(), post.id(), "comentário " + i);
+        }
+        commentService.findComments(post.id(), null, 2);
+
+        CommentPageDto page = commentService.findComments(post.id(), null, 7);
+
+        assertEquals(5, threadCache.get(post.id()).newest().size());
+        assertEquals(7, page.comments().size());
+        assertNotNull(page.nextCursor());
+    }
+
+    @Test
+    @DisplayName("Só o autor do comentário ou do post pode removê-lo")
+    void deleteComment_ByOtherUser_ShouldThrowAccessDenied() {
+        UserEntity commenter = createUser();
+        CommentDto comment = commentService.addComment(commenter.getUsername(), post.id(), "oi");
+
+        assertThrows(AccessDeniedException.class,
+                () -> commentService.deleteComment(createUser().getUsername(), post.id(), comment.id()));
+
+        commentService.deleteComment(author.getUsername(), post.id(), comment.id());
+        assertTrue(commentService.findComments(post.id(), null, 10).comments().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Remover o post deve apagar os comentários e o thread em cache")
+    void deletePost_ShouldRemoveThread() {
+        commentService.addComment(createUser().getUsername(), post.id(), "oi");
+        commentService.findComments(post.id(), null, 10);
+
+        postService.deletePost(author.getUsername(), post.id());
+
+        assertNull(threadCache.get(post.id()));
+        assertThrows(ResourceNotFoundException.class, () -> commentService.findComments(post.id(), null, 10));
+    }
+
+    @Test
+    @DisplayName("Comentário deve notificar o autor do post e os mencionados")
+    void addComment_ShouldNotifyAuthorAndMentions() throws Exception {
+        UserEntity mentioned = createUser();
+        NotificationSink authorSink = mock(NotificationSink.class);
+        NotificationSink mentionedSink = mock(NotificationSink.class);
+        NotificationBus.Subscription first = notificationBus.subscribe(author.getId(), null, authorSink);
+        NotificationBus.Subscription second = notificationBus.subscribe(mentioned.getId(), null, mentionedSink);
+
+        commentService.addComment(createUser().getUsername(), post.id(),
+                "olha isso @" + mentioned.getUsername() + " e @" + author.getUsername());
+
+        verify(authorSink, timeout(2_000)).send(argThat(event -> event.type() == NotificationType.COMMENT));
+        verify(mentionedSink, timeout(2_000)).send(argThat(event -> event.type() == NotificationType.MENTION));
+        verify(authorSink, never()).send(argThat(event -> event.type() == NotificationType.MENTION));
+        first.cancel();
+        second.cancel();
+    }
+
+    @Test
+    @DisplayName("Cursor inválido deve ser recusado")
+    void findComments_InvalidCursor_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> commentService.findComments(post.id(), "abc", 10));
+    }
+
+    private double hits() {
+        return meterRegistry.get("instagram.comments.cache").tag("result", "hit").counter().count();
+    }
+
+    private UserEntity createUser() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        UserEntity user = new UserEntity();
+        user.setFullName("Leitor " + suffix);
+        user.setUsername("leitor_" + suffix);
+        user.setEmail("leitor_" + suffix + "@email.com");
+        user.setEncryptedPassword("123");
+        return userRepository.save(user);
+    }
+}
@@ -0,0 +1,160 @@
+package br.edu.ifpb.instagram.service.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import br.edu.ifpb.instagram.exception.ResourceNotFoundException;
+import br.edu.ifpb.instagram.graph.FollowGraphStore;
+import br.edu.ifpb.instagram.model.dto.FollowStatsDto;
+import br.edu.ifpb.instagram.model.dto.PostDto;
+import br.edu.ifpb.instagram.model.dto.SuggestionDto;
+import br.edu.ifpb.instagram.model.dto.UserDto;
+import br.edu.ifpb.instagram.model.entity.UserEntity;
+import br.edu.ifpb.instagram.repository.UserRepository;
+import br.edu.ifpb.instagram.service.PostService;
+import br.edu.ifpb.instagram.suggestion.SuggestionStore;
+
+/**
+ * Testes de integração do FollowService com o banco em memória
+ */
+@SpringBootTest
+public class FollowServiceImplTest {
+
+    @Autowired
+    private FollowServiceImpl followService;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private SuggestionStore suggestionStore;
+
+    private UserEntity maria;
+    private UserEntity joao;
+
+    @BeforeEach
+    void setUp() {
+        maria = createUser();
+        joao = createUser();
+    }
+
+    @Test
+    @DisplayName("Deve seguir um usuário e refletir nas contagens e listas")
+    void testFollow_ShouldUpdateGraph() {
+        followService.follow(joao.getUsername(), maria.getId());
+
+        FollowStatsDto mariaStats = followService.findStats(maria.getId());
+        List<UserDto> followers = followService.findFollowers(maria.getId(), 0, 10);
+
+        assertAll("Validação do follow",
+            () -> assertTrue(followService.isFollowing(joao.getId(), maria.getId())),
+            () -> assertFalse(followService.isFollowing(maria.getId(), joao.getId())),
+            () -> assertEquals(1, mariaStats.followers()),
+            () -> assertEquals(0, mariaStats.following()),
+            () -> assertEquals(List.of(joao.getUsername()), followers.stream().map(UserDto::username).toList())
+        );
+    }
+
+    @Test
+    @DisplayName("Deve deixar de seguir um usuário")
+    void testUnfollow_ShouldRemoveEdge() {
+        followService.follow(joao.getUsername(), maria.getId());
+
+        followService.unfollow(joao.getUsername(), maria.getId());
+
+        assertFalse(followService.isFollowing(joao.getId(), maria.getId()));
+        assertTrue(followService.findFollowing(joao.getId(), 0, 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Deve recarregar o grafo a partir da tabela de follows")
+    void testGraph_ShouldReloadFromTable() {
+        followService.follow(joao.getUsername(), maria.getId());
+
+        FollowGraphStore freshStore = new FollowGraphStore(jdbcTemplate, 10_000);
+        freshStore.afterSingletonsInstantiated();
+
+        assertTrue(freshStore.isFollowing(joao.getId(), maria.getId()));
+        assertArrayEquals(new long[] { joao.getId() }, freshStore.followersOf(maria.getId()));
+    }
+
+    @Test
+    @DisplayName("Deve entregar os posts novos na timeline dos seguidores")
+    void testFollow_ShouldReceivePostsInFeed() {
+        followService.follow(joao.getUsername(), maria.getId());
+
+        PostDto post = postService.createPost(maria.getUsername(), "para os seguidores");
+
+        List<PostDto> feed = postService.findFeed(joao.getUsername(), null, 10).posts();
+        assertEquals(List.of(post.id()), feed.stream().map(PostDto::id).toList());
+    }
+
+    @Test
+    @DisplayName("Deve impedir que o usuário siga a si mesmo")
+    void testFollow_Self_ShouldThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> followService.follow(maria.getUsername(), maria.getId()));
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção ao seguir usuário inexistente")
+    void testFollow_UnknownUser_ShouldThrowNotFound() {
+        assertThrows(ResourceNotFoundException.class, () -> followService.follow(maria.getUsername(), 999_999L));
+    }
+
+    @Test
+    @DisplayName("Deve remover os follows de um usuário apagado")
+    void testRemoveUser_ShouldDropEdges() {
+        followService.follow(joao.getUsername(), maria.getId());
+        followService.follow(maria.getUsername(), joao.getId());
+
+        followService.removeUser(maria.getId(), 100);
+
+        assertFalse(followService.isFollowing(joao.getId(), maria.getId()));
+        assertEquals(0, followService.findStats(joao.getId()).followers());
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM follows WHERE follower_id = ? OR followee_id = ?",
+                Integer.class, maria.getId(), maria.getId()));
+    }
+
+    @Test
+    @DisplayName("Deve sugerir quem os seguidos seguem depois do recálculo, sem quem já é seguido")
+    void testFindSuggestions_ShouldRankByMutualFollows() {
+        UserEntity ana = createUser();
+        followService.follow(joao.getUsername(), maria.getId());
+        followService.follow(maria.getUsername(), ana.getId());
+
+        suggestionStore.refresh();
+        List<SuggestionDto> suggestions = followService.findSuggestions(joao.getUsername(), 10);
+        assertEquals(1, suggestions.size());
+        assertEquals(ana.getUsername(), suggestions.get(0).user().username());
+        assertEquals(1, suggestions.get(0).mutualCount());
+
+        followService.follow(joao.getUsername(), ana.getId());
+        assertTrue(followService.findSuggestions(joao.getUsername(), 10).isEmpty());
+    }
+
+    private UserEntity createUser() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        UserEntity user = new UserEntity();
+        user.setFullName("Usuário " + suffix);
+        user.setUsername("user_" + suffix);
+        user.setEmail("user_" + suffix + "@email.com");
+        user.setEncryptedPassword("123");
+        return userRepository.save(user);
+    }
+}
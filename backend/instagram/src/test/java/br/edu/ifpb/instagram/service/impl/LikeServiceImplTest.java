@@ -0,0 +1,218 @@
+package br.edu.ifpb.instagram.service.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import br.edu.ifpb.instagram.counter.LikeCounters;
+import br.edu.ifpb.instagram.exception.ResourceNotFoundException;
+import br.edu.ifpb.instagram.model.dto.LikeDto;
+import br.edu.ifpb.instagram.model.dto.PostDto;
+import br.edu.ifpb.instagram.model.entity.UserEntity;
+import br.edu.ifpb.instagram.notification.NotificationBus;
+import br.edu.ifpb.instagram.notification.NotificationSink;
+import br.edu.ifpb.instagram.notification.NotificationType;
+import br.edu.ifpb.instagram.repository.PostRepository;
+import br.edu.ifpb.instagram.repository.UserRepository;
+import br.edu.ifpb.instagram.service.PostService;
+
+/**
+ * Testes de integração das curtidas com o banco em memória. O flush periódico
+ * fica desligado para que cada teste decida quando os deltas vão para o banco.
+ */
+@SpringBootTest(properties = "instagram.likes.flush-interval-ms=0")
+public class LikeServiceImplTest {
+
+    @Autowired
+    private LikeServiceImpl likeService;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private LikeCounters likeCounters;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NotificationBus notificationBus;
+
+    private UserEntity author;
+    private PostDto post;
+
+    @BeforeEach
+    void setUp() {
+        author = createUser();
+        post = postService.createPost(author.getUsername(), "curtam este post");
+    }
+
+    @Test
+    @DisplayName("Curtida repetida do mesmo usuário deve contar uma vez")
+    void like_Twice_ShouldCountOnce() {
+        UserEntity fan = createUser();
+
+        likeService.like(fan.getUsername(), post.id());
+        LikeDto second = likeService.like(fan.getUsername(), post.id());
+
+        assertAll("Validação da curtida",
+            () -> assertEquals(1, second.likes()),
+            () -> assertTrue(second.liked())
+        );
+    }
+
+    @Test
+    @DisplayName("Deve gravar o contador no banco só no flush")
+    void flush_ShouldPersistAccumulatedCount() {
+        likeService.like(createUser().getUsername(), post.id());
+        likeService.like(createUser().getUsername(), post.id());
+
+        assertEquals(0, postRepository.findLikeCountById(post.id()).orElseThrow(), "Nada gravado antes do flush");
+
+        likeCounters.flush();
+
+        assertEquals(2, postRepository.findLikeCountById(post.id()).orElseThrow());
+        assertEquals(2, likeService.find(author.getUsername(), post.id()).likes());
+    }
+
+    @Test
+    @DisplayName("Descurtir deve decrementar só quando havia curtida")
+    void unlike_ShouldDecrementOnlyExistingLike() {
+        UserEntity fan = createUser();
+        likeService.like(fan.getUsername(), post.id());
+
+        likeService.unlike(fan.getUsername(), post.id());
+        LikeDto again = likeService.unlike(fan.getUsername(), post.id());
+
+        assertEquals(0, again.likes());
+        assertFalse(again.liked());
+        assertFalse(likeService.find(fan.getUsername(), post.id()).liked());
+    }
+
+    @Test
+    @DisplayName("Deve reconstruir os contadores a partir do log depois de uma queda")
+    void rebuild_AfterCrash_ShouldRecountFromLog() {
+        likeService.like(createUser().getUsername(), post.id());
+        likeService.like(createUser().getUsername(), post.id());
+        likeService.like(createUser().getUsername(), post.id());
+
+        // o node 3 caiu com os deltas em memória e um contador desatualizado no banco
+        jdbcTemplate.update("UPDATE posts SET like_count = 42 WHERE id = ?", post.id());
+        clearMarkers();
+        insertMarker(3, Instant.now().minus(Duration.ofMinutes(10)));
+        LikeCounters restarted = new LikeCounters(jdbcTemplate, 0, true, 0, Duration.ofSeconds(30));
+        restarted.afterSingletonsInstantiated();
+
+        assertEquals(3, postRepository.findLikeCountById(post.id()).orElseThrow());
+        assertEquals(List.of(0), jdbcTemplate.queryForList("SELECT node_id FROM like_counter_markers", Integer.class),
+                "A marca do node que caiu deve sair");
+        likeCounters.flush(); // esvazia os deltas pendentes do contexto compartilhado
+    }
+
+    @Test
+    @DisplayName("Reinício limpo não deve recalcular os contadores")
+    void restart_AfterCleanShutdown_ShouldNotRecount() {
+        likeService.like(createUser().getUsername(), post.id());
+        likeCounters.flush();
+        jdbcTemplate.update("UPDATE posts SET like_count = 42 WHERE id = ?", post.id());
+
+        LikeCounters previous = new LikeCounters(jdbcTemplate, 0, true, 7, Duration.ofSeconds(30));
+        clearMarkers();
+        previous.afterSingletonsInstantiated();
+        previous.shutdown();
+        LikeCounters restarted = new LikeCounters(jdbcTemplate, 0, true, 7, Duration.ofSeconds(30));
+        restarted.afterSingletonsInstantiated();
+
+        assertEquals(42, postRepository.findLikeCountById(post.id()).orElseThrow());
+    }
+
+    @Test
+    @DisplayName("Não deve recalcular enquanto outra instância estiver viva")
+    void rebuild_WithLivePeer_ShouldSkip() {
+        likeService.like(createUser().getUsername(), post.id());
+        likeCounters.flush();
+        jdbcTemplate.update("UPDATE posts SET like_count = 42 WHERE id = ?", post.id());
+
+        // o node 4 ainda pode ter deltas de curtidas que já estão no log
+        clearMarkers();
+        insertMarker(3, Instant.now().minus(Duration.ofMinutes(10)));
+        insertMarker(4, Instant.now());
+        LikeCounters restarted = new LikeCounters(jdbcTemplate, 0, true, 0, Duration.ofSeconds(30));
+        restarted.afterSingletonsInstantiated();
+
+        assertEquals(42, postRepository.findLikeCountById(post.id()).orElseThrow());
+        assertEquals(List.of(0, 3, 4),
+                jdbcTemplate.queryForList("SELECT node_id FROM like_counter_markers ORDER BY node_id", Integer.class),
+                "A marca do node que caiu fica para uma subida futura");
+    }
+
+    @Test
+    @DisplayName("Remover o usuário deve tirar as curtidas dele dos contadores")
+    void removeUser_ShouldDecrementLikedPosts() {
+        UserEntity fan = createUser();
+        likeService.like(fan.getUsername(), post.id());
+        likeService.like(createUser().getUsername(), post.id());
+
+        likeService.removeUser(fan.getId(), 100);
+
+        assertEquals(1, likeService.find(author.getUsername(), post.id()).likes());
+    }
+
+    @Test
+    @DisplayName("Curtida nova deve notificar o autor do post")
+    void like_ShouldNotifyAuthor() throws Exception {
+        NotificationSink sink = mock(NotificationSink.class);
+        NotificationBus.Subscription subscription = notificationBus.subscribe(author.getId(), null, sink);
+        UserEntity fan = createUser();
+
+        likeService.like(fan.getUsername(), post.id());
+
+        verify(sink, timeout(2_000)).send(argThat(event -> event.type() == NotificationType.LIKE
+                && event.actorId() == fan.getId() && event.postId() == post.id()));
+        subscription.cancel();
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção ao curtir post inexistente")
+    void like_UnknownPost_ShouldThrowNotFound() {
+        assertThrows(ResourceNotFoundException.class, () -> likeService.like(author.getUsername(), 999_999L));
+    }
+
+    private void clearMarkers() {
+        jdbcTemplate.update("DELETE FROM like_counter_markers");
+    }
+
+    private void insertMarker(int nodeId, Instant heartbeatAt) {
+        jdbcTemplate.update("INSERT INTO like_counter_markers (node_id, heartbeat_at) VALUES (?, ?)",
+                nodeId, Timestamp.from(heartbeatAt));
+    }
+
+    private UserEntity createUser() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        UserEntity user = new UserEntity();
+        user.setFullName("Fã " + suffix);
+        user.setUsername("fa_" + suffix);
+        user.setEmail("fa_" + suffix + "@email.com");
+        user.setEncryptedPassword("123");
+        return userRepository.save(user);
+    }
+}
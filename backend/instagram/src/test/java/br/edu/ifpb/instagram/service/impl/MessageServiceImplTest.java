@@ -0,0 +1,125 @@
+package br.edu.ifpb.instagram.service.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.access.AccessDeniedException;
+
+import br.edu.ifpb.instagram.exception.ResourceNotFoundException;
+import br.edu.ifpb.instagram.model.dto.ConversationDto;
+import br.edu.ifpb.instagram.model.dto.MessageDto;
+import br.edu.ifpb.instagram.model.entity.UserEntity;
+import br.edu.ifpb.instagram.repository.ConversationRepository;
+import br.edu.ifpb.instagram.repository.UserRepository;
+
+/**
+ * Testes de integração das mensagens diretas com o banco em memória e os
+ * logs em disco.
+ */
+@SpringBootTest
+public class MessageServiceImplTest {
+
+    @Autowired
+    private MessageServiceImpl messageService;
+
+    @Autowired
+    private ConversationRepository conversationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    @DisplayName("Deve enviar e paginar mensagens, reaproveitando a conversa a dois")
+    void sendMessage_ShouldBeReadBackInPages() {
+        UserEntity ana = createUser();
+        UserEntity bia = createUser();
+        ConversationDto conversation = messageService.createConversation(ana.getUsername(), List.of(bia.getId()));
+
+        for (int i = 1; i <= 5; i++) {
+            UserEntity sender = i % 2 == 0 ? bia : ana;
+            messageService.sendMessage(sender.getUsername(), conversation.id(), "oi " + i);
+        }
+
+        List<MessageDto> latest = messageService.findMessages(bia.getUsername(), conversation.id(), null, null, 2);
+        List<MessageDto> older = messageService.findMessages(bia.getUsername(), conversation.id(), 4L, null, 10);
+        List<MessageDto> newer = messageService.findMessages(ana.getUsername(), conversation.id(), null, 3L, 10);
+        assertAll("Validação das páginas",
+            () -> assertEquals(List.of("oi 5", "oi 4"), latest.stream().map(MessageDto::text).toList()),
+            () -> assertEquals(List.of(3L, 2L, 1L), older.stream().map(MessageDto::seq).toList()),
+            () -> assertEquals(List.of(4L, 5L), newer.stream().map(MessageDto::seq).toList()),
+            () -> assertEquals(bia.getId(), latest.get(1).senderId()),
+            () -> assertEquals(conversation.id(),
+                    messageService.createConversation(bia.getUsername(), List.of(ana.getId())).id()),
+            () -> assertEquals(List.of(conversation), messageService.findConversations(bia.getUsername()))
+        );
+    }
+
+    @Test
+    @DisplayName("Quem não participa não deve enxergar a conversa")
+    void findMessages_NotMember_ShouldThrowNotFound() {
+        UserEntity ana = createUser();
+        UserEntity bia = createUser();
+        UserEntity intrusa = createUser();
+        ConversationDto conversation = messageService.createConversation(ana.getUsername(), List.of(bia.getId()));
+
+        assertThrows(ResourceNotFoundException.class,
+                () -> messageService.findMessages(intrusa.getUsername(), conversation.id(), null, null, 10));
+        assertThrows(ResourceNotFoundException.class,
+                () -> messageService.sendMessage(intrusa.getUsername(), conversation.id(), "oi"));
+        assertThrows(ResourceNotFoundException.class,
+                () -> messageService.sendMessage(ana.getUsername(), Long.MAX_VALUE, "oi"));
+    }
+
+    @Test
+    @DisplayName("Só quem enviou pode apagar a mensagem")
+    void deleteMessage_NotSender_ShouldThrowAccessDenied() {
+        UserEntity ana = createUser();
+        UserEntity bia = createUser();
+        ConversationDto conversation = messageService.createConversation(ana.getUsername(), List.of(bia.getId()));
+        MessageDto message = messageService.sendMessage(ana.getUsername(), conversation.id(), "apagar");
+
+        assertThrows(AccessDeniedException.class,
+                () -> messageService.deleteMessage(bia.getUsername(), conversation.id(), message.seq()));
+
+        messageService.deleteMessage(ana.getUsername(), conversation.id(), message.seq());
+        assertTrue(messageService.findMessages(bia.getUsername(), conversation.id(), null, null, 10).isEmpty());
+        assertThrows(ResourceNotFoundException.class,
+                () -> messageService.deleteMessage(ana.getUsername(), conversation.id(), message.seq()));
+    }
+
+    @Test
+    @DisplayName("Remover o usuário deve apagar as conversas a dois e tirá-lo dos grupos")
+    void removeUser_ShouldDropDirectConversations() {
+        UserEntity ana = createUser();
+        UserEntity bia = createUser();
+        UserEntity caio = createUser();
+        ConversationDto direct = messageService.createConversation(ana.getUsername(), List.of(bia.getId()));
+        ConversationDto group = messageService.createConversation(ana.getUsername(), List.of(bia.getId(), caio.getId()));
+        messageService.sendMessage(ana.getUsername(), group.id(), "no grupo");
+
+        messageService.removeUser(ana.getId(), 100);
+
+        assertFalse(conversationRepository.existsById(direct.id()));
+        assertEquals(List.of(group.id()),
+                messageService.findConversations(bia.getUsername()).stream().map(ConversationDto::id).toList());
+        assertEquals(1, messageService.findMessages(caio.getUsername(), group.id(), null, null, 10).size());
+        assertThrows(ResourceNotFoundException.class,
+                () -> messageService.sendMessage(ana.getUsername(), group.id(), "saí"));
+    }
+
+    private UserEntity createUser() {
+        String username = "dm_" + UUID.randomUUID().toString().substring(0, 8);
+        UserEntity user = new UserEntity();
+        user.setFullName(username);
+        user.setUsername(username);
+        user.setEmail(username + "@email.com");
+        user.setEncryptedPassword("123");
+        return userRepository.save(user);
+    }
+}
@@ -0,0 +1,249 @@
+package br.edu.ifpb.instagram.service.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.edu.ifpb.instagram.exception.ResourceNotFoundException;
+import br.edu.ifpb.instagram.model.dto.FeedPageDto;
+import br.edu.ifpb.instagram.model.dto.PostDto;
+import br.edu.ifpb.instagram.model.entity.UserEntity;
+import br.edu.ifpb.instagram.repository.TimelineEntryRepository;
+import br.edu.ifpb.instagram.repository.UserRepository;
+import br.edu.ifpb.instagram.service.FollowService;
+import br.edu.ifpb.instagram.timeline.TimelineRing;
+import br.edu.ifpb.instagram.timeline.TimelineStore;
+import br.edu.ifpb.instagram.trending.TrendingAggregator;
+
+/**
+ * Testes de integração do PostService com o banco em memória. O limite do
+ * modo pull é baixo para que dois seguidores já tornem a conta "grande".
+ */
+@SpringBootTest(properties = "instagram.feed.pull-threshold=2")
+public class PostServiceImplTest {
+
+    @Autowired
+    private PostServiceImpl postService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TimelineEntryRepository timelineEntryRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private FollowService followService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private TrendingAggregator trendingAggregator;
+
+    private UserEntity author;
+
+    @BeforeEach
+    void setUp() {
+        author = createUser();
+    }
+
+    @Test
+    @DisplayName("Deve criar post e colocá-lo na timeline do autor")
+    void testCreatePost_ShouldFanOutToAuthorTimeline() {
+        PostDto created = postService.createPost(author.getUsername(), "primeiro post");
+
+        List<PostDto> feed = postService.findFeed(author.getUsername(), null, 10).posts();
+
+        assertAll("Validação do post criado",
+            () -> assertNotNull(created.id()),
+            () -> assertEquals(author.getId(), created.authorId()),
+            () -> assertEquals(1, feed.size()),
+            () -> assertEquals(created.id(), feed.get(0).id())
+        );
+    }
+
+    @Test
+    @DisplayName("Deve paginar o feed do mais novo para o mais antigo")
+    void testFindFeed_ShouldReturnNewestFirst() {
+        PostDto first = postService.createPost(author.getUsername(), "um");
+        PostDto second = postService.createPost(author.getUsername(), "dois");
+        PostDto third = postService.createPost(author.getUsername(), "três");
+
+        FeedPageDto page1 = postService.findFeed(author.getUsername(), null, 2);
+        FeedPageDto page2 = postService.findFeed(author.getUsername(), page1.nextCursor(), 2);
+
+        assertEquals(List.of(third.id(), second.id()), page1.posts().stream().map(PostDto::id).toList());
+        assertEquals(List.of(first.id()), page2.posts().stream().map(PostDto::id).toList());
+        assertNull(page2.nextCursor(), "A última página não deve ter cursor");
+    }
+
+    @Test
+    @DisplayName("Post novo entre duas páginas não deve repetir nem pular posts")
+    void testFindFeed_WithPostBetweenPages_ShouldKeepPosition() {
+        PostDto first = postService.createPost(author.getUsername(), "um");
+        PostDto second = postService.createPost(author.getUsername(), "dois");
+        PostDto third = postService.createPost(author.getUsername(), "três");
+
+        FeedPageDto page1 = postService.findFeed(author.getUsername(), null, 2);
+        postService.createPost(author.getUsername(), "quatro");
+        FeedPageDto page2 = postService.findFeed(author.getUsername(), page1.nextCursor(), 2);
+
+        assertEquals(List.of(third.id(), second.id()), page1.posts().stream().map(PostDto::id).toList());
+        assertEquals(List.of(first.id()), page2.posts().stream().map(PostDto::id).toList());
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar cursor inválido")
+    void testFindFeed_WithInvalidCursor_ShouldThrowException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> postService.findFeed(author.getUsername(), "não-é-cursor", 10));
+    }
+
+    @Test
+    @DisplayName("Deve recarregar a timeline persistida em um store novo")
+    void testTimeline_ShouldBeDurable() {
+        PostDto post = postService.createPost(author.getUsername(), "persistido");
+
+        TimelineStore freshStore = new TimelineStore(timelineEntryRepository, jdbcTemplate, 500, 100);
+
+        assertArrayEquals(new long[] { post.id() }, freshStore.before(author.getId(), Long.MAX_VALUE, 10).postIds());
+    }
+
+    @Test
+    @DisplayName("Fan-out não deve carregar as timelines dos seguidores")
+    void testTimeline_Append_ShouldNotLoadRings() {
+        TimelineEntryRepository repository = mock(TimelineEntryRepository.class);
+        TimelineStore store = new TimelineStore(repository, jdbcTemplate, 500, 100);
+        long otherId = createUser().getId();
+
+        transactionTemplate.executeWithoutResult(status -> store.append(List.of(author.getId(), otherId), 1L));
+
+        verifyNoInteractions(repository);
+        Long next = jdbcTemplate.queryForObject(
+                "SELECT next_seq FROM timeline_heads WHERE user_id = ?", Long.class, otherId);
+        assertEquals(1L, next);
+    }
+
+    @Test
+    @DisplayName("Push desfeito não deve deixar buraco na sequência")
+    void testTimeline_WithRolledBackPush_ShouldReuseSeq() {
+        TimelineStore store = new TimelineStore(timelineEntryRepository, jdbcTemplate, 500, 100);
+        long userId = author.getId();
+
+        store.append(List.of(userId), 1L);
+        transactionTemplate.executeWithoutResult(status -> {
+            store.append(List.of(userId), 2L);
+            status.setRollbackOnly();
+        });
+        store.append(List.of(userId), 3L);
+
+        TimelineRing.Page page = store.before(userId, Long.MAX_VALUE, 10);
+        assertEquals(1L, page.newestSeq());
+        assertArrayEquals(new long[] { 3L, 1L }, page.postIds());
+        TimelineStore freshStore = new TimelineStore(timelineEntryRepository, jdbcTemplate, 500, 100);
+        assertArrayEquals(new long[] { 3L, 1L }, freshStore.before(userId, Long.MAX_VALUE, 10).postIds());
+    }
+
+    @Test
+    @DisplayName("Deve impedir que outro usuário apague o post")
+    void testDeletePost_WhenNotAuthor_ShouldThrowAccessDenied() {
+        PostDto post = postService.createPost(author.getUsername(), "meu post");
+        UserEntity other = createUser();
+
+        assertThrows(AccessDeniedException.class, () -> postService.deletePost(other.getUsername(), post.id()));
+    }
+
+    @Test
+    @DisplayName("Deve apagar o post e removê-lo do feed")
+    void testDeletePost_ShouldHidePostFromFeed() {
+        PostDto post = postService.createPost(author.getUsername(), "apagar");
+
+        postService.deletePost(author.getUsername(), post.id());
+
+        assertThrows(ResourceNotFoundException.class, () -> postService.findById(post.id()));
+        assertTrue(postService.findFeed(author.getUsername(), null, 10).posts().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar legenda vazia")
+    void testCreatePost_WithBlankCaption_ShouldThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> postService.createPost(author.getUsername(), " "));
+    }
+
+    @Test
+    @DisplayName("Conta grande não deve escrever nas timelines dos seguidores")
+    void testCreatePost_ByPullModeAuthor_ShouldNotFanOut() {
+        UserEntity follower = createUser();
+        followService.follow(follower.getUsername(), author.getId());
+        followService.follow(createUser().getUsername(), author.getId());
+
+        PostDto post = postService.createPost(author.getUsername(), "post de conta grande");
+
+        Integer rows = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM timeline_entries WHERE post_id = ?", Integer.class, post.id());
+        assertEquals(1, rows, "Só a timeline do próprio autor deve receber o post");
+    }
+
+    @Test
+    @DisplayName("Deve intercalar posts puxados de conta grande com a timeline empurrada")
+    void testFindFeed_ShouldMergePulledAndPushedPosts() {
+        UserEntity follower = createUser();
+        UserEntity friend = createUser();
+        followService.follow(follower.getUsername(), author.getId());
+        followService.follow(createUser().getUsername(), author.getId());
+        followService.follow(follower.getUsername(), friend.getId());
+
+        PostDto first = postService.createPost(friend.getUsername(), "amigo 1");
+        PostDto celebrity = postService.createPost(author.getUsername(), "conta grande");
+        PostDto second = postService.createPost(friend.getUsername(), "amigo 2");
+
+        List<PostDto> feed = postService.findFeed(follower.getUsername(), null, 10).posts();
+        List<Long> paged = new ArrayList<>();
+        String cursor = null;
+        do {
+            FeedPageDto page = postService.findFeed(follower.getUsername(), cursor, 1);
+            page.posts().forEach(postDto -> paged.add(postDto.id()));
+            cursor = page.nextCursor();
+        } while (cursor != null);
+
+        assertEquals(List.of(second.id(), celebrity.id(), first.id()), feed.stream().map(PostDto::id).toList());
+        assertEquals(List.of(second.id(), celebrity.id(), first.id()), paged);
+    }
+
+    @Test
+    @DisplayName("Deve contar as hashtags da legenda no trending")
+    void testCreatePost_ShouldRecordHashtags() {
+        String hashtag = "tag" + UUID.randomUUID().toString().substring(0, 8);
+        int before = trendingAggregator.estimate(hashtag);
+
+        postService.createPost(author.getUsername(), "pôr do sol #" + hashtag + " #" + hashtag.toUpperCase());
+
+        assertEquals(before + 1, trendingAggregator.estimate(hashtag), "Repetida na mesma legenda conta uma vez");
+    }
+
+    private UserEntity createUser() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        UserEntity user = new UserEntity();
+        user.setFullName("Autor " + suffix);
+        user.setUsername("autor_" + suffix);
+        user.setEmail("autor_" + suffix + "@email.com");
+        user.setEncryptedPassword("123");
+        return userRepository.save(user);
+    }
+}
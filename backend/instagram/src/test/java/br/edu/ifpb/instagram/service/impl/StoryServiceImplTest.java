@@ -0,0 +1,129 @@
+package br.edu.ifpb.instagram.service.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.access.AccessDeniedException;
+
+import br.edu.ifpb.instagram.exception.ResourceNotFoundException;
+import br.edu.ifpb.instagram.model.dto.StoryDto;
+import br.edu.ifpb.instagram.model.entity.MediaEntity;
+import br.edu.ifpb.instagram.model.entity.StoryEntity;
+import br.edu.ifpb.instagram.model.entity.UserEntity;
+import br.edu.ifpb.instagram.repository.MediaRepository;
+import br.edu.ifpb.instagram.repository.StoryRepository;
+import br.edu.ifpb.instagram.repository.UserRepository;
+import br.edu.ifpb.instagram.story.StoryExpiry;
+
+/**
+ * Testes de integração dos stories com o banco em memória.
+ */
+@SpringBootTest
+public class StoryServiceImplTest {
+
+    @Autowired
+    private StoryServiceImpl storyService;
+
+    @Autowired
+    private StoryExpiry storyExpiry;
+
+    @Autowired
+    private StoryRepository storyRepository;
+
+    @Autowired
+    private MediaRepository mediaRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private UserEntity author;
+    private MediaEntity media;
+
+    @BeforeEach
+    void setUp() {
+        author = createUser();
+        media = createMedia(author);
+    }
+
+    @Test
+    @DisplayName("Deve publicar o story por 24 horas")
+    void createStory_ShouldExpireAfterTtl() {
+        StoryDto story = storyService.createStory(author.getUsername(), media.getId());
+
+        assertAll("Validação do story",
+            () -> assertEquals(Duration.ofHours(24), Duration.between(story.createdAt(), story.expiresAt())),
+            () -> assertEquals(media.getId(), story.mediaId()),
+            () -> assertEquals(story, storyService.findById(story.id())),
+            () -> assertEquals(1, storyService.findActiveByAuthor(author.getId()).size())
+        );
+    }
+
+    @Test
+    @DisplayName("Story vencido não deve ser servido antes de ser apagado, e deve ser apagado no tick seguinte")
+    void expiredStory_ShouldBeHiddenUntilPurged() {
+        StoryEntity expired = new StoryEntity();
+        expired.setAuthor(author);
+        expired.setMedia(media);
+        expired.setCreatedAt(Instant.now().minus(Duration.ofHours(25)));
+        expired.setExpiresAt(Instant.now().minus(Duration.ofHours(1)));
+        expired = storyRepository.save(expired);
+        long expiredId = expired.getId();
+
+        assertThrows(ResourceNotFoundException.class, () -> storyService.findById(expiredId));
+        assertTrue(storyService.findActiveByAuthor(author.getId()).isEmpty());
+        assertTrue(storyRepository.existsById(expiredId), "A linha ainda existe");
+
+        storyExpiry.schedule(expiredId, expired.getExpiresAt());
+        storyExpiry.purge(Instant.now());
+
+        assertFalse(storyRepository.existsById(expiredId));
+    }
+
+    @Test
+    @DisplayName("Deve recusar story com mídia de outro usuário")
+    void createStory_WithOthersMedia_ShouldThrowAccessDenied() {
+        UserEntity other = createUser();
+
+        assertThrows(AccessDeniedException.class, () -> storyService.createStory(other.getUsername(), media.getId()));
+    }
+
+    @Test
+    @DisplayName("Só o autor pode apagar o story")
+    void deleteStory_NotAuthor_ShouldThrowAccessDenied() {
+        StoryDto story = storyService.createStory(author.getUsername(), media.getId());
+        UserEntity other = createUser();
+
+        assertThrows(AccessDeniedException.class, () -> storyService.deleteStory(other.getUsername(), story.id()));
+
+        storyService.deleteStory(author.getUsername(), story.id());
+        assertThrows(ResourceNotFoundException.class, () -> storyService.findById(story.id()));
+    }
+
+    private UserEntity createUser() {
+        String username = "story_" + UUID.randomUUID().toString().substring(0, 8);
+        UserEntity user = new UserEntity();
+        user.setFullName(username);
+        user.setUsername(username);
+        user.setEmail(username + "@email.com");
+        user.setEncryptedPassword("123");
+        return userRepository.save(user);
+    }
+
+    private MediaEntity createMedia(UserEntity owner) {
+        MediaEntity mediaEntity = new MediaEntity();
+        mediaEntity.setOwner(owner);
+        mediaEntity.setSha256("0".repeat(64));
+        mediaEntity.setSize(1);
+        mediaEntity.setContentType("image/jpeg");
+        mediaEntity.setCreatedAt(Instant.now());
+        return mediaRepository.save(mediaEntity);
+    }
+}
@@ -0,0 +1,214 @@
+package br.edu.ifpb.instagram.service.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.spy;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import br.edu.ifpb.instagram.exception.ResourceNotFoundException;
+import br.edu.ifpb.instagram.exception.UploadOffsetConflictException;
+import br.edu.ifpb.instagram.media.UploadSessionSweeper;
+import br.edu.ifpb.instagram.model.dto.MediaDto;
+import br.edu.ifpb.instagram.model.dto.UploadSessionDto;
+import br.edu.ifpb.instagram.model.entity.UserEntity;
+import br.edu.ifpb.instagram.repository.UploadSessionRepository;
+import br.edu.ifpb.instagram.repository.UserRepository;
+import br.edu.ifpb.instagram.storage.MediaStorage;
+import br.edu.ifpb.instagram.storage.UploadPartFiles;
+
+/**
+ * Testes de integração dos uploads retomáveis com banco em memória e arquivos
+ * reais no diretório de mídia.
+ */
+@SpringBootTest(properties = "instagram.media.uploads.sweep-interval=0s")
+public class UploadSessionServiceImplTest {
+
+    @Autowired
+    private UploadSessionServiceImpl uploadSessionService;
+
+    @Autowired
+    private UploadSessionSweeper uploadSessionSweeper;
+
+    @Autowired
+    private UploadSessionRepository uploadSessionRepository;
+
+    @Autowired
+    private UploadPartFiles uploadPartFiles;
+
+    @Autowired
+    private MediaStorage mediaStorage;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private UserEntity owner;
+    private byte[] video;
+
+    @BeforeEach
+    void setUp() {
+        owner = createUser();
+        video = new byte[300_000];
+        new Random(7).nextBytes(video);
+    }
+
+    @Test
+    @DisplayName("Deve montar o arquivo a partir dos chunks e criar a mídia")
+    void upload_InChunks_ShouldCreateMedia() throws Exception {
+        UploadSessionDto session = uploadSessionService.create(owner.getUsername(), "video/mp4", video.length);
+
+        uploadSessionService.writeChunk(owner.getUsername(), session.id(), 0, chunk(0, 100_000));
+        UploadSessionDto afterSecond = uploadSessionService.writeChunk(owner.getUsername(), session.id(), 100_000, chunk(100_000, video.length));
+        MediaDto media = uploadSessionService.complete(owner.getUsername(), session.id());
+
+        assertEquals(video.length, afterSecond.offset());
+        assertEquals(video.length, media.size());
+        try (InputStream in = mediaStorage.open(media.sha256())) {
+            assertArrayEquals(video, in.readAllBytes());
+        }
+        assertFalse(uploadSessionRepository.existsById(session.id()), "A sessão deve ser removida");
+        assertFalse(Files.exists(uploadPartFiles.path(session.id())), "O arquivo parcial vira o blob");
+    }
+
+    @Test
+    @DisplayName("Deve aceitar reenvio de um trecho já recebido e recusar lacunas")
+    void writeChunk_ShouldAllowOverlapAndRejectGaps() throws Exception {
+        UploadSessionDto session = uploadSessionService.create(owner.getUsername(), "video/mp4", video.length);
+        uploadSessionService.writeChunk(owner.getUsername(), session.id(), 0, chunk(0, 100_000));
+
+        // cliente caiu sem ver a resposta e reenviou a partir de 50k
+        UploadSessionDto resent = uploadSessionService.writeChunk(owner.getUsername(), session.id(), 50_000, chunk(50_000, 150_000));
+
+        UploadOffsetConflictException conflict = assertThrows(UploadOffsetConflictException.class,
+                () -> uploadSessionService.writeChunk(owner.getUsername(), session.id(), 200_000, chunk(200_000, video.length)));
+
+        assertEquals(150_000, resent.offset());
+        assertEquals(150_000, conflict.getCurrentOffset());
+        assertEquals(150_000, uploadSessionService.find(owner.getUsername(), session.id()).offset());
+    }
+
+    @Test
+    @DisplayName("Deve manter o que foi gravado quando a conexão cai no meio do chunk")
+    void writeChunk_WhenConnectionDrops_ShouldKeepWrittenBytes() throws Exception {
+        UploadSessionDto session = uploadSessionService.create(owner.getUsername(), "video/mp4", video.length);
+
+        InputStream dropping = new InputStream() {
+            private int position;
+
+            @Override
+            public int read() throws IOException {
+                if (position == 70_000) {
+                    throw new IOException("connection reset");
+                }
+                return video[position++] & 0xff;
+            }
+        };
+
+        UploadSessionDto partial = uploadSessionService.writeChunk(owner.getUsername(), session.id(), 0, dropping);
+
+        assertEquals(70_000, partial.offset());
+    }
+
+    @Test
+    @DisplayName("Deve recusar chunk maior que o tamanho declarado")
+    void writeChunk_BeyondDeclaredSize_ShouldThrow() throws Exception {
+        UploadSessionDto session = uploadSessionService.create(owner.getUsername(), "video/mp4", 10);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> uploadSessionService.writeChunk(owner.getUsername(), session.id(), 0, chunk(0, 11)));
+    }
+
+    @Test
+    @DisplayName("Não deve finalizar upload incompleto")
+    void complete_Incomplete_ShouldThrowConflict() throws Exception {
+        UploadSessionDto session = uploadSessionService.create(owner.getUsername(), "video/mp4", video.length);
+        uploadSessionService.writeChunk(owner.getUsername(), session.id(), 0, chunk(0, 1000));
+
+        UploadOffsetConflictException conflict = assertThrows(UploadOffsetConflictException.class,
+                () -> uploadSessionService.complete(owner.getUsername(), session.id()));
+
+        assertEquals(1000, conflict.getCurrentOffset());
+    }
+
+    @Test
+    @DisplayName("Sessão de outro usuário deve se comportar como inexistente")
+    void find_OtherUsersSession_ShouldThrowNotFound() throws Exception {
+        UploadSessionDto session = uploadSessionService.create(owner.getUsername(), "video/mp4", video.length);
+        UserEntity intruder = createUser();
+
+        assertThrows(ResourceNotFoundException.class,
+                () -> uploadSessionService.find(intruder.getUsername(), session.id()));
+        assertThrows(ResourceNotFoundException.class,
+                () -> uploadSessionService.writeChunk(intruder.getUsername(), session.id(), 0, chunk(0, 10)));
+    }
+
+    @Test
+    @DisplayName("Deve recusar tipo não suportado e tamanho inválido")
+    void create_InvalidRequest_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class,
+                () -> uploadSessionService.create(owner.getUsername(), "application/pdf", 10));
+        assertThrows(IllegalArgumentException.class,
+                () -> uploadSessionService.create(owner.getUsername(), "video/mp4", 0));
+    }
+
+    @Test
+    @DisplayName("Coletor deve remover sessões abandonadas e seus arquivos")
+    void sweep_ShouldRemoveExpiredSessions() throws Exception {
+        UploadSessionDto abandoned = uploadSessionService.create(owner.getUsername(), "video/mp4", video.length);
+
+        int removed = uploadSessionSweeper.sweep(Instant.now().plus(Duration.ofDays(2)));
+
+        assertTrue(removed >= 1);
+        assertFalse(uploadSessionRepository.existsById(abandoned.id()));
+        assertFalse(Files.exists(uploadPartFiles.path(abandoned.id())));
+    }
+
+    @Test
+    @DisplayName("Coletor deve manter a sessão quando não consegue apagar o arquivo")
+    void sweep_WhenFileDeleteFails_ShouldKeepSession() throws Exception {
+        UploadSessionDto abandoned = uploadSessionService.create(owner.getUsername(), "video/mp4", video.length);
+        UploadPartFiles failingFiles = spy(uploadPartFiles);
+        doThrow(new IOException("disco indisponível")).when(failingFiles).delete(abandoned.id());
+        UploadSessionSweeper failingSweeper =
+                new UploadSessionSweeper(uploadSessionRepository, failingFiles, Duration.ofHours(24), Duration.ZERO);
+        Instant later = Instant.now().plus(Duration.ofDays(2));
+
+        failingSweeper.sweep(later);
+
+        assertTrue(uploadSessionRepository.existsById(abandoned.id()), "A linha deve esperar a próxima passada");
+        assertTrue(Files.exists(uploadPartFiles.path(abandoned.id())));
+
+        uploadSessionSweeper.sweep(later);
+
+        assertFalse(uploadSessionRepository.existsById(abandoned.id()));
+        assertFalse(Files.exists(uploadPartFiles.path(abandoned.id())));
+    }
+
+    private InputStream chunk(int from, int to) {
+        return new ByteArrayInputStream(Arrays.copyOfRange(video, from, to));
+    }
+
+    private UserEntity createUser() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        UserEntity user = new UserEntity();
+        user.setFullName("Cineasta " + suffix);
+        user.setUsername("video_" + suffix);
+        user.setEmail("video_" + suffix + "@email.com");
+        user.setEncryptedPassword("123");
+        return userRepository.save(user);
+    }
+}
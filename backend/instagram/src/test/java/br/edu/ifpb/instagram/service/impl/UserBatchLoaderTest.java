@@ -0,0 +1,208 @@
+package br.edu.ifpb.instagram.service.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import br.edu.ifpb.instagram.model.entity.UserEntity;
+import br.edu.ifpb.instagram.repository.UserRepository;
+
+public class UserBatchLoaderTest {
+
+    // id cuja busca fica presa no banco para simular concorrência
+    private static final long SLOW_ID = 99L;
+
+    private UserRepository userRepository;
+    private UserBatchLoader loader;
+    private final CountDownLatch releaseSlow = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        when(userRepository.findAllById(anyIterable())).thenAnswer(invocation -> {
+            List<UserEntity> users = new ArrayList<>();
+            for (Object id : (Iterable<?>) invocation.getArgument(0)) {
+                if ((Long) id < 100) {
+                    users.add(user((Long) id));
+                }
+            }
+            return users;
+        });
+        when(userRepository.findById(anyLong())).thenAnswer(invocation -> {
+            Long id = invocation.getArgument(0);
+            return id < 100 ? Optional.of(user(id)) : Optional.empty();
+        });
+
+        // janela longa para que todas as chamadas do teste caiam no mesmo lote
+        loader = new UserBatchLoader(userRepository, 50_000, 100, 2, Duration.ofSeconds(5));
+    }
+
+    @AfterEach
+    void tearDown() {
+        releaseSlow.countDown();
+        loader.shutdown();
+    }
+
+    @Test
+    @DisplayName("Sem concorrência a busca deve ir direto ao banco, sem esperar a janela")
+    void load_WithoutContention_ShouldQueryImmediately() {
+        CompletableFuture<Optional<UserEntity>> first = loader.load(1L);
+        CompletableFuture<Optional<UserEntity>> second = loader.load(2L);
+
+        assertTrue(first.isDone(), "A busca deve ter terminado na thread de quem chamou");
+        assertEquals(2L, second.join().orElseThrow().getId());
+        verify(userRepository).findById(1L);
+        verify(userRepository).findById(2L);
+        verify(userRepository, never()).findAllById(anyIterable());
+    }
+
+    @Test
+    @DisplayName("Deve agrupar buscas da mesma janela em uma única consulta")
+    @SuppressWarnings("unchecked")
+    void load_WithinSameWindow_ShouldIssueSingleQuery() throws InterruptedException {
+        holdSlowLookup(loader);
+
+        CompletableFuture<Optional<UserEntity>> first = loader.load(1L);
+        CompletableFuture<Optional<UserEntity>> second = loader.load(2L);
+        CompletableFuture<Optional<UserEntity>> missing = loader.load(500L);
+
+        assertAll("Validação do lote",
+            () -> assertEquals(1L, first.join().orElseThrow().getId()),
+            () -> assertEquals(2L, second.join().orElseThrow().getId()),
+            () -> assertTrue(missing.join().isEmpty(), "Id inexistente deve voltar vazio")
+        );
+
+        ArgumentCaptor<Iterable<Long>> captor = ArgumentCaptor.forClass(Iterable.class);
+        verify(userRepository, times(1)).findAllById(captor.capture());
+        verify(userRepository, never()).findById(1L);
+        assertEquals(List.of(1L, 2L, 500L), captor.getValue());
+    }
+
+    @Test
+    @DisplayName("Deve reaproveitar a busca ainda na fila para o mesmo id")
+    void load_DuplicateId_ShouldShareFuture() throws InterruptedException {
+        holdSlowLookup(loader);
+
+        CompletableFuture<Optional<UserEntity>> first = loader.load(7L);
+        CompletableFuture<Optional<UserEntity>> duplicate = loader.load(7L);
+
+        assertSame(first, duplicate);
+        assertEquals(7L, duplicate.join().orElseThrow().getId());
+        verify(userRepository, times(1)).findById(7L);
+    }
+
+    @Test
+    @DisplayName("Não deve reaproveitar uma busca que já foi enviada ao banco")
+    void load_AfterDispatch_ShouldIssueNewQuery() throws InterruptedException {
+        CountDownLatch querying = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(userRepository.findById(9L)).thenAnswer(invocation -> {
+            querying.countDown();
+            release.await();
+            return Optional.of(user(9L));
+        }).thenReturn(Optional.of(user(9L)));
+        UserBatchLoader shortWindow = new UserBatchLoader(userRepository, 1_000, 100, 2, Duration.ofSeconds(5));
+        try {
+            holdSlowLookup(shortWindow);
+
+            CompletableFuture<Optional<UserEntity>> first = shortWindow.load(9L);
+            assertTrue(querying.await(5, TimeUnit.SECONDS));
+
+            // a primeira consulta pode ter lido a linha antes de um commit
+            CompletableFuture<Optional<UserEntity>> second = shortWindow.load(9L);
+            release.countDown();
+
+            assertNotSame(first, second);
+            assertTrue(first.join().isPresent());
+            assertTrue(second.join().isPresent());
+            verify(userRepository, times(2)).findById(9L);
+        } finally {
+            release.countDown();
+            shortWindow.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve despachar imediatamente quando o lote atinge o tamanho máximo")
+    void load_WhenBatchIsFull_ShouldDispatchWithoutWaitingWindow() throws InterruptedException {
+        UserBatchLoader small = new UserBatchLoader(userRepository, 60_000_000, 2, 2, Duration.ofSeconds(5));
+        try {
+            holdSlowLookup(small);
+
+            CompletableFuture<Optional<UserEntity>> first = small.load(1L);
+            CompletableFuture<Optional<UserEntity>> second = small.load(2L);
+
+            assertTrue(first.join().isPresent());
+            assertTrue(second.join().isPresent());
+        } finally {
+            small.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve propagar a falha do banco para todos do lote")
+    void load_WhenRepositoryFails_ShouldCompleteExceptionally() throws InterruptedException {
+        when(userRepository.findAllById(anyIterable())).thenThrow(new IllegalStateException("db down"));
+        holdSlowLookup(loader);
+
+        CompletableFuture<Optional<UserEntity>> first = loader.load(1L);
+        CompletableFuture<Optional<UserEntity>> second = loader.load(2L);
+
+        assertThrows(Exception.class, first::join);
+        assertThrows(Exception.class, second::join);
+    }
+
+    @Test
+    @DisplayName("Uma busca na fila deve desistir depois do timeout")
+    void load_WhenBatchIsStuck_ShouldTimeOut() throws InterruptedException {
+        UserBatchLoader stuck = new UserBatchLoader(userRepository, 60_000_000, 100, 2, Duration.ofMillis(50));
+        try {
+            holdSlowLookup(stuck);
+
+            CompletableFuture<Optional<UserEntity>> queued = stuck.load(1L);
+
+            CompletionException e = assertThrows(CompletionException.class, queued::join);
+            assertInstanceOf(TimeoutException.class, e.getCause());
+        } finally {
+            stuck.shutdown();
+        }
+    }
+
+    // deixa uma busca presa no banco até o fim do teste, para as próximas entrarem na fila
+    private void holdSlowLookup(UserBatchLoader target) throws InterruptedException {
+        CountDownLatch entered = new CountDownLatch(1);
+        when(userRepository.findById(SLOW_ID)).thenAnswer(invocation -> {
+            entered.countDown();
+            releaseSlow.await();
+            return Optional.of(user(SLOW_ID));
+        });
+        Thread thread = new Thread(() -> target.load(SLOW_ID));
+        thread.setDaemon(true);
+        thread.start();
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+    }
+
+    private static UserEntity user(Long id) {
+        UserEntity userEntity = new UserEntity();
+        userEntity.setId(id);
+        userEntity.setUsername("user" + id);
+        return userEntity;
+    }
+}
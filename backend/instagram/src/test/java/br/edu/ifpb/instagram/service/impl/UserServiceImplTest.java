@@ -5,6 +5,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,9 +20,13 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 
+import br.edu.ifpb.instagram.cache.UserResponseCache;
 import br.edu.ifpb.instagram.exception.FieldAlreadyExistsException;
+import br.edu.ifpb.instagram.model.dto.UserBatchDto;
 import br.edu.ifpb.instagram.model.dto.UserDto;
+import br.edu.ifpb.instagram.model.dto.UserField;
 import br.edu.ifpb.instagram.model.entity.UserEntity;
+import br.edu.ifpb.instagram.model.response.UserDetailsResponse;
 import br.edu.ifpb.instagram.repository.UserRepository;
 
 @SpringBootTest
@@ -37,6 +42,9 @@ public class UserServiceImplTest {
     @Autowired
     private UserServiceImpl userService;
 
+    @Autowired
+    private UserResponseCache userResponseCache;
+
     private UserDto userDto;
     private UserEntity userEntity;
 
@@ -148,32 +156,52 @@ public class UserServiceImplTest {
 
     // ------------------ DELETE USER ------------------
     @Test
-    @DisplayName("Deve deletar usuário existente")
-    void testDeleteUser_WhenUserExists_ShouldDeleteUser() {
-        when(userRepository.existsById(2L)).thenReturn(true);
+    @DisplayName("Deve marcar o usuário como apagado e liberar username e email")
+    void testDeleteUser_WhenUserExists_ShouldMarkUserDeleted() {
+        userEntity.setId(2L);
+        when(userRepository.findById(2L)).thenReturn(Optional.of(userEntity));
 
         userService.deleteUser(2L);
 
+        ArgumentCaptor<UserEntity> captor = ArgumentCaptor.forClass(UserEntity.class);
+        verify(userRepository).save(captor.capture());
+        UserEntity captured = captor.getValue();
+
         assertAll("Validação da deleção de usuário",
-            () -> verify(userRepository).existsById(2L),
-            () -> verify(userRepository).deleteById(2L)
+            () -> assertNotNull(captured.getDeletedAt(), "A data de remoção deve ser preenchida"),
+            () -> assertEquals("deleted-2", captured.getUsername(), "O username deve ser liberado"),
+            () -> assertEquals("deleted-2@deleted.invalid", captured.getEmail(), "O email deve ser liberado"),
+            () -> verify(userRepository, never()).deleteById(anyLong())
         );
     }
 
     @Test
     @DisplayName("Deve lançar exceção ao deletar usuário inexistente")
     void testDeleteUser_WhenUserNotFound_ShouldThrowException() {
-        when(userRepository.existsById(99L)).thenReturn(false);
+        when(userRepository.findById(99L)).thenReturn(Optional.empty());
 
         RuntimeException ex = assertThrows(RuntimeException.class, () -> userService.deleteUser(99L));
 
         assertAll("Validação da exceção ao deletar",
             () -> assertEquals("User not found with id: 99", ex.getMessage(), "Mensagem da exceção incorreta"),
-            () -> verify(userRepository).existsById(99L),
-            () -> verify(userRepository, never()).deleteById(anyLong())
+            () -> verify(userRepository).findById(99L),
+            () -> verify(userRepository, never()).save(any())
         );
     }
 
+    @Test
+    @DisplayName("Deve invalidar o cache de resposta ao deletar usuário")
+    void testDeleteUser_ShouldInvalidateCachedResponse() {
+        userResponseCache.put(2L, userResponseCache.version(2L),
+            new UserDetailsResponse(2L, "Gabriel Laet", "laet", "gabriellaetfm12@gmail.com"));
+        userEntity.setId(2L);
+        when(userRepository.findById(2L)).thenReturn(Optional.of(userEntity));
+
+        userService.deleteUser(2L);
+
+        assertNull(userResponseCache.get(2L), "A resposta cacheada deve ser descartada");
+    }
+
     // ------------------ UPDATE USER ------------------
     @Test
     @DisplayName("Deve atualizar usuário válido e criptografar senha")
@@ -268,4 +296,46 @@ public class UserServiceImplTest {
             () -> assertEquals("josegrosso", users.get(1).fullName(), "Segundo nome incorreto")
         );
     }
+
+    // ------------------ FIND ALL BY ID ------------------
+    @Test
+    @DisplayName("Deve buscar vários ids em uma consulta mantendo a ordem e informando faltantes")
+    void testFindAllById_ShouldKeepRequestOrderAndReportMissing() {
+        UserEntity user1 = new UserEntity();
+        user1.setId(1L);
+        user1.setUsername("user1");
+
+        UserEntity user3 = new UserEntity();
+        user3.setId(3L);
+        user3.setUsername("user3");
+
+        // o banco não garante a ordem do IN
+        when(userRepository.findAllById(any())).thenReturn(List.of(user1, user3));
+
+        UserBatchDto batch = userService.findAllById(List.of(3L, 2L, 1L, 3L));
+
+        assertAll("Validação do multi-get",
+            () -> assertEquals(List.of(3L, 1L), batch.users().stream().map(UserDto::id).toList(), "Ordem incorreta"),
+            () -> assertEquals(List.of(2L), batch.missingIds(), "Ids faltantes incorretos"),
+            () -> verify(userRepository, times(1)).findAllById(List.of(3L, 2L, 1L))
+        );
+    }
+
+    // ------------------ SPARSE FIELDSETS ------------------
+    @Test
+    @DisplayName("Deve omitir o id quando ele não foi pedido em fields")
+    void testFindAllWithFields_WhenIdNotRequested_ShouldOmitId() {
+        EnumSet<UserField> fields = EnumSet.of(UserField.USERNAME);
+        when(userRepository.findAllProjected(fields))
+            .thenReturn(List.of(new UserDto(1L, null, "laet", null, null, null)));
+
+        List<UserDto> users = userService.findAll(fields);
+
+        assertAll("Validação da projeção",
+            () -> assertEquals(1, users.size()),
+            () -> assertNull(users.get(0).id(), "O id não foi pedido"),
+            () -> assertEquals("laet", users.get(0).username())
+        );
+        verify(userRepository, never()).findAll();
+    }
 }
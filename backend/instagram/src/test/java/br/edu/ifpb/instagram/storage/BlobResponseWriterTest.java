@@ -0,0 +1,132 @@
+package br.edu.ifpb.instagram.storage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+public class BlobResponseWriterTest {
+
+    private static final String SHA = "ab".repeat(32);
+    private static final String ETAG = "\"" + SHA + "\"";
+
+    @TempDir
+    Path dir;
+
+    private Path blob;
+    private BlobResponseWriter writer;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        blob = Files.writeString(dir.resolve(SHA), "0123456789", StandardCharsets.US_ASCII);
+        writer = new BlobResponseWriter(31536000);
+    }
+
+    @Test
+    @DisplayName("Deve servir o blob inteiro com ETag do hash e cache imutável")
+    void write_ShouldServeWholeBlobWithCacheHeaders() throws Exception {
+        MockHttpServletResponse response = write(new MockHttpServletRequest("GET", "/media/1"));
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsString()).isEqualTo("0123456789");
+        assertThat(response.getContentType()).isEqualTo("image/jpeg");
+        assertThat(response.getHeader("ETag")).isEqualTo(ETAG);
+        assertThat(response.getHeader("Cache-Control")).isEqualTo("private, max-age=31536000, immutable");
+        assertThat(response.getHeader("Accept-Ranges")).isEqualTo("bytes");
+    }
+
+    @Test
+    @DisplayName("Deve responder 206 com o intervalo pedido")
+    void write_WithRange_ShouldReturnPartialContent() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/media/1");
+        request.addHeader("Range", "bytes=2-5");
+
+        MockHttpServletResponse response = write(request);
+
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getContentAsString()).isEqualTo("2345");
+        assertThat(response.getHeader("Content-Range")).isEqualTo("bytes 2-5/10");
+        assertThat(response.getContentLengthLong()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Deve atender intervalo de sufixo (últimos N bytes)")
+    void write_WithSuffixRange_ShouldReturnTail() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/media/1");
+        request.addHeader("Range", "bytes=-3");
+
+        MockHttpServletResponse response = write(request);
+
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getContentAsString()).isEqualTo("789");
+    }
+
+    @Test
+    @DisplayName("Deve responder 416 para intervalo fora do arquivo")
+    void write_WithUnsatisfiableRange_ShouldReturn416() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/media/1");
+        request.addHeader("Range", "bytes=50-60");
+
+        MockHttpServletResponse response = write(request);
+
+        assertThat(response.getStatus()).isEqualTo(416);
+        assertThat(response.getHeader("Content-Range")).isEqualTo("bytes */10");
+        assertThat(response.getContentAsByteArray()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Deve ignorar Range com If-Range diferente ou múltiplos intervalos")
+    void write_WithStaleIfRangeOrMultipleRanges_ShouldReturnWholeBlob() throws Exception {
+        MockHttpServletRequest stale = new MockHttpServletRequest("GET", "/media/1");
+        stale.addHeader("Range", "bytes=0-1");
+        stale.addHeader("If-Range", "\"outro\"");
+
+        MockHttpServletRequest multiple = new MockHttpServletRequest("GET", "/media/1");
+        multiple.addHeader("Range", "bytes=0-1,4-5");
+
+        assertThat(write(stale).getStatus()).isEqualTo(200);
+        assertThat(write(multiple).getContentAsString()).isEqualTo("0123456789");
+    }
+
+    @Test
+    @DisplayName("Deve responder 304 quando o ETag bate")
+    void write_WithMatchingEtag_ShouldReturnNotModified() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/media/1");
+        request.addHeader("If-None-Match", ETAG);
+
+        MockHttpServletResponse response = write(request);
+
+        assertThat(response.getStatus()).isEqualTo(304);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Deve delegar ao sendfile do conector quando disponível")
+    void write_WhenSendfileSupported_ShouldSetAttributesInsteadOfBody() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/media/1");
+        request.setAttribute("org.apache.tomcat.sendfile.support", Boolean.TRUE);
+        request.addHeader("Range", "bytes=4-");
+
+        MockHttpServletResponse response = write(request);
+
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+        assertThat(request.getAttribute("org.apache.tomcat.sendfile.filename")).isEqualTo(blob.toAbsolutePath().toString());
+        assertThat(request.getAttribute("org.apache.tomcat.sendfile.start")).isEqualTo(4L);
+        assertThat(request.getAttribute("org.apache.tomcat.sendfile.end")).isEqualTo(10L);
+    }
+
+    private MockHttpServletResponse write(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        writer.write(blob, SHA, "image/jpeg", request, response);
+        return response;
+    }
+}
@@ -0,0 +1,131 @@
+package br.edu.ifpb.instagram.storage;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class LocalMediaStorageTest {
+
+    @TempDir
+    Path root;
+
+    private LocalMediaStorage storage;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        storage = new LocalMediaStorage(root);
+    }
+
+    @Test
+    @DisplayName("Deve gravar o blob endereçado pelo SHA-256 do conteúdo")
+    void store_ShouldAddressBlobBySha256() throws Exception {
+        byte[] content = "uma foto qualquer".getBytes(StandardCharsets.UTF_8);
+
+        StoredBlob blob = storage.store(new ByteArrayInputStream(content));
+
+        String expected = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        assertAll("Validação do blob",
+            () -> assertEquals(expected, blob.sha256()),
+            () -> assertEquals(content.length, blob.size()),
+            () -> assertFalse(blob.deduplicated()),
+            () -> assertTrue(storage.exists(expected))
+        );
+        try (InputStream in = storage.open(expected)) {
+            assertArrayEquals(content, in.readAllBytes());
+        }
+    }
+
+    @Test
+    @DisplayName("Deve deduplicar uploads idênticos em um único blob")
+    void store_SameContentTwice_ShouldDeduplicate() throws Exception {
+        byte[] content = "mesma foto".getBytes(StandardCharsets.UTF_8);
+
+        StoredBlob first = storage.store(new ByteArrayInputStream(content));
+        StoredBlob second = storage.store(new ByteArrayInputStream(content));
+
+        assertEquals(first.sha256(), second.sha256());
+        assertTrue(second.deduplicated());
+        assertEquals(1, countFiles(root.resolve("blobs")));
+        assertEquals(0, countFiles(root.resolve("tmp")), "Temporários devem ser apagados");
+    }
+
+    @Test
+    @DisplayName("Deve gravar arquivos maiores que o buffer sem perder bytes")
+    void store_LargeStream_ShouldKeepAllBytes() throws Exception {
+        byte[] content = new byte[5 * 1024 * 1024 + 123];
+        new Random(1).nextBytes(content);
+
+        StoredBlob blob = storage.store(new ByteArrayInputStream(content));
+
+        assertEquals(content.length, blob.size());
+        try (InputStream in = storage.open(blob.sha256())) {
+            assertArrayEquals(content, in.readAllBytes());
+        }
+    }
+
+    @Test
+    @DisplayName("Não deve aceitar hash inválido como caminho")
+    void exists_WithInvalidHash_ShouldReturnFalse() {
+        assertFalse(storage.exists("../../etc/passwd"));
+        assertThrows(Exception.class, () -> storage.open("../../etc/passwd"));
+    }
+
+    private static long countFiles(Path dir) throws Exception {
+        try (Stream<Path> files = Files.walk(dir)) {
+            return files.filter(Files::isRegularFile).count();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve adotar um arquivo completo movendo-o para o endereço do hash")
+    void importFile_ShouldMoveFileIntoBlobs() throws Exception {
+        byte[] content = "video montado em chunks".getBytes(StandardCharsets.UTF_8);
+        Path part = Files.write(root.resolve("sessao.part"), content);
+
+        StoredBlob blob = storage.importFile(part);
+
+        String expected = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        assertEquals(expected, blob.sha256());
+        assertEquals(content.length, blob.size());
+        assertFalse(Files.exists(part), "O arquivo deve ser movido, não copiado");
+        try (InputStream in = storage.open(expected)) {
+            assertArrayEquals(content, in.readAllBytes());
+        }
+    }
+
+    @Test
+    @DisplayName("Só deve apagar blob que nenhum upload usou dentro da carência")
+    void deleteIfIdle_ShouldRespectRecentUse() throws Exception {
+        byte[] content = "foto de conta apagada".getBytes(StandardCharsets.UTF_8);
+        String sha256 = storage.store(new ByteArrayInputStream(content)).sha256();
+        Path blob = storage.locate(sha256);
+        Files.setLastModifiedTime(blob, FileTime.from(Instant.now().minus(Duration.ofDays(1))));
+
+        // outro upload deduplica para o blob: ele volta a contar como usado
+        storage.store(new ByteArrayInputStream(content));
+        assertFalse(storage.deleteIfIdle(sha256, Duration.ofHours(1)));
+        assertTrue(storage.exists(sha256));
+
+        Files.setLastModifiedTime(blob, FileTime.from(Instant.now().minus(Duration.ofDays(1))));
+        assertTrue(storage.deleteIfIdle(sha256, Duration.ofHours(1)));
+        assertFalse(storage.exists(sha256));
+        assertFalse(storage.deleteIfIdle(sha256, Duration.ofHours(1)), "Blob que não existe não é apagado");
+        assertEquals(0, countFiles(root.resolve("tmp")));
+    }
+}
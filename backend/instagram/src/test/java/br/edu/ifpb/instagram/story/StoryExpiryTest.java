@@ -0,0 +1,84 @@
+package br.edu.ifpb.instagram.story;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+public class StoryExpiryTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private StoryExpiry storyExpiry;
+    private Instant now;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        storyExpiry = new StoryExpiry(jdbcTemplate, Duration.ofSeconds(1), 2);
+        now = Instant.now();
+    }
+
+    @Test
+    @DisplayName("Deve apagar os vencidos em DELETEs agrupados, sem consultar a tabela")
+    void purge_ShouldDeleteExpiredInGroups() {
+        List<String> statements = new ArrayList<>();
+        List<Object> ids = new ArrayList<>();
+        when(jdbcTemplate.update(anyString(), any(Object[].class))).thenAnswer(call -> {
+            Object[] args = (Object[]) call.getRawArguments()[1];
+            statements.add(call.getArgument(0));
+            ids.addAll(List.of(args));
+            return args.length;
+        });
+        for (long id = 1; id <= 5; id++) {
+            storyExpiry.schedule(id, now.plusSeconds(10));
+        }
+        storyExpiry.schedule(6, now.plusSeconds(60));
+
+        assertEquals(0, storyExpiry.purge(now.plusSeconds(5)));
+        verifyNoInteractions(jdbcTemplate);
+
+        assertEquals(5, storyExpiry.purge(now.plusSeconds(12)));
+
+        assertAll("Validação dos lotes",
+            () -> assertEquals(List.of("DELETE FROM stories WHERE id IN (?, ?)",
+                    "DELETE FROM stories WHERE id IN (?, ?)", "DELETE FROM stories WHERE id IN (?)"), statements),
+            () -> assertEquals(List.of(1L, 2L, 3L, 4L, 5L), ids.stream().map(Long.class::cast).sorted().toList()),
+            () -> assertEquals(1, storyExpiry.pending(), "O story 6 continua agendado")
+        );
+    }
+
+    @Test
+    @DisplayName("Deve tentar de novo os ids de um DELETE que falhou")
+    void purge_WhenDatabaseFails_ShouldKeepIds() {
+        when(jdbcTemplate.update(anyString(), any(Object[].class)))
+                .thenThrow(new DataAccessResourceFailureException("db down"))
+                .thenReturn(1);
+        storyExpiry.schedule(1, now.plusSeconds(2));
+
+        assertThrows(DataAccessResourceFailureException.class, () -> storyExpiry.purge(now.plusSeconds(3)));
+        assertEquals(1, storyExpiry.pending());
+
+        assertEquals(1, storyExpiry.purge(now.plusSeconds(4)));
+        assertEquals(0, storyExpiry.pending());
+    }
+
+    @Test
+    @DisplayName("Story já vencido ao ser agendado deve sair na próxima rodada")
+    void schedule_PastDeadline_ShouldPurgeImmediately() {
+        when(jdbcTemplate.update(anyString(), any(Object[].class))).thenReturn(1);
+        storyExpiry.schedule(1, now.minusSeconds(30));
+
+        assertEquals(1, storyExpiry.purge(now));
+    }
+}
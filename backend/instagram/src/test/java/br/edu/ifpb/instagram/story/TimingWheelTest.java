@@ -0,0 +1,71 @@
+package br.edu.ifpb.instagram.story;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class TimingWheelTest {
+
+    private static final long TICK = 1_000;
+    private static final long START = 1_700_000_000_000L;
+
+    @Test
+    @DisplayName("Cada id deve vencer no primeiro tick depois do prazo, em qualquer nível")
+    void advance_ShouldExpireEachIdOnTime() {
+        TimingWheel wheel = new TimingWheel(TICK, START);
+        Map<Long, Long> deadlines = new HashMap<>();
+        Random random = new Random(42);
+        for (long id = 0; id < 10_000; id++) {
+            long deadline = START + 1 + (long) (random.nextDouble() * 10 * 24 * 3_600_000L);
+            deadlines.put(id, deadline);
+            assertTrue(wheel.add(id, deadline));
+        }
+
+        Map<Long, Long> expiredAt = new HashMap<>();
+        for (long now = START; now <= START + 10 * 24 * 3_600_000L + TICK; now += TICK) {
+            long current = now;
+            wheel.advance(now, id -> assertNull(expiredAt.put(id, current), "Id vencido duas vezes"));
+        }
+
+        assertEquals(deadlines.size(), expiredAt.size());
+        assertEquals(0, wheel.size());
+        deadlines.forEach((id, deadline) -> {
+            long at = expiredAt.get(id);
+            assertTrue(at >= deadline, "Venceu antes do prazo");
+            assertTrue(at - deadline < TICK, "Venceu mais de um tick depois do prazo");
+        });
+    }
+
+    @Test
+    @DisplayName("Prazo além do alcance das rodas deve ser reposicionado até vencer")
+    void add_BeyondTopLevel_ShouldExpireOnTime() {
+        TimingWheel wheel = new TimingWheel(TICK, START);
+        long deadline = START + 300L * 24 * 3_600_000L;
+        wheel.add(7, deadline);
+
+        List<Long> expired = new ArrayList<>();
+        wheel.advance(deadline - TICK, expired::add);
+        assertTrue(expired.isEmpty());
+
+        wheel.advance(deadline, expired::add);
+        assertEquals(List.of(7L), expired);
+    }
+
+    @Test
+    @DisplayName("Prazo já vencido não deve ser agendado")
+    void add_PastDeadline_ShouldReturnFalse() {
+        TimingWheel wheel = new TimingWheel(TICK, START);
+
+        assertFalse(wheel.add(1, START - 5_000));
+        assertFalse(wheel.add(2, START));
+        assertTrue(wheel.add(3, START + 1));
+        assertEquals(1, wheel.size());
+    }
+}
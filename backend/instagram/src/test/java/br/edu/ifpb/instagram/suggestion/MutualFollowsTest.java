@@ -0,0 +1,110 @@
+package br.edu.ifpb.instagram.suggestion;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import br.edu.ifpb.instagram.graph.FollowGraph;
+import br.edu.ifpb.instagram.service.FollowerDirectory;
+
+public class MutualFollowsTest {
+
+    @Test
+    @DisplayName("Deve ordenar os amigos de amigos por seguidos em comum, sem o próprio usuário e quem ele já segue")
+    void compute_ShouldRankFriendsOfFriends() {
+        FollowGraph graph = new FollowGraph(0);
+        // 1 segue 2, 3 e 4
+        graph.follow(1, 2);
+        graph.follow(1, 3);
+        graph.follow(1, 4);
+        // 9 é seguido por três deles, 7 e 8 por dois, 6 por um
+        for (long friend : new long[] { 2, 3, 4 }) {
+            graph.follow(friend, 9);
+        }
+        graph.follow(2, 8);
+        graph.follow(3, 8);
+        graph.follow(3, 7);
+        graph.follow(4, 7);
+        graph.follow(4, 6);
+        // já seguido e o próprio usuário não entram
+        graph.follow(2, 3);
+        graph.follow(2, 1);
+
+        SuggestionList suggestions = MutualFollows.compute(directory(graph), 1, 3);
+
+        assertAll("Validação das sugestões",
+            () -> assertEquals(3, suggestions.size()),
+            () -> assertEquals(9, suggestions.userId(0)),
+            () -> assertEquals(3, suggestions.mutualCount(0)),
+            () -> assertEquals(7, suggestions.userId(1), "No empate vem o id menor"),
+            () -> assertEquals(2, suggestions.mutualCount(1)),
+            () -> assertEquals(8, suggestions.userId(2)),
+            () -> assertEquals(0, MutualFollows.compute(directory(graph), 9, 3).size())
+        );
+    }
+
+    @Test
+    @DisplayName("O job paralelo deve chegar ao mesmo resultado do cálculo usuário a usuário")
+    void job_ShouldMatchSequentialComputation() {
+        FollowGraph graph = new FollowGraph(0);
+        SplittableRandom random = new SplittableRandom(7);
+        for (int i = 0; i < 20_000; i++) {
+            long follower = random.nextLong(1, 1_000);
+            long followee = random.nextLong(1, 1_000);
+            if (follower != followee) {
+                graph.follow(follower, followee);
+            }
+        }
+        FollowerDirectory directory = directory(graph);
+        long[] userIds = graph.followingUsers();
+
+        Map<Long, SuggestionList> table = new ConcurrentHashMap<>();
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            pool.invoke(new MutualFollowJob(directory, userIds, 10, table));
+        } finally {
+            pool.shutdown();
+        }
+
+        assertEquals(userIds.length, table.size());
+        for (long userId : userIds) {
+            SuggestionList expected = MutualFollows.compute(directory, userId, 10);
+            SuggestionList actual = table.get(userId);
+            assertEquals(expected.size(), actual.size());
+            for (int i = 0; i < expected.size(); i++) {
+                assertEquals(expected.userId(i), actual.userId(i));
+                assertEquals(expected.mutualCount(i), actual.mutualCount(i));
+            }
+        }
+    }
+
+    static FollowerDirectory directory(FollowGraph graph) {
+        return new FollowerDirectory() {
+            @Override
+            public long[] followersOf(long userId) {
+                return graph.allFollowers(userId);
+            }
+
+            @Override
+            public long[] followingOf(long userId) {
+                return graph.allFollowing(userId);
+            }
+
+            @Override
+            public int followerCount(long userId) {
+                return graph.followerCount(userId);
+            }
+
+            @Override
+            public long[] largeAccountsFollowedBy(long userId) {
+                return graph.allLargeFollowing(userId);
+            }
+        };
+    }
+}
@@ -0,0 +1,50 @@
+package br.edu.ifpb.instagram.timeline;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import br.edu.ifpb.instagram.repository.PostRepository;
+
+public class AuthorPostsStoreTest {
+
+    @Test
+    @DisplayName("Ring carregado antes do commit de um post não deve ficar em memória sem ele")
+    void recent_WhenPostCommitsDuringLoad_ShouldNotCacheStaleRing() {
+        PostRepository postRepository = mock(PostRepository.class);
+        AuthorPostsStore store = new AuthorPostsStore(postRepository, 10, 10);
+
+        // o post 2 é gravado e o callback roda enquanto a primeira carga ainda está com a lista antiga
+        when(postRepository.findIdsByAuthorIdOrderByIdDesc(eq(7L), any()))
+                .thenAnswer(invocation -> {
+                    store.append(7L, 2L);
+                    return List.of(1L);
+                })
+                .thenReturn(List.of(2L, 1L));
+
+        assertArrayEquals(new long[] { 1 }, store.recent(7L, Long.MAX_VALUE, 10));
+        assertArrayEquals(new long[] { 2, 1 }, store.recent(7L, Long.MAX_VALUE, 10));
+
+        store.append(7L, 3L);
+        assertArrayEquals(new long[] { 3, 2, 1 }, store.recent(7L, Long.MAX_VALUE, 10));
+        verify(postRepository, times(2)).findIdsByAuthorIdOrderByIdDesc(eq(7L), any());
+    }
+
+    @Test
+    @DisplayName("Deve paginar os posts do autor pelo id")
+    void recent_WithCursor_ShouldReturnOlderPosts() {
+        PostRepository postRepository = mock(PostRepository.class);
+        when(postRepository.findIdsByAuthorIdOrderByIdDesc(eq(7L), any())).thenReturn(List.of(30L, 20L, 10L));
+        AuthorPostsStore store = new AuthorPostsStore(postRepository, 10, 10);
+
+        assertArrayEquals(new long[] { 20, 10 }, store.recent(7L, 30L, 10));
+        assertArrayEquals(new long[] { 20 }, store.recent(7L, 25L, 1));
+        assertEquals(0, store.recent(7L, 10L, 10).length);
+    }
+}
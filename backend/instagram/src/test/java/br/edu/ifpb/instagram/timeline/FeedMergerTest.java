@@ -0,0 +1,58 @@
+package br.edu.ifpb.instagram.timeline;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class FeedMergerTest {
+
+    @Test
+    @DisplayName("Deve intercalar as fontes do mais novo para o mais antigo")
+    void merge_ShouldInterleaveByRecency() {
+        List<long[]> pulled = List.of(new long[] { 8, 7, 2 }, new long[] { 6 });
+
+        FeedMerger.Page page = FeedMerger.merge(new long[] { 9, 5, 1 }, pulled, 10);
+
+        assertArrayEquals(new long[] { 9, 8, 7, 6, 5, 2, 1 }, page.postIds());
+        assertEquals(3, page.fromTimeline());
+        assertEquals(1, page.last());
+    }
+
+    @Test
+    @DisplayName("Deve dizer até onde cada fonte foi consumida")
+    void merge_ShouldReportPosition() {
+        List<long[]> pulled = List.of(new long[] { 9, 5, 1 });
+
+        FeedMerger.Page page = FeedMerger.merge(new long[] { 10, 6, 2 }, pulled, 2);
+
+        assertArrayEquals(new long[] { 10, 9 }, page.postIds());
+        assertEquals(1, page.fromTimeline(), "Só o 10 saiu da timeline");
+        assertEquals(9, page.last(), "Os puxados da próxima página são os menores que 9");
+    }
+
+    @Test
+    @DisplayName("Deve descartar o mesmo post vindo de duas fontes")
+    void merge_ShouldDropDuplicates() {
+        List<long[]> pulled = List.of(new long[] { 7, 3 }, new long[0]);
+
+        FeedMerger.Page page = FeedMerger.merge(new long[] { 7, 4 }, pulled, 10);
+
+        assertArrayEquals(new long[] { 7, 4, 3 }, page.postIds());
+        assertEquals(2, page.fromTimeline());
+    }
+
+    @Test
+    @DisplayName("Página cheia deve consumir também as cópias do último post")
+    void merge_WithDuplicateAtLimit_ShouldConsumeAllCopies() {
+        List<long[]> pulled = List.of(new long[] { 7, 3 });
+
+        FeedMerger.Page page = FeedMerger.merge(new long[] { 7, 4 }, pulled, 1);
+
+        assertArrayEquals(new long[] { 7 }, page.postIds());
+        assertEquals(1, page.fromTimeline(), "A cópia empurrada não pode voltar na próxima página");
+        assertEquals(7, page.last());
+    }
+}
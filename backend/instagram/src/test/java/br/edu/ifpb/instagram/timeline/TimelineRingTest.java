@@ -0,0 +1,106 @@
+package br.edu.ifpb.instagram.timeline;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class TimelineRingTest {
+
+    @Test
+    @DisplayName("Deve paginar do post mais novo para o mais antigo")
+    void page_ShouldReturnNewestFirst() {
+        TimelineRing ring = new TimelineRing(10);
+        for (long postId = 1; postId <= 5; postId++) {
+            ring.push(postId);
+        }
+
+        assertArrayEquals(new long[] { 5, 4 }, ring.page(0, 2));
+        assertArrayEquals(new long[] { 3, 2, 1 }, ring.page(2, 10));
+        assertEquals(0, ring.page(5, 10).length);
+    }
+
+    @Test
+    @DisplayName("Deve descartar os posts mais antigos quando a capacidade é excedida")
+    void push_BeyondCapacity_ShouldOverwriteOldest() {
+        TimelineRing ring = new TimelineRing(3);
+        for (long postId = 1; postId <= 7; postId++) {
+            ring.push(postId);
+        }
+
+        assertEquals(3, ring.size());
+        assertArrayEquals(new long[] { 7, 6, 5 }, ring.page(0, 10));
+    }
+
+    @Test
+    @DisplayName("Deve reconstruir o ring a partir das linhas persistidas")
+    void restore_ShouldRebuildHeadAndSlots() {
+        TimelineRing original = new TimelineRing(3);
+        for (long postId = 10; postId <= 14; postId++) {
+            original.push(postId);
+        }
+
+        // a tabela guarda só a última sequência de cada slot
+        TimelineRing restored = new TimelineRing(3);
+        restored.restore(2, 12);
+        restored.restore(3, 13);
+        restored.restore(4, 14);
+
+        assertArrayEquals(original.page(0, 3), restored.page(0, 3));
+        assertEquals(5, restored.push(15), "A próxima sequência deve continuar de onde parou");
+    }
+
+    @Test
+    @DisplayName("Deve paginar por sequência sem repetir posts quando chegam pushes novos")
+    void before_ShouldPageBySeq() {
+        TimelineRing ring = new TimelineRing(10);
+        for (long postId = 1; postId <= 5; postId++) {
+            ring.push(postId);
+        }
+
+        TimelineRing.Page first = ring.before(Long.MAX_VALUE, 2);
+        ring.push(6);
+        TimelineRing.Page second = ring.before(first.newestSeq() - 1, 10);
+
+        assertEquals(4, first.newestSeq());
+        assertArrayEquals(new long[] { 5, 4 }, first.postIds());
+        assertArrayEquals(new long[] { 3, 2, 1 }, second.postIds());
+        assertEquals(0, ring.before(0, 10).postIds().length);
+    }
+
+    @Test
+    @DisplayName("Não deve voltar além da capacidade")
+    void before_BeyondCapacity_ShouldStopAtOldest() {
+        TimelineRing ring = new TimelineRing(3);
+        for (long postId = 1; postId <= 7; postId++) {
+            ring.push(postId);
+        }
+
+        assertArrayEquals(new long[] { 5 }, ring.before(5, 10).postIds());
+        assertEquals(0, ring.before(4, 10).postIds().length);
+    }
+
+    @Test
+    @DisplayName("Deve devolver só os posts com id menor que o do cursor")
+    void olderThan_ShouldFilterById() {
+        TimelineRing ring = new TimelineRing(10);
+        for (long postId = 10; postId <= 50; postId += 10) {
+            ring.push(postId);
+        }
+
+        assertArrayEquals(new long[] { 30, 20 }, ring.olderThan(40, 2));
+        assertEquals(0, ring.olderThan(10, 5).length);
+    }
+
+    @Test
+    @DisplayName("Restore de sequência que já saiu do buffer não deve sobrescrever slot novo")
+    void restore_WithExpiredSeq_ShouldBeIgnored() {
+        TimelineRing ring = new TimelineRing(3);
+        ring.restore(5, 50);
+
+        ring.restore(2, 20);
+
+        assertArrayEquals(new long[] { 50 }, ring.before(Long.MAX_VALUE, 1).postIds());
+        assertEquals(0, ring.before(3, 10).postIds().length, "O slot da sequência 5 é o mesmo da 2");
+    }
+}
@@ -0,0 +1,47 @@
+package br.edu.ifpb.instagram.trending;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class CountMinSketchTest {
+
+    @Test
+    @DisplayName("A estimativa nunca deve ficar abaixo da contagem real e deve ficar perto dela")
+    void estimate_ShouldBoundTrueCount() {
+        CountMinSketch sketch = new CountMinSketch(4, 4096);
+        int total = 0;
+        for (int key = 0; key < 20_000; key++) {
+            int count = key % 10 + 1;
+            sketch.add("tag" + key, count);
+            total += count;
+        }
+
+        int overestimated = 0;
+        for (int key = 0; key < 20_000; key++) {
+            int error = sketch.estimate("tag" + key) - (key % 10 + 1);
+            assertTrue(error >= 0, "Subestimou tag" + key);
+            if (error > Math.E / 4096 * total) {
+                overestimated++;
+            }
+        }
+        // o limite vale com probabilidade 1 - e^-4 por chave (~98%)
+        assertTrue(overestimated < 20_000 * 0.02, "Chaves acima do limite: " + overestimated);
+    }
+
+    @Test
+    @DisplayName("Subtrair um sketch deve desfazer as contagens dele")
+    void subtractAll_ShouldUndoAddAll() {
+        CountMinSketch window = new CountMinSketch(4, 64);
+        CountMinSketch bucket = new CountMinSketch(4, 64);
+        bucket.add("praia", 3);
+        window.add("praia", 2);
+
+        window.addAll(bucket);
+        assertEquals(5, window.estimate("praia"));
+
+        window.subtractAll(bucket);
+        assertEquals(2, window.estimate("praia"));
+    }
+}
@@ -0,0 +1,27 @@
+package br.edu.ifpb.instagram.trending;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class HashtagsTest {
+
+    @Test
+    @DisplayName("Deve extrair as hashtags em minúsculas, sem repetir nem pegar âncoras e entidades")
+    void parse_ShouldExtractHashtags() {
+        assertThat(Hashtags.parse("Praia! #Verão2026 #férias #verão2026 ##duplo #123 site.com/a#secao &#39;"))
+                .containsExactly("verão2026", "férias");
+    }
+
+    @Test
+    @DisplayName("Deve limitar a quantidade de hashtags por legenda")
+    void parse_ManyHashtags_ShouldBeCapped() {
+        StringBuilder caption = new StringBuilder();
+        for (int i = 0; i < 50; i++) {
+            caption.append("#tag").append(i).append(' ');
+        }
+
+        assertThat(Hashtags.parse(caption.toString())).hasSize(Hashtags.MAX_HASHTAGS);
+    }
+}
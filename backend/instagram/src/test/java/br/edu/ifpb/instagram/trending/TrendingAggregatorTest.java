@@ -0,0 +1,100 @@
+package br.edu.ifpb.instagram.trending;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import br.edu.ifpb.instagram.model.dto.TrendingDto;
+import br.edu.ifpb.instagram.model.dto.TrendingHashtagDto;
+
+public class TrendingAggregatorTest {
+
+    private static final Duration BUCKET = Duration.ofMinutes(5);
+
+    @TempDir
+    private Path directory;
+
+    // janela de 1 hora em buckets de 5 minutos, top 3
+    private TrendingAggregator aggregator(String snapshotPath) {
+        return new TrendingAggregator(BUCKET, 12, 3, 4, 1024, Duration.ZERO, Duration.ZERO, snapshotPath);
+    }
+
+    @Test
+    @DisplayName("Deve ranquear as hashtags mais usadas na janela")
+    void refresh_ShouldRankTopHashtags() {
+        TrendingAggregator aggregator = aggregator("");
+        Instant now = Instant.now();
+        record(aggregator, "praia", 5, now);
+        record(aggregator, "futebol", 9, now.minus(Duration.ofMinutes(20)));
+        record(aggregator, "chuva", 2, now);
+        record(aggregator, "festa", 7, now.minus(Duration.ofMinutes(40)));
+        for (int i = 0; i < 100; i++) {
+            aggregator.record(Set.of("rara" + i), now);
+        }
+
+        TrendingDto trending = aggregator.refresh(now);
+
+        assertEquals(List.of(new TrendingHashtagDto("futebol", 9), new TrendingHashtagDto("festa", 7),
+                new TrendingHashtagDto("praia", 5)), trending.hashtags());
+    }
+
+    @Test
+    @DisplayName("Buckets que saem da janela devem deixar de contar")
+    void refresh_AfterWindowSlides_ShouldForgetOldBuckets() {
+        TrendingAggregator aggregator = aggregator("");
+        Instant now = Instant.now();
+        record(aggregator, "antiga", 10, now);
+        record(aggregator, "nova", 3, now.plus(Duration.ofMinutes(50)));
+
+        TrendingDto trending = aggregator.refresh(now.plus(Duration.ofMinutes(65)));
+
+        assertEquals(List.of(new TrendingHashtagDto("nova", 3)), trending.hashtags());
+        assertEquals(0, aggregator.estimate("antiga"));
+    }
+
+    @Test
+    @DisplayName("O ranking publicado só deve mudar no refresh")
+    void current_ShouldOnlyChangeOnRefresh() {
+        TrendingAggregator aggregator = aggregator("");
+        Instant now = Instant.now();
+        TrendingDto before = aggregator.refresh(now);
+
+        record(aggregator, "praia", 2, now);
+
+        assertSame(before, aggregator.current());
+        TrendingDto after = aggregator.refresh(now);
+        assertSame(after, aggregator.current());
+        assertEquals(List.of(new TrendingHashtagDto("praia", 2)), after.hashtags());
+    }
+
+    @Test
+    @DisplayName("Deve restaurar buckets e candidatos a partir do snapshot")
+    void loadSnapshot_ShouldRestoreState() throws Exception {
+        String snapshot = directory.resolve("trending.snapshot").toString();
+        TrendingAggregator original = aggregator(snapshot);
+        Instant now = Instant.now();
+        record(original, "praia", 4, now);
+        record(original, "festa", 6, now.minus(Duration.ofMinutes(30)));
+        original.saveSnapshot();
+
+        TrendingAggregator restored = aggregator(snapshot);
+
+        assertTrue(restored.loadSnapshot());
+        assertEquals(original.refresh(now).hashtags(), restored.refresh(now).hashtags());
+        assertFalse(aggregator(directory.resolve("ausente").toString()).loadSnapshot());
+    }
+
+    private static void record(TrendingAggregator aggregator, String hashtag, int times, Instant at) {
+        for (int i = 0; i < times; i++) {
+            aggregator.record(Set.of(hashtag), at);
+        }
+    }
+}
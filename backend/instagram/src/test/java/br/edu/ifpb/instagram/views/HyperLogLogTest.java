@@ -0,0 +1,88 @@
+package br.edu.ifpb.instagram.views;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class HyperLogLogTest {
+
+    @Test
+    @DisplayName("Deve contar poucos visitantes praticamente sem erro e ignorar repetições")
+    void add_SmallCardinality_ShouldBeNearlyExact() {
+        HyperLogLog sketch = new HyperLogLog();
+        for (int i = 0; i < 100; i++) {
+            sketch.add("user_" + i);
+        }
+
+        assertFalse(sketch.add("user_7"), "Visitante repetido não muda o sketch");
+        assertTrue(sketch.isSparse());
+        assertEquals(0, new HyperLogLog().estimate());
+        assertEquals(100, sketch.estimate(), 1);
+    }
+
+    @Test
+    @DisplayName("Deve estimar cardinalidades altas com erro de cerca de 1%")
+    void add_LargeCardinality_ShouldStayWithinError() {
+        HyperLogLog sketch = new HyperLogLog();
+        for (int i = 0; i < 200_000; i++) {
+            sketch.add("user_" + i);
+        }
+
+        assertFalse(sketch.isSparse());
+        assertEquals(200_000, sketch.estimate(), 200_000 * 0.035);
+        assertEquals(1 + 6 * 1024, sketch.toBytes().length, "Forma densa ocupa 6 KB");
+    }
+
+    @Test
+    @DisplayName("A união de sketches deve estimar a união dos conjuntos")
+    void merge_ShouldEstimateUnion() {
+        HyperLogLog first = new HyperLogLog();
+        HyperLogLog second = new HyperLogLog();
+        HyperLogLog small = new HyperLogLog();
+        for (int i = 0; i < 50_000; i++) {
+            first.add("user_" + i);
+            second.add("user_" + (i + 25_000));
+        }
+        for (int i = 0; i < 10; i++) {
+            small.add("other_" + i);
+        }
+
+        HyperLogLog union = first.copy();
+        union.merge(second);
+        union.merge(small);
+        assertEquals(75_010, union.estimate(), 75_010 * 0.035);
+
+        // esparso recebendo denso vira denso
+        HyperLogLog sparse = small.copy();
+        sparse.merge(first);
+        assertFalse(sparse.isSparse());
+        assertEquals(50_010, sparse.estimate(), 50_010 * 0.035);
+        assertEquals(50_000, first.estimate(), 50_000 * 0.035, "A cópia não altera o original");
+    }
+
+    @Test
+    @DisplayName("Deve ler de volta os sketches esparso e denso serializados")
+    void toBytes_ShouldRoundTrip() {
+        HyperLogLog sparse = new HyperLogLog();
+        HyperLogLog dense = new HyperLogLog();
+        for (int i = 0; i < 20_000; i++) {
+            dense.add("user_" + i);
+            if (i < 30) {
+                sparse.add("user_" + i);
+            }
+        }
+
+        HyperLogLog sparseRead = HyperLogLog.fromBytes(sparse.toBytes());
+        HyperLogLog denseRead = HyperLogLog.fromBytes(dense.toBytes());
+
+        assertAll("Validação da leitura",
+            () -> assertEquals(1 + 4 + 30 * 4, sparse.toBytes().length),
+            () -> assertTrue(sparseRead.isSparse()),
+            () -> assertEquals(sparse.estimate(), sparseRead.estimate()),
+            () -> assertEquals(dense.estimate(), denseRead.estimate()),
+            () -> assertFalse(denseRead.add("user_5")),
+            () -> assertThrows(IllegalArgumentException.class, () -> HyperLogLog.fromBytes(new byte[] { 9 }))
+        );
+    }
+}
@@ -0,0 +1,132 @@
+package br.edu.ifpb.instagram.views;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.edu.ifpb.instagram.cache.UserResponseCache;
+import br.edu.ifpb.instagram.model.dto.ProfileViewsDto;
+import br.edu.ifpb.instagram.model.response.ProfileViewsResponse;
+import br.edu.ifpb.instagram.model.response.UserDetailsResponse;
+
+/**
+ * Testes de integração dos contadores de visitas com o banco em memória.
+ * Cada teste usa uma instância própria, sem gravação periódica.
+ */
+@SpringBootTest
+public class ProfileViewCountersTest {
+
+    private static final long PROFILE = 4_242_424L;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private UserResponseCache userResponseCache;
+
+    private ProfileViewCounters counters;
+    private final LocalDate today = LocalDate.now(ZoneOffset.UTC);
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM profile_view_sketches WHERE user_id = ?", PROFILE);
+        counters = new ProfileViewCounters(jdbcTemplate, transactionTemplate, userResponseCache, Duration.ZERO, 100);
+    }
+
+    @Test
+    @DisplayName("Deve somar visitantes únicos no dia, em 7 e em 30 dias")
+    void stats_ShouldMergeDailySketchesIntoWindows() {
+        counters.record(PROFILE, "ana", today.minusDays(20));
+        counters.record(PROFILE, "bia", today.minusDays(3));
+        counters.record(PROFILE, "ana", today.minusDays(3));
+        counters.record(PROFILE, "ana", today);
+        counters.record(PROFILE, "caio", today);
+        // fora da janela de 30 dias
+        counters.record(PROFILE, "davi", today.minusDays(30));
+
+        assertFalse(counters.record(PROFILE, "caio", today), "Visita repetida não muda o sketch");
+        assertEquals(new ProfileViewsDto(2, 3, 3), counters.stats(PROFILE, today));
+    }
+
+    @Test
+    @DisplayName("Deve gravar só na descarga e continuar o sketch do dia depois de um restart")
+    void flush_ShouldPersistAndReload() {
+        counters.record(PROFILE, "ana", today.minusDays(1));
+        counters.record(PROFILE, "ana", today);
+        counters.record(PROFILE, "bia", today);
+        assertEquals(0, countRows(), "Visitas não gravam no banco");
+
+        assertEquals(2, counters.flush());
+        assertEquals(2, countRows());
+        counters.record(PROFILE, "caio", today);
+        assertEquals(1, counters.flush());
+
+        ProfileViewCounters restarted = new ProfileViewCounters(jdbcTemplate, transactionTemplate, userResponseCache, Duration.ZERO, 100);
+        assertFalse(restarted.record(PROFILE, "bia", today));
+        assertEquals(new ProfileViewsDto(3, 3, 3), restarted.stats(PROFILE, today));
+
+        restarted.removeUser(PROFILE);
+        assertEquals(0, countRows());
+        assertEquals(new ProfileViewsDto(0, 0, 0), restarted.stats(PROFILE, today));
+    }
+
+    @Test
+    @DisplayName("Deve unir os sketches de instâncias diferentes em vez de sobrescrever")
+    void flush_FromTwoInstances_ShouldMergeStoredSketch() {
+        ProfileViewCounters other = new ProfileViewCounters(jdbcTemplate, transactionTemplate, userResponseCache, Duration.ZERO, 100);
+        counters.record(PROFILE, "ana", today);
+        other.record(PROFILE, "bia", today);
+
+        assertEquals(1, counters.flush());
+        assertEquals(1, other.flush());
+        assertEquals(1, countRows());
+        assertEquals(new ProfileViewsDto(2, 2, 2), other.stats(PROFILE, today),
+                "A instância que grava por último passa a ver os visitantes da outra");
+
+        // gravar de novo não conta duas vezes
+        counters.record(PROFILE, "caio", today);
+        assertEquals(1, counters.flush());
+
+        ProfileViewCounters restarted = new ProfileViewCounters(jdbcTemplate, transactionTemplate, userResponseCache, Duration.ZERO, 100);
+        assertEquals(new ProfileViewsDto(3, 3, 3), restarted.stats(PROFILE, today));
+    }
+
+    @Test
+    @DisplayName("Visita só deve tirar a resposta do cache na gravação")
+    void flush_ShouldInvalidateCachedResponse() {
+        cacheResponse();
+
+        counters.record(PROFILE, "ana", today);
+        assertNotNull(userResponseCache.get(PROFILE), "Visita não mexe no cache");
+
+        counters.flush();
+        assertNull(userResponseCache.get(PROFILE));
+
+        cacheResponse();
+        counters.flush();
+        assertNotNull(userResponseCache.get(PROFILE), "Sem visitas novas a resposta fica");
+    }
+
+    private void cacheResponse() {
+        userResponseCache.put(PROFILE, userResponseCache.version(PROFILE), new UserDetailsResponse(
+                PROFILE, "Perfil", "perfil", "perfil@email.com", new ProfileViewsResponse(0, 0, 0)));
+    }
+
+    private int countRows() {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM profile_view_sketches WHERE user_id = ?", Integer.class, PROFILE);
+    }
+}